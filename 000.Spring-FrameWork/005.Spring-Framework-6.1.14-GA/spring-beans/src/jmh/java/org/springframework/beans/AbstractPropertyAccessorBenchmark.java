@@ -38,7 +38,7 @@ public class AbstractPropertyAccessorBenchmark {
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
 
-		@Param({"DirectFieldAccessor", "BeanWrapper"})
+		@Param({"DirectFieldAccessor", "BeanWrapper", "CompiledBeanWrapper"})
 		public String accessor;
 
 		@Param({"none", "stringTrimmer", "numberOnPath", "numberOnNestedPath", "numberOnType"})
@@ -54,11 +54,15 @@ public class AbstractPropertyAccessorBenchmark {
 		public void setup() {
 			this.target = new PrimitiveArrayBean();
 			this.input = new int[1024];
-			if (this.accessor.equals("DirectFieldAccessor")) {
-				this.propertyAccessor = new DirectFieldAccessor(this.target);
-			}
-			else {
-				this.propertyAccessor = new BeanWrapperImpl(this.target);
+			this.target.setArray(this.input);
+			switch (this.accessor) {
+				case "DirectFieldAccessor" -> this.propertyAccessor = new DirectFieldAccessor(this.target);
+				case "BeanWrapper" -> this.propertyAccessor = new BeanWrapperImpl(this.target);
+				case "CompiledBeanWrapper" -> {
+					BeanWrapperImpl beanWrapper = new BeanWrapperImpl(this.target);
+					beanWrapper.setCompiledPropertyAccess(true);
+					this.propertyAccessor = beanWrapper;
+				}
 			}
 			switch (this.customEditor) {
 				case "stringTrimmer" ->
@@ -80,8 +84,19 @@ public class AbstractPropertyAccessorBenchmark {
 		return state.target;
 	}
 
+	@Benchmark
+	public int[] getPropertyValue(BenchmarkState state) {
+		return (int[]) state.propertyAccessor.getPropertyValue("array");
+	}
+
+	@Benchmark
+	public PrimitiveArrayBean setIndexedPropertyValue(BenchmarkState state) {
+		state.propertyAccessor.setPropertyValue("array[0]", 42);
+		return state.target;
+	}
+
 	@SuppressWarnings("unused")
-	private static class PrimitiveArrayBean {
+	static class PrimitiveArrayBean {
 
 		private int[] array;
 
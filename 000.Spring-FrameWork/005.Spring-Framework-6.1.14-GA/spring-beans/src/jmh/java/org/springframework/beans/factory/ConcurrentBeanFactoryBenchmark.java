@@ -18,9 +18,12 @@ package org.springframework.beans.factory;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
@@ -28,13 +31,14 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.propertyeditors.CustomDateEditor;
 
 import static org.springframework.core.testfixture.io.ResourceTestUtils.qualifiedResource;
 
 /**
- * Benchmark for creating prototype beans in a concurrent fashion.
+ * Benchmark for creating prototype beans as well as distinct singleton beans in a concurrent fashion.
  * This benchmark requires to customize the number of worker threads {@code -t <int>} on the
  * CLI when running this particular benchmark to leverage concurrency.
  *
@@ -61,12 +65,52 @@ public class ConcurrentBeanFactoryBenchmark {
 
 	}
 
+	@State(Scope.Benchmark)
+	public static class SingletonState {
+
+		private static final int SINGLETON_COUNT = 100_000;
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		public DefaultListableBeanFactory factory;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.factory = new DefaultListableBeanFactory();
+			this.factory.setAllowConcurrentSingletonCreation(true);
+			for (int i = 0; i < SINGLETON_COUNT; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(ConcurrentBean.class);
+				bd.getPropertyValues().add("date", "2004/08/08");
+				this.factory.registerBeanDefinition("singleton" + i, bd);
+			}
+			this.factory.addPropertyEditorRegistrar(
+					registry -> registry.registerCustomEditor(Date.class,
+							new CustomDateEditor(new SimpleDateFormat("yyyy/MM/dd"), false)));
+			this.counter.set(0);
+		}
+
+		public String nextBeanName() {
+			return "singleton" + (this.counter.getAndIncrement() % SINGLETON_COUNT);
+		}
+	}
+
 	@Benchmark
 	public void concurrentBeanCreation(BenchmarkState state, Blackhole bh) {
 		bh.consume(state.factory.getBean("bean1"));
 		bh.consume(state.factory.getBean("bean2"));
 	}
 
+	/**
+	 * Each thread creates a batch of distinct singletons, measuring the time
+	 * it takes until all of them have been created on first access.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Measurement(batchSize = 1000)
+	public void concurrentSingletonCreation(SingletonState state, Blackhole bh) {
+		bh.consume(state.factory.getBean(state.nextBeanName()));
+	}
+
 
 	public static class ConcurrentBean {
 
@@ -24,6 +24,8 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
@@ -46,7 +48,7 @@ public class DefaultListableBeanFactoryBenchmark {
 	@State(Scope.Benchmark)
 	public static class PrototypeCreationState extends Shared {
 
-		@Param({"simple", "dependencyCheck", "constructor", "constructorArgument", "properties", "resolvedProperties"})
+		@Param({"simple", "dependencyCheck", "constructor", "constructorArgument", "properties", "resolvedProperties", "autowiredFields"})
 		public String mode;
 
 		@Setup
@@ -79,6 +81,14 @@ public class DefaultListableBeanFactoryBenchmark {
 					rbd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
 					this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
 				}
+				case "autowiredFields" -> {
+					rbd = new RootBeanDefinition(CommandBean.class);
+					rbd.getPropertyValues().add("name", "juergen");
+					AutowiredAnnotationBeanPostProcessor postProcessor = new AutowiredAnnotationBeanPostProcessor();
+					postProcessor.setBeanFactory(this.beanFactory);
+					this.beanFactory.addBeanPostProcessor(postProcessor);
+					this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+				}
 			}
 			rbd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
 			this.beanFactory.registerBeanDefinition("test", rbd);
@@ -136,6 +146,18 @@ public class DefaultListableBeanFactoryBenchmark {
 	static class A {
 	}
 
+	public static class CommandBean {
+
+		@Autowired
+		private TestBean spouse;
+
+		private String name;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
 	static class B {
 	}
 
@@ -41,6 +41,7 @@ import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -76,6 +77,13 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 */
 	private static final Log logger = LogFactory.getLog(AbstractNestablePropertyAccessor.class);
 
+	/**
+	 * Cache of parsed tokens for property names with keys, e.g. "map[key]" or
+	 * "list[0][1]", shared across accessors since parsing is class-independent.
+	 */
+	private static final ConcurrentLruCache<String, PropertyTokenHolder> keyedPropertyNameTokens =
+			new ConcurrentLruCache<>(256, AbstractNestablePropertyAccessor::parsePropertyNameTokens);
+
 	private int autoGrowCollectionLimit = Integer.MAX_VALUE;
 
 	@Nullable
@@ -938,11 +946,29 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	}
 
 	/**
-	 * Parse the given property name into the corresponding property name tokens.
+	 * Obtain the property name tokens for the given property name,
+	 * using previously parsed tokens in case of a property name with keys.
 	 * @param propertyName the property name to parse
 	 * @return representation of the parsed property tokens
 	 */
 	private PropertyTokenHolder getPropertyNameTokens(String propertyName) {
+		if (propertyName.indexOf(PROPERTY_KEY_PREFIX_CHAR) == -1) {
+			return new PropertyTokenHolder(propertyName);
+		}
+		PropertyTokenHolder parsedTokens = keyedPropertyNameTokens.get(propertyName);
+		// Return a copy since token holders are mutable
+		PropertyTokenHolder tokens = new PropertyTokenHolder(parsedTokens.actualName);
+		tokens.canonicalName = parsedTokens.canonicalName;
+		tokens.keys = (parsedTokens.keys != null ? parsedTokens.keys.clone() : null);
+		return tokens;
+	}
+
+	/**
+	 * Parse the given property name into the corresponding property name tokens.
+	 * @param propertyName the property name to parse
+	 * @return representation of the parsed property tokens
+	 */
+	private static PropertyTokenHolder parsePropertyNameTokens(String propertyName) {
 		String actualName = null;
 		List<String> keys = new ArrayList<>(2);
 		int searchIndex = 0;
@@ -975,7 +1001,7 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		return tokens;
 	}
 
-	private int getPropertyNameKeyEnd(String propertyName, int startIndex) {
+	private static int getPropertyNameKeyEnd(String propertyName, int startIndex) {
 		int unclosedPrefixes = 0;
 		int length = propertyName.length();
 		for (int i = startIndex; i < length; i++) {
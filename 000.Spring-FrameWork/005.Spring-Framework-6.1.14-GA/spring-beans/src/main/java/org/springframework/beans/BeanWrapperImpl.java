@@ -23,6 +23,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -60,6 +61,21 @@ import org.springframework.util.ReflectionUtils;
  */
 public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements BeanWrapper {
 
+	/**
+	 * System property that instructs Spring to access bean properties through
+	 * generated classes by default, i.e. to apply
+	 * {@link #setCompiledPropertyAccess compiled property access} to all
+	 * {@code BeanWrapperImpl} instances: {@code "spring.beans.compiled-property-access"}.
+	 * <p>The default is "false", accessing bean properties through reflection.
+	 * @since 6.2
+	 * @see #setCompiledPropertyAccess
+	 */
+	public static final String COMPILED_PROPERTY_ACCESS_PROPERTY_NAME = "spring.beans.compiled-property-access";
+
+	private static final boolean defaultCompiledPropertyAccess =
+			SpringProperties.getFlag(COMPILED_PROPERTY_ACCESS_PROPERTY_NAME);
+
+
 	/**
 	 * Cached introspections results for this object, to prevent encountering
 	 * the cost of JavaBeans introspection every time.
@@ -67,6 +83,8 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Nullable
 	private CachedIntrospectionResults cachedIntrospectionResults;
 
+	private boolean compiledPropertyAccess = defaultCompiledPropertyAccess;
+
 
 	/**
 	 * Create a new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -123,9 +141,36 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	 */
 	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
 		super(object, nestedPath, parent);
+		this.compiledPropertyAccess = parent.compiledPropertyAccess;
 	}
 
 
+	/**
+	 * Set whether to invoke property read and write methods through a class
+	 * generated for the bean class, dispatching to direct method invocations
+	 * rather than invoking the methods reflectively.
+	 * <p>Default is "false", unless the
+	 * {@link #COMPILED_PROPERTY_ACCESS_PROPERTY_NAME} system property is set.
+	 * Applies to nested property accessors as well. Generated classes are cached
+	 * along with the introspection results for each bean class. Methods that are
+	 * not accessible from the package of the bean class, as well as bean classes
+	 * for which no class can be generated (e.g. within a native image), are
+	 * still accessed through reflection.
+	 * @since 6.2
+	 */
+	public void setCompiledPropertyAccess(boolean compiledPropertyAccess) {
+		this.compiledPropertyAccess = compiledPropertyAccess;
+	}
+
+	/**
+	 * Return whether property read and write methods are invoked through
+	 * a generated class.
+	 * @since 6.2
+	 */
+	public boolean isCompiledPropertyAccess() {
+		return this.compiledPropertyAccess;
+	}
+
 	/**
 	 * Set a bean instance to hold, without any unwrapping of {@link java.util.Optional}.
 	 * @param object the actual target object
@@ -193,8 +238,14 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Override
 	@Nullable
 	protected BeanPropertyHandler getLocalPropertyHandler(String propertyName) {
-		PropertyDescriptor pd = getCachedIntrospectionResults().getPropertyDescriptor(propertyName);
-		return (pd != null ? new BeanPropertyHandler((GenericTypeAwarePropertyDescriptor) pd) : null);
+		CachedIntrospectionResults cachedIntrospectionResults = getCachedIntrospectionResults();
+		PropertyDescriptor pd = cachedIntrospectionResults.getPropertyDescriptor(propertyName);
+		if (pd == null) {
+			return null;
+		}
+		PropertyMethodInvoker invoker =
+				(this.compiledPropertyAccess ? cachedIntrospectionResults.getPropertyMethodInvoker() : null);
+		return new BeanPropertyHandler((GenericTypeAwarePropertyDescriptor) pd, invoker);
 	}
 
 	@Override
@@ -231,9 +282,13 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		private final GenericTypeAwarePropertyDescriptor pd;
 
-		public BeanPropertyHandler(GenericTypeAwarePropertyDescriptor pd) {
+		@Nullable
+		private final PropertyMethodInvoker invoker;
+
+		public BeanPropertyHandler(GenericTypeAwarePropertyDescriptor pd, @Nullable PropertyMethodInvoker invoker) {
 			super(pd.getPropertyType(), pd.getReadMethod() != null, pd.getWriteMethod() != null);
 			this.pd = pd;
+			this.invoker = invoker;
 		}
 
 		@Override
@@ -271,6 +326,12 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		public Object getValue() throws Exception {
 			Method readMethod = this.pd.getReadMethod();
 			Assert.state(readMethod != null, "No read method available");
+			if (this.invoker != null) {
+				int index = this.invoker.getIndex(readMethod);
+				if (index >= 0) {
+					return this.invoker.read(index, getWrappedInstance());
+				}
+			}
 			ReflectionUtils.makeAccessible(readMethod);
 			return readMethod.invoke(getWrappedInstance(), (Object[]) null);
 		}
@@ -278,6 +339,13 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		@Override
 		public void setValue(@Nullable Object value) throws Exception {
 			Method writeMethod = this.pd.getWriteMethodForActualAccess();
+			if (this.invoker != null) {
+				int index = this.invoker.getIndex(writeMethod);
+				if (index >= 0) {
+					this.invoker.write(index, getWrappedInstance(), value);
+					return;
+				}
+			}
 			ReflectionUtils.makeAccessible(writeMethod);
 			writeMethod.invoke(getWrappedInstance(), value);
 		}
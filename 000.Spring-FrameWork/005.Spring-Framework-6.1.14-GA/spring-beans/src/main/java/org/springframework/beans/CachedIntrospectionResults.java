@@ -234,6 +234,13 @@ public final class CachedIntrospectionResults {
 	/** PropertyDescriptor objects keyed by property name String. */
 	private final Map<String, PropertyDescriptor> propertyDescriptors;
 
+	/** Generated invoker for property methods, lazily resolved. */
+	@Nullable
+	private volatile PropertyMethodInvoker propertyMethodInvoker;
+
+	/** Whether the property method invoker has been resolved already. */
+	private volatile boolean propertyMethodInvokerResolved;
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -394,6 +401,25 @@ public final class CachedIntrospectionResults {
 		return this.propertyDescriptors.values().toArray(PropertyDescriptorUtils.EMPTY_PROPERTY_DESCRIPTOR_ARRAY);
 	}
 
+	/**
+	 * Return the generated invoker for the property methods of the bean class,
+	 * generating it on first access.
+	 * @return the invoker, or {@code null} if none can be generated for the bean class
+	 * @since 6.2
+	 */
+	@Nullable
+	PropertyMethodInvoker getPropertyMethodInvoker() {
+		if (!this.propertyMethodInvokerResolved) {
+			synchronized (this) {
+				if (!this.propertyMethodInvokerResolved) {
+					this.propertyMethodInvoker = PropertyMethodInvoker.forClass(getBeanClass());
+					this.propertyMethodInvokerResolved = true;
+				}
+			}
+		}
+		return this.propertyMethodInvoker;
+	}
+
 	private PropertyDescriptor buildGenericTypeAwarePropertyDescriptor(Class<?> beanClass, PropertyDescriptor pd) {
 		try {
 			return new GenericTypeAwarePropertyDescriptor(beanClass, pd.getName(), pd.getReadMethod(),
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cglib.core.SpringNamingPolicy;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.core.NativeDetector;
+import org.springframework.lang.Nullable;
+
+/**
+ * Invoker for the property read and write methods of a specific bean class
+ * through a generated CGLIB {@link FastClass}: a class that dispatches the
+ * index of a method through a switch to a direct invocation of the method,
+ * rather than invoking the method reflectively.
+ *
+ * <p>The generated class is defined in the package of the bean class and is
+ * therefore limited to methods that are accessible from within that package.
+ * Any other methods are to be invoked through reflection as usual.
+ *
+ * @since 6.2
+ * @see BeanWrapperImpl#setCompiledPropertyAccess
+ * @see CachedIntrospectionResults#getPropertyMethodInvoker()
+ */
+final class PropertyMethodInvoker {
+
+	private static final Log logger = LogFactory.getLog(PropertyMethodInvoker.class);
+
+	private static final Object[] NO_ARGS = new Object[0];
+
+
+	private final FastClass fastClass;
+
+	private final Map<Method, Integer> methodIndexes = new ConcurrentHashMap<>();
+
+
+	private PropertyMethodInvoker(FastClass fastClass) {
+		this.fastClass = fastClass;
+	}
+
+
+	/**
+	 * Determine the index of the given method in the generated class.
+	 * @param method the read or write method of a property
+	 * @return the index of the method, or {@code -1} if not invocable through the generated class
+	 */
+	int getIndex(Method method) {
+		Integer index = this.methodIndexes.get(method);
+		if (index == null) {
+			index = (method.isBridge() ? -1 : this.fastClass.getIndex(method.getName(), method.getParameterTypes()));
+			this.methodIndexes.put(method, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Invoke the read method with the given index.
+	 * @param index the index of the method, as determined by {@link #getIndex}
+	 * @param target the bean instance to invoke the method on
+	 * @return the property value
+	 * @throws InvocationTargetException if the method threw an exception
+	 */
+	@Nullable
+	Object read(int index, Object target) throws InvocationTargetException {
+		return this.fastClass.invoke(index, target, NO_ARGS);
+	}
+
+	/**
+	 * Invoke the write method with the given index.
+	 * @param index the index of the method, as determined by {@link #getIndex}
+	 * @param target the bean instance to invoke the method on
+	 * @param value the property value to write
+	 * @throws InvocationTargetException if the method threw an exception
+	 */
+	void write(int index, Object target, @Nullable Object value) throws InvocationTargetException {
+		this.fastClass.invoke(index, target, new Object[] {value});
+	}
+
+
+	/**
+	 * Generate an invoker for the given bean class, if possible.
+	 * @param beanClass the bean class to generate an invoker for
+	 * @return the invoker, or {@code null} if no class can be generated for
+	 * the given bean class (e.g. a JDK class or within a native image)
+	 */
+	@Nullable
+	static PropertyMethodInvoker forClass(Class<?> beanClass) {
+		if (NativeDetector.inNativeImage() || beanClass.getClassLoader() == null || beanClass.isHidden() ||
+				beanClass.isInterface() || Proxy.isProxyClass(beanClass) || !isAccessibleFromPackage(beanClass)) {
+			return null;
+		}
+		try {
+			FastClass.Generator generator = new FastClass.Generator();
+			generator.setType(beanClass);
+			generator.setContextClass(beanClass);
+			generator.setClassLoader(beanClass.getClassLoader());
+			generator.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+			return new PropertyMethodInvoker(generator.create());
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot generate property method invoker for class [" + beanClass.getName() +
+						"] - falling back to reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	private static boolean isAccessibleFromPackage(Class<?> beanClass) {
+		Class<?> current = beanClass;
+		while (current != null) {
+			if (Modifier.isPrivate(current.getModifiers())) {
+				return false;
+			}
+			current = current.getEnclosingClass();
+		}
+		return true;
+	}
+
+}
@@ -255,6 +255,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		if (otherFactory instanceof AbstractAutowireCapableBeanFactory otherAutowireFactory) {
 			this.instantiationStrategy = otherAutowireFactory.instantiationStrategy;
 			this.allowCircularReferences = otherAutowireFactory.allowCircularReferences;
+			setAllowConcurrentSingletonCreation(otherAutowireFactory.isAllowConcurrentSingletonCreation());
 			this.ignoredDependencyTypes.addAll(otherAutowireFactory.ignoredDependencyTypes);
 			this.ignoredDependencyInterfaces.addAll(otherAutowireFactory.ignoredDependencyInterfaces);
 		}
@@ -504,6 +505,14 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	protected Object doCreateBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
 			throws BeanCreationException {
 
+		// Shortcut when re-creating the same non-singleton bean...
+		if (args == null && !mbd.isSingleton()) {
+			InstantiationPlan plan = mbd.instantiationPlan;
+			if (plan != null) {
+				return createBeanFromPlan(beanName, mbd, plan);
+			}
+		}
+
 		// Instantiate the bean.
 		BeanWrapper instanceWrapper = null;
 		if (mbd.isSingleton()) {
@@ -620,9 +629,106 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			throw new BeanCreationException(mbd.getResourceDescription(), beanName, "Invalid destruction signature", ex);
 		}
 
+		if (args == null && !mbd.isSingleton() && beanType != NullBean.class) {
+			Boolean planResolved = mbd.instantiationPlanResolved;
+			if (planResolved == null) {
+				// Only plan for beans that actually get re-created, not for one-off definitions.
+				mbd.instantiationPlanResolved = Boolean.FALSE;
+			} else if (!planResolved) {
+				// Cache an instantiation plan for further instances, now that the
+				// constructor and the converted property values have been resolved.
+				mbd.instantiationPlan = InstantiationPlan.resolve(this, mbd, beanType);
+				mbd.instantiationPlanResolved = Boolean.TRUE;
+			}
+		}
+
 		return exposedObject;
 	}
 
+	/**
+	 * Create a further instance of a non-singleton bean through its cached instantiation plan, replaying the resolved
+	 * constructor and the pre-converted property values without {@link BeanWrapper} allocation. Post-processors and
+	 * initialization callbacks apply as in {@link #doCreateBean}; if post-processors come up with different property
+	 * values than planned, these are applied through a regular {@link BeanWrapper}.
+	 *
+	 * @param beanName the name of the bean
+	 * @param mbd      the merged bean definition for the bean
+	 * @param plan     the instantiation plan for the bean
+	 * @return a new instance of the bean
+	 * @throws BeanCreationException if the bean could not be created
+	 * @since 6.2
+	 */
+	private Object createBeanFromPlan(String beanName, RootBeanDefinition mbd, InstantiationPlan plan)
+			throws BeanCreationException {
+
+		Object bean;
+		try {
+			bean = plan.instantiate();
+		} catch (Throwable ex) {
+			throw new BeanCreationException(mbd.getResourceDescription(), beanName,
+					"Bean instantiation via constructor failed",
+					new BeanInstantiationException(plan.getConstructor(), ex.getMessage(), ex));
+		}
+
+		Object exposedObject = bean;
+		try {
+			populateBeanFromPlan(beanName, mbd, bean, plan);
+			exposedObject = initializeBean(beanName, exposedObject, mbd);
+		} catch (Throwable ex) {
+			if (ex instanceof BeanCreationException bce && beanName.equals(bce.getBeanName())) {
+				throw bce;
+			} else {
+				throw new BeanCreationException(mbd.getResourceDescription(), beanName, ex.getMessage(), ex);
+			}
+		}
+
+		try {
+			registerDisposableBeanIfNecessary(beanName, bean, mbd);
+		} catch (BeanDefinitionValidationException ex) {
+			throw new BeanCreationException(mbd.getResourceDescription(), beanName, "Invalid destruction signature", ex);
+		}
+		return exposedObject;
+	}
+
+	/**
+	 * Populate the given bean instance according to its instantiation plan, applying the same post-processor callbacks
+	 * as {@link #populateBean}.
+	 */
+	private void populateBeanFromPlan(String beanName, RootBeanDefinition mbd, Object bean, InstantiationPlan plan) {
+		PropertyValues pvs = (mbd.hasPropertyValues() ? mbd.getPropertyValues() : null);
+		if (hasInstantiationAwareBeanPostProcessors()) {
+			if (!mbd.isSynthetic()) {
+				for (InstantiationAwareBeanPostProcessor bp : getBeanPostProcessorCache().instantiationAware) {
+					if (!bp.postProcessAfterInstantiation(bean, beanName)) {
+						return;
+					}
+				}
+			}
+			if (pvs == null) {
+				pvs = mbd.getPropertyValues();
+			}
+			for (InstantiationAwareBeanPostProcessor bp : getBeanPostProcessorCache().instantiationAware) {
+				PropertyValues pvsToUse = bp.postProcessProperties(pvs, bean, beanName);
+				if (pvsToUse == null) {
+					return;
+				}
+				pvs = pvsToUse;
+			}
+		}
+
+		if (plan.isPlanned(pvs)) {
+			try {
+				plan.applyPropertyValues(bean);
+			} catch (BeansException ex) {
+				throw new BeanCreationException(mbd.getResourceDescription(), beanName, ex.getMessage(), ex);
+			}
+		} else if (pvs != null) {
+			BeanWrapper bw = new BeanWrapperImpl(bean);
+			initBeanWrapper(bw);
+			applyPropertyValues(beanName, mbd, bw, pvs);
+		}
+	}
+
 	@Override
 	@Nullable
 	protected Class<?> predictBeanType(String beanName, RootBeanDefinition mbd, Class<?>... typesToMatch) {
@@ -959,57 +1065,79 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-		synchronized (getSingletonMutex()) {
-			BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
-			if (bw != null) {
-				return (FactoryBean<?>)bw.getWrappedInstance();
-			}
-			Object beanInstance = getSingleton(beanName, false);
-			if (beanInstance instanceof FactoryBean<?> factoryBean) {
-				return factoryBean;
-			}
-			if (isSingletonCurrentlyInCreation(
-					beanName) || (mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(
-					mbd.getFactoryBeanName()))) {
-				return null;
+		if (!isAllowConcurrentSingletonCreation()) {
+			synchronized (getSingletonMutex()) {
+				return doGetSingletonFactoryBeanForTypeCheck(beanName, mbd);
 			}
+		}
+		if (!tryAcquireSingletonCreationLock(beanName)) {
+			// Singleton currently in creation within another thread -> no shortcut
+			return null;
+		}
+		try {
+			return doGetSingletonFactoryBeanForTypeCheck(beanName, mbd);
+		} finally {
+			releaseSingletonCreationLock(beanName);
+		}
+	}
 
-			Object instance;
-			try {
-				// Mark this bean as currently in creation, even if just partially.
-				beforeSingletonCreation(beanName);
-				// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
-				instance = resolveBeforeInstantiation(beanName, mbd);
-				if (instance == null) {
-					bw = createBeanInstance(beanName, mbd, null);
-					instance = bw.getWrappedInstance();
-				}
-			} catch (UnsatisfiedDependencyException ex) {
-				// Don't swallow, probably misconfiguration...
+	/**
+	 * Obtain a "shortcut" singleton FactoryBean instance for a type check, with the singleton mutex or the creation
+	 * lock for the given bean held.
+	 *
+	 * @see #getSingletonFactoryBeanForTypeCheck
+	 */
+	@Nullable
+	private FactoryBean<?> doGetSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
+		BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
+		if (bw != null) {
+			return (FactoryBean<?>)bw.getWrappedInstance();
+		}
+		Object beanInstance = getSingleton(beanName, false);
+		if (beanInstance instanceof FactoryBean<?> factoryBean) {
+			return factoryBean;
+		}
+		if (isSingletonCurrentlyInCreation(
+				beanName) || (mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(
+				mbd.getFactoryBeanName()))) {
+			return null;
+		}
+
+		Object instance;
+		try {
+			// Mark this bean as currently in creation, even if just partially.
+			beforeSingletonCreation(beanName);
+			// Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
+			instance = resolveBeforeInstantiation(beanName, mbd);
+			if (instance == null) {
+				bw = createBeanInstance(beanName, mbd, null);
+				instance = bw.getWrappedInstance();
+			}
+		} catch (UnsatisfiedDependencyException ex) {
+			// Don't swallow, probably misconfiguration...
+			throw ex;
+		} catch (BeanCreationException ex) {
+			// Don't swallow a linkage error since it contains a full stacktrace on
+			// first occurrence... and just a plain NoClassDefFoundError afterwards.
+			if (ex.contains(LinkageError.class)) {
 				throw ex;
-			} catch (BeanCreationException ex) {
-				// Don't swallow a linkage error since it contains a full stacktrace on
-				// first occurrence... and just a plain NoClassDefFoundError afterwards.
-				if (ex.contains(LinkageError.class)) {
-					throw ex;
-				}
-				// Instantiation failure, maybe too early...
-				if (logger.isDebugEnabled()) {
-					logger.debug("Bean creation exception on singleton FactoryBean type check: " + ex);
-				}
-				onSuppressedException(ex);
-				return null;
-			} finally {
-				// Finished partial creation of this bean.
-				afterSingletonCreation(beanName);
 			}
-
-			FactoryBean<?> fb = getFactoryBean(beanName, instance);
-			if (bw != null) {
-				this.factoryBeanInstanceCache.put(beanName, bw);
+			// Instantiation failure, maybe too early...
+			if (logger.isDebugEnabled()) {
+				logger.debug("Bean creation exception on singleton FactoryBean type check: " + ex);
 			}
-			return fb;
+			onSuppressedException(ex);
+			return null;
+		} finally {
+			// Finished partial creation of this bean.
+			afterSingletonCreation(beanName);
+		}
+
+		FactoryBean<?> fb = getFactoryBean(beanName, instance);
+		if (bw != null) {
+			this.factoryBeanInstanceCache.put(beanName, bw);
 		}
+		return fb;
 	}
 
 	/**
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Index of bean definition names by the types in the class hierarchy of their
+ * predicted bean types, narrowing the bean definitions to check for a by-type
+ * lookup to the candidates that can possibly match the raw type to look for.
+ *
+ * <p>Bean definitions start out as <i>pending</i> and get indexed once their
+ * type can be predicted from the merged bean definition without any further
+ * class loading or initialization. The types of actual bean instances get
+ * added to the index as well, covering proxies and other bean instances that
+ * do not match the predicted type. Pending bean definitions, and bean
+ * definitions that cannot be indexed at all (e.g. factory beans), remain
+ * candidates for every lookup. Generics are not indexed but rather left
+ * to the regular type matching of each candidate.
+ *
+ * <p>The index is maintained incrementally when bean definitions get registered,
+ * reset or removed, and only fully invalidated along with the bean definition
+ * metadata cache of the bean factory. Indexed, pending and unindexed entries are
+ * each kept in registration order, so that the candidates for a lookup can be
+ * merged in linear time.
+ *
+ * @since 6.2
+ * @see DefaultListableBeanFactory#getBeanNamesForType(org.springframework.core.ResolvableType, boolean, boolean)
+ */
+final class BeanTypeIndex {
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+	private final Map<Class<?>, NavigableSet<Entry>> entriesByType = new HashMap<>(256);
+
+	private final NavigableSet<Entry> pendingEntries = new TreeSet<>(Entry.REGISTRATION_ORDER);
+
+	private final NavigableSet<Entry> unindexedEntries = new TreeSet<>(Entry.REGISTRATION_ORDER);
+
+	private long nextSequence;
+
+	@Nullable
+	private volatile Object predictionState;
+
+
+	/**
+	 * Register a bean definition with the given name, keeping its position
+	 * in registration order in case of an existing entry.
+	 * @param beanName the name of the bean definition
+	 */
+	synchronized void register(String beanName) {
+		if (!this.entries.containsKey(beanName)) {
+			Entry entry = new Entry(beanName, this.nextSequence++);
+			this.entries.put(beanName, entry);
+			this.pendingEntries.add(entry);
+		}
+	}
+
+	/**
+	 * Remove the bean definition with the given name from the index.
+	 * @param beanName the name of the bean definition
+	 */
+	synchronized void remove(String beanName) {
+		Entry entry = this.entries.remove(beanName);
+		if (entry != null) {
+			unindex(entry);
+			this.pendingEntries.remove(entry);
+		}
+	}
+
+	/**
+	 * Reset the bean definition with the given name to pending,
+	 * discarding any bean instance types as well.
+	 * @param beanName the name of the bean definition
+	 */
+	synchronized void reset(String beanName) {
+		Entry entry = this.entries.get(beanName);
+		if (entry != null) {
+			unindex(entry);
+			entry.instanceTypes = Collections.emptySet();
+			entry.unindexable = false;
+			this.pendingEntries.add(entry);
+		}
+	}
+
+	/**
+	 * Reset all bean definitions to pending, retaining the bean instance types.
+	 */
+	synchronized void invalidate() {
+		this.entriesByType.clear();
+		this.unindexedEntries.clear();
+		for (Entry entry : this.entries.values()) {
+			entry.indexedTypes = Collections.emptySet();
+			entry.version++;
+			this.pendingEntries.add(entry);
+		}
+	}
+
+	/**
+	 * Invalidate the index if the given state that type predictions
+	 * depend on (e.g. the registered post-processors) has changed.
+	 * @param state the current prediction state
+	 */
+	void checkPredictionState(Object state) {
+		if (this.predictionState != state) {
+			synchronized (this) {
+				if (this.predictionState != state) {
+					invalidate();
+					this.predictionState = state;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return a snapshot of the pending bean definitions, mapped to the
+	 * version of their entries to pass into {@link #index}.
+	 */
+	synchronized Map<String, Integer> getPendingBeanNames() {
+		if (this.pendingEntries.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, Integer> pending = new HashMap<>(this.pendingEntries.size());
+		for (Entry entry : this.pendingEntries) {
+			pending.put(entry.beanName, entry.version);
+		}
+		return pending;
+	}
+
+	/**
+	 * Index a pending bean definition under the given predicted type.
+	 * @param beanName the name of the bean definition
+	 * @param version the version of the entry that the type has been predicted for
+	 * @param predictedType the predicted type, or {@code null} if the bean definition
+	 * cannot be indexed and needs to be checked for every lookup
+	 */
+	synchronized void index(String beanName, int version, @Nullable Class<?> predictedType) {
+		Entry entry = this.entries.get(beanName);
+		if (entry == null || entry.version != version || !this.pendingEntries.remove(entry)) {
+			// Concurrently reset or removed -> leave to the next lookup
+			return;
+		}
+		if (predictedType == null || entry.unindexable) {
+			this.unindexedEntries.add(entry);
+			return;
+		}
+		Set<Class<?>> indexedTypes = new LinkedHashSet<>();
+		collectTypes(predictedType, indexedTypes);
+		for (Class<?> instanceType : entry.instanceTypes) {
+			collectTypes(instanceType, indexedTypes);
+		}
+		for (Class<?> type : indexedTypes) {
+			this.entriesByType.computeIfAbsent(type, key -> new TreeSet<>(Entry.REGISTRATION_ORDER)).add(entry);
+		}
+		entry.indexedTypes = indexedTypes;
+	}
+
+	/**
+	 * Add the type of an actual bean instance to the index, in case it has not
+	 * been covered by the predicted type of its bean definition.
+	 * @param beanName the name of the bean definition
+	 * @param instanceType the type of the bean instance
+	 * @param indexable whether the type of the bean instance can be indexed,
+	 * or whether the bean needs to be checked for every lookup from now on
+	 */
+	void addInstanceType(String beanName, Class<?> instanceType, boolean indexable) {
+		Entry entry = this.entries.get(beanName);
+		if (entry == null || entry.unindexable || (indexable && entry.instanceTypes.contains(instanceType))) {
+			return;
+		}
+		synchronized (this) {
+			if (this.entries.get(beanName) != entry) {
+				return;
+			}
+			if (!indexable) {
+				entry.unindexable = true;
+				unindex(entry);
+				if (!this.pendingEntries.contains(entry)) {
+					this.unindexedEntries.add(entry);
+				}
+				return;
+			}
+			Set<Class<?>> instanceTypes = new LinkedHashSet<>(entry.instanceTypes);
+			instanceTypes.add(instanceType);
+			entry.instanceTypes = instanceTypes;
+			if (!entry.indexedTypes.isEmpty() && !entry.indexedTypes.contains(instanceType)) {
+				Set<Class<?>> indexedTypes = new LinkedHashSet<>(entry.indexedTypes);
+				collectTypes(instanceType, indexedTypes);
+				for (Class<?> type : indexedTypes) {
+					this.entriesByType.computeIfAbsent(type, key -> new TreeSet<>(Entry.REGISTRATION_ORDER)).add(entry);
+				}
+				entry.indexedTypes = indexedTypes;
+			}
+		}
+	}
+
+	/**
+	 * Determine the names of all bean definitions that may match the given raw type:
+	 * indexed under the given type, pending or not indexable at all.
+	 * @param type the raw type to look for
+	 * @return the candidate bean names, in registration order
+	 */
+	synchronized List<String> getCandidateBeanNames(Class<?> type) {
+		Set<Entry> indexed = this.entriesByType.getOrDefault(type, Collections.emptyNavigableSet());
+		List<String> candidates = new ArrayList<>(
+				indexed.size() + this.pendingEntries.size() + this.unindexedEntries.size());
+		// Each set is in registration order and the sets are disjoint -> merge them
+		Iterator<Entry> indexedIt = indexed.iterator();
+		Iterator<Entry> pendingIt = this.pendingEntries.iterator();
+		Iterator<Entry> unindexedIt = this.unindexedEntries.iterator();
+		Entry nextIndexed = nextEntry(indexedIt);
+		Entry nextPending = nextEntry(pendingIt);
+		Entry nextUnindexed = nextEntry(unindexedIt);
+		while (nextIndexed != null || nextPending != null || nextUnindexed != null) {
+			Entry next = earlier(earlier(nextIndexed, nextPending), nextUnindexed);
+			candidates.add(next.beanName);
+			if (next == nextIndexed) {
+				nextIndexed = nextEntry(indexedIt);
+			}
+			else if (next == nextPending) {
+				nextPending = nextEntry(pendingIt);
+			}
+			else {
+				nextUnindexed = nextEntry(unindexedIt);
+			}
+		}
+		return candidates;
+	}
+
+	private void unindex(Entry entry) {
+		for (Class<?> type : entry.indexedTypes) {
+			Set<Entry> typeEntries = this.entriesByType.get(type);
+			if (typeEntries != null) {
+				typeEntries.remove(entry);
+				if (typeEntries.isEmpty()) {
+					this.entriesByType.remove(type);
+				}
+			}
+		}
+		entry.indexedTypes = Collections.emptySet();
+		entry.version++;
+		this.unindexedEntries.remove(entry);
+	}
+
+	@Nullable
+	private static Entry nextEntry(Iterator<Entry> it) {
+		return (it.hasNext() ? it.next() : null);
+	}
+
+	@Nullable
+	private static Entry earlier(@Nullable Entry entry, @Nullable Entry other) {
+		if (entry == null) {
+			return other;
+		}
+		return (other == null || entry.sequence < other.sequence ? entry : other);
+	}
+
+	private static void collectTypes(Class<?> type, Set<Class<?>> types) {
+		Class<?> current = type;
+		while (current != null && types.add(current)) {
+			collectInterfaces(current, types);
+			current = current.getSuperclass();
+		}
+		types.add(Object.class);
+	}
+
+	private static void collectInterfaces(Class<?> type, Set<Class<?>> types) {
+		for (Class<?> ifc : type.getInterfaces()) {
+			if (types.add(ifc)) {
+				collectInterfaces(ifc, types);
+			}
+		}
+	}
+
+
+	/**
+	 * Index entry for a bean definition.
+	 */
+	private static final class Entry {
+
+		static final Comparator<Entry> REGISTRATION_ORDER = Comparator.comparingLong(entry -> entry.sequence);
+
+		final String beanName;
+
+		final long sequence;
+
+		int version;
+
+		Set<Class<?>> indexedTypes = Collections.emptySet();
+
+		volatile Set<Class<?>> instanceTypes = Collections.emptySet();
+
+		volatile boolean unindexable;
+
+		Entry(String beanName, long sequence) {
+			this.beanName = beanName;
+			this.sequence = sequence;
+		}
+	}
+
+}
@@ -39,6 +39,7 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -128,6 +129,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Index of bean definition names by predicted type, narrowing down by-type lookups. */
+	private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -141,6 +145,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen;
 
+	/** Executor for pre-instantiating singletons in parallel, if any. */
+	@Nullable
+	private Executor preInstantiationExecutor;
+
 	/**
 	 * Create a new DefaultListableBeanFactory.
 	 */
@@ -227,6 +235,34 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set an {@link Executor} for pre-instantiating independent non-lazy singletons in parallel, for example a
+	 * {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Default is none, pre-instantiating all singletons sequentially in the calling thread. If specified,
+	 * singletons get scheduled according to the dependencies derived from their bean definition metadata, while
+	 * {@link SmartInitializingSingleton} callbacks are still invoked in the calling thread once all singletons have
+	 * been instantiated. Note that singleton beans must not make assumptions about the thread instantiating them.
+	 * <p>Only applied if {@link #setAllowConcurrentSingletonCreation concurrent singleton creation} is allowed as
+	 * well; otherwise, singletons are pre-instantiated sequentially regardless of this executor.
+	 *
+	 * @see #preInstantiateSingletons()
+	 * @see #setAllowConcurrentSingletonCreation
+	 * @since 6.2
+	 */
+	public void setPreInstantiationExecutor(@Nullable Executor preInstantiationExecutor) {
+		this.preInstantiationExecutor = preInstantiationExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 *
+	 * @since 6.2
+	 */
+	@Nullable
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 *
@@ -274,6 +310,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.preInstantiationExecutor = otherListableFactory.preInstantiationExecutor;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well
@@ -502,8 +539,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions that may match the raw type.
+		for (String beanName : getCandidateBeanNames(type)) {
 			// Only consider bean as eligible if the bean name is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
 				try {
@@ -582,6 +619,59 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine the bean definitions to check for the given type: the bean definitions that the type index may
+	 * match for the raw type, or all bean definitions if the type is not applicable to the index.
+	 *
+	 * @param type the type to look for
+	 * @return the candidate bean names, in registration order
+	 * @see BeanTypeIndex
+	 */
+	private List<String> getCandidateBeanNames(ResolvableType type) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null || rawType == Object.class || rawType.isPrimitive() || rawType.isArray()) {
+			return this.beanDefinitionNames;
+		}
+		this.beanTypeIndex.checkPredictionState(getBeanPostProcessorCache());
+		this.beanTypeIndex.getPendingBeanNames().forEach(this::indexBeanType);
+		return this.beanTypeIndex.getCandidateBeanNames(rawType);
+	}
+
+	/**
+	 * Index the predicted type of the given bean definition, provided that it can be predicted from the metadata in
+	 * the merged bean definition without loading classes or initializing factory beans.
+	 *
+	 * @param beanName the name of the bean definition
+	 * @param version  the version of the index entry to index
+	 */
+	private void indexBeanType(String beanName, Integer version) {
+		RootBeanDefinition mbd;
+		try {
+			mbd = getMergedLocalBeanDefinition(beanName);
+		} catch (BeansException ex) {
+			// Unresolvable at this point -> leave pending, to be reported by the regular type check.
+			return;
+		}
+		if (mbd.isAbstract() || mbd.getDecoratedDefinition() != null) {
+			this.beanTypeIndex.index(beanName, version, null);
+			return;
+		}
+		if (mbd.getTargetType() == null && (mbd.getFactoryMethodName() != null || !mbd.hasBeanClass())) {
+			// Type not resolved yet -> leave pending until the regular type check has resolved it.
+			return;
+		}
+		Class<?> predictedType = predictBeanType(beanName, mbd);
+		if (predictedType != null) {
+			boolean indexable = (isIndexableType(predictedType) && !isFactoryBean(beanName, mbd));
+			this.beanTypeIndex.index(beanName, version, (indexable ? predictedType : null));
+		}
+	}
+
+	private static boolean isIndexableType(Class<?> type) {
+		return (!FactoryBean.class.isAssignableFrom(type) && !type.isArray() &&
+				!NullBean.class.isAssignableFrom(type));
+	}
+
 	private boolean isSingleton(String beanName, RootBeanDefinition mbd, @Nullable BeanDefinitionHolder dbd) {
 		return (dbd != null ? mbd.isSingleton() : isSingleton(beanName));
 	}
@@ -854,6 +944,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		this.mergedBeanDefinitionHolders.clear();
+		this.beanTypeIndex.invalidate();
 		clearByTypeCache();
 	}
 
@@ -901,16 +992,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
-						getBean(beanName);
-					}
-				} else {
-					getBean(beanName);
+		Executor executor = this.preInstantiationExecutor;
+		if (executor != null && isAllowConcurrentSingletonCreation()) {
+			new SingletonPreInstantiator(this, executor).preInstantiateSingletons(beanNames);
+		} else {
+			for (String beanName : beanNames) {
+				if (isPreInstantiationCandidate(beanName)) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -927,6 +1015,29 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Determine whether the given bean is a non-lazy singleton to pre-instantiate.
+	 */
+	boolean isPreInstantiationCandidate(String beanName) {
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		return (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit());
+	}
+
+	/**
+	 * Pre-instantiate the given singleton, including the object exposed by an eager-init
+	 * {@link SmartFactoryBean}.
+	 */
+	void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
+				getBean(beanName);
+			}
+		} else {
+			getBean(beanName);
+		}
+	}
+
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
 	//---------------------------------------------------------------------
@@ -1010,6 +1121,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 			this.frozenBeanDefinitionNames = null;
 		}
+		this.beanTypeIndex.register(beanName);
 
 		if (existingDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
@@ -1042,6 +1154,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.beanDefinitionNames.remove(beanName);
 		}
 		this.frozenBeanDefinitionNames = null;
+		this.beanTypeIndex.remove(beanName);
 
 		resetBeanDefinition(beanName);
 	}
@@ -1060,6 +1173,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	protected void resetBeanDefinition(String beanName) {
 		// Remove the merged bean definition for the given bean, if already created.
 		clearMergedBeanDefinition(beanName);
+		this.beanTypeIndex.reset(beanName);
 
 		// Remove corresponding bean from singleton cache, if any. Shouldn't usually
 		// be necessary, rather just meant for overriding a context's default beans
@@ -1119,9 +1233,28 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
 		updateManualSingletonNames(set -> set.add(beanName), set -> !this.beanDefinitionMap.containsKey(beanName));
+		addInstanceType(beanName, singletonObject);
 		clearByTypeCache();
 	}
 
+	/**
+	 * Also registers the type of the created bean instance with the type index, in case of a bean instance that
+	 * does not match the predicted type of its bean definition (e.g. a proxy).
+	 */
+	@Override
+	protected Object createBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
+			throws BeanCreationException {
+
+		Object bean = super.createBean(beanName, mbd, args);
+		addInstanceType(beanName, bean);
+		return bean;
+	}
+
+	private void addInstanceType(String beanName, Object beanInstance) {
+		Class<?> instanceType = beanInstance.getClass();
+		this.beanTypeIndex.addInstanceType(beanName, instanceType, isIndexableType(instanceType));
+	}
+
 	@Override
 	public void destroySingletons() {
 		super.destroySingletons();
@@ -18,13 +18,18 @@ package org.springframework.beans.factory.support;
 
 import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Generic registry for shared bean instances, implementing the
@@ -58,6 +63,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Maximum number of suppressed exceptions to preserve. */
 	private static final int SUPPRESSED_EXCEPTIONS_LIMIT = 100;
 
+	/** Interval in milliseconds for re-checking for deadlocks while waiting for a singleton creation lock. */
+	private static final long DEADLOCK_CHECK_INTERVAL = 100;
+
 	/** 第一级: 缓存初始化完毕的Bean:  Cache of singleton objects: bean name to bean instance. */
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
@@ -81,12 +89,21 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Names of beans currently excluded from in creation checks. */
 	private final Set<String> inCreationCheckExclusions = Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
-	/** Collection of suppressed Exceptions, available for associating related causes. */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	/** Collection of suppressed Exceptions per creating thread, available for associating related causes. */
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions during singleton creation");
 
 	/** Flag that indicates whether we're currently within destroySingletons. */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
+
+	/** Whether independent singletons may be created concurrently under per-bean locks. */
+	private volatile boolean allowConcurrentSingletonCreation = false;
+
+	/** Per-bean singleton creation locks: bean name to lock. */
+	private final Map<String, SingletonCreationLock> singletonCreationLocks = new ConcurrentHashMap<>(256);
+
+	/** Singleton creation locks that threads are currently waiting for: thread to awaited lock. */
+	private final Map<Thread, SingletonCreationLock> awaitedCreationLocks = new ConcurrentHashMap<>(16);
 
 	/** Disposable bean instances: bean name to disposable instance. */
 	private final Map<String, DisposableBean> disposableBeans = new LinkedHashMap<>();
@@ -100,6 +117,31 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Map between depending bean names: bean name to Set of bean names for the bean's dependencies. */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/**
+	 * Set whether independent singletons may be created concurrently by different threads.
+	 * <p>Default is "false": singletons are created under the {@link #getSingletonMutex() singleton mutex}, one at a
+	 * time. Switch this flag to "true" to create each singleton under its own creation lock instead, which is a
+	 * prerequisite for pre-instantiating singletons in parallel. A thread waiting for a singleton that is being
+	 * created by another thread receives a {@link BeanCurrentlyInCreationException} if the creating thread is in turn
+	 * waiting for a lock held by the waiting thread, for example for the singleton mutex.
+	 * <p>To be set before any singletons get created.
+	 *
+	 * @since 6.2
+	 * @see #acquireSingletonCreationLock
+	 */
+	public void setAllowConcurrentSingletonCreation(boolean allowConcurrentSingletonCreation) {
+		this.allowConcurrentSingletonCreation = allowConcurrentSingletonCreation;
+	}
+
+	/**
+	 * Return whether independent singletons may be created concurrently by different threads.
+	 *
+	 * @since 6.2
+	 */
+	public boolean isAllowConcurrentSingletonCreation() {
+		return this.allowConcurrentSingletonCreation;
+	}
+
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
@@ -182,6 +224,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			singletonObject = this.earlySingletonObjects.get(beanName);
 
 			if (singletonObject == null && allowEarlyReference) {
+				if (this.allowConcurrentSingletonCreation) {
+					return getEarlySingletonReference(beanName);
+				}
 				synchronized (this.singletonObjects) {
 					/**
 					 * Consistent creation of early reference within full singleton lock
@@ -208,6 +253,44 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return singletonObject;
 	}
 
+	/**
+	 * Resolve an early reference to the given singleton in case of concurrent singleton creation.
+	 * <p>Only the thread creating the singleton resolves an early reference; other threads are going to wait for the
+	 * creation lock in {@link #getSingleton(String, ObjectFactory)} instead. The singleton factory is invoked outside of
+	 * the registry lock since it may call out to post-processors.
+	 *
+	 * @param beanName the name of the bean
+	 * @return the early singleton reference, or {@code null} if none available to the current thread
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		SingletonCreationLock creationLock = this.singletonCreationLocks.get(beanName);
+		if (creationLock != null && !creationLock.isHeldByCurrentThread()) {
+			return null;
+		}
+		Object singletonObject;
+		ObjectFactory<?> singletonFactory;
+		synchronized (this.singletonObjects) {
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				singletonObject = this.earlySingletonObjects.get(beanName);
+			}
+			singletonFactory = (singletonObject == null ? this.singletonFactories.get(beanName) : null);
+		}
+		if (singletonFactory != null) {
+			singletonObject = singletonFactory.getObject();
+			synchronized (this.singletonObjects) {
+				Object earlySingletonObject = this.earlySingletonObjects.get(beanName);
+				if (earlySingletonObject != null) {
+					singletonObject = earlySingletonObject;
+				} else if (this.singletonFactories.remove(beanName) != null) {
+					this.earlySingletonObjects.put(beanName, singletonObject);
+				}
+			}
+		}
+		return singletonObject;
+	}
+
 	/**
 	 * Return the (raw) singleton object registered under the given name, creating and registering a new one if none
 	 * registered yet.
@@ -218,55 +301,240 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		synchronized (this.singletonObjects) {
-			// 从第一级缓存中获取单例Bean
-			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction  (Do not request a bean from a BeanFactory in a destroy method implementation!)");
+		if (!this.allowConcurrentSingletonCreation) {
+			synchronized (this.singletonObjects) {
+				return createSingletonIfNecessary(beanName, singletonFactory);
+			}
+		}
+		// 从第一级缓存中获取单例Bean
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+		acquireSingletonCreationLock(beanName);
+		try {
+			// Re-check within the creation lock: another thread may have created the singleton in the meantime
+			return createSingletonIfNecessary(beanName, singletonFactory);
+		} finally {
+			releaseSingletonCreationLock(beanName);
+		}
+	}
+
+	/**
+	 * Create and register the given singleton unless registered already, with the applicable creation lock held.
+	 */
+	private Object createSingletonIfNecessary(String beanName, ObjectFactory<?> singletonFactory) {
+		// 从第一级缓存中获取单例Bean
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction  (Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			boolean newSingleton = false;
+			Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+			if (recordSuppressedExceptions) {
+				suppressedExceptions = new LinkedHashSet<>();
+				this.suppressedExceptions.set(suppressedExceptions);
+			}
+			try {
+				// 从ObjectFactory中获取单例Bean
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			} catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					throw ex;
 				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			} catch (BeanCreationException ex) {
+				if (recordSuppressedExceptions) {
+					for (Exception suppressedException : suppressedExceptions) {
+						ex.addRelatedCause(suppressedException);
+					}
 				}
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
+				throw ex;
+			} finally {
 				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
+					this.suppressedExceptions.remove();
 				}
+				afterSingletonCreation(beanName);
+			}
+
+			if (newSingleton) { // 若是新建的单例Bean
+				// 维护第一级缓存
+				addSingleton(beanName, singletonObject);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Acquire the creation lock for the given singleton, waiting for a concurrent creation of the same singleton
+	 * within another thread to complete. Only applicable if {@link #setAllowConcurrentSingletonCreation concurrent
+	 * singleton creation} is allowed; otherwise, singletons are created under the {@link #getSingletonMutex()
+	 * singleton mutex}.
+	 * <p>Each singleton is created under its own lock, so that independent singletons can be created concurrently.
+	 * Before and while waiting, the chain of lock owners and the locks that they are waiting for in turn is checked,
+	 * including monitors such as the singleton mutex: if it leads back to the current thread, the threads are mutually
+	 * waiting for each other, and a {@link BeanCurrentlyInCreationException} is thrown instead of deadlocking.
+	 * <p>Each successful call needs to be paired with a call to {@link #releaseSingletonCreationLock}.
+	 *
+	 * @param beanName the name of the bean
+	 * @throws BeanCurrentlyInCreationException if waiting for the lock would result in a deadlock
+	 * @see #tryAcquireSingletonCreationLock
+	 * @since 6.2
+	 */
+	protected final void acquireSingletonCreationLock(String beanName) {
+		while (true) {
+			SingletonCreationLock creationLock =
+					this.singletonCreationLocks.computeIfAbsent(beanName, SingletonCreationLock::new);
+			if (!creationLock.tryLock()) {
+				awaitSingletonCreationLock(creationLock);
+			}
+			if (this.singletonCreationLocks.get(beanName) == creationLock) {
+				return;
+			}
+			// Lock removed along with its singleton in the meantime -> retry with the current lock
+			creationLock.unlock();
+		}
+	}
+
+	/**
+	 * Acquire the creation lock for the given singleton if it is not held by another thread.
+	 *
+	 * @param beanName the name of the bean
+	 * @return {@code true} if the lock has been acquired (to be released through
+	 * {@link #releaseSingletonCreationLock}), {@code false} if the singleton is currently in creation within
+	 * another thread
+	 * @see #acquireSingletonCreationLock
+	 * @since 6.2
+	 */
+	protected final boolean tryAcquireSingletonCreationLock(String beanName) {
+		while (true) {
+			SingletonCreationLock creationLock =
+					this.singletonCreationLocks.computeIfAbsent(beanName, SingletonCreationLock::new);
+			if (!creationLock.tryLock()) {
+				return false;
+			}
+			if (this.singletonCreationLocks.get(beanName) == creationLock) {
+				return true;
+			}
+			creationLock.unlock();
+		}
+	}
+
+	/**
+	 * Release the creation lock for the given singleton, previously acquired by the current thread.
+	 *
+	 * @param beanName the name of the bean
+	 * @see #acquireSingletonCreationLock
+	 * @see #tryAcquireSingletonCreationLock
+	 * @since 6.2
+	 */
+	protected final void releaseSingletonCreationLock(String beanName) {
+		SingletonCreationLock creationLock = this.singletonCreationLocks.get(beanName);
+		Assert.state(creationLock != null, () -> "No creation lock for singleton bean '" + beanName + "'");
+		creationLock.unlock();
+	}
+
+	/**
+	 * Remove the creation lock for the given singleton unless currently held by any thread.
+	 * <p>The lock is only removed while held by the current thread, so that a thread which obtained the lock
+	 * before its removal notices and retries with a new lock in {@link #acquireSingletonCreationLock}.
+	 */
+	private void removeSingletonCreationLock(String beanName) {
+		SingletonCreationLock creationLock = this.singletonCreationLocks.get(beanName);
+		if (creationLock != null && !creationLock.isHeldByCurrentThread() && creationLock.tryLock()) {
+			try {
+				this.singletonCreationLocks.remove(beanName, creationLock);
+			} finally {
+				creationLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Wait for the given creation lock held by another thread, checking for deadlocks in between.
+	 */
+	private void awaitSingletonCreationLock(SingletonCreationLock creationLock) {
+		Thread currentThread = Thread.currentThread();
+		boolean interrupted = false;
+		this.awaitedCreationLocks.put(currentThread, creationLock);
+		try {
+			while (true) {
+				checkForDeadlock(creationLock, currentThread);
 				try {
-					// 从ObjectFactory中获取单例Bean
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
-				} catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
-					}
-				} catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
-					}
-					throw ex;
-				} finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+					if (creationLock.tryLock(DEADLOCK_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+						return;
 					}
-					afterSingletonCreation(beanName);
+				} catch (InterruptedException ex) {
+					// Keep waiting like for a regular monitor, preserving the interrupt status
+					interrupted = true;
 				}
+			}
+		} finally {
+			this.awaitedCreationLocks.remove(currentThread);
+			if (interrupted) {
+				currentThread.interrupt();
+			}
+		}
+	}
 
-				if (newSingleton) { // 若是新建的单例Bean
-					// 维护第一级缓存
-					addSingleton(beanName, singletonObject);
-				}
+	/**
+	 * Check whether waiting for the given creation lock would close a cycle of threads waiting for each other.
+	 */
+	private void checkForDeadlock(SingletonCreationLock creationLock, Thread currentThread) {
+		Set<Thread> visitedThreads = new HashSet<>();
+		Thread owner = creationLock.getOwner();
+		while (owner != null && visitedThreads.add(owner)) {
+			if (owner == currentThread) {
+				Thread creatingThread = creationLock.getOwner();
+				throw new BeanCurrentlyInCreationException(creationLock.beanName,
+						"Requested bean is currently in creation within thread '" +
+								(creatingThread != null ? creatingThread.getName() : "unknown") +
+								"' which is in turn waiting for a lock held by the current thread, either for another " +
+								"singleton in creation or for a monitor such as the singleton mutex: Is there an " +
+								"unresolvable circular reference between singletons created by different threads?");
 			}
-			return singletonObject;
+			owner = getBlockingThread(owner, currentThread);
+		}
+	}
+
+	/**
+	 * Determine the thread that the given thread is waiting for, if known: the owner of an awaited singleton creation
+	 * lock, or the owner of a monitor (such as the singleton mutex) that the given thread is blocked on, provided that
+	 * the owner is the current thread or is waiting for a singleton creation lock itself.
+	 */
+	@Nullable
+	private Thread getBlockingThread(Thread thread, Thread currentThread) {
+		SingletonCreationLock awaitedLock = this.awaitedCreationLocks.get(thread);
+		if (awaitedLock != null) {
+			return awaitedLock.getOwner();
+		}
+		if (thread.getState() != Thread.State.BLOCKED) {
+			return null;
+		}
+		ThreadInfo threadInfo = ManagementFactory.getThreadMXBean().getThreadInfo(thread.getId());
+		if (threadInfo == null) {
+			return null;
 		}
+		long ownerId = threadInfo.getLockOwnerId();
+		if (ownerId == currentThread.getId()) {
+			return currentThread;
+		}
+		for (Thread waitingThread : this.awaitedCreationLocks.keySet()) {
+			if (waitingThread.getId() == ownerId) {
+				return waitingThread;
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -280,10 +548,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null && suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -301,6 +568,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			this.earlySingletonObjects.remove(beanName);
 			this.registeredSingletons.remove(beanName);
 		}
+		removeSingletonCreationLock(beanName);
 	}
 
 	@Override
@@ -550,6 +818,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			this.registeredSingletons.clear();
 			this.singletonsCurrentlyInDestruction = false;
 		}
+		for (String beanName : this.singletonCreationLocks.keySet()) {
+			removeSingletonCreationLock(beanName);
+		}
 	}
 
 	/**
@@ -638,10 +909,34 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * <p>Subclasses should synchronize on the given Object if they perform
 	 * any sort of extended singleton creation phase. In particular, subclasses should <i>not</i> have their own mutexes
 	 * involved in singleton creation, to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>If {@link #setAllowConcurrentSingletonCreation concurrent singleton creation} is allowed, singletons are
+	 * created under per-bean creation locks instead of this mutex. A thread holding this mutex while requesting a
+	 * singleton in creation within another thread, which is in turn blocked on this mutex, receives a
+	 * {@link BeanCurrentlyInCreationException} rather than deadlocking.
 	 */
 	@Override
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Reentrant creation lock for a specific singleton, exposing its owner for deadlock detection.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonCreationLock extends ReentrantLock {
+
+		private final String beanName;
+
+		SingletonCreationLock(String beanName) {
+			this.beanName = beanName;
+		}
+
+		@Override
+		@Nullable
+		protected Thread getOwner() {
+			return super.getOwner();
+		}
+	}
+
 }
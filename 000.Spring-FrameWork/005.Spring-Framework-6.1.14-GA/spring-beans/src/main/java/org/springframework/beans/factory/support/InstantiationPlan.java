@@ -0,0 +1,278 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyAccessorUtils;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.TypeConverter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Cached instantiation plan for re-creating a non-singleton bean: the resolved
+ * constructor with its fully resolved arguments, as well as setter method handles
+ * bound to the pre-converted property values of the merged bean definition.
+ * Plain constructor argument values are converted once if they result in immutable
+ * values, while bean references and autowired arguments are not planned for.
+ *
+ * <p>A plan is only derived from a bean definition after a regular creation of the
+ * bean, once constructor resolution and property value conversion have been cached
+ * in the merged bean definition, and only if no further resolution is required for
+ * subsequent instances. Replaying the plan avoids constructor resolution, property
+ * introspection and {@link org.springframework.beans.BeanWrapper} allocation.
+ * Post-processor callbacks still apply as for regular bean creation.
+ *
+ * @since 6.2
+ * @see AbstractAutowireCapableBeanFactory#doCreateBean
+ */
+final class InstantiationPlan {
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+
+	private final Constructor<?> constructor;
+
+	private final MethodHandle constructorHandle;
+
+	private final Object[] constructorArguments;
+
+	@Nullable
+	private final MutablePropertyValues propertyValues;
+
+	private final PropertyValue[] plannedPropertyValues;
+
+	private final MethodHandle[] setterHandles;
+
+
+	private InstantiationPlan(Constructor<?> constructor, MethodHandle constructorHandle,
+			Object[] constructorArguments, @Nullable MutablePropertyValues propertyValues,
+			PropertyValue[] plannedPropertyValues, MethodHandle[] setterHandles) {
+
+		this.constructor = constructor;
+		this.constructorHandle = constructorHandle;
+		this.constructorArguments = constructorArguments;
+		this.propertyValues = propertyValues;
+		this.plannedPropertyValues = plannedPropertyValues;
+		this.setterHandles = setterHandles;
+	}
+
+
+	/**
+	 * Return the constructor that this plan instantiates the bean with.
+	 */
+	Constructor<?> getConstructor() {
+		return this.constructor;
+	}
+
+	/**
+	 * Create a new bean instance through the resolved constructor.
+	 * @return the new bean instance
+	 * @throws Throwable if thrown by the constructor
+	 */
+	Object instantiate() throws Throwable {
+		return this.constructorHandle.invokeExact(this.constructorArguments);
+	}
+
+	/**
+	 * Determine whether the given property values (as returned from the post-processors)
+	 * are still the property values that this plan has been derived from.
+	 * @param pvs the property values to apply
+	 */
+	boolean isPlanned(@Nullable PropertyValues pvs) {
+		if (pvs == null) {
+			return true;
+		}
+		if (pvs != this.propertyValues) {
+			return (pvs.isEmpty() && this.plannedPropertyValues.length == 0);
+		}
+		List<PropertyValue> current = this.propertyValues.getPropertyValueList();
+		if (current.size() != this.plannedPropertyValues.length) {
+			return false;
+		}
+		for (int i = 0; i < this.plannedPropertyValues.length; i++) {
+			if (current.get(i) != this.plannedPropertyValues[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Apply the planned property values to the given bean instance.
+	 * @param bean the bean instance to populate
+	 * @throws MethodInvocationException if a setter method threw an exception
+	 */
+	void applyPropertyValues(Object bean) throws MethodInvocationException {
+		for (int i = 0; i < this.setterHandles.length; i++) {
+			PropertyValue pv = this.plannedPropertyValues[i];
+			Object value = pv.getConvertedValue();
+			try {
+				this.setterHandles[i].invokeExact(bean, value);
+			}
+			catch (Throwable ex) {
+				throw new MethodInvocationException(new PropertyChangeEvent(bean, pv.getName(), null, value), ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Derive an instantiation plan from the given merged bean definition, if possible.
+	 * @param beanFactory the bean factory that created the bean
+	 * @param mbd the merged bean definition, after a regular creation of the bean
+	 * @param beanClass the actual class of the created bean
+	 * @return the plan, or {@code null} if the bean definition requires a regular
+	 * creation of every instance
+	 */
+	@Nullable
+	static InstantiationPlan resolve(AbstractBeanFactory beanFactory, RootBeanDefinition mbd, Class<?> beanClass) {
+		if (!mbd.allowCaching || mbd.getInstanceSupplier() != null || mbd.getFactoryMethodName() != null ||
+				mbd.hasMethodOverrides() || beanClass.isRecord() ||
+				(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(beanClass))) {
+			return null;
+		}
+		int autowireMode = mbd.getResolvedAutowireMode();
+		if (autowireMode == AbstractBeanDefinition.AUTOWIRE_BY_NAME ||
+				autowireMode == AbstractBeanDefinition.AUTOWIRE_BY_TYPE ||
+				mbd.getDependencyCheck() != AbstractBeanDefinition.DEPENDENCY_CHECK_NONE) {
+			return null;
+		}
+
+		Constructor<?> constructor;
+		Object[] constructorArguments;
+		synchronized (mbd.constructorArgumentLock) {
+			Executable executable = mbd.resolvedConstructorOrFactoryMethod;
+			if (!(executable instanceof Constructor<?> ctor) || ctor.getDeclaringClass() != beanClass) {
+				return null;
+			}
+			constructor = ctor;
+			if (mbd.constructorArgumentsResolved) {
+				constructorArguments = (mbd.resolvedConstructorArguments != null ? mbd.resolvedConstructorArguments :
+						resolveConstantArguments(beanFactory, ctor, mbd.preparedConstructorArguments));
+			}
+			else if (ctor.getParameterCount() == 0) {
+				constructorArguments = new Object[0];
+			}
+			else {
+				constructorArguments = null;
+			}
+		}
+		if (constructorArguments == null || constructorArguments.length != constructor.getParameterCount() ||
+				constructor.isVarArgs()) {
+			return null;
+		}
+
+		MutablePropertyValues propertyValues = null;
+		PropertyValue[] plannedPropertyValues = new PropertyValue[0];
+		if (mbd.hasPropertyValues()) {
+			propertyValues = mbd.getPropertyValues();
+			if (!propertyValues.isConverted()) {
+				return null;
+			}
+			plannedPropertyValues = propertyValues.getPropertyValues();
+		}
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			ReflectionUtils.makeAccessible(constructor);
+			MethodHandle constructorHandle = lookup.unreflectConstructor(constructor)
+					.asSpreader(Object[].class, constructorArguments.length).asType(CONSTRUCTOR_TYPE);
+			MethodHandle[] setterHandles = new MethodHandle[plannedPropertyValues.length];
+			for (int i = 0; i < plannedPropertyValues.length; i++) {
+				PropertyValue pv = plannedPropertyValues[i];
+				if (!pv.isConverted() || PropertyAccessorUtils.isNestedOrIndexedProperty(pv.getName())) {
+					return null;
+				}
+				PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(beanClass, pv.getName());
+				if (pd == null || !BeanUtils.hasUniqueWriteMethod(pd)) {
+					return null;
+				}
+				Method writeMethod = ClassUtils.getInterfaceMethodIfPossible(pd.getWriteMethod(), beanClass);
+				ReflectionUtils.makeAccessible(writeMethod);
+				setterHandles[i] = lookup.unreflect(writeMethod).asType(SETTER_TYPE);
+			}
+			return new InstantiationPlan(constructor, constructorHandle, constructorArguments,
+					propertyValues, plannedPropertyValues, setterHandles);
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			// Not accessible for method handles (e.g. within a module) -> regular creation
+			return null;
+		}
+	}
+
+	/**
+	 * Resolve prepared constructor arguments upfront if they consist of plain values only,
+	 * converting to immutable values that can be shared among all instances.
+	 * @return the resolved arguments, or {@code null} if they need to be resolved for every instance
+	 */
+	@Nullable
+	private static Object[] resolveConstantArguments(AbstractBeanFactory beanFactory, Constructor<?> ctor,
+			@Nullable Object[] preparedArguments) {
+
+		if (preparedArguments == null || beanFactory.getBeanExpressionResolver() != null) {
+			// Bean definition strings may evaluate to a different value for every instance
+			return null;
+		}
+		TypeConverter converter = beanFactory.getCustomTypeConverter();
+		if (converter == null) {
+			BeanWrapperImpl bw = new BeanWrapperImpl();
+			beanFactory.initBeanWrapper(bw);
+			converter = bw;
+		}
+		Class<?>[] paramTypes = ctor.getParameterTypes();
+		Object[] resolvedArguments = new Object[preparedArguments.length];
+		try {
+			for (int i = 0; i < preparedArguments.length; i++) {
+				Object argument = preparedArguments[i];
+				if (argument instanceof String text && i < paramTypes.length) {
+					argument = converter.convertIfNecessary(text, paramTypes[i], MethodParameter.forExecutable(ctor, i));
+				}
+				if (argument != null && !(argument instanceof String || argument instanceof Enum ||
+						ClassUtils.isPrimitiveWrapper(argument.getClass()))) {
+					return null;
+				}
+				resolvedArguments[i] = argument;
+			}
+		}
+		catch (TypeMismatchException ex) {
+			return null;
+		}
+		return resolvedArguments;
+	}
+
+}
@@ -126,6 +126,17 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	@Nullable
 	volatile Boolean beforeInstantiationResolved;
 
+	/** Package-visible field for caching the instantiation plan of a non-singleton bean. */
+	@Nullable
+	volatile InstantiationPlan instantiationPlan;
+
+	/**
+	 * Package-visible field that indicates whether the instantiation plan has been resolved:
+	 * {@code null} before the first creation, {@code false} after the first creation.
+	 */
+	@Nullable
+	volatile Boolean instantiationPlanResolved;
+
 	@Nullable
 	private Set<Member> externallyManagedConfigMembers;
 
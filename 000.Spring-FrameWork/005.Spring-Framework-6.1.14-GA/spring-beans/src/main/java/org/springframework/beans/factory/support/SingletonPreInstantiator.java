@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+/**
+ * Helper for pre-instantiating the non-lazy singletons of a
+ * {@link DefaultListableBeanFactory} in parallel on a given {@link Executor}.
+ *
+ * <p>A dependency graph is derived from the bean definition metadata: "depends-on"
+ * declarations, factory beans, as well as bean references and inner bean definitions
+ * in constructor arguments and property values. A singleton is only scheduled once
+ * all singletons it depends on according to that metadata have been instantiated,
+ * with circular references in the metadata being ignored for scheduling purposes.
+ *
+ * <p>Dependencies that do not show up in the metadata, for example through annotation-driven
+ * injection, are still resolved on demand by the thread creating the dependent singleton,
+ * with the per-bean singleton creation locks of the bean factory applying. Should such
+ * singletons turn out to wait for each other across threads, the remaining singletons
+ * are instantiated sequentially within the calling thread instead.
+ *
+ * @since 6.2
+ * @see DefaultListableBeanFactory#setPreInstantiationExecutor
+ */
+class SingletonPreInstantiator {
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final Executor executor;
+
+	private final Set<String> candidates = new LinkedHashSet<>();
+
+	private final Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+	private final Set<String> currentlyScheduling = new HashSet<>();
+
+
+	SingletonPreInstantiator(DefaultListableBeanFactory beanFactory, Executor executor) {
+		this.beanFactory = beanFactory;
+		this.executor = task -> {
+			try {
+				executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				// Probably on shutdown -> instantiate the singleton locally instead
+				task.run();
+			}
+		};
+	}
+
+
+	/**
+	 * Instantiate the applicable singletons among the given bean names,
+	 * returning once all of them have been processed.
+	 * @param beanNames the bean names to consider, in registration order
+	 */
+	void preInstantiateSingletons(List<String> beanNames) {
+		for (String beanName : beanNames) {
+			if (this.beanFactory.isPreInstantiationCandidate(beanName)) {
+				this.candidates.add(beanName);
+			}
+		}
+		StartupStep step = this.beanFactory.getApplicationStartup().start("spring.beans.pre-instantiate")
+				.tag("beanCount", String.valueOf(this.candidates.size()));
+		try {
+			for (String beanName : this.candidates) {
+				schedule(beanName);
+			}
+			CompletableFuture.allOf(this.futures.values().toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof BeanCreationException bce && bce.contains(BeanCurrentlyInCreationException.class)) {
+				// Cross-thread deadlock detected (or a circular reference) -> retry sequentially
+				for (String beanName : this.candidates) {
+					this.beanFactory.preInstantiateSingleton(beanName);
+				}
+				return;
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw ex;
+		}
+		finally {
+			step.end();
+		}
+	}
+
+	private CompletableFuture<Void> schedule(String beanName) {
+		CompletableFuture<Void> future = this.futures.get(beanName);
+		if (future != null) {
+			return future;
+		}
+		this.currentlyScheduling.add(beanName);
+		List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+		for (String dependency : getDependencies(beanName)) {
+			// Circular references in the metadata are left to the regular singleton creation
+			if (this.candidates.contains(dependency) && !this.currentlyScheduling.contains(dependency)) {
+				dependencies.add(schedule(dependency));
+			}
+		}
+		this.currentlyScheduling.remove(beanName);
+
+		Runnable task = () -> this.beanFactory.preInstantiateSingleton(beanName);
+		if (dependencies.isEmpty()) {
+			future = CompletableFuture.runAsync(task, this.executor);
+		}
+		else {
+			future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+					.thenRunAsync(task, this.executor);
+		}
+		this.futures.put(beanName, future);
+		return future;
+	}
+
+	private Set<String> getDependencies(String beanName) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		collectDependencies(this.beanFactory.getMergedLocalBeanDefinition(beanName), dependencies);
+		return dependencies;
+	}
+
+	private void collectDependencies(BeanDefinition bd, Set<String> dependencies) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				addDependency(dependency, dependencies);
+			}
+		}
+		String factoryBeanName = bd.getFactoryBeanName();
+		if (factoryBeanName != null) {
+			addDependency(factoryBeanName, dependencies);
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+				collectDependencies(valueHolder.getValue(), dependencies);
+			}
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+				collectDependencies(valueHolder.getValue(), dependencies);
+			}
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				collectDependencies(pv.getValue(), dependencies);
+			}
+		}
+	}
+
+	private void collectDependencies(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof BeanReference beanReference) {
+			addDependency(beanReference.getBeanName(), dependencies);
+		}
+		else if (value instanceof BeanDefinitionHolder holder) {
+			collectDependencies(holder.getBeanDefinition(), dependencies);
+		}
+		else if (value instanceof BeanDefinition innerBd) {
+			collectDependencies(innerBd, dependencies);
+		}
+		else if (value instanceof Collection<?> collection) {
+			for (Object element : collection) {
+				collectDependencies(element, dependencies);
+			}
+		}
+		else if (value instanceof Map<?, ?> map) {
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				collectDependencies(entry.getKey(), dependencies);
+				collectDependencies(entry.getValue(), dependencies);
+			}
+		}
+	}
+
+	private void addDependency(String name, Set<String> dependencies) {
+		dependencies.add(this.beanFactory.transformedBeanName(name));
+	}
+
+}
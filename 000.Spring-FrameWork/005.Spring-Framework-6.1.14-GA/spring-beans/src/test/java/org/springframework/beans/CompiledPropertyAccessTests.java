@@ -0,0 +1,217 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.testfixture.beans.IndexedTestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BeanWrapperImpl} with {@linkplain BeanWrapperImpl#setCompiledPropertyAccess
+ * compiled property access}.
+ */
+class CompiledPropertyAccessTests {
+
+	@Test
+	void simpleProperties() {
+		TestBean target = new TestBean();
+		BeanWrapperImpl bw = compiled(target);
+		bw.setPropertyValue("name", "juergen");
+		bw.setPropertyValue("age", "99");
+
+		assertThat(target.getName()).isEqualTo("juergen");
+		assertThat(target.getAge()).isEqualTo(99);
+		assertThat(bw.getPropertyValue("name")).isEqualTo("juergen");
+		assertThat(bw.getPropertyValue("age")).isEqualTo(99);
+		assertThat(CachedIntrospectionResults.forClass(target.getClass()).getPropertyMethodInvoker()).isNotNull();
+	}
+
+	@Test
+	void nestedProperties() {
+		TestBean target = new TestBean();
+		target.setSpouse(new TestBean());
+		BeanWrapperImpl bw = compiled(target);
+		bw.setPropertyValue("spouse.name", "kerry");
+
+		assertThat(target.getSpouse().getName()).isEqualTo("kerry");
+		assertThat(bw.getPropertyValue("spouse.name")).isEqualTo("kerry");
+		assertThat(((BeanWrapperImpl) bw.getPropertyAccessorForPropertyPath("spouse.name"))
+				.isCompiledPropertyAccess()).isTrue();
+	}
+
+	@Test
+	void indexedProperties() {
+		IndexedTestBean target = new IndexedTestBean();
+		BeanWrapperImpl bw = compiled(target);
+		bw.setPropertyValue("array[0].name", "name0");
+		bw.setPropertyValue("list[1].name", "name1");
+		bw.setPropertyValue("map[key1].name", "name2");
+
+		assertThat(target.getArray()[0].getName()).isEqualTo("name0");
+		assertThat(((TestBean) target.getList().get(1)).getName()).isEqualTo("name1");
+		assertThat(((TestBean) target.getMap().get("key1")).getName()).isEqualTo("name2");
+		assertThat(bw.getPropertyValue("array[0].name")).isEqualTo("name0");
+		assertThat(bw.getPropertyValue("list[1].name")).isEqualTo("name1");
+		assertThat(bw.getPropertyValue("map[key1].name")).isEqualTo("name2");
+	}
+
+	@Test
+	void keyedPropertiesWithSameNameOnDifferentTypes() {
+		CollectionBean target = new CollectionBean();
+		BeanWrapperImpl bw = compiled(target);
+		bw.setPropertyValue("list[0]", "value0");
+		bw.setPropertyValue("map['list[0]']", "value1");
+		bw.setPropertyValue("map[\"list[0]\"]", "value2");
+
+		assertThat(target.getList()).containsExactly("value0");
+		assertThat(target.getMap()).containsEntry("list[0]", "value2").hasSize(1);
+	}
+
+	@Test
+	void setterException() {
+		BeanWrapperImpl bw = compiled(new FailingBean());
+		assertThatExceptionOfType(MethodInvocationException.class)
+				.isThrownBy(() -> bw.setPropertyValue("value", "text"))
+				.withCauseInstanceOf(IllegalStateException.class)
+				.satisfies(ex -> assertThat(ex.getPropertyName()).isEqualTo("value"));
+	}
+
+	@Test
+	void getterException() {
+		BeanWrapperImpl bw = compiled(new FailingBean());
+		assertThatExceptionOfType(InvalidPropertyException.class)
+				.isThrownBy(() -> bw.getPropertyValue("value"))
+				.withRootCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void packageVisibleBeanClass() {
+		PackageVisibleBean target = new PackageVisibleBean();
+		BeanWrapperImpl bw = compiled(target);
+		bw.setPropertyValue("value", "text");
+
+		assertThat(target.getValue()).isEqualTo("text");
+		assertThat(bw.getPropertyValue("value")).isEqualTo("text");
+	}
+
+	@Test
+	void privateBeanClassFallsBackToReflection() {
+		PrivateBean target = new PrivateBean();
+		BeanWrapperImpl bw = compiled(target);
+		bw.setPropertyValue("value", "text");
+
+		assertThat(target.getValue()).isEqualTo("text");
+		assertThat(bw.getPropertyValue("value")).isEqualTo("text");
+		assertThat(CachedIntrospectionResults.forClass(target.getClass()).getPropertyMethodInvoker()).isNull();
+	}
+
+	@Test
+	void jdkClassFallsBackToReflection() {
+		Date target = new Date();
+		BeanWrapperImpl bw = compiled(target);
+		bw.setPropertyValue("time", 1000L);
+		assertThat(bw.getPropertyValue("time")).isEqualTo(1000L);
+		assertThat(CachedIntrospectionResults.forClass(target.getClass()).getPropertyMethodInvoker()).isNull();
+	}
+
+	@Test
+	void disabledByDefault() {
+		assertThat(new BeanWrapperImpl(new TestBean()).isCompiledPropertyAccess()).isFalse();
+	}
+
+
+	private static BeanWrapperImpl compiled(Object target) {
+		BeanWrapperImpl bw = new BeanWrapperImpl(target);
+		bw.setCompiledPropertyAccess(true);
+		return bw;
+	}
+
+
+	public static class CollectionBean {
+
+		private List<String> list = new ArrayList<>();
+
+		private Map<String, String> map = new HashMap<>();
+
+		public List<String> getList() {
+			return this.list;
+		}
+
+		public void setList(List<String> list) {
+			this.list = list;
+		}
+
+		public Map<String, String> getMap() {
+			return this.map;
+		}
+
+		public void setMap(Map<String, String> map) {
+			this.map = map;
+		}
+	}
+
+
+	public static class FailingBean {
+
+		public String getValue() {
+			throw new IllegalStateException("Expected");
+		}
+
+		public void setValue(String value) {
+			throw new IllegalStateException("Expected");
+		}
+	}
+
+
+	static class PackageVisibleBean {
+
+		private String value;
+
+		public String getValue() {
+			return this.value;
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+	}
+
+
+	private static class PrivateBean {
+
+		private String value;
+
+		public String getValue() {
+			return this.value;
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.io.Serializable;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.NestedTestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.beans.testfixture.beans.factory.DummyFactory;
+import org.springframework.core.ResolvableType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for by-type lookups through the {@link BeanTypeIndex} of a {@link DefaultListableBeanFactory}.
+ */
+class BeanTypeIndexTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@Test
+	void matchesClassHierarchyInRegistrationOrder() {
+		this.beanFactory.registerBeanDefinition("first", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		this.beanFactory.registerBeanDefinition("second", new RootBeanDefinition(DerivedTestBean.class));
+
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("first", "second");
+		assertThat(this.beanFactory.getBeanNamesForType(ITestBean.class)).containsExactly("first", "second");
+		assertThat(this.beanFactory.getBeanNamesForType(Runnable.class)).containsExactly("second");
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).containsExactly("nested");
+		assertThat(this.beanFactory.getBeanNamesForType(Object.class)).containsExactly("first", "nested", "second");
+	}
+
+	@Test
+	void onlyChecksCandidatesOnceIndexed() {
+		CountingPostProcessor postProcessor = new CountingPostProcessor();
+		this.beanFactory.addBeanPostProcessor(postProcessor);
+		for (int i = 0; i < 10; i++) {
+			this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(TestBean.class));
+		}
+		this.beanFactory.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).containsExactly("nested");
+
+		postProcessor.predicted.clear();
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).containsExactly("nested");
+		assertThat(postProcessor.predicted).containsExactly("nested");
+	}
+
+	@Test
+	void maintainsIndexOnRegistrationAndRemoval() {
+		this.beanFactory.registerBeanDefinition("first", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerBeanDefinition("second", new RootBeanDefinition(NestedTestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("first");
+
+		this.beanFactory.registerBeanDefinition("third", new RootBeanDefinition(TestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("first", "third");
+
+		this.beanFactory.registerBeanDefinition("second", new RootBeanDefinition(DerivedTestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("first", "second", "third");
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).isEmpty();
+
+		this.beanFactory.removeBeanDefinition("first");
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("second", "third");
+	}
+
+	@Test
+	void resetsChildDefinitionsWithParent() {
+		this.beanFactory.registerBeanDefinition("parent", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerBeanDefinition("child", new ChildBeanDefinition("parent"));
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("parent", "child");
+
+		this.beanFactory.registerBeanDefinition("parent", new RootBeanDefinition(NestedTestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).isEmpty();
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).containsExactly("parent", "child");
+	}
+
+	@Test
+	void matchesBeanClassNameBeforeClassResolution() {
+		RootBeanDefinition bd = new RootBeanDefinition();
+		bd.setBeanClassName(TestBean.class.getName());
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		assertThat(this.beanFactory.getBeanNamesForType(ITestBean.class, true, false)).containsExactly("test");
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class, true, false)).isEmpty();
+		assertThat(this.beanFactory.getBeanNamesForType(ITestBean.class)).containsExactly("test");
+	}
+
+	@Test
+	void matchesProxiedBeanInstance() {
+		this.beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class<?>[] {ITestBean.class, Serializable.class}, (proxy, method, args) -> null);
+			}
+		});
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(Serializable.class)).isEmpty();
+
+		this.beanFactory.getBean("test");
+		assertThat(this.beanFactory.getBeanNamesForType(Serializable.class)).containsExactly("test");
+		assertThat(this.beanFactory.getBeanNamesForType(ITestBean.class)).containsExactly("test");
+	}
+
+	@Test
+	void matchesFactoryMethodInstanceOfSubtype() {
+		RootBeanDefinition bd = new RootBeanDefinition(BeanTypeIndexTests.class);
+		bd.setFactoryMethodName("createTestBean");
+		this.beanFactory.registerBeanDefinition("test", bd);
+		assertThat(this.beanFactory.getBeanNamesForType(ITestBean.class)).containsExactly("test");
+		assertThat(this.beanFactory.getBeanNamesForType(DerivedTestBean.class)).isEmpty();
+
+		this.beanFactory.getBean("test");
+		assertThat(this.beanFactory.getBeanNamesForType(DerivedTestBean.class)).containsExactly("test");
+	}
+
+	@Test
+	void matchesFactoryBeanAndObjectType() {
+		this.beanFactory.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		this.beanFactory.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("factory");
+		assertThat(this.beanFactory.getBeanNamesForType(DummyFactory.class)).containsExactly("&factory");
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).containsExactly("nested");
+	}
+
+	@Test
+	void mergesIndexedAndUnindexedCandidatesInRegistrationOrder() {
+		this.beanFactory.registerBeanDefinition("first", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		this.beanFactory.registerBeanDefinition("second", new RootBeanDefinition(TestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("first", "factory", "second");
+
+		this.beanFactory.registerBeanDefinition("first", new RootBeanDefinition(DerivedTestBean.class));
+		this.beanFactory.registerBeanDefinition("third", new RootBeanDefinition(TestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class))
+				.containsExactly("first", "factory", "second", "third");
+		assertThat(this.beanFactory.getBeanNamesForType(Runnable.class)).containsExactly("first");
+	}
+
+	@Test
+	void matchesGenericTypeOnIndexedCandidates() {
+		this.beanFactory.registerBeanDefinition("strings", new RootBeanDefinition(StringList.class));
+		this.beanFactory.registerBeanDefinition("integers", new RootBeanDefinition(IntegerList.class));
+
+		assertThat(this.beanFactory.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, String.class)))
+				.containsExactly("strings");
+		assertThat(this.beanFactory.getBeanNamesForType(List.class)).containsExactly("strings", "integers");
+	}
+
+	@Test
+	void reindexesOnPostProcessorRegistration() {
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).isEmpty();
+
+		this.beanFactory.addBeanPostProcessor(new SmartInstantiationAwareBeanPostProcessor() {
+			@Override
+			public Class<?> predictBeanType(Class<?> beanClass, String beanName) {
+				return NestedTestBean.class;
+			}
+		});
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).containsExactly("test");
+	}
+
+	@Test
+	void matchesRegisteredSingletonForBeanDefinition() {
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(ITestBean.class));
+		assertThat(this.beanFactory.getBeanNamesForType(NestedTestBean.class)).isEmpty();
+
+		this.beanFactory.registerSingleton("test", new TestBean());
+		assertThat(this.beanFactory.getBeanNamesForType(TestBean.class)).containsExactly("test");
+	}
+
+
+	public static ITestBean createTestBean() {
+		return new DerivedTestBean();
+	}
+
+
+	static class DerivedTestBean extends TestBean implements Runnable {
+
+		@Override
+		public void run() {
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class StringList extends ArrayList<String> {
+	}
+
+
+	@SuppressWarnings("serial")
+	static class IntegerList extends ArrayList<Integer> {
+	}
+
+
+	static class CountingPostProcessor implements SmartInstantiationAwareBeanPostProcessor {
+
+		final List<String> predicted = new ArrayList<>();
+
+		@Override
+		public Class<?> predictBeanType(Class<?> beanClass, String beanName) {
+			this.predicted.add(beanName);
+			return null;
+		}
+	}
+
+}
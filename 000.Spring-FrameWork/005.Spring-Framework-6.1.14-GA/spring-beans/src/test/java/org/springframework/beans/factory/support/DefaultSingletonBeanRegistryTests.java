@@ -16,12 +16,25 @@
 
 package org.springframework.beans.factory.support;
 
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.testfixture.beans.DerivedTestBean;
 import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author Juergen Hoeller
@@ -86,4 +99,144 @@ class DefaultSingletonBeanRegistryTests {
 		assertThat(beanRegistry.isDependent("c", "c")).isTrue();
 	}
 
+	@Test
+	void concurrentCreationOfDifferentSingletons() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		CountDownLatch otherCreated = new CountDownLatch(1);
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> beanRegistry.getSingleton("tb1", () -> {
+			await(otherCreated);
+			return new TestBean("tb1");
+		}));
+		Object tb2 = beanRegistry.getSingleton("tb2", () -> new TestBean("tb2"));
+		otherCreated.countDown();
+
+		assertThat(first.get(10, TimeUnit.SECONDS)).isNotSameAs(tb2);
+		assertThat(beanRegistry.getSingletonNames()).containsExactlyInAnyOrder("tb1", "tb2");
+	}
+
+	@Test
+	void concurrentCreationOfSameSingleton() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		CountDownLatch creationStarted = new CountDownLatch(1);
+		CountDownLatch creationReleased = new CountDownLatch(1);
+		AtomicInteger creationCount = new AtomicInteger();
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> beanRegistry.getSingleton("tb", () -> {
+			creationCount.incrementAndGet();
+			creationStarted.countDown();
+			await(creationReleased);
+			return new TestBean();
+		}));
+		creationStarted.await(10, TimeUnit.SECONDS);
+		CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> beanRegistry.getSingleton("tb", () -> {
+			creationCount.incrementAndGet();
+			return new TestBean();
+		}));
+		creationReleased.countDown();
+
+		assertThat(second.get(10, TimeUnit.SECONDS)).isSameAs(first.get(10, TimeUnit.SECONDS));
+		assertThat(creationCount).hasValue(1);
+	}
+
+	@Test
+	void crossThreadCircularReferenceDetected() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		CyclicBarrier bothInCreation = new CyclicBarrier(2);
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> beanRegistry.getSingleton("tb1", () -> {
+			await(bothInCreation);
+			return beanRegistry.getSingleton("tb2", TestBean::new);
+		}));
+		CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> beanRegistry.getSingleton("tb2", () -> {
+			await(bothInCreation);
+			return beanRegistry.getSingleton("tb1", TestBean::new);
+		}));
+
+		int failures = 0;
+		for (CompletableFuture<Object> future : List.of(first, second)) {
+			try {
+				future.get(10, TimeUnit.SECONDS);
+			}
+			catch (ExecutionException ex) {
+				assertThat(ex.getCause()).isInstanceOf(BeanCurrentlyInCreationException.class)
+						.hasMessageContaining("different threads");
+				failures++;
+			}
+		}
+		assertThat(failures).isBetween(1, 2);
+	}
+
+
+	@Test
+	void crossThreadWaitForSingletonMutexDetected() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		CountDownLatch creationStarted = new CountDownLatch(1);
+		CountDownLatch mutexHeld = new CountDownLatch(1);
+		CompletableFuture<Object> creation = CompletableFuture.supplyAsync(() -> beanRegistry.getSingleton("tb", () -> {
+			creationStarted.countDown();
+			await(mutexHeld);
+			synchronized (beanRegistry.getSingletonMutex()) {
+				return new TestBean();
+			}
+		}));
+		creationStarted.await(10, TimeUnit.SECONDS);
+
+		synchronized (beanRegistry.getSingletonMutex()) {
+			mutexHeld.countDown();
+			assertThatExceptionOfType(BeanCurrentlyInCreationException.class)
+					.isThrownBy(() -> beanRegistry.getSingleton("tb", TestBean::new))
+					.withMessageContaining("singleton mutex");
+		}
+		assertThat(creation.get(10, TimeUnit.SECONDS)).isSameAs(beanRegistry.getSingleton("tb"));
+	}
+
+	@Test
+	void creationLocksRemovedWithSingletons() {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		beanRegistry.getSingleton("tb1", TestBean::new);
+		beanRegistry.getSingleton("tb2", TestBean::new);
+		assertThat(getSingletonCreationLocks()).containsOnlyKeys("tb1", "tb2");
+
+		beanRegistry.destroySingleton("tb1");
+		assertThat(getSingletonCreationLocks()).containsOnlyKeys("tb2");
+
+		beanRegistry.destroySingletons();
+		assertThat(getSingletonCreationLocks()).isEmpty();
+	}
+
+	@Test
+	void singletonMutexHeldDuringCreationByDefault() {
+		Object singleton = beanRegistry.getSingleton("tb", () -> {
+			assertThat(Thread.holdsLock(beanRegistry.getSingletonMutex())).isTrue();
+			return new TestBean();
+		});
+		assertThat(beanRegistry.getSingleton("tb")).isSameAs(singleton);
+		assertThat(getSingletonCreationLocks()).isEmpty();
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private Map<String, ?> getSingletonCreationLocks() {
+		Field field = ReflectionUtils.findField(DefaultSingletonBeanRegistry.class, "singletonCreationLocks");
+		assertThat(field).isNotNull();
+		ReflectionUtils.makeAccessible(field);
+		return (Map<String, ?>) ReflectionUtils.getField(field, beanRegistry);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await(10, TimeUnit.SECONDS);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
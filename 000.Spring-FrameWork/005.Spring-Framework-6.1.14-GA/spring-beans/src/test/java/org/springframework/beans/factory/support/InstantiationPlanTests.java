@@ -0,0 +1,202 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for re-creating non-singleton beans through an {@link InstantiationPlan}.
+ */
+class InstantiationPlanTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@Test
+	void prototypeWithConvertedProperties() {
+		RootBeanDefinition bd = prototype(TestBean.class);
+		bd.getPropertyValues().add("name", "juergen");
+		bd.getPropertyValues().add("age", "99");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		TestBean first = getBean();
+		TestBean second = getBean();
+		assertThat(mergedBeanDefinition().instantiationPlan).isNotNull();
+		TestBean third = getBean();
+
+		assertThat(third).isNotSameAs(first).isNotSameAs(second);
+		assertThat(third.getName()).isEqualTo("juergen");
+		assertThat(third.getAge()).isEqualTo(99);
+	}
+
+	@Test
+	void prototypeWithConstructorArguments() {
+		RootBeanDefinition bd = prototype(TestBean.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("99");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		getBean();
+		getBean();
+		assertThat(mergedBeanDefinition().instantiationPlan).isNotNull();
+		TestBean bean = getBean();
+
+		assertThat(bean.getName()).isEqualTo("juergen");
+		assertThat(bean.getAge()).isEqualTo(99);
+	}
+
+	@Test
+	void prototypeWithBeanReferenceIsNotPlanned() {
+		RootBeanDefinition bd = prototype(TestBean.class);
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+		this.beanFactory.registerBeanDefinition("test", bd);
+		this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+
+		getBean();
+		getBean();
+		TestBean bean = getBean();
+
+		assertThat(mergedBeanDefinition().instantiationPlan).isNull();
+		assertThat(bean.getSpouse()).isSameAs(this.beanFactory.getBean("spouse"));
+	}
+
+	@Test
+	void singletonIsNotPlanned() {
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+		getBean();
+
+		assertThat(mergedBeanDefinition().instantiationPlanResolved).isNull();
+	}
+
+	@Test
+	void postProcessorsApplyToPlannedInstances() {
+		AutowiredAnnotationBeanPostProcessor autowiredPostProcessor = new AutowiredAnnotationBeanPostProcessor();
+		autowiredPostProcessor.setBeanFactory(this.beanFactory);
+		this.beanFactory.addBeanPostProcessor(autowiredPostProcessor);
+		this.beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof AutowiredBean autowiredBean) {
+					autowiredBean.postProcessed = true;
+				}
+				return bean;
+			}
+		});
+		this.beanFactory.registerBeanDefinition("test", prototype(AutowiredBean.class));
+		this.beanFactory.registerBeanDefinition("dependency", new RootBeanDefinition(TestBean.class));
+
+		this.beanFactory.getBean("test");
+		this.beanFactory.getBean("test");
+		assertThat(mergedBeanDefinition().instantiationPlan).isNotNull();
+		AutowiredBean bean = (AutowiredBean) this.beanFactory.getBean("test");
+
+		assertThat(bean.dependency).isSameAs(this.beanFactory.getBean("dependency"));
+		assertThat(bean.postProcessed).isTrue();
+	}
+
+	@Test
+	void postProcessedPropertyValuesApplyToPlannedInstances() {
+		this.beanFactory.addBeanPostProcessor(new InstantiationAwareBeanPostProcessor() {
+			@Override
+			public PropertyValues postProcessProperties(PropertyValues pvs, Object bean, String beanName) {
+				return new MutablePropertyValues(pvs).add("age", "42");
+			}
+		});
+		RootBeanDefinition bd = prototype(TestBean.class);
+		bd.getPropertyValues().add("name", "juergen");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		getBean();
+		getBean();
+		TestBean bean = getBean();
+
+		assertThat(bean.getName()).isEqualTo("juergen");
+		assertThat(bean.getAge()).isEqualTo(42);
+	}
+
+	@Test
+	void setterExceptionOnPlannedInstance() {
+		RootBeanDefinition bd = prototype(FailingSetterBean.class);
+		bd.getPropertyValues().add("value", "ok");
+		this.beanFactory.registerBeanDefinition("test", bd);
+		this.beanFactory.getBean("test");
+		this.beanFactory.getBean("test");
+		assertThat(mergedBeanDefinition().instantiationPlan).isNotNull();
+
+		FailingSetterBean.fail = true;
+		try {
+			assertThatExceptionOfType(BeanCreationException.class)
+					.isThrownBy(() -> this.beanFactory.getBean("test"))
+					.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("test"))
+					.withRootCauseInstanceOf(IllegalStateException.class);
+		}
+		finally {
+			FailingSetterBean.fail = false;
+		}
+	}
+
+
+	private static RootBeanDefinition prototype(Class<?> beanClass) {
+		RootBeanDefinition bd = new RootBeanDefinition(beanClass);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		return bd;
+	}
+
+	private TestBean getBean() {
+		return this.beanFactory.getBean("test", TestBean.class);
+	}
+
+	private RootBeanDefinition mergedBeanDefinition() {
+		return this.beanFactory.getMergedLocalBeanDefinition("test");
+	}
+
+
+	static class AutowiredBean {
+
+		@Autowired
+		TestBean dependency;
+
+		boolean postProcessed;
+	}
+
+
+	public static class FailingSetterBean {
+
+		static volatile boolean fail;
+
+		public void setValue(String value) {
+			if (fail) {
+				throw new IllegalStateException("Expected");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for parallel singleton pre-instantiation through {@link SingletonPreInstantiator}.
+ */
+class SingletonPreInstantiatorTests {
+
+	private static final List<String> instantiated = new CopyOnWriteArrayList<>();
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+		Thread thread = new Thread(runnable);
+		thread.setName("pre-instantiation-" + thread.getId());
+		return thread;
+	});
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@BeforeEach
+	void allowConcurrentSingletonCreation() {
+		this.beanFactory.setAllowConcurrentSingletonCreation(true);
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+		instantiated.clear();
+	}
+
+
+	@Test
+	void preInstantiatesNonLazySingletons() {
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		for (int i = 0; i < 20; i++) {
+			this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(RecordingBean.class));
+		}
+		RootBeanDefinition lazy = new RootBeanDefinition(RecordingBean.class);
+		lazy.setLazyInit(true);
+		this.beanFactory.registerBeanDefinition("lazy", lazy);
+		RootBeanDefinition prototype = new RootBeanDefinition(RecordingBean.class);
+		prototype.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("prototype", prototype);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(instantiated).hasSize(20).allMatch(name -> name.startsWith("pre-instantiation-"));
+		assertThat(this.beanFactory.containsSingleton("bean0")).isTrue();
+		assertThat(this.beanFactory.containsSingleton("lazy")).isFalse();
+	}
+
+	@Test
+	void respectsDependenciesFromMetadata() {
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		RootBeanDefinition dependsOn = new RootBeanDefinition(OrderRecordingBean.class);
+		dependsOn.getPropertyValues().add("name", "third");
+		dependsOn.setDependsOn("first");
+		this.beanFactory.registerBeanDefinition("third", dependsOn);
+		RootBeanDefinition reference = new RootBeanDefinition(OrderRecordingBean.class);
+		reference.getPropertyValues().add("name", "second");
+		reference.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("firstAlias"));
+		this.beanFactory.registerBeanDefinition("second", reference);
+		RootBeanDefinition first = new RootBeanDefinition(OrderRecordingBean.class);
+		first.getPropertyValues().add("name", "first");
+		this.beanFactory.registerBeanDefinition("first", first);
+		this.beanFactory.registerAlias("first", "firstAlias");
+
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(instantiated).hasSize(3);
+		assertThat(instantiated.indexOf("first")).isLessThan(instantiated.indexOf("third"));
+		assertThat(instantiated.indexOf("first")).isLessThan(instantiated.indexOf("second"));
+	}
+
+	@Test
+	void resolvesCircularReferences() {
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		RootBeanDefinition first = new RootBeanDefinition(TestBean.class);
+		first.getPropertyValues().add("spouse", new RuntimeBeanReference("second"));
+		this.beanFactory.registerBeanDefinition("first", first);
+		RootBeanDefinition second = new RootBeanDefinition(TestBean.class);
+		second.getPropertyValues().add("spouse", new RuntimeBeanReference("first"));
+		this.beanFactory.registerBeanDefinition("second", second);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		TestBean firstBean = this.beanFactory.getBean("first", TestBean.class);
+		TestBean secondBean = this.beanFactory.getBean("second", TestBean.class);
+		assertThat(firstBean.getSpouse()).isSameAs(secondBean);
+		assertThat(secondBean.getSpouse()).isSameAs(firstBean);
+	}
+
+	@Test
+	void resolvesCircularLookupsAcrossThreads() {
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		CyclicBarrier bothInCreation = new CyclicBarrier(2);
+		RootBeanDefinition first = new RootBeanDefinition(LookupBean.class);
+		first.getConstructorArgumentValues().addGenericArgumentValue("second");
+		first.getConstructorArgumentValues().addGenericArgumentValue(bothInCreation);
+		this.beanFactory.registerBeanDefinition("first", first);
+		RootBeanDefinition second = new RootBeanDefinition(LookupBean.class);
+		second.getConstructorArgumentValues().addGenericArgumentValue("first");
+		second.getConstructorArgumentValues().addGenericArgumentValue(bothInCreation);
+		this.beanFactory.registerBeanDefinition("second", second);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		LookupBean firstBean = this.beanFactory.getBean("first", LookupBean.class);
+		LookupBean secondBean = this.beanFactory.getBean("second", LookupBean.class);
+		assertThat(firstBean.other).isSameAs(secondBean);
+		assertThat(secondBean.other).isSameAs(firstBean);
+	}
+
+	@Test
+	void invokesSmartInitializingSingletonsAfterInstantiation() {
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		this.beanFactory.registerBeanDefinition("smart", new RootBeanDefinition(SmartBean.class));
+		for (int i = 0; i < 10; i++) {
+			this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(RecordingBean.class));
+		}
+
+		this.beanFactory.preInstantiateSingletons();
+
+		SmartBean smartBean = this.beanFactory.getBean(SmartBean.class);
+		assertThat(smartBean.instantiatedBeforeCallback).isEqualTo(10);
+		assertThat(smartBean.callbackThread).isEqualTo(Thread.currentThread().getName());
+	}
+
+	@Test
+	void propagatesCreationException() {
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		this.beanFactory.registerBeanDefinition("bean", new RootBeanDefinition(RecordingBean.class));
+		this.beanFactory.registerBeanDefinition("failing", new RootBeanDefinition(FailingBean.class));
+
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(this.beanFactory::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("failing"));
+	}
+
+	@Test
+	void copiesPreInstantiationExecutor() {
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		DefaultListableBeanFactory other = new DefaultListableBeanFactory();
+		other.copyConfigurationFrom(this.beanFactory);
+		assertThat(other.getPreInstantiationExecutor()).isSameAs(this.executor);
+		assertThat(other.isAllowConcurrentSingletonCreation()).isTrue();
+	}
+
+	@Test
+	void preInstantiatesSequentiallyWithoutConcurrentSingletonCreation() {
+		this.beanFactory.setAllowConcurrentSingletonCreation(false);
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		for (int i = 0; i < 5; i++) {
+			this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(RecordingBean.class));
+		}
+
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(instantiated).hasSize(5).containsOnly(Thread.currentThread().getName());
+	}
+
+
+	static class RecordingBean {
+
+		RecordingBean() {
+			instantiated.add(Thread.currentThread().getName());
+		}
+	}
+
+
+	static class OrderRecordingBean {
+
+		OrderRecordingBean() {
+		}
+
+		OrderRecordingBean(OrderRecordingBean dependency) {
+		}
+
+		public void setName(String name) {
+			instantiated.add(name);
+		}
+	}
+
+
+	static class LookupBean implements BeanFactoryAware {
+
+		private final String otherName;
+
+		private final CyclicBarrier barrier;
+
+		Object other;
+
+		LookupBean(String otherName, CyclicBarrier barrier) {
+			this.otherName = otherName;
+			this.barrier = barrier;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			try {
+				// Make both singletons look each other up while both are in creation
+				this.barrier.await(1, TimeUnit.SECONDS);
+			}
+			catch (Exception ex) {
+				// Barrier already passed or broken -> proceed
+			}
+			this.other = beanFactory.getBean(this.otherName);
+		}
+	}
+
+
+	static class SmartBean implements SmartInitializingSingleton {
+
+		int instantiatedBeforeCallback;
+
+		String callbackThread;
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.instantiatedBeforeCallback = instantiated.size();
+			this.callbackThread = Thread.currentThread().getName();
+		}
+	}
+
+
+	static class FailingBean {
+
+		FailingBean() {
+			throw new IllegalStateException("Expected");
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Benchmark for publishing {@link org.springframework.context.PayloadApplicationEvent
+ * payload events} and plain application events through an application context,
+ * with listeners for different event and payload types.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ApplicationEventPublishingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "10", "50"})
+		public int listenerCount;
+
+		public GenericApplicationContext context;
+
+		@Setup
+		public void setup(Blackhole blackhole) {
+			this.context = new GenericApplicationContext();
+			for (int i = 0; i < this.listenerCount; i++) {
+				this.context.addApplicationListener(ApplicationListener.forPayload((String payload) -> blackhole.consume(payload)));
+				this.context.addApplicationListener(ApplicationListener.forPayload((Long payload) -> blackhole.consume(payload)));
+				this.context.addApplicationListener((TestEvent event) -> blackhole.consume(event));
+			}
+			this.context.refresh();
+		}
+
+		@TearDown
+		public void teardown() {
+			this.context.close();
+		}
+	}
+
+	@Benchmark
+	public void publishStringPayload(BenchmarkState state) {
+		state.context.publishEvent("payload");
+	}
+
+	@Benchmark
+	public void publishLongPayload(BenchmarkState state) {
+		state.context.publishEvent(42L);
+	}
+
+	@Benchmark
+	public void publishApplicationEvent(BenchmarkState state) {
+		state.context.publishEvent(new TestEvent(state));
+	}
+
+
+	@SuppressWarnings("serial")
+	static class TestEvent extends ApplicationEvent {
+
+		TestEvent(Object source) {
+			super(source);
+		}
+	}
+
+}
@@ -16,11 +16,14 @@
 
 package org.springframework.cache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
 
 /**
  * Interface that defines common cache operations.
@@ -187,6 +190,46 @@ public interface Cache {
 	 */
 	void put(Object key, @Nullable Object value);
 
+	/**
+	 * Return the values to which this cache maps the specified keys,
+	 * in a single batch operation if supported by the cache provider.
+	 * <p>The default implementation delegates to {@link #get(Object)}
+	 * for each key.
+	 * @param keys the keys whose associated values are to be returned
+	 * @return a map from each key found in this cache to a wrapper for the
+	 * corresponding value (which may be {@code null} itself); keys without
+	 * any mapping in this cache are not contained in the returned map
+	 * @since 6.2
+	 * @see #get(Object)
+	 * @see #putAll(Map)
+	 */
+	default Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = CollectionUtils.newLinkedHashMap(keys.size());
+		for (Object key : keys) {
+			ValueWrapper value = get(key);
+			if (value != null) {
+				result.put(key, value);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Associate the specified values with their keys in this cache,
+	 * in a single batch operation if supported by the cache provider.
+	 * <p>The same considerations as for {@link #put(Object, Object)} apply.
+	 * The default implementation delegates to {@link #put(Object, Object)}
+	 * for each entry.
+	 * @param entries the keys with their values to be associated
+	 * (values may be {@code null})
+	 * @since 6.2
+	 * @see #put(Object, Object)
+	 * @see #getAll(Collection)
+	 */
+	default void putAll(Map<?, ?> entries) {
+		entries.forEach(this::put);
+	}
+
 	/**
 	 * Atomically associate the specified value with the specified key in this cache
 	 * if it is not set already.
@@ -194,4 +194,78 @@ public @interface Cacheable {
 	 */
 	boolean sync() default false;
 
+	/**
+	 * The expected time-to-live of cached entries, serving as the basis for
+	 * {@link #refreshAheadFactor()}: either as a {@link java.time.Duration}
+	 * String such as {@code "PT10M"} or as a number of milliseconds.
+	 * <p>This does not expire any entries: expiration is up to the cache provider,
+	 * typically configured with the same time-to-live. The cache aspect rather
+	 * keeps track of the creation time of entries stored by this operation, in
+	 * order to refresh them ahead of their expiration.
+	 * <p>Default is {@code ""}, meaning that no time-to-live is known.
+	 * @since 6.2
+	 * @see #refreshAheadFactor()
+	 */
+	String timeToLive() default "";
+
+	/**
+	 * The fraction of the {@link #timeToLive()} after which an entry gets
+	 * refreshed ahead of its expiration: a cache hit for an older entry still
+	 * returns the cached value but triggers an asynchronous invocation of the
+	 * method, putting the new value into the cache. This also applies to entries
+	 * past their time-to-live which have not been removed by the cache provider,
+	 * serving such stale values while revalidating them.
+	 * <p>Only one refresh per key is in progress at any given time, executed on the
+	 * {@link org.springframework.cache.interceptor.CacheAspectSupport#setRefreshExecutor
+	 * refresh executor} of the cache aspect, which needs to be configured for this
+	 * purpose. Refresh-ahead applies to methods with regular return values which
+	 * are not combined with any cache put operation; it is not supported in
+	 * combination with {@link #sync()}.
+	 * <p>Default is {@code 0}, meaning that entries are not refreshed ahead.
+	 * Values between {@code 0} (exclusive) and {@code 1} (inclusive) enable
+	 * refresh-ahead, for example {@code 0.8} to refresh entries after 80% of
+	 * their time-to-live.
+	 * @since 6.2
+	 * @see #timeToLive()
+	 * @see #staleIfError()
+	 */
+	double refreshAheadFactor() default 0;
+
+	/**
+	 * Whether to keep serving the cached value if refreshing it ahead fails.
+	 * <p>Default is {@code false}, evicting the entry if a refresh fails so that
+	 * the next invocation calls the method again and propagates its exception.
+	 * Switch this flag to {@code true} in order to keep the cached value instead,
+	 * retrying the refresh on a subsequent cache hit.
+	 * @since 6.2
+	 * @see #refreshAheadFactor()
+	 */
+	boolean staleIfError() default false;
+
+	/**
+	 * Cache the entries of the returned {@link java.util.Map} individually, keyed
+	 * by the elements of the {@link java.util.Collection} argument of the method.
+	 * <p>Such a bulk operation looks up the keys for all elements in a single
+	 * {@link org.springframework.cache.Cache#getAll batch call}, invokes the method
+	 * for the missing elements only (passing a collection of those elements
+	 * instead of the original argument) and puts the returned entries into the
+	 * cache in a {@link org.springframework.cache.Cache#putAll batch call},
+	 * returning a map that merges the cached and the returned entries in the
+	 * order of the requested elements. Elements for which the method does not
+	 * return an entry are not cached.
+	 * <p>The cache key for each element is computed by the
+	 * {@link #keyGenerator()} as if the element was the only method argument:
+	 * by default, the element itself. This leads to a couple of limitations:
+	 * <ol>
+	 * <li>The method needs to declare exactly one {@code Collection} parameter
+	 * and a {@code Map} return type</li>
+	 * <li>{@link #key()}, {@link #unless()} and {@link #sync()} are not supported</li>
+	 * <li>No other cache-related operation can be combined</li>
+	 * </ol>
+	 * @since 6.2
+	 * @see org.springframework.cache.Cache#getAll
+	 * @see org.springframework.cache.Cache#putAll
+	 */
+	boolean bulk() default false;
+
 }
@@ -20,6 +20,8 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Set;
@@ -121,6 +123,10 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 		builder.setCacheManager(cacheable.cacheManager());
 		builder.setCacheResolver(cacheable.cacheResolver());
 		builder.setSync(cacheable.sync());
+		builder.setTimeToLive(parseTimeToLive(ae, cacheable.timeToLive()));
+		builder.setRefreshAheadFactor(cacheable.refreshAheadFactor());
+		builder.setStaleIfError(cacheable.staleIfError());
+		builder.setBulk(cacheable.bulk());
 
 		defaultConfig.applyDefault(builder);
 		CacheableOperation op = builder.build();
@@ -172,6 +178,22 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 		return op;
 	}
 
+	@Nullable
+	private Duration parseTimeToLive(AnnotatedElement ae, String timeToLive) {
+		if (!StringUtils.hasText(timeToLive)) {
+			return null;
+		}
+		try {
+			return (timeToLive.startsWith("P") || timeToLive.startsWith("-P") ?
+					Duration.parse(timeToLive) : Duration.ofMillis(Long.parseLong(timeToLive)));
+		}
+		catch (DateTimeParseException | NumberFormatException ex) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. The 'timeToLive' attribute '" + timeToLive + "' is neither " +
+					"a java.time.Duration String nor a number of milliseconds.", ex);
+		}
+	}
+
 	private void parseCachingAnnotation(
 			AnnotatedElement ae, DefaultCacheConfig defaultConfig, Caching caching, Collection<CacheOperation> ops) {
 
@@ -212,6 +234,30 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 					"default cache resolver if none is set. If a cache resolver is set, the cache manager" +
 					"won't be used.");
 		}
+		if (operation instanceof CacheableOperation cacheable) {
+			double factor = cacheable.getRefreshAheadFactor();
+			if (factor < 0 || factor > 1) {
+				throw new IllegalStateException("Invalid cache annotation configuration on '" +
+						ae.toString() + "'. The 'refreshAheadFactor' attribute must be between 0 and 1.");
+			}
+			if (factor > 0 && (cacheable.getTimeToLive() == null || cacheable.getTimeToLive().isNegative() ||
+					cacheable.getTimeToLive().isZero())) {
+				throw new IllegalStateException("Invalid cache annotation configuration on '" +
+						ae.toString() + "'. The 'refreshAheadFactor' attribute requires a positive " +
+						"'timeToLive' attribute as well.");
+			}
+			if (cacheable.isStaleIfError() && factor == 0) {
+				throw new IllegalStateException("Invalid cache annotation configuration on '" +
+						ae.toString() + "'. The 'staleIfError' attribute only applies in combination " +
+						"with a 'refreshAheadFactor'.");
+			}
+			if (cacheable.isBulk() && (cacheable.isSync() || StringUtils.hasText(cacheable.getUnless()) ||
+					StringUtils.hasText(cacheable.getKey()) || factor > 0)) {
+				throw new IllegalStateException("Invalid cache annotation configuration on '" +
+						ae.toString() + "'. A bulk operation does not support the 'sync', 'unless', 'key' " +
+						"and 'refreshAheadFactor' attributes.");
+			}
+		}
 	}
 
 	@Override
@@ -0,0 +1,528 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link ConcurrentMap} with a maximum number of entries, a maximum total weight
+ * of entries and an optional time-to-live per entry, serving as the store of a
+ * {@link BoundedConcurrentMapCache}.
+ *
+ * <p>Similar to {@link org.springframework.util.ConcurrentLruCache}, reads go to
+ * a {@link ConcurrentHashMap} without locking, while the eviction order is kept
+ * in a linked list guarded by an eviction lock. Reads only reorder the list if
+ * the lock is immediately available, so the eviction order is an approximation
+ * of the least-recently-used order under contention. Writes always acquire the
+ * lock in order to account for the weight of the new entry and to evict the
+ * least recently used entries until both maximums are met again.
+ *
+ * <p>Expired entries are not returned but only removed once accessed,
+ * overwritten or evicted.
+ *
+ * @since 6.2
+ */
+final class BoundedConcurrentMap extends AbstractMap<Object, Object> implements ConcurrentMap<Object, Object> {
+
+	private final ConcurrentHashMap<Object, Node> store = new ConcurrentHashMap<>(256);
+
+	private final long maximumSize;
+
+	private final long maximumWeight;
+
+	@Nullable
+	private final BoundedConcurrentMapCache.Weigher weigher;
+
+	private final long timeToLiveNanos;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	@Nullable
+	private Node head;
+
+	@Nullable
+	private Node tail;
+
+	private long linkedSize;
+
+	private long weightedSize;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder expirationCount = new LongAdder();
+
+	@Nullable
+	private Set<Map.Entry<Object, Object>> entrySet;
+
+
+	BoundedConcurrentMap(long maximumSize, long maximumWeight,
+			@Nullable BoundedConcurrentMapCache.Weigher weigher, long timeToLiveNanos) {
+
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+		Assert.isTrue(timeToLiveNanos >= 0, "Time-to-live must not be negative");
+		this.maximumSize = maximumSize;
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		this.timeToLiveNanos = timeToLiveNanos;
+	}
+
+
+	@Override
+	@Nullable
+	public Object get(Object key) {
+		Node node = this.store.get(key);
+		if (node == null) {
+			this.missCount.increment();
+			return null;
+		}
+		if (node.isExpired(System.nanoTime())) {
+			expire(node);
+			this.missCount.increment();
+			return null;
+		}
+		this.hitCount.increment();
+		recordAccess(node);
+		return node.value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Node node = this.store.get(key);
+		return (node != null && !node.isExpired(System.nanoTime()));
+	}
+
+	@Override
+	@Nullable
+	public Object put(Object key, Object value) {
+		Node node = createNode(key, value);
+		Node old = this.store.put(key, node);
+		afterWrite(node, old);
+		return (old != null && !old.isExpired(node.writeTime) ? old.value : null);
+	}
+
+	@Override
+	@Nullable
+	public Object putIfAbsent(Object key, Object value) {
+		while (true) {
+			Node existing = this.store.get(key);
+			if (existing != null) {
+				if (!existing.isExpired(System.nanoTime())) {
+					return existing.value;
+				}
+				expire(existing);
+			}
+			Node node = createNode(key, value);
+			Node prior = this.store.putIfAbsent(key, node);
+			if (prior == null) {
+				afterWrite(node, null);
+				return null;
+			}
+			if (!prior.isExpired(System.nanoTime())) {
+				return prior.value;
+			}
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+		Node existing = this.store.get(key);
+		if (existing != null) {
+			if (!existing.isExpired(System.nanoTime())) {
+				this.hitCount.increment();
+				recordAccess(existing);
+				return existing.value;
+			}
+			expire(existing);
+		}
+		this.missCount.increment();
+		Node[] created = new Node[1];
+		Node node = this.store.computeIfAbsent(key, k -> {
+			Object value = mappingFunction.apply(k);
+			if (value == null) {
+				return null;
+			}
+			created[0] = createNode(k, value);
+			return created[0];
+		});
+		if (created[0] != null) {
+			afterWrite(created[0], null);
+		}
+		return (node != null ? node.value : null);
+	}
+
+	@Override
+	@Nullable
+	public Object replace(Object key, Object value) {
+		while (true) {
+			Node existing = this.store.get(key);
+			if (existing == null || existing.isExpired(System.nanoTime())) {
+				return null;
+			}
+			Node node = createNode(key, value);
+			if (this.store.replace(key, existing, node)) {
+				afterWrite(node, existing);
+				return existing.value;
+			}
+		}
+	}
+
+	@Override
+	public boolean replace(Object key, Object oldValue, Object newValue) {
+		Node existing = this.store.get(key);
+		if (existing == null || existing.isExpired(System.nanoTime()) ||
+				!ObjectUtils.nullSafeEquals(existing.value, oldValue)) {
+			return false;
+		}
+		Node node = createNode(key, newValue);
+		if (this.store.replace(key, existing, node)) {
+			afterWrite(node, existing);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	@Nullable
+	public Object remove(Object key) {
+		Node node = this.store.remove(key);
+		if (node == null) {
+			return null;
+		}
+		afterRemoval(node);
+		return (!node.isExpired(System.nanoTime()) ? node.value : null);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		Node node = this.store.get(key);
+		if (node != null && !node.isExpired(System.nanoTime()) &&
+				ObjectUtils.nullSafeEquals(node.value, value) && this.store.remove(key, node)) {
+			afterRemoval(node);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			for (Node node = this.head; node != null; node = node.next) {
+				node.removed = true;
+			}
+			this.head = null;
+			this.tail = null;
+			this.linkedSize = 0;
+			this.weightedSize = 0;
+			this.store.clear();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.store.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.store.isEmpty();
+	}
+
+	@Override
+	public Set<Map.Entry<Object, Object>> entrySet() {
+		Set<Map.Entry<Object, Object>> entrySet = this.entrySet;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySet = entrySet;
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Return a snapshot of the statistics for this map.
+	 */
+	BoundedConcurrentMapCache.Statistics getStatistics() {
+		long weightedSize;
+		this.evictionLock.lock();
+		try {
+			weightedSize = this.weightedSize;
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+		return new BoundedConcurrentMapCache.Statistics(this.hitCount.sum(), this.missCount.sum(),
+				this.evictionCount.sum(), this.expirationCount.sum(), this.store.size(), weightedSize);
+	}
+
+
+	private Node createNode(Object key, Object value) {
+		long weight = 1;
+		if (this.weigher != null) {
+			weight = this.weigher.weigh(key, value);
+			Assert.state(weight >= 0, "Weigher must not return a negative weight");
+		}
+		return new Node(key, value, weight, System.nanoTime());
+	}
+
+	private void recordAccess(Node node) {
+		if (this.evictionLock.tryLock()) {
+			try {
+				if (node.linked) {
+					unlink(node);
+					link(node);
+				}
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterWrite(Node node, @Nullable Node replaced) {
+		this.evictionLock.lock();
+		try {
+			if (replaced != null) {
+				discard(replaced);
+			}
+			if (!node.removed) {
+				link(node);
+				evict();
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void afterRemoval(Node node) {
+		this.evictionLock.lock();
+		try {
+			discard(node);
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void expire(Node node) {
+		if (this.store.remove(node.key, node)) {
+			this.expirationCount.increment();
+			afterRemoval(node);
+		}
+	}
+
+	private void evict() {
+		while ((this.linkedSize > this.maximumSize || this.weightedSize > this.maximumWeight) && this.head != null) {
+			Node eldest = this.head;
+			discard(eldest);
+			if (this.store.remove(eldest.key, eldest)) {
+				this.evictionCount.increment();
+			}
+		}
+	}
+
+	private void discard(Node node) {
+		node.removed = true;
+		if (node.linked) {
+			unlink(node);
+		}
+	}
+
+	private void link(Node node) {
+		node.prev = this.tail;
+		node.next = null;
+		if (this.tail != null) {
+			this.tail.next = node;
+		}
+		else {
+			this.head = node;
+		}
+		this.tail = node;
+		node.linked = true;
+		this.linkedSize++;
+		this.weightedSize += node.weight;
+	}
+
+	private void unlink(Node node) {
+		if (node.prev != null) {
+			node.prev.next = node.next;
+		}
+		else {
+			this.head = node.next;
+		}
+		if (node.next != null) {
+			node.next.prev = node.prev;
+		}
+		else {
+			this.tail = node.prev;
+		}
+		node.prev = null;
+		node.next = null;
+		node.linked = false;
+		this.linkedSize--;
+		this.weightedSize -= node.weight;
+	}
+
+
+	/**
+	 * Stored entry, linked into the eviction order while guarded by the eviction lock.
+	 */
+	private final class Node {
+
+		final Object key;
+
+		final Object value;
+
+		final long weight;
+
+		final long writeTime;
+
+		@Nullable
+		Node prev;
+
+		@Nullable
+		Node next;
+
+		boolean linked;
+
+		boolean removed;
+
+		Node(Object key, Object value, long weight, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = writeTime;
+		}
+
+		boolean isExpired(long now) {
+			long timeToLive = BoundedConcurrentMap.this.timeToLiveNanos;
+			return (timeToLive > 0 && now - this.writeTime >= timeToLive);
+		}
+	}
+
+
+	/**
+	 * View of the non-expired entries in the store.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<Object, Object>> {
+
+		@Override
+		public Iterator<Map.Entry<Object, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return (o instanceof Map.Entry<?, ?> entry && entry.getKey() != null &&
+					ObjectUtils.nullSafeEquals(peek(entry.getKey()), entry.getValue()));
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return (o instanceof Map.Entry<?, ?> entry && entry.getKey() != null && entry.getValue() != null &&
+					BoundedConcurrentMap.this.remove(entry.getKey(), entry.getValue()));
+		}
+
+		@Override
+		public int size() {
+			return BoundedConcurrentMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			BoundedConcurrentMap.this.clear();
+		}
+
+		@Nullable
+		private Object peek(Object key) {
+			Node node = BoundedConcurrentMap.this.store.get(key);
+			return (node != null && !node.isExpired(System.nanoTime()) ? node.value : null);
+		}
+	}
+
+
+	/**
+	 * Iterator over the non-expired entries in the store.
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<Object, Object>> {
+
+		private final Iterator<Node> nodes = BoundedConcurrentMap.this.store.values().iterator();
+
+		@Nullable
+		private Node next;
+
+		@Nullable
+		private Node last;
+
+		@Override
+		public boolean hasNext() {
+			long now = System.nanoTime();
+			while (this.next == null && this.nodes.hasNext()) {
+				Node node = this.nodes.next();
+				if (!node.isExpired(now)) {
+					this.next = node;
+				}
+			}
+			return (this.next != null);
+		}
+
+		@Override
+		public Map.Entry<Object, Object> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Node node = this.next;
+			this.next = null;
+			this.last = node;
+			return new SimpleImmutableEntry<>(node.key, node.value);
+		}
+
+		@Override
+		public void remove() {
+			Assert.state(this.last != null, "No element to remove");
+			Node node = this.last;
+			this.last = null;
+			if (BoundedConcurrentMap.this.store.remove(node.key, node)) {
+				afterRemoval(node);
+			}
+		}
+	}
+
+}
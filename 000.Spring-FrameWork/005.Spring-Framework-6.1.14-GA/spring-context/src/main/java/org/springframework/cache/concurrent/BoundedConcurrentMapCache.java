@@ -0,0 +1,218 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link ConcurrentMapCache} variant with a bounded store: limited to a maximum
+ * number of entries and/or a maximum total weight of entries as determined by a
+ * {@link Weigher}, evicting the least recently used entries beyond those limits,
+ * and optionally expiring entries after a fixed time-to-live since their creation
+ * or last update.
+ *
+ * <p>Keeps track of cache hits and misses as well as of evicted and expired
+ * entries, exposed through {@link #getStatistics()}.
+ *
+ * <p>Useful as a size-safe fallback for simple caching scenarios without a
+ * dedicated caching library. For advanced local caching needs, consider
+ * {@link org.springframework.cache.caffeine.CaffeineCache} instead.
+ *
+ * @since 6.2
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ * @see ConcurrentMapCacheManager#setMaximumWeight
+ * @see ConcurrentMapCacheManager#setTimeToLive
+ */
+public class BoundedConcurrentMapCache extends ConcurrentMapCache {
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and
+	 * maximum number of entries.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize) {
+		this(name, maximumSize, Long.MAX_VALUE, null, null, true);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and limits.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 * ({@link Long#MAX_VALUE} for no limit)
+	 * @param maximumWeight the maximum total weight of entries
+	 * ({@link Long#MAX_VALUE} for no limit)
+	 * @param weigher the weigher to determine the weight of each entry with
+	 * ({@code null} for a weight of 1 per entry)
+	 * @param timeToLive the time-to-live of each entry after its creation or
+	 * last update ({@code null} for no expiration)
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize, long maximumWeight,
+			@Nullable Weigher weigher, @Nullable Duration timeToLive, boolean allowNullValues) {
+
+		this(name, maximumSize, maximumWeight, weigher, timeToLive, allowNullValues, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and limits.
+	 * If the {@link SerializationDelegate} is specified,
+	 * {@link #isStoreByValue() store-by-value} is enabled, with the
+	 * {@link Weigher} receiving the serialized form of each value.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 * ({@link Long#MAX_VALUE} for no limit)
+	 * @param maximumWeight the maximum total weight of entries
+	 * ({@link Long#MAX_VALUE} for no limit)
+	 * @param weigher the weigher to determine the weight of each entry with
+	 * ({@code null} for a weight of 1 per entry)
+	 * @param timeToLive the time-to-live of each entry after its creation or
+	 * last update ({@code null} for no expiration)
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 */
+	protected BoundedConcurrentMapCache(String name, long maximumSize, long maximumWeight,
+			@Nullable Weigher weigher, @Nullable Duration timeToLive, boolean allowNullValues,
+			@Nullable SerializationDelegate serialization) {
+
+		super(name, new BoundedConcurrentMap(maximumSize, maximumWeight, weigher,
+				(timeToLive != null ? timeToLive.toNanos() : 0)), allowNullValues, serialization);
+	}
+
+
+	/**
+	 * Return a snapshot of the statistics for this cache.
+	 */
+	public Statistics getStatistics() {
+		return ((BoundedConcurrentMap) getNativeCache()).getStatistics();
+	}
+
+
+	/**
+	 * Strategy to determine the weight of a cache entry, e.g. an estimate
+	 * of its memory footprint, to be limited by a maximum total weight.
+	 */
+	@FunctionalInterface
+	public interface Weigher {
+
+		/**
+		 * Determine the weight of the given entry.
+		 * @param key the key of the entry
+		 * @param value the stored value of the entry: an internal holder object
+		 * for a {@code null} value, or the serialized form of the value in case
+		 * of {@link #isStoreByValue() store-by-value}
+		 * @return the weight of the entry (not negative)
+		 */
+		long weigh(Object key, Object value);
+	}
+
+
+	/**
+	 * Snapshot of the statistics for a {@link BoundedConcurrentMapCache}.
+	 */
+	public static final class Statistics {
+
+		private final long hitCount;
+
+		private final long missCount;
+
+		private final long evictionCount;
+
+		private final long expirationCount;
+
+		private final long size;
+
+		private final long weightedSize;
+
+		Statistics(long hitCount, long missCount, long evictionCount, long expirationCount,
+				long size, long weightedSize) {
+
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.expirationCount = expirationCount;
+			this.size = size;
+			this.weightedSize = weightedSize;
+		}
+
+		/**
+		 * Return the number of lookups that returned a cached value.
+		 */
+		public long getHitCount() {
+			return this.hitCount;
+		}
+
+		/**
+		 * Return the number of lookups that did not find a cached value.
+		 */
+		public long getMissCount() {
+			return this.missCount;
+		}
+
+		/**
+		 * Return the number of entries evicted in order to meet the limits of the cache.
+		 */
+		public long getEvictionCount() {
+			return this.evictionCount;
+		}
+
+		/**
+		 * Return the number of entries removed after their time-to-live.
+		 */
+		public long getExpirationCount() {
+			return this.expirationCount;
+		}
+
+		/**
+		 * Return the current number of entries, possibly including expired
+		 * entries which have not been removed yet.
+		 */
+		public long getSize() {
+			return this.size;
+		}
+
+		/**
+		 * Return the current total weight of entries.
+		 */
+		public long getWeightedSize() {
+			return this.weightedSize;
+		}
+
+		/**
+		 * Return the ratio of lookups that returned a cached value,
+		 * or {@code 1.0} if there have not been any lookups yet.
+		 */
+		public double getHitRate() {
+			long requestCount = this.hitCount + this.missCount;
+			return (requestCount != 0 ? (double) this.hitCount / requestCount : 1.0);
+		}
+
+		@Override
+		public String toString() {
+			return "hits=" + this.hitCount + ", misses=" + this.missCount + ", evictions=" + this.evictionCount +
+					", expirations=" + this.expirationCount + ", size=" + this.size +
+					", weightedSize=" + this.weightedSize;
+		}
+	}
+
+}
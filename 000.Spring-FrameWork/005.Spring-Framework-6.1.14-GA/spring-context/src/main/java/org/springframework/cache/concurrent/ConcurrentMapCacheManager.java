@@ -16,6 +16,7 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -29,6 +30,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -40,8 +42,12 @@ import org.springframework.lang.Nullable;
  * {@link Cache#retrieve(Object, Supplier)} operations through basic
  * {@code CompletableFuture} adaptation, with early-determined cache misses.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
+ * <p>Caches are unbounded by default. As of 6.2, a maximum number of entries,
+ * a maximum total weight of entries and a time-to-live for entries may be
+ * specified, building {@link BoundedConcurrentMapCache} instances instead.
+ *
+ * <p>Note: This is by no means a sophisticated CacheManager; it comes with only
+ * basic cache configuration options. However, it may be useful for testing or simple
  * caching scenarios. For advanced local caching needs, consider
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager} or
  * {@link org.springframework.cache.jcache.JCacheCacheManager}.
@@ -63,6 +69,16 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Nullable
 	private SerializationDelegate serialization;
 
+	private long maximumSize = Long.MAX_VALUE;
+
+	private long maximumWeight = Long.MAX_VALUE;
+
+	@Nullable
+	private BoundedConcurrentMapCache.Weigher weigher;
+
+	@Nullable
+	private Duration timeToLive;
+
 
 	/**
 	 * Construct a dynamic ConcurrentMapCacheManager,
@@ -150,6 +166,102 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries for each cache in this cache manager,
+	 * evicting the least recently used entries beyond that limit.
+	 * <p>Default is {@link Long#MAX_VALUE}, i.e. no limit.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new limit.
+	 * @since 6.2
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setMaximumSize(long maximumSize) {
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries for each cache in this cache manager.
+	 * @since 6.2
+	 */
+	public long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the maximum total weight of entries for each cache in this cache
+	 * manager, as determined by the {@link #setWeigher weigher}, evicting the
+	 * least recently used entries beyond that limit.
+	 * <p>Default is {@link Long#MAX_VALUE}, i.e. no limit.
+	 * <p>Note: A change of the maximum weight will reset all existing caches,
+	 * if any, to reconfigure them with the new limit.
+	 * @since 6.2
+	 * @see #setWeigher
+	 */
+	public void setMaximumWeight(long maximumWeight) {
+		if (maximumWeight != this.maximumWeight) {
+			this.maximumWeight = maximumWeight;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum total weight of entries for each cache in this cache manager.
+	 * @since 6.2
+	 */
+	public long getMaximumWeight() {
+		return this.maximumWeight;
+	}
+
+	/**
+	 * Specify the weigher to determine the weight of each entry with,
+	 * to be limited by the {@link #setMaximumWeight maximum weight}.
+	 * <p>Default is none, with every entry weighing 1.
+	 * <p>Note: A change of the weigher will reset all existing caches,
+	 * if any, to reconfigure them with the new weigher.
+	 * @since 6.2
+	 */
+	public void setWeigher(@Nullable BoundedConcurrentMapCache.Weigher weigher) {
+		if (weigher != this.weigher) {
+			this.weigher = weigher;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the weigher to determine the weight of each entry with, if any.
+	 * @since 6.2
+	 */
+	@Nullable
+	public BoundedConcurrentMapCache.Weigher getWeigher() {
+		return this.weigher;
+	}
+
+	/**
+	 * Specify the time-to-live for each entry after its creation or last update.
+	 * <p>Default is none, not expiring any entries.
+	 * <p>Note: A change of the time-to-live will reset all existing caches,
+	 * if any, to reconfigure them with the new time-to-live.
+	 * @since 6.2
+	 */
+	public void setTimeToLive(@Nullable Duration timeToLive) {
+		if (!ObjectUtils.nullSafeEquals(timeToLive, this.timeToLive)) {
+			this.timeToLive = timeToLive;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time-to-live for each entry, if any.
+	 * @since 6.2
+	 */
+	@Nullable
+	public Duration getTimeToLive() {
+		return this.timeToLive;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -183,11 +295,17 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	/**
 	 * Create a new ConcurrentMapCache instance for the specified cache name.
+	 * <p>Creates a {@link BoundedConcurrentMapCache} if any limits or a
+	 * time-to-live have been specified.
 	 * @param name the name of the cache
 	 * @return the ConcurrentMapCache (or a decorator thereof)
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
+		if (this.maximumSize != Long.MAX_VALUE || this.maximumWeight != Long.MAX_VALUE || this.timeToLive != null) {
+			return new BoundedConcurrentMapCache(name, this.maximumSize, this.maximumWeight, this.weigher,
+					this.timeToLive, isAllowNullValues(), actualSerialization);
+		}
 		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
 	}
 
@@ -18,14 +18,23 @@ package org.springframework.cache.interceptor;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
@@ -49,6 +58,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.KotlinDetector;
 import org.springframework.core.ReactiveAdapter;
 import org.springframework.core.ReactiveAdapterRegistry;
@@ -59,6 +69,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.ObjectUtils;
@@ -76,6 +87,13 @@ import org.springframework.util.function.SupplierUtils;
  *
  * <p>Subclasses are responsible for calling relevant methods in the correct order.
  *
+ * <p>Concurrent invocations missing the cache for the same key may optionally be
+ * coalesced into a single invocation of the underlying method, independent from
+ * the cache provider: see {@link #setCoalesceCacheMisses}. Entries of
+ * {@link CacheableOperation CacheableOperations} with a
+ * {@linkplain CacheableOperation#getRefreshAfter() refresh-ahead} setting
+ * get refreshed asynchronously on the {@link #setRefreshExecutor refresh executor}.
+ *
  * <p>Uses the <b>Strategy</b> design pattern. A {@link CacheOperationSource} is
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
@@ -143,6 +161,21 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean coalesceCacheMisses = false;
+
+	private Duration coalescingTimeout = Duration.ofSeconds(30);
+
+	private final Map<InvocationKey, InFlightInvocation> inFlightInvocations = new ConcurrentHashMap<>(64);
+
+	private final LongAdder coalescedInvocationCount = new LongAdder();
+
+	@Nullable
+	private Executor refreshExecutor;
+
+	private final Map<InvocationKey, Boolean> refreshesInProgress = new ConcurrentHashMap<>(64);
+
+	private final Map<CacheEntryKey, Long> refreshTimestamps = new ConcurrentReferenceHashMap<>(256);
+
 	private boolean initialized = false;
 
 
@@ -243,6 +276,98 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Specify whether concurrent invocations missing the cache for the same key
+	 * should share a single invocation of the underlying method ("single flight")
+	 * instead of each invoking the method and putting the same value into the cache.
+	 * <p>Applies to {@link org.springframework.cache.annotation.Cacheable} operations
+	 * without {@code sync} flag which are not combined with any cache put or evict
+	 * operation, for regular return values as well as for {@link CompletableFuture}
+	 * and Reactive Streams return types. In contrast to {@code sync = true}, this
+	 * does not rely on the locking semantics of the underlying cache provider, only
+	 * coalescing concurrent invocations within this cache aspect instance.
+	 * <p>The default is "false". Note that coalesced invocations share the same
+	 * result instance (or the same exception) as the invocation they waited for.
+	 * Nested invocations for the same key within the invoking thread are not
+	 * coalesced but invoke the underlying method themselves.
+	 * @since 6.2
+	 * @see #setCoalescingTimeout
+	 * @see #getCoalescedInvocationCount()
+	 */
+	public void setCoalesceCacheMisses(boolean coalesceCacheMisses) {
+		this.coalesceCacheMisses = coalesceCacheMisses;
+	}
+
+	/**
+	 * Return whether concurrent invocations missing the cache for the same key
+	 * get coalesced into a single invocation of the underlying method.
+	 * @since 6.2
+	 */
+	public boolean isCoalesceCacheMisses() {
+		return this.coalesceCacheMisses;
+	}
+
+	/**
+	 * Specify the maximum time for a coalesced invocation with a regular return
+	 * value to wait for the result of the concurrent invocation, invoking the
+	 * underlying method itself once the timeout has elapsed.
+	 * <p>The default is 30 seconds.
+	 * @since 6.2
+	 * @see #setCoalesceCacheMisses
+	 */
+	public void setCoalescingTimeout(Duration coalescingTimeout) {
+		Assert.isTrue(!coalescingTimeout.isNegative(), "Coalescing timeout must not be negative");
+		this.coalescingTimeout = coalescingTimeout;
+	}
+
+	/**
+	 * Return the maximum time for a coalesced invocation to wait for the result
+	 * of the concurrent invocation.
+	 * @since 6.2
+	 */
+	public Duration getCoalescingTimeout() {
+		return this.coalescingTimeout;
+	}
+
+	/**
+	 * Return the number of invocations which did not invoke the underlying method
+	 * themselves but rather shared the result of a concurrent invocation for the
+	 * same cache miss.
+	 * @since 6.2
+	 * @see #setCoalesceCacheMisses
+	 */
+	public long getCoalescedInvocationCount() {
+		return this.coalescedInvocationCount.sum();
+	}
+
+	/**
+	 * Specify the executor to refresh cache entries on, for
+	 * {@link CacheableOperation CacheableOperations} with a
+	 * {@linkplain CacheableOperation#getRefreshAfter() refresh-ahead} setting.
+	 * <p>There is no default: refresh-ahead requires an executor to be specified,
+	 * preferably a bounded one such as a thread pool with a limited queue capacity.
+	 * Refreshes rejected by the executor are skipped until the next cache hit.
+	 * Note that at most one refresh is in progress per cache key.
+	 * <p>Refreshes invoke the underlying method on a thread of the given executor,
+	 * outside of any transaction or security context of the triggering caller:
+	 * specify an executor which propagates the necessary context, if any.
+	 * @since 6.2
+	 * @see org.springframework.cache.annotation.Cacheable#refreshAheadFactor()
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		Assert.notNull(refreshExecutor, "Refresh executor must not be null");
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	/**
+	 * Return the executor to refresh cache entries on, if any.
+	 * @since 6.2
+	 */
+	@Nullable
+	public Executor getRefreshExecutor() {
+		return this.refreshExecutor;
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -252,6 +377,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	public void setBeanFactory(BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
 		this.originalEvaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
+		this.evaluator.clear();
 	}
 
 
@@ -422,6 +548,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			// Special handling of synchronized invocation
 			return executeSynchronized(invoker, method, contexts);
 		}
+		if (contexts.bulkParameterIndex >= 0) {
+			// Special handling of bulk invocation per element of a collection argument
+			return executeBulk(invoker, method, contexts);
+		}
 
 		// Process any early evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
@@ -467,6 +597,107 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 	}
 
+	/**
+	 * Execute a bulk {@link CacheableOperation}: look up the keys for all elements
+	 * of the collection argument, invoke the method for the missing elements only,
+	 * and merge the cached and the returned entries in the order of the elements.
+	 */
+	@Nullable
+	private Object executeBulk(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+		Object[] args = contexts.args;
+		int index = contexts.bulkParameterIndex;
+		if (!(args[index] instanceof Collection<?> elements) ||
+				!isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			return invokeOperation(invoker);
+		}
+
+		// Determine the key per element, and look up all keys in one go
+		Map<Object, Object> missingKeys = CollectionUtils.newLinkedHashMap(elements.size());
+		for (Object element : elements) {
+			missingKeys.put(element, context.generateElementKey(element));
+		}
+		Map<Object, Object> elementKeys = new LinkedHashMap<>(missingKeys);
+		Map<Object, Object> cachedValues = CollectionUtils.newHashMap(elements.size());
+		for (Cache cache : context.getCaches()) {
+			if (missingKeys.isEmpty()) {
+				break;
+			}
+			Map<Object, Cache.ValueWrapper> hits = doGetAll(cache, missingKeys.values());
+			if (!hits.isEmpty()) {
+				for (Iterator<Map.Entry<Object, Object>> it = missingKeys.entrySet().iterator(); it.hasNext();) {
+					Map.Entry<Object, Object> entry = it.next();
+					Cache.ValueWrapper wrapper = hits.get(entry.getValue());
+					if (wrapper != null) {
+						cachedValues.put(entry.getKey(), wrapper.get());
+						it.remove();
+					}
+				}
+			}
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Cache entries for " + cachedValues.size() + " of " + elementKeys.size() +
+					" keys found in cache(s) " + context.getCacheNames());
+		}
+
+		// Invoke the method for the missing elements only, putting the returned entries
+		Map<?, ?> returnedValues = Collections.emptyMap();
+		if (!missingKeys.isEmpty()) {
+			Object returnValue;
+			Collection<Object> missingElements = createElementCollection(method, index, missingKeys.size());
+			if (missingElements != null) {
+				missingElements.addAll(missingKeys.keySet());
+				args[index] = missingElements;
+				try {
+					returnValue = invokeOperation(invoker);
+				}
+				finally {
+					args[index] = elements;
+				}
+			}
+			else {
+				returnValue = invokeOperation(invoker);
+			}
+			if (returnValue instanceof Map<?, ?> map) {
+				returnedValues = map;
+				Map<Object, Object> entriesToPut = CollectionUtils.newLinkedHashMap(map.size());
+				map.forEach((element, value) -> {
+					Object key = elementKeys.get(element);
+					entriesToPut.put((key != null ? key : context.generateElementKey(element)), value);
+				});
+				if (logger.isTraceEnabled()) {
+					logger.trace("Creating " + entriesToPut.size() + " cache entries in cache(s) " +
+							context.getCacheNames());
+				}
+				for (Cache cache : context.getCaches()) {
+					doPutAll(cache, entriesToPut);
+				}
+			}
+		}
+
+		Map<Object, Object> result = CollectionUtils.newLinkedHashMap(elementKeys.size());
+		for (Object element : elementKeys.keySet()) {
+			if (returnedValues.containsKey(element)) {
+				result.put(element, returnedValues.get(element));
+			}
+			else if (cachedValues.containsKey(element)) {
+				result.put(element, cachedValues.get(element));
+			}
+		}
+		return result;
+	}
+
+	@Nullable
+	private Collection<Object> createElementCollection(Method method, int index, int size) {
+		try {
+			return CollectionFactory.createCollection(method.getParameterTypes()[index], size);
+		}
+		catch (IllegalArgumentException ex) {
+			// Unsupported collection type: pass the original argument
+			return null;
+		}
+	}
+
 	/**
 	 * Find a cached value only for {@link CacheableOperation} that passes the condition.
 	 * @param contexts the cacheable operations
@@ -523,12 +754,108 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			Cache.ValueWrapper result = doGet(cache, key);
 			if (result != null) {
+				if (context.refreshAfter >= 0 && contexts.get(CachePutOperation.class).isEmpty() &&
+						isRefreshDue(cache, key, context.refreshAfter)) {
+					refreshAhead(context, key, invoker);
+				}
 				return result;
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Determine whether the given cache entry is at least as old as the given age.
+	 * <p>Entry creation times are kept aside rather than stored in the cache.
+	 * Entries of unknown age, for example put into the cache by other means
+	 * or by another process, are tracked from their first hit onwards.
+	 */
+	private boolean isRefreshDue(Cache cache, Object key, long refreshAfter) {
+		long now = System.currentTimeMillis();
+		Long creationTime = this.refreshTimestamps.putIfAbsent(new CacheEntryKey(cache, key), now);
+		return (creationTime != null && now - creationTime >= refreshAfter);
+	}
+
+	private void recordRefreshTimestamps(CacheOperationContext context, Object key) {
+		Long now = System.currentTimeMillis();
+		for (Cache cache : context.getCaches()) {
+			this.refreshTimestamps.put(new CacheEntryKey(cache, key), now);
+		}
+	}
+
+	private void removeRefreshTimestamps(Cache cache, @Nullable Object key) {
+		if (!this.refreshTimestamps.isEmpty()) {
+			if (key != null) {
+				this.refreshTimestamps.remove(new CacheEntryKey(cache, key));
+			}
+			else {
+				this.refreshTimestamps.keySet().removeIf(entryKey -> entryKey.cache() == cache);
+			}
+		}
+	}
+
+	/**
+	 * Asynchronously invoke the underlying method for a cache hit due for
+	 * refresh, putting the result into the caches of the given context
+	 * unless a refresh for the same key is already in progress.
+	 */
+	private void refreshAhead(CacheOperationContext context, Object key, CacheOperationInvoker invoker) {
+		InvocationKey refreshKey = new InvocationKey(context.getMethod(), context.getCacheNames(), key);
+		if (this.refreshesInProgress.putIfAbsent(refreshKey, Boolean.TRUE) != null) {
+			return;
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Refreshing cache entry for key '" + key + "' in cache(s) " + context.getCacheNames());
+		}
+		Executor refreshExecutor = this.refreshExecutor;
+		Assert.state(refreshExecutor != null, "No refresh executor");
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					Object value = unwrapReturnValue(invokeOperation(invoker));
+					if (context.canPutToCache(value)) {
+						for (Cache cache : context.getCaches()) {
+							doPut(cache, key, value);
+						}
+						recordRefreshTimestamps(context, key);
+					}
+				}
+				catch (RuntimeException ex) {
+					handleRefreshFailure(context, key, ex);
+				}
+				finally {
+					this.refreshesInProgress.remove(refreshKey);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			this.refreshesInProgress.remove(refreshKey);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Refresh of cache entry for key '" + key + "' rejected by executor", ex);
+			}
+		}
+	}
+
+	private void handleRefreshFailure(CacheOperationContext context, Object key, RuntimeException ex) {
+		Throwable cause = (ex instanceof CacheOperationInvoker.ThrowableWrapper wrapper ? wrapper.getOriginal() : ex);
+		if (((CacheableOperation) context.getOperation()).isStaleIfError()) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Refresh of cache entry for key '" + key + "' in cache(s) " +
+						context.getCacheNames() + " failed - keeping stale value", cause);
+			}
+		}
+		else {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Refresh of cache entry for key '" + key + "' in cache(s) " +
+						context.getCacheNames() + " failed - evicting entry", cause);
+			}
+			for (Cache cache : context.getCaches()) {
+				doEvict(cache, key, false);
+				removeRefreshTimestamps(cache, key);
+			}
+		}
+	}
+
 	@Nullable
 	private Object evaluate(@Nullable Object cacheHit, CacheOperationInvoker invoker, Method method,
 			CacheOperationContexts contexts) {
@@ -538,6 +865,20 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return cacheHit;
 		}
 
+		if (cacheHit == null && this.coalesceCacheMisses) {
+			InvocationKey coalescingKey = contexts.getInvocationKey(method);
+			if (coalescingKey != null) {
+				return evaluateCoalesced(coalescingKey, invoker, method, contexts);
+			}
+		}
+
+		return doEvaluate(cacheHit, invoker, method, contexts);
+	}
+
+	@Nullable
+	private Object doEvaluate(@Nullable Object cacheHit, CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts) {
+
 		Object cacheValue;
 		Object returnValue;
 
@@ -582,6 +923,114 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return returnValue;
 	}
 
+	/**
+	 * Evaluate a cache miss, either as the leading invocation for the given key
+	 * or by sharing the result of a concurrent leading invocation.
+	 */
+	@Nullable
+	private Object evaluateCoalesced(InvocationKey coalescingKey, CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts) {
+
+		InFlightInvocation inFlight = new InFlightInvocation();
+		InFlightInvocation existing = this.inFlightInvocations.putIfAbsent(coalescingKey, inFlight);
+		if (existing != null) {
+			if (existing.leader == Thread.currentThread()) {
+				// Nested invocation for the same key -> waiting would never end
+				return doEvaluate(null, invoker, method, contexts);
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace("Coalescing invocation for key '" + coalescingKey.key() +
+						"' with in-flight invocation for cache(s) " + coalescingKey.cacheNames());
+			}
+			this.coalescedInvocationCount.increment();
+			contexts.processed = true;
+			try {
+				return awaitInFlightInvocation(existing.result, method);
+			}
+			catch (TimeoutException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Timed out waiting for in-flight invocation for key '" + coalescingKey.key() +
+							"' in cache(s) " + coalescingKey.cacheNames() + " - invoking method instead");
+				}
+				contexts.processed = false;
+				return doEvaluate(null, invoker, method, contexts);
+			}
+		}
+
+		Object returnValue;
+		try {
+			returnValue = doEvaluate(null, invoker, method, contexts);
+		}
+		catch (RuntimeException | Error ex) {
+			this.inFlightInvocations.remove(coalescingKey, inFlight);
+			inFlight.result.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			inFlight.leader = null;
+		}
+
+		if (returnValue instanceof CompletableFuture<?> future) {
+			future.whenComplete((value, ex) -> {
+				this.inFlightInvocations.remove(coalescingKey, inFlight);
+				if (ex != null) {
+					inFlight.result.completeExceptionally(ex);
+				}
+				else {
+					inFlight.result.complete(value);
+				}
+			});
+			return returnValue;
+		}
+		if (this.reactiveCachingHandler != null) {
+			// Only track the shared publisher while subscribed, in case it never is
+			this.inFlightInvocations.remove(coalescingKey, inFlight);
+			Object sharedValue = this.reactiveCachingHandler.shareInFlightInvocation(returnValue,
+					() -> this.inFlightInvocations.putIfAbsent(coalescingKey, inFlight),
+					() -> this.inFlightInvocations.remove(coalescingKey, inFlight));
+			if (sharedValue != ReactiveCachingHandler.NOT_HANDLED) {
+				// Concurrent invocations subscribe to the same cached publisher
+				inFlight.result.complete(sharedValue);
+				return sharedValue;
+			}
+		}
+		this.inFlightInvocations.remove(coalescingKey, inFlight);
+		inFlight.result.complete(returnValue);
+		return returnValue;
+	}
+
+	@Nullable
+	private Object awaitInFlightInvocation(CompletableFuture<Object> inFlight, Method method)
+			throws TimeoutException {
+
+		if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+			return inFlight.copy();
+		}
+		if (this.reactiveCachingHandler != null) {
+			Object returnValue = this.reactiveCachingHandler.awaitInFlightInvocation(inFlight, method);
+			if (returnValue != ReactiveCachingHandler.NOT_HANDLED) {
+				return returnValue;
+			}
+		}
+		try {
+			return inFlight.get(this.coalescingTimeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (ExecutionException ex) {
+			// Propagate ThrowableWrapper from the leading invoker as-is
+			Throwable cause = ex.getCause();
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			ReflectionUtils.rethrowRuntimeException(cause);
+			// Never reached
+			return null;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CacheOperationInvoker.ThrowableWrapper(ex);
+		}
+	}
+
 	@Nullable
 	private Object unwrapCacheValue(@Nullable Object cacheValue) {
 		return (cacheValue instanceof Cache.ValueWrapper wrapper ? wrapper.get() : cacheValue);
@@ -659,6 +1108,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 					if (operation.isCacheWide()) {
 						logInvalidating(context, operation, null);
 						doClear(cache, operation.isBeforeInvocation());
+						removeRefreshTimestamps(cache, null);
 					}
 					else {
 						if (key == null) {
@@ -666,6 +1116,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 						}
 						logInvalidating(context, operation, key);
 						doEvict(cache, key, operation.isBeforeInvocation());
+						removeRefreshTimestamps(cache, key);
 					}
 				}
 			}
@@ -726,6 +1177,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final boolean sync;
 
+		// Index of the collection argument for a bulk operation, or -1 if none
+		final int bulkParameterIndex;
+
+		final Object[] args;
+
 		boolean processed;
 
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
@@ -736,6 +1192,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
 			}
 			this.sync = determineSyncFlag(method);
+			this.bulkParameterIndex = determineBulkParameterIndex(method);
+			this.args = args;
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -747,6 +1205,68 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.sync;
 		}
 
+		/**
+		 * Determine the key for coalescing concurrent misses of the first
+		 * {@link CacheableOperation} with a generated key, provided that no
+		 * cache put or evict operation is involved.
+		 */
+		@Nullable
+		public InvocationKey getInvocationKey(Method method) {
+			if (this.contexts.containsKey(CachePutOperation.class) ||
+					this.contexts.containsKey(CacheEvictOperation.class)) {
+				return null;
+			}
+			for (CacheOperationContext context : get(CacheableOperation.class)) {
+				Object key = context.getGeneratedKey();
+				if (key != null) {
+					return new InvocationKey(method, context.getCacheNames(), key);
+				}
+			}
+			return null;
+		}
+
+		private int determineBulkParameterIndex(Method method) {
+			List<CacheOperationContext> cacheableContexts = this.contexts.get(CacheableOperation.class);
+			if (cacheableContexts == null) {  // no @Cacheable operation at all
+				return -1;
+			}
+			boolean bulkEnabled = false;
+			for (CacheOperationContext context : cacheableContexts) {
+				if (context.getOperation() instanceof CacheableOperation cacheable && cacheable.isBulk()) {
+					bulkEnabled = true;
+					break;
+				}
+			}
+			if (!bulkEnabled) {
+				return -1;
+			}
+			if (this.contexts.size() > 1 || cacheableContexts.size() > 1) {
+				throw new IllegalStateException(
+						"A bulk operation cannot be combined with other cache operations on '" + method + "'");
+			}
+			if (!Map.class.isAssignableFrom(method.getReturnType()) ||
+					!method.getReturnType().isAssignableFrom(LinkedHashMap.class)) {
+				throw new IllegalStateException(
+						"A bulk operation requires a java.util.Map return type on '" + method + "'");
+			}
+			int index = -1;
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			for (int i = 0; i < parameterTypes.length; i++) {
+				if (Collection.class.isAssignableFrom(parameterTypes[i])) {
+					if (index >= 0) {
+						index = -1;
+						break;
+					}
+					index = i;
+				}
+			}
+			if (index < 0) {
+				throw new IllegalStateException(
+						"A bulk operation requires exactly one java.util.Collection parameter on '" + method + "'");
+			}
+			return index;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheableContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheableContexts == null) {  // no @Cacheable operation at all
@@ -778,6 +1298,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 					throw new IllegalStateException(
 							"A sync=true operation does not support the unless attribute on '" + operation + "'");
 				}
+				if (operation instanceof CacheableOperation cacheable && cacheable.getRefreshAfter() != null) {
+					throw new IllegalStateException(
+							"A sync=true operation does not support refresh-ahead on '" + operation + "'");
+				}
 				return true;
 			}
 			return false;
@@ -841,12 +1365,16 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		@Nullable
 		private Object key;
 
+		// Age in milliseconds after which entries get refreshed, or -1 if not applicable
+		final long refreshAfter;
+
 		public CacheOperationContext(CacheOperationMetadata metadata, Object[] args, Object target) {
 			this.metadata = metadata;
 			this.args = extractArgs(metadata.method, args);
 			this.target = target;
 			this.caches = CacheAspectSupport.this.getCaches(this, metadata.cacheResolver);
 			this.cacheNames = prepareCacheNames(this.caches);
+			this.refreshAfter = determineRefreshAfter(metadata);
 		}
 
 		@Override
@@ -924,6 +1452,14 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.key;
 		}
 
+		/**
+		 * Compute the key for the given element of the collection argument
+		 * of a bulk operation, as if it was the only method argument.
+		 */
+		private Object generateElementKey(@Nullable Object element) {
+			return this.metadata.keyGenerator.generate(this.target, this.metadata.method, element);
+		}
+
 		/**
 		 * Get generated key.
 		 * @return generated key
@@ -947,6 +1483,22 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.cacheNames;
 		}
 
+		private long determineRefreshAfter(CacheOperationMetadata metadata) {
+			if (metadata.operation instanceof CacheableOperation cacheable) {
+				Duration refreshAfter = cacheable.getRefreshAfter();
+				// Asynchronous return values are not refreshed ahead
+				if (refreshAfter != null && !CompletableFuture.class.isAssignableFrom(metadata.method.getReturnType()) &&
+						(reactiveCachingHandler == null || !reactiveCachingHandler.isReactive(metadata.method))) {
+					if (refreshExecutor == null) {
+						throw new IllegalStateException("Operation with refresh-ahead on '" + cacheable +
+								"' requires a refresh executor: see CacheAspectSupport#setRefreshExecutor");
+					}
+					return refreshAfter.toMillis();
+				}
+			}
+			return -1;
+		}
+
 		private Collection<String> prepareCacheNames(Collection<? extends Cache> caches) {
 			Collection<String> names = new ArrayList<>(caches.size());
 			for (Cache cache : caches) {
@@ -996,6 +1548,35 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 
+	/**
+	 * Key for an in-flight invocation or refresh: the cache key within the given
+	 * caches, scoped to the invoked method in order to share results of the same
+	 * type only.
+	 */
+	private record InvocationKey(Method method, Collection<String> cacheNames, Object key) {
+	}
+
+
+	/**
+	 * Leading invocation for a cache miss, shared with concurrent invocations.
+	 */
+	private static final class InFlightInvocation {
+
+		final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		/** The thread evaluating the leading invocation, if still in progress. */
+		@Nullable
+		volatile Thread leader = Thread.currentThread();
+	}
+
+
+	/**
+	 * Key for an entry within a specific cache, for tracking its creation time.
+	 */
+	private record CacheEntryKey(Cache cache, Object key) {
+	}
+
+
 	private class CachePutRequest {
 
 		private final CacheOperationContext context;
@@ -1036,6 +1617,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				for (Cache cache : this.context.getCaches()) {
 					doPut(cache, key, value);
 				}
+				if (this.context.refreshAfter >= 0) {
+					recordRefreshTimestamps(this.context, key);
+				}
 			}
 		}
 	}
@@ -1113,6 +1697,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return NOT_HANDLED;
 		}
 
+		public boolean isReactive(Method method) {
+			return (this.registry.getAdapter(method.getReturnType()) != null ||
+					(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isSuspendingFunction(method)));
+		}
+
 		@Nullable
 		public Object processCacheEvicts(List<CacheOperationContext> contexts, @Nullable Object result) {
 			ReactiveAdapter adapter = (result != null ? this.registry.getAdapter(result.getClass()) : null);
@@ -1168,6 +1757,41 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return NOT_HANDLED;
 		}
 
+		public Object shareInFlightInvocation(@Nullable Object returnValue,
+				Runnable onSubscribe, Runnable onTermination) {
+
+			ReactiveAdapter adapter = (returnValue != null ? this.registry.getAdapter(returnValue.getClass()) : null);
+			if (adapter != null) {
+				if (adapter.isMultiValue()) {
+					return adapter.fromPublisher(Flux.from(adapter.toPublisher(returnValue))
+							.doOnSubscribe(subscription -> onSubscribe.run())
+							.doFinally(signal -> onTermination.run()).cache());
+				}
+				else {
+					return adapter.fromPublisher(Mono.from(adapter.toPublisher(returnValue))
+							.doOnSubscribe(subscription -> onSubscribe.run())
+							.doFinally(signal -> onTermination.run()).cache());
+				}
+			}
+			return NOT_HANDLED;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public Object awaitInFlightInvocation(CompletableFuture<Object> inFlight, Method method) {
+			ReactiveAdapter adapter = this.registry.getAdapter(method.getReturnType());
+			if (adapter != null) {
+				if (adapter.isMultiValue()) {
+					return adapter.fromPublisher(Mono.fromFuture(inFlight.copy())
+							.flatMapMany(shared -> Flux.from(adapter.toPublisher(shared))));
+				}
+				else {
+					return adapter.fromPublisher(Mono.fromFuture(inFlight.copy())
+							.flatMap(shared -> (Mono) Mono.from(adapter.toPublisher(shared))));
+				}
+			}
+			return NOT_HANDLED;
+		}
+
 		private Flux<?> valueToFlux(Object value, CacheOperationContexts contexts) {
 			Object data = unwrapCacheValue(value);
 			return (!contexts.processed && data instanceof Iterable<?> iterable ? Flux.fromIterable(iterable) :
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.context.expression.MethodEvaluationContextShape;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
 
@@ -44,7 +45,8 @@ import org.springframework.lang.Nullable;
  */
 class CacheEvaluationContext extends MethodBasedEvaluationContext {
 
-	private final Set<String> unavailableVariables = new HashSet<>(1);
+	@Nullable
+	private Set<String> unavailableVariables;
 
 
 	CacheEvaluationContext(Object rootObject, Method method, Object[] arguments,
@@ -53,6 +55,10 @@ class CacheEvaluationContext extends MethodBasedEvaluationContext {
 		super(rootObject, method, arguments, parameterNameDiscoverer);
 	}
 
+	CacheEvaluationContext(Object rootObject, MethodEvaluationContextShape shape, Object[] arguments) {
+		super(rootObject, shape, arguments);
+	}
+
 
 	/**
 	 * Add the specified variable name as unavailable for this context.
@@ -62,6 +68,9 @@ class CacheEvaluationContext extends MethodBasedEvaluationContext {
 	 * trying to use that variable should therefore fail to evaluate.
 	 */
 	public void addUnavailableVariable(String name) {
+		if (this.unavailableVariables == null) {
+			this.unavailableVariables = new HashSet<>(1);
+		}
 		this.unavailableVariables.add(name);
 	}
 
@@ -72,7 +81,7 @@ class CacheEvaluationContext extends MethodBasedEvaluationContext {
 	@Override
 	@Nullable
 	public Object lookupVariable(String name) {
-		if (this.unavailableVariables.contains(name)) {
+		if (this.unavailableVariables != null && this.unavailableVariables.contains(name)) {
 			throw new VariableNotAvailableException(name);
 		}
 		return super.lookupVariable(name);
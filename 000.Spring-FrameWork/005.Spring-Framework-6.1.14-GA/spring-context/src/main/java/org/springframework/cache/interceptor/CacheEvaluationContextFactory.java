@@ -17,8 +17,11 @@
 package org.springframework.cache.interceptor;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
+import org.springframework.context.expression.MethodEvaluationContextShape;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -29,6 +32,10 @@ import org.springframework.util.function.SingletonSupplier;
  * A factory for {@link CacheEvaluationContext} that makes sure that internal
  * delegates are reused.
  *
+ * <p>As of 6.2, a {@link MethodEvaluationContextShape} is kept per target method
+ * so that the argument variables and the delegates do not have to be registered
+ * again for each invocation.
+ *
  * @author Stephane Nicoll
  * @since 6.1.1
  */
@@ -39,6 +46,8 @@ class CacheEvaluationContextFactory {
 	@Nullable
 	private Supplier<ParameterNameDiscoverer> parameterNameDiscoverer;
 
+	private final Map<Method, MethodEvaluationContextShape> shapeCache = new ConcurrentHashMap<>(64);
+
 	CacheEvaluationContextFactory(StandardEvaluationContext originalContext) {
 		this.originalContext = originalContext;
 	}
@@ -64,10 +73,18 @@ class CacheEvaluationContextFactory {
 	public CacheEvaluationContext forOperation(CacheExpressionRootObject rootObject,
 			Method targetMethod, Object[] args) {
 
-		CacheEvaluationContext evaluationContext = new CacheEvaluationContext(
-				rootObject, targetMethod, args, getParameterNameDiscoverer());
-		this.originalContext.applyDelegatesTo(evaluationContext);
-		return evaluationContext;
+		MethodEvaluationContextShape shape = this.shapeCache.computeIfAbsent(targetMethod, method ->
+				new MethodEvaluationContextShape(method, getParameterNameDiscoverer(), this.originalContext));
+		return new CacheEvaluationContext(rootObject, shape, args);
+	}
+
+	/**
+	 * Clear the cached {@link MethodEvaluationContextShape shapes}, for example
+	 * after the delegates of the original context have changed.
+	 * @since 6.2
+	 */
+	public void clear() {
+		this.shapeCache.clear();
 	}
 
 }
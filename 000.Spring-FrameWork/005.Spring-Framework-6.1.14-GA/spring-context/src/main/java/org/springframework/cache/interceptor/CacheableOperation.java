@@ -16,6 +16,8 @@
 
 package org.springframework.cache.interceptor;
 
+import java.time.Duration;
+
 import org.springframework.lang.Nullable;
 
 /**
@@ -33,6 +35,15 @@ public class CacheableOperation extends CacheOperation {
 
 	private final boolean sync;
 
+	@Nullable
+	private final Duration timeToLive;
+
+	private final double refreshAheadFactor;
+
+	private final boolean staleIfError;
+
+	private final boolean bulk;
+
 
 	/**
 	 * Create a new {@link CacheableOperation} instance from the given builder.
@@ -42,6 +53,10 @@ public class CacheableOperation extends CacheOperation {
 		super(b);
 		this.unless = b.unless;
 		this.sync = b.sync;
+		this.timeToLive = b.timeToLive;
+		this.refreshAheadFactor = b.refreshAheadFactor;
+		this.staleIfError = b.staleIfError;
+		this.bulk = b.bulk;
 	}
 
 
@@ -54,6 +69,56 @@ public class CacheableOperation extends CacheOperation {
 		return this.sync;
 	}
 
+	/**
+	 * Return the expected time-to-live of cached entries, if known.
+	 * @since 6.2
+	 */
+	@Nullable
+	public Duration getTimeToLive() {
+		return this.timeToLive;
+	}
+
+	/**
+	 * Return the fraction of the time-to-live after which entries get
+	 * refreshed ahead of their expiration, or {@code 0} if disabled.
+	 * @since 6.2
+	 */
+	public double getRefreshAheadFactor() {
+		return this.refreshAheadFactor;
+	}
+
+	/**
+	 * Return whether to keep serving a cached value if refreshing it fails.
+	 * @since 6.2
+	 */
+	public boolean isStaleIfError() {
+		return this.staleIfError;
+	}
+
+	/**
+	 * Return whether this operation caches the entries of a returned map
+	 * individually, per element of a collection argument.
+	 * @since 6.2
+	 */
+	public boolean isBulk() {
+		return this.bulk;
+	}
+
+	/**
+	 * Return the age after which entries get refreshed ahead of their expiration,
+	 * or {@code null} if refresh-ahead is not enabled for this operation.
+	 * @since 6.2
+	 * @see #getTimeToLive()
+	 * @see #getRefreshAheadFactor()
+	 */
+	@Nullable
+	public Duration getRefreshAfter() {
+		if (this.timeToLive == null || this.refreshAheadFactor <= 0) {
+			return null;
+		}
+		return Duration.ofMillis((long) (this.timeToLive.toMillis() * this.refreshAheadFactor));
+	}
+
 
 	/**
 	 * A builder that can be used to create a {@link CacheableOperation}.
@@ -66,6 +131,15 @@ public class CacheableOperation extends CacheOperation {
 
 		private boolean sync;
 
+		@Nullable
+		private Duration timeToLive;
+
+		private double refreshAheadFactor;
+
+		private boolean staleIfError;
+
+		private boolean bulk;
+
 		public void setUnless(String unless) {
 			this.unless = unless;
 		}
@@ -74,6 +148,40 @@ public class CacheableOperation extends CacheOperation {
 			this.sync = sync;
 		}
 
+		/**
+		 * Set the expected time-to-live of cached entries.
+		 * @since 6.2
+		 */
+		public void setTimeToLive(@Nullable Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		/**
+		 * Set the fraction of the time-to-live after which entries get refreshed
+		 * ahead of their expiration ({@code 0} for no refresh-ahead).
+		 * @since 6.2
+		 */
+		public void setRefreshAheadFactor(double refreshAheadFactor) {
+			this.refreshAheadFactor = refreshAheadFactor;
+		}
+
+		/**
+		 * Set whether to keep serving a cached value if refreshing it fails.
+		 * @since 6.2
+		 */
+		public void setStaleIfError(boolean staleIfError) {
+			this.staleIfError = staleIfError;
+		}
+
+		/**
+		 * Set whether to cache the entries of a returned map individually,
+		 * per element of a collection argument.
+		 * @since 6.2
+		 */
+		public void setBulk(boolean bulk) {
+			this.bulk = bulk;
+		}
+
 		@Override
 		protected StringBuilder getOperationDescription() {
 			StringBuilder sb = super.getOperationDescription();
@@ -83,6 +191,20 @@ public class CacheableOperation extends CacheOperation {
 			sb.append(" | sync='");
 			sb.append(this.sync);
 			sb.append('\'');
+			if (this.refreshAheadFactor > 0) {
+				sb.append(" | timeToLive='");
+				sb.append(this.timeToLive);
+				sb.append('\'');
+				sb.append(" | refreshAheadFactor='");
+				sb.append(this.refreshAheadFactor);
+				sb.append('\'');
+				sb.append(" | staleIfError='");
+				sb.append(this.staleIfError);
+				sb.append('\'');
+			}
+			if (this.bulk) {
+				sb.append(" | bulk='true'");
+			}
 			return sb;
 		}
 
@@ -0,0 +1,489 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Two-tier {@link Cache} decorator which keeps a local copy of entries of a
+ * (typically remote) target cache, serving repeated reads from the local tier
+ * without a round trip to the remote tier.
+ *
+ * <p>Reads check the local tier first, falling back to the remote tier and
+ * populating the local tier with the remote value. Writes go to the remote tier
+ * and update or invalidate the local tier accordingly, notifying the
+ * {@link InvalidationListener}, if any: for example, to propagate invalidations
+ * to the local tiers of other processes which may then apply them through
+ * {@link #invalidateLocal(Object)}.
+ *
+ * <p>Writes through this cache never leave a stale local copy behind: a local
+ * copy populated from a remote read is discarded if the key has been written or
+ * invalidated concurrently. Local copies of entries written elsewhere, however,
+ * remain stale until {@linkplain #invalidateLocal(Object) invalidated} or expired:
+ * without a local time-to-live and without propagated invalidations, their
+ * staleness is unbounded. Specify a local time-to-live in order to bound it.
+ * The local cache is expected to be bounded itself, e.g. as a
+ * {@link org.springframework.cache.concurrent.BoundedConcurrentMapCache}.
+ *
+ * <p>{@code null} values are not kept in the local tier: lookups for such
+ * entries always reach the remote tier.
+ *
+ * <p>Keeps track of local hits, remote hits and misses, exposed through
+ * {@link #getStatistics()}.
+ *
+ * @since 6.2
+ * @see NearCacheManager
+ */
+public class NearCache implements Cache {
+
+	private static final int INVALIDATION_STRIPES = 64;
+
+
+	private final Cache localCache;
+
+	private final Cache remoteCache;
+
+	private final long localTimeToLive;
+
+	@Nullable
+	private final InvalidationListener invalidationListener;
+
+	/** Invalidation stamps per stripe of keys, incremented on every write or invalidation. */
+	private final AtomicLongArray invalidationStamps = new AtomicLongArray(INVALIDATION_STRIPES);
+
+	private final LongAdder localHitCount = new LongAdder();
+
+	private final LongAdder remoteHitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+
+	/**
+	 * Create a new NearCache for the given local and remote caches.
+	 * @param localCache the local cache to keep copies of entries in
+	 * @param remoteCache the remote cache to decorate
+	 */
+	public NearCache(Cache localCache, Cache remoteCache) {
+		this(localCache, remoteCache, null, null);
+	}
+
+	/**
+	 * Create a new NearCache for the given local and remote caches.
+	 * @param localCache the local cache to keep copies of entries in
+	 * @param remoteCache the remote cache to decorate
+	 * @param localTimeToLive the time-to-live of local copies
+	 * ({@code null} for no expiration of local copies)
+	 * @param invalidationListener a listener to notify about writes
+	 * to this cache ({@code null} for none)
+	 */
+	public NearCache(Cache localCache, Cache remoteCache, @Nullable Duration localTimeToLive,
+			@Nullable InvalidationListener invalidationListener) {
+
+		Assert.notNull(localCache, "Local Cache must not be null");
+		Assert.notNull(remoteCache, "Remote Cache must not be null");
+		this.localCache = localCache;
+		this.remoteCache = remoteCache;
+		this.localTimeToLive = (localTimeToLive != null ? localTimeToLive.toNanos() : 0);
+		this.invalidationListener = invalidationListener;
+	}
+
+
+	/**
+	 * Return the local tier of this cache.
+	 */
+	public Cache getLocalCache() {
+		return this.localCache;
+	}
+
+	/**
+	 * Return the remote tier of this cache.
+	 */
+	public Cache getRemoteCache() {
+		return this.remoteCache;
+	}
+
+	@Override
+	public String getName() {
+		return this.remoteCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.remoteCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		LocalValue localValue = getLocalValue(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return new SimpleValueWrapper(localValue.value);
+		}
+		long stamp = getInvalidationStamp(key);
+		ValueWrapper remoteValue = this.remoteCache.get(key);
+		if (remoteValue != null) {
+			this.remoteHitCount.increment();
+			putLocalValue(key, remoteValue.get(), stamp);
+		}
+		else {
+			this.missCount.increment();
+		}
+		return remoteValue;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		LocalValue localValue = getLocalValue(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return (T) localValue.value;
+		}
+		long stamp = getInvalidationStamp(key);
+		boolean[] loaded = new boolean[1];
+		T value = this.remoteCache.get(key, () -> {
+			loaded[0] = true;
+			return valueLoader.call();
+		});
+		(loaded[0] ? this.missCount : this.remoteHitCount).increment();
+		putLocalValue(key, value, stamp);
+		return value;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		LocalValue localValue = getLocalValue(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return CompletableFuture.completedFuture(new SimpleValueWrapper(localValue.value));
+		}
+		long stamp = getInvalidationStamp(key);
+		CompletableFuture<?> result = this.remoteCache.retrieve(key);
+		if (result == null) {
+			this.missCount.increment();
+			return null;
+		}
+		return result.thenApply(value -> {
+			if (value != null) {
+				this.remoteHitCount.increment();
+				putLocalValue(key, (value instanceof ValueWrapper wrapper ? wrapper.get() : value), stamp);
+			}
+			else {
+				this.missCount.increment();
+			}
+			return value;
+		});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		LocalValue localValue = getLocalValue(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return CompletableFuture.completedFuture((T) localValue.value);
+		}
+		long stamp = getInvalidationStamp(key);
+		boolean[] loaded = new boolean[1];
+		return this.remoteCache.retrieve(key, () -> {
+			loaded[0] = true;
+			return valueLoader.get();
+		}).thenApply(value -> {
+			(loaded[0] ? this.missCount : this.remoteHitCount).increment();
+			putLocalValue(key, value, stamp);
+			return value;
+		});
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.remoteCache.put(key, value);
+		putLocalValue(key, value, invalidate(key));
+		notifyInvalidation(key);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existingValue = this.remoteCache.putIfAbsent(key, value);
+		long stamp = invalidate(key);
+		if (existingValue == null) {
+			putLocalValue(key, value, stamp);
+			notifyInvalidation(key);
+		}
+		else {
+			putLocalValue(key, existingValue.get(), stamp);
+		}
+		return existingValue;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.remoteCache.evict(key);
+		invalidate(key);
+		this.localCache.evict(key);
+		notifyInvalidation(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean evicted = this.remoteCache.evictIfPresent(key);
+		invalidate(key);
+		this.localCache.evictIfPresent(key);
+		notifyInvalidation(key);
+		return evicted;
+	}
+
+	@Override
+	public void clear() {
+		this.remoteCache.clear();
+		invalidateAll();
+		this.localCache.clear();
+		notifyInvalidation(null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean invalidated = this.remoteCache.invalidate();
+		invalidateAll();
+		this.localCache.invalidate();
+		notifyInvalidation(null);
+		return invalidated;
+	}
+
+	/**
+	 * Remove the given key from the local tier only, e.g. when notified
+	 * about a write to the remote tier by another process.
+	 * @param key the key to invalidate, or {@code null} to invalidate
+	 * all local entries
+	 * @see InvalidationListener
+	 */
+	public void invalidateLocal(@Nullable Object key) {
+		if (key != null) {
+			invalidate(key);
+			this.localCache.evictIfPresent(key);
+		}
+		else {
+			invalidateAll();
+			this.localCache.invalidate();
+		}
+	}
+
+	/**
+	 * Return a snapshot of the statistics for this cache.
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(this.localHitCount.sum(), this.remoteHitCount.sum(), this.missCount.sum());
+	}
+
+
+	@Nullable
+	private LocalValue getLocalValue(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null && wrapper.get() instanceof LocalValue localValue) {
+			if (!localValue.isExpired()) {
+				return localValue;
+			}
+			this.localCache.evictIfPresent(key);
+		}
+		return null;
+	}
+
+	/**
+	 * Keep a local copy of the given value, unless the key has been written or
+	 * invalidated since the given stamp was obtained: the local copy is put
+	 * first and then discarded if the stamp has changed in the meantime, so that
+	 * a concurrent write or invalidation either sees the local copy or the
+	 * changed stamp leads to its removal.
+	 */
+	private void putLocalValue(Object key, @Nullable Object value, long stamp) {
+		if (value == null) {
+			this.localCache.evict(key);
+			return;
+		}
+		long expirationTime = (this.localTimeToLive > 0 ? System.nanoTime() + this.localTimeToLive : 0);
+		this.localCache.put(key, new LocalValue(value, expirationTime));
+		if (getInvalidationStamp(key) != stamp) {
+			this.localCache.evict(key);
+		}
+	}
+
+	private long getInvalidationStamp(Object key) {
+		return this.invalidationStamps.get(getStripe(key));
+	}
+
+	private long invalidate(Object key) {
+		return this.invalidationStamps.incrementAndGet(getStripe(key));
+	}
+
+	private void invalidateAll() {
+		for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+			this.invalidationStamps.incrementAndGet(i);
+		}
+	}
+
+	private static int getStripe(Object key) {
+		int hash = key.hashCode();
+		return (hash ^ (hash >>> 16)) & (INVALIDATION_STRIPES - 1);
+	}
+
+	private void notifyInvalidation(@Nullable Object key) {
+		if (this.invalidationListener != null) {
+			this.invalidationListener.invalidated(getName(), key);
+		}
+	}
+
+
+	/**
+	 * Callback interface for writes to a {@link NearCache}, e.g. to propagate
+	 * invalidations to the local tiers of other processes.
+	 */
+	@FunctionalInterface
+	public interface InvalidationListener {
+
+		/**
+		 * Notification that the given key has been written to or evicted from
+		 * the given cache.
+		 * @param cacheName the name of the cache
+		 * @param key the key written or evicted, or {@code null} if the
+		 * entire cache has been cleared
+		 */
+		void invalidated(String cacheName, @Nullable Object key);
+	}
+
+
+	/**
+	 * Snapshot of the statistics for a {@link NearCache}.
+	 */
+	public static final class Statistics {
+
+		private final long localHitCount;
+
+		private final long remoteHitCount;
+
+		private final long missCount;
+
+		Statistics(long localHitCount, long remoteHitCount, long missCount) {
+			this.localHitCount = localHitCount;
+			this.remoteHitCount = remoteHitCount;
+			this.missCount = missCount;
+		}
+
+		/**
+		 * Return the number of lookups served from the local tier.
+		 */
+		public long getLocalHitCount() {
+			return this.localHitCount;
+		}
+
+		/**
+		 * Return the number of lookups served from the remote tier.
+		 */
+		public long getRemoteHitCount() {
+			return this.remoteHitCount;
+		}
+
+		/**
+		 * Return the number of lookups found in neither tier.
+		 */
+		public long getMissCount() {
+			return this.missCount;
+		}
+
+		/**
+		 * Return the ratio of all lookups served from the local tier,
+		 * or {@code 1.0} if there have not been any lookups yet.
+		 */
+		public double getLocalHitRate() {
+			long requestCount = this.localHitCount + this.remoteHitCount + this.missCount;
+			return (requestCount != 0 ? (double) this.localHitCount / requestCount : 1.0);
+		}
+
+		/**
+		 * Return the ratio of lookups reaching the remote tier which were
+		 * served from there, or {@code 1.0} if there have not been any yet.
+		 */
+		public double getRemoteHitRate() {
+			long requestCount = this.remoteHitCount + this.missCount;
+			return (requestCount != 0 ? (double) this.remoteHitCount / requestCount : 1.0);
+		}
+
+		/**
+		 * Return the ratio of all lookups served from either tier,
+		 * or {@code 1.0} if there have not been any lookups yet.
+		 */
+		public double getHitRate() {
+			long requestCount = this.localHitCount + this.remoteHitCount + this.missCount;
+			return (requestCount != 0 ? (double) (this.localHitCount + this.remoteHitCount) / requestCount : 1.0);
+		}
+
+		@Override
+		public String toString() {
+			return "localHits=" + this.localHitCount + ", remoteHits=" + this.remoteHitCount +
+					", misses=" + this.missCount;
+		}
+	}
+
+
+	/**
+	 * Holder for a local copy of a value along with its expiration time.
+	 */
+	@SuppressWarnings("serial")
+	private static final class LocalValue implements Serializable {
+
+		@Nullable
+		private final Object value;
+
+		private final long expirationTime;
+
+		LocalValue(@Nullable Object value, long expirationTime) {
+			this.value = value;
+			this.expirationTime = expirationTime;
+		}
+
+		boolean isExpired() {
+			return (this.expirationTime != 0 && System.nanoTime() - this.expirationTime >= 0);
+		}
+	}
+
+}
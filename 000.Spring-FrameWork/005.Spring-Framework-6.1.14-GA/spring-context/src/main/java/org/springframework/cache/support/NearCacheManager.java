@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Composite {@link CacheManager} implementation that layers the caches of a
+ * local {@link CacheManager} in front of the caches of a (typically remote)
+ * {@link CacheManager}, exposing each pair of caches as a two-tier
+ * {@link NearCache}.
+ *
+ * <p>The local cache manager is expected to create bounded caches, e.g. a
+ * {@link org.springframework.cache.concurrent.ConcurrentMapCacheManager} with a
+ * {@linkplain org.springframework.cache.concurrent.ConcurrentMapCacheManager#setMaximumSize
+ * maximum size}. Local copies may additionally expire after a
+ * {@linkplain #setLocalTimeToLive local time-to-live}, limiting their staleness
+ * for entries updated by other processes; alternatively, writes may be propagated
+ * through an {@linkplain #setInvalidationListener invalidation listener} and
+ * applied through {@link #invalidateLocal}.
+ *
+ * <p>Cache names are determined by the remote cache manager. If the local cache
+ * manager is not aware of a given cache name, the remote cache is exposed as-is.
+ *
+ * @since 6.2
+ * @see NearCache
+ * @see CompositeCacheManager
+ */
+public class NearCacheManager implements CacheManager {
+
+	private final CacheManager localCacheManager;
+
+	private final CacheManager remoteCacheManager;
+
+	@Nullable
+	private Duration localTimeToLive;
+
+	@Nullable
+	private NearCache.InvalidationListener invalidationListener;
+
+	private final Map<String, Cache> cacheMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new NearCacheManager for the given local and remote cache managers.
+	 * @param localCacheManager the cache manager for the local tier
+	 * @param remoteCacheManager the cache manager for the remote tier
+	 */
+	public NearCacheManager(CacheManager localCacheManager, CacheManager remoteCacheManager) {
+		Assert.notNull(localCacheManager, "Local CacheManager must not be null");
+		Assert.notNull(remoteCacheManager, "Remote CacheManager must not be null");
+		this.localCacheManager = localCacheManager;
+		this.remoteCacheManager = remoteCacheManager;
+	}
+
+
+	/**
+	 * Specify the time-to-live of local copies of remote entries.
+	 * <p>Default is none, keeping local copies until evicted from the local cache
+	 * or invalidated through a write to the corresponding {@link NearCache}.
+	 * Without a time-to-live, local copies of entries written by other processes
+	 * remain stale until invalidated through {@link #invalidateLocal}.
+	 * <p>Note that changing this setting only applies to caches obtained afterwards.
+	 */
+	public void setLocalTimeToLive(@Nullable Duration localTimeToLive) {
+		this.localTimeToLive = localTimeToLive;
+	}
+
+	/**
+	 * Return the time-to-live of local copies of remote entries, if any.
+	 */
+	@Nullable
+	public Duration getLocalTimeToLive() {
+		return this.localTimeToLive;
+	}
+
+	/**
+	 * Specify a listener to notify about writes to any of the caches,
+	 * e.g. to propagate invalidations to the local tiers of other processes.
+	 * <p>Note that changing this setting only applies to caches obtained afterwards.
+	 * @see #invalidateLocal
+	 */
+	public void setInvalidationListener(@Nullable NearCache.InvalidationListener invalidationListener) {
+		this.invalidationListener = invalidationListener;
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache == null) {
+			Cache remoteCache = this.remoteCacheManager.getCache(name);
+			if (remoteCache == null) {
+				return null;
+			}
+			Cache localCache = this.localCacheManager.getCache(name);
+			cache = (localCache != null ? new NearCache(localCache, remoteCache,
+					this.localTimeToLive, this.invalidationListener) : remoteCache);
+			Cache existing = this.cacheMap.putIfAbsent(name, cache);
+			if (existing != null) {
+				cache = existing;
+			}
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.remoteCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Remove the given key from the local tier of the given cache only,
+	 * e.g. when notified about a write to the remote tier by another process.
+	 * @param cacheName the name of the cache
+	 * @param key the key to invalidate, or {@code null} to invalidate
+	 * all local entries of the cache
+	 * @see NearCache#invalidateLocal
+	 */
+	public void invalidateLocal(String cacheName, @Nullable Object key) {
+		if (this.cacheMap.get(cacheName) instanceof NearCache nearCache) {
+			nearCache.invalidateLocal(key);
+		}
+	}
+
+}
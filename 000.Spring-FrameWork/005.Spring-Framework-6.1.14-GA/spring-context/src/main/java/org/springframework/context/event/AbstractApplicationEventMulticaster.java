@@ -16,6 +16,8 @@
 
 package org.springframework.context.event;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -69,6 +71,10 @@ public abstract class AbstractApplicationEventMulticaster
 
 	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
+	private volatile ListenerTypeCache listenerTypeCache = ListenerTypeCache.EMPTY;
+
+	private final Object listenerTypeCacheMonitor = new Object();
+
 	@Nullable
 	private ClassLoader beanClassLoader;
 
@@ -111,7 +117,7 @@ public abstract class AbstractApplicationEventMulticaster
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			clearRetrieverCache();
 		}
 	}
 
@@ -119,7 +125,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			clearRetrieverCache();
 		}
 	}
 
@@ -127,7 +133,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			clearRetrieverCache();
 		}
 	}
 
@@ -135,7 +141,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			clearRetrieverCache();
 		}
 	}
 
@@ -143,7 +149,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.removeIf(predicate);
-			this.retrieverCache.clear();
+			clearRetrieverCache();
 		}
 	}
 
@@ -151,7 +157,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBeans(Predicate<String> predicate) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.removeIf(predicate);
-			this.retrieverCache.clear();
+			clearRetrieverCache();
 		}
 	}
 
@@ -160,7 +166,15 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			clearRetrieverCache();
+		}
+	}
+
+
+	private void clearRetrieverCache() {
+		this.retrieverCache.clear();
+		synchronized (this.listenerTypeCacheMonitor) {
+			this.listenerTypeCache = ListenerTypeCache.EMPTY;
 		}
 	}
 
@@ -182,7 +196,7 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @param event the event to be propagated. Allows for excluding
 	 * non-matching listeners early, based on cached matching information.
 	 * @param eventType the event type
-	 * @return a Collection of ApplicationListeners
+	 * @return a Collection of ApplicationListeners, possibly unmodifiable
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners(
@@ -190,6 +204,23 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
+
+		// Quick check by class identity for event types fully described by classes,
+		// avoiding the hashing of the ResolvableType
+		ListenerTypeCache typeCache = this.listenerTypeCache;
+		Class<?> eventClass = event.getClass();
+		Class<?> genericClass = getGenericClass(eventClass, eventType);
+		boolean identityCacheable = (genericClass != null || eventType.getType() == eventClass);
+		if (identityCacheable) {
+			CachedListenerRetriever retriever = typeCache.get(eventClass, genericClass, sourceType);
+			if (retriever != null) {
+				Collection<ApplicationListener<?>> result = retriever.getApplicationListeners();
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+
 		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
 		// Potential new retriever to populate
@@ -213,6 +244,9 @@ public abstract class AbstractApplicationEventMulticaster
 		if (existingRetriever != null) {
 			Collection<ApplicationListener<?>> result = existingRetriever.getApplicationListeners();
 			if (result != null) {
+				if (identityCacheable) {
+					cacheByListenerType(typeCache, eventClass, genericClass, sourceType, existingRetriever);
+				}
 				return result;
 			}
 			// If result is null, the existing retriever is not fully populated yet by another thread.
@@ -222,6 +256,41 @@ public abstract class AbstractApplicationEventMulticaster
 		return retrieveApplicationListeners(eventType, sourceType, newRetriever);
 	}
 
+	/**
+	 * Return the class of the single generic of the given event type if the
+	 * event type is a parameterization of the event class with a class,
+	 * e.g. {@code PayloadApplicationEvent<String>}.
+	 */
+	@Nullable
+	private static Class<?> getGenericClass(Class<?> eventClass, ResolvableType eventType) {
+		if (eventType.getType() instanceof ParameterizedType parameterizedType &&
+				parameterizedType.getRawType() == eventClass && parameterizedType.getOwnerType() == null) {
+			Type[] typeArguments = parameterizedType.getActualTypeArguments();
+			if (typeArguments.length == 1 && typeArguments[0] instanceof Class<?> genericClass) {
+				return genericClass;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Register the given populated retriever for lookups by class identity,
+	 * unless the cache has been cleared since the given cache was obtained.
+	 */
+	private void cacheByListenerType(ListenerTypeCache typeCache, Class<?> eventClass,
+			@Nullable Class<?> genericClass, @Nullable Class<?> sourceType, CachedListenerRetriever retriever) {
+
+		if (genericClass == null && eventClass.getTypeParameters().length != 0) {
+			// Raw generic event class: resolution of its generics depends on the ResolvableType
+			return;
+		}
+		synchronized (this.listenerTypeCacheMonitor) {
+			if (this.listenerTypeCache == typeCache) {
+				this.listenerTypeCache = typeCache.with(eventClass, genericClass, sourceType, retriever);
+			}
+		}
+	}
+
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
 	 * @param eventType the event type
@@ -448,6 +517,83 @@ public abstract class AbstractApplicationEventMulticaster
 	}
 
 
+	/**
+	 * Immutable open-addressing table of populated ListenerRetrievers, keyed by
+	 * the identity of the event class, the class of its single generic if any,
+	 * and the source type. Updated through copy-on-write, as entries only get
+	 * added once per event type and source type.
+	 */
+	private static final class ListenerTypeCache {
+
+		static final ListenerTypeCache EMPTY = new ListenerTypeCache(new Entry[16], 0);
+
+		private final Entry[] entries;
+
+		private final int size;
+
+		private ListenerTypeCache(Entry[] entries, int size) {
+			this.entries = entries;
+			this.size = size;
+		}
+
+		@Nullable
+		CachedListenerRetriever get(Class<?> eventClass, @Nullable Class<?> genericClass, @Nullable Class<?> sourceType) {
+			Entry[] entries = this.entries;
+			int mask = entries.length - 1;
+			int index = hash(eventClass, genericClass, sourceType) & mask;
+			Entry entry;
+			while ((entry = entries[index]) != null) {
+				if (entry.eventClass == eventClass && entry.genericClass == genericClass &&
+						entry.sourceType == sourceType) {
+					return entry.retriever;
+				}
+				index = (index + 1) & mask;
+			}
+			return null;
+		}
+
+		ListenerTypeCache with(Class<?> eventClass, @Nullable Class<?> genericClass,
+				@Nullable Class<?> sourceType, CachedListenerRetriever retriever) {
+
+			if (get(eventClass, genericClass, sourceType) != null) {
+				return this;
+			}
+			int capacity = this.entries.length;
+			if ((this.size + 1) * 2 > capacity) {
+				capacity *= 2;
+			}
+			Entry[] entries = new Entry[capacity];
+			for (Entry entry : this.entries) {
+				if (entry != null) {
+					put(entries, entry);
+				}
+			}
+			put(entries, new Entry(eventClass, genericClass, sourceType, retriever));
+			return new ListenerTypeCache(entries, this.size + 1);
+		}
+
+		private static void put(Entry[] entries, Entry entry) {
+			int mask = entries.length - 1;
+			int index = hash(entry.eventClass, entry.genericClass, entry.sourceType) & mask;
+			while (entries[index] != null) {
+				index = (index + 1) & mask;
+			}
+			entries[index] = entry;
+		}
+
+		private static int hash(Class<?> eventClass, @Nullable Class<?> genericClass, @Nullable Class<?> sourceType) {
+			int hash = System.identityHashCode(eventClass);
+			hash = 31 * hash + System.identityHashCode(genericClass);
+			hash = 31 * hash + System.identityHashCode(sourceType);
+			return hash ^ (hash >>> 16);
+		}
+
+		private record Entry(Class<?> eventClass, @Nullable Class<?> genericClass,
+				@Nullable Class<?> sourceType, CachedListenerRetriever retriever) {
+		}
+	}
+
+
 	/**
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
@@ -461,14 +607,27 @@ public abstract class AbstractApplicationEventMulticaster
 		@Nullable
 		public volatile Set<String> applicationListenerBeans;
 
+		@Nullable
+		private volatile List<ApplicationListener<?>> resolvedListeners;
+
 		@Nullable
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			List<ApplicationListener<?>> resolvedListeners = this.resolvedListeners;
+			if (resolvedListeners != null) {
+				return resolvedListeners;
+			}
 			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
 			Set<String> applicationListenerBeans = this.applicationListenerBeans;
 			if (applicationListeners == null || applicationListenerBeans == null) {
 				// Not fully populated yet
 				return null;
 			}
+			if (applicationListenerBeans.isEmpty()) {
+				// Singleton listeners only -> reuse the same immutable list
+				resolvedListeners = List.copyOf(applicationListeners);
+				this.resolvedListeners = resolvedListeners;
+				return resolvedListeners;
+			}
 
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
 					applicationListeners.size() + applicationListenerBeans.size());
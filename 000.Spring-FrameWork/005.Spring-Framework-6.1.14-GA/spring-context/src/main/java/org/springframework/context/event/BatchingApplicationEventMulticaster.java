@@ -0,0 +1,430 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link SimpleApplicationEventMulticaster} variant that hands events over to
+ * a fixed set of worker threads in batches, rather than submitting every
+ * single listener invocation to a {@link #setTaskExecutor task executor}.
+ *
+ * <p>Each listener is bound to one of the workers, with the events for all
+ * listeners of a worker being queued in publication order. A worker drains
+ * up to {@link #setBatchSize batch size} events from its queue at a time,
+ * optionally waiting up to the {@link #setMaxLatency max latency} for a batch
+ * to fill up. As a consequence, each listener receives its events in the
+ * order in which they were published, whereas different listeners are
+ * invoked concurrently.
+ *
+ * <p>Events published by a listener from within a worker thread are delivered
+ * to the listeners bound to that same worker right away, within the publishing
+ * thread, ahead of any events still queued for them. This prevents a worker
+ * from blocking on its own queue, e.g. when a listener waits for the outcome of
+ * an event that it publishes. A listener must not wait for the delivery of an
+ * event through another worker that in turn waits for it, though.
+ *
+ * <p>{@link ApplicationListener} instances which declare no support for
+ * asynchronous execution ({@link ApplicationListener#supportsAsyncExecution()})
+ * are invoked within the original thread which published the event. A
+ * configured task executor is not used by this multicaster.
+ *
+ * <p>Worker threads are started on the first event to deliver. An interrupt
+ * does not stop a worker thread: it keeps delivering events until the
+ * multicaster is destroyed. On {@link #destroy()}, pending events are delivered
+ * before the workers stop, with any events published afterwards being delivered
+ * synchronously.
+ *
+ * @since 6.2
+ * @see #setConcurrency
+ * @see #setBatchSize
+ * @see #setMaxLatency
+ */
+public class BatchingApplicationEventMulticaster extends SimpleApplicationEventMulticaster implements DisposableBean {
+
+	private static final long SHUTDOWN_CHECK_INTERVAL = 100;
+
+	private static final Log logger = LogFactory.getLog(BatchingApplicationEventMulticaster.class);
+
+
+	private int concurrency = Runtime.getRuntime().availableProcessors();
+
+	private int batchSize = 256;
+
+	private long maxLatencyNanos = 0;
+
+	private int queueCapacity = Integer.MAX_VALUE;
+
+	private ThreadFactory threadFactory = createDefaultThreadFactory();
+
+	private final Object workerMonitor = new Object();
+
+	@Nullable
+	private volatile Worker[] workers;
+
+	private volatile boolean active = true;
+
+	private final LongAdder deliveryCount = new LongAdder();
+
+	private final LongAdder drainLatencyNanos = new LongAdder();
+
+	private final AtomicLong maxDrainLatencyNanos = new AtomicLong();
+
+
+	/**
+	 * Create a new BatchingApplicationEventMulticaster.
+	 */
+	public BatchingApplicationEventMulticaster() {
+	}
+
+	/**
+	 * Create a new BatchingApplicationEventMulticaster for the given BeanFactory.
+	 */
+	public BatchingApplicationEventMulticaster(BeanFactory beanFactory) {
+		super(beanFactory);
+	}
+
+
+	/**
+	 * Set the number of worker threads to deliver events with.
+	 * <p>Default is the number of available processors.
+	 */
+	public void setConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Set the maximum number of events that a worker drains from its queue
+	 * in one go.
+	 * <p>Default is 256.
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Set the maximum time that a worker waits for a batch to fill up after
+	 * the first event of the batch has been published.
+	 * <p>Default is {@link Duration#ZERO}, delivering the events available
+	 * in the queue right away.
+	 */
+	public void setMaxLatency(Duration maxLatency) {
+		Assert.isTrue(!maxLatency.isNegative(), "Max latency must not be negative");
+		this.maxLatencyNanos = maxLatency.toNanos();
+	}
+
+	/**
+	 * Set the capacity of the queue of each worker, blocking the publisher
+	 * of an event while the queue is full.
+	 * <p>Default is unbounded.
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than 0");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Set the {@link ThreadFactory} to create the worker threads with.
+	 * <p>Default is a {@link CustomizableThreadFactory} creating daemon
+	 * threads named "event-multicaster-".
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		Assert.notNull(threadFactory, "ThreadFactory must not be null");
+		this.threadFactory = threadFactory;
+	}
+
+
+	@Override
+	public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+		ResolvableType type = (eventType != null ? eventType : ResolvableType.forInstance(event));
+		Worker[] workers = null;
+		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+			if (listener.supportsAsyncExecution() && this.active) {
+				if (workers == null) {
+					workers = obtainWorkers();
+				}
+				if (workers.length == 0 ||
+						!workers[Math.floorMod(System.identityHashCode(listener), workers.length)]
+								.enqueue(new Delivery(listener, event))) {
+					invokeListener(listener, event);
+				}
+			}
+			else {
+				invokeListener(listener, event);
+			}
+		}
+	}
+
+	private Worker[] obtainWorkers() {
+		Worker[] workers = this.workers;
+		if (workers == null) {
+			synchronized (this.workerMonitor) {
+				workers = this.workers;
+				if (workers == null) {
+					if (!this.active) {
+						// Destroyed in the meantime -> do not start workers anymore
+						return new Worker[0];
+					}
+					workers = new Worker[this.concurrency];
+					for (int i = 0; i < workers.length; i++) {
+						workers[i] = new Worker(new LinkedBlockingQueue<>(this.queueCapacity), this.threadFactory);
+					}
+					for (Worker worker : workers) {
+						worker.thread.start();
+					}
+					this.workers = workers;
+				}
+			}
+		}
+		return workers;
+	}
+
+	private void deliver(Delivery delivery) {
+		long latency = System.nanoTime() - delivery.timestamp;
+		this.deliveryCount.increment();
+		this.drainLatencyNanos.add(latency);
+		this.maxDrainLatencyNanos.accumulateAndGet(latency, Math::max);
+		try {
+			invokeListener(delivery.listener, delivery.event);
+		}
+		catch (Throwable ex) {
+			// No ErrorHandler or rethrown by it -> keep the worker going
+			logger.error("Unexpected exception from listener " + delivery.listener +
+					" for event " + delivery.event, ex);
+		}
+	}
+
+
+	/**
+	 * Return the number of events currently queued for delivery.
+	 */
+	public int getQueueSize() {
+		Worker[] workers = this.workers;
+		int size = 0;
+		if (workers != null) {
+			for (Worker worker : workers) {
+				size += worker.queue.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Return the number of listener invocations performed by the workers.
+	 */
+	public long getDeliveryCount() {
+		return this.deliveryCount.sum();
+	}
+
+	/**
+	 * Return the average time between the publication of an event and the
+	 * invocation of a listener by a worker.
+	 */
+	public Duration getAverageDrainLatency() {
+		long count = this.deliveryCount.sum();
+		return (count != 0 ? Duration.ofNanos(this.drainLatencyNanos.sum() / count) : Duration.ZERO);
+	}
+
+	/**
+	 * Return the maximum time between the publication of an event and the
+	 * invocation of a listener by a worker.
+	 */
+	public Duration getMaxDrainLatency() {
+		return Duration.ofNanos(this.maxDrainLatencyNanos.get());
+	}
+
+
+	/**
+	 * Deliver all pending events and stop the worker threads.
+	 */
+	@Override
+	public void destroy() throws InterruptedException {
+		Worker[] workers;
+		synchronized (this.workerMonitor) {
+			this.active = false;
+			workers = this.workers;
+		}
+		if (workers != null) {
+			for (Worker worker : workers) {
+				worker.close();
+			}
+			for (Worker worker : workers) {
+				worker.thread.join();
+			}
+			// Events which have been queued while the workers were stopping
+			for (Worker worker : workers) {
+				Delivery delivery;
+				while ((delivery = worker.queue.poll()) != null) {
+					deliver(delivery);
+				}
+			}
+		}
+	}
+
+	private static ThreadFactory createDefaultThreadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("event-multicaster-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+
+	/**
+	 * Invocation of a listener for an event, queued for a worker.
+	 */
+	private record Delivery(ApplicationListener<?> listener, ApplicationEvent event, long timestamp) {
+
+		Delivery(ApplicationListener<?> listener, ApplicationEvent event) {
+			this(listener, event, System.nanoTime());
+		}
+	}
+
+
+	/**
+	 * Worker draining its queue of deliveries in batches.
+	 */
+	private final class Worker implements Runnable {
+
+		final BlockingQueue<Delivery> queue;
+
+		final Thread thread;
+
+		private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+		private boolean closed;
+
+		Worker(BlockingQueue<Delivery> queue, ThreadFactory threadFactory) {
+			this.queue = queue;
+			this.thread = threadFactory.newThread(this);
+		}
+
+		/**
+		 * Queue the given delivery, unless the worker has been closed or
+		 * the delivery has been requested from this worker's own thread.
+		 * @return {@code true} if queued, {@code false} if the delivery needs
+		 * to be performed by the caller
+		 */
+		boolean enqueue(Delivery delivery) {
+			if (Thread.currentThread() == this.thread) {
+				// Published by one of our listeners -> never wait for ourselves
+				return false;
+			}
+			this.closeLock.readLock().lock();
+			try {
+				if (this.closed) {
+					return false;
+				}
+				this.queue.put(delivery);
+				return true;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			finally {
+				this.closeLock.readLock().unlock();
+			}
+		}
+
+		/**
+		 * Reject any further deliveries, waiting for ongoing ones to be queued,
+		 * so that a subsequent drain of the queue covers all accepted deliveries.
+		 */
+		void close() {
+			this.closeLock.writeLock().lock();
+			try {
+				this.closed = true;
+			}
+			finally {
+				this.closeLock.writeLock().unlock();
+			}
+		}
+
+		@Override
+		public void run() {
+			List<Delivery> batch = new ArrayList<>();
+			while (true) {
+				Delivery first;
+				try {
+					first = this.queue.poll(SHUTDOWN_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+				}
+				catch (InterruptedException ex) {
+					// Interrupt cleared -> keep delivering until destroyed
+					continue;
+				}
+				if (first == null) {
+					if (!active) {
+						break;
+					}
+					continue;
+				}
+				batch.add(first);
+				try {
+					fillBatch(batch, first.timestamp);
+				}
+				catch (InterruptedException ex) {
+					// Interrupt cleared -> deliver the partial batch and keep going
+				}
+				for (Delivery delivery : batch) {
+					deliver(delivery);
+				}
+				batch.clear();
+			}
+		}
+
+		private void fillBatch(List<Delivery> batch, long firstTimestamp) throws InterruptedException {
+			this.queue.drainTo(batch, batchSize - batch.size());
+			long deadline = firstTimestamp + maxLatencyNanos;
+			while (batch.size() < batchSize && active) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return;
+				}
+				Delivery delivery = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+				if (delivery == null) {
+					return;
+				}
+				batch.add(delivery);
+				this.queue.drainTo(batch, batchSize - batch.size());
+			}
+		}
+	}
+
+}
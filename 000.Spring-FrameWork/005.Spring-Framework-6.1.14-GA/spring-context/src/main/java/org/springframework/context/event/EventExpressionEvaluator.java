@@ -24,13 +24,16 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.context.expression.MethodEvaluationContextShape;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
  * Utility class for handling SpEL expression parsing for application events.
  * <p>Meant to be used as a reusable, thread-safe component.
+ * Condition expressions are held in a bounded
+ * {@link org.springframework.expression.spel.standard.SpelExpressionCache}
+ * that compiles frequently evaluated expressions.
  *
  * @author Stephane Nicoll
  * @since 4.2
@@ -38,11 +41,12 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
  */
 class EventExpressionEvaluator extends CachedExpressionEvaluator {
 
-	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
+	private final Map<Method, MethodEvaluationContextShape> shapeCache = new ConcurrentHashMap<>(64);
 
 	private final StandardEvaluationContext originalEvaluationContext;
 
 	EventExpressionEvaluator(StandardEvaluationContext originalEvaluationContext) {
+		super(createExpressionCache());
 		this.originalEvaluationContext = originalEvaluationContext;
 	}
 
@@ -55,17 +59,24 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 
 		EventExpressionRootObject rootObject = new EventExpressionRootObject(event, args);
 		EvaluationContext evaluationContext = createEvaluationContext(rootObject, targetMethod, args);
-		return (Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
+		return (Boolean.TRUE.equals(getExpression(methodKey, conditionExpression).getValue(
 				evaluationContext, Boolean.class)));
 	}
 
 	private EvaluationContext createEvaluationContext(EventExpressionRootObject rootObject,
 			Method method, Object[] args) {
 
-		MethodBasedEvaluationContext evaluationContext = new MethodBasedEvaluationContext(rootObject,
-				method, args, getParameterNameDiscoverer());
-		this.originalEvaluationContext.applyDelegatesTo(evaluationContext);
-		return evaluationContext;
+		MethodEvaluationContextShape shape = this.shapeCache.computeIfAbsent(method, key ->
+				new MethodEvaluationContextShape(key, getParameterNameDiscoverer(), this.originalEvaluationContext));
+		return new MethodBasedEvaluationContext(rootObject, shape, args);
+	}
+
+	/**
+	 * Clear all caches.
+	 */
+	void clear() {
+		obtainExpressionCache().clear();
+		this.shapeCache.clear();
 	}
 
 }
@@ -20,7 +20,11 @@ import java.util.Map;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -30,6 +34,11 @@ import org.springframework.util.ObjectUtils;
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>As of 6.2, subclasses may be backed by a bounded {@link SpelExpressionCache}
+ * that holds the expressions per element instead of the cache maps passed to
+ * {@link #getExpression}, compiling frequently used expressions according to the
+ * cache's parser configuration.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
@@ -38,6 +47,9 @@ public abstract class CachedExpressionEvaluator {
 
 	private final SpelExpressionParser parser;
 
+	@Nullable
+	private final SpelExpressionCache expressionCache;
+
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
 
@@ -47,6 +59,19 @@ public abstract class CachedExpressionEvaluator {
 	protected CachedExpressionEvaluator(SpelExpressionParser parser) {
 		Assert.notNull(parser, "SpelExpressionParser must not be null");
 		this.parser = parser;
+		this.expressionCache = null;
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionCache},
+	 * holding the expressions returned by {@link #getExpression} per element.
+	 * @since 6.2
+	 * @see #createExpressionCache()
+	 */
+	protected CachedExpressionEvaluator(SpelExpressionCache expressionCache) {
+		Assert.notNull(expressionCache, "SpelExpressionCache must not be null");
+		this.parser = expressionCache.getParser();
+		this.expressionCache = expressionCache;
 	}
 
 	/**
@@ -64,6 +89,18 @@ public abstract class CachedExpressionEvaluator {
 		return this.parser;
 	}
 
+	/**
+	 * Return the {@link SpelExpressionCache} backing this evaluator.
+	 * @throws IllegalStateException if this evaluator is not backed by a
+	 * {@code SpelExpressionCache}
+	 * @since 6.2
+	 */
+	protected final SpelExpressionCache obtainExpressionCache() {
+		SpelExpressionCache expressionCache = this.expressionCache;
+		Assert.state(expressionCache != null, "No SpelExpressionCache available");
+		return expressionCache;
+	}
+
 	/**
 	 * Return a shared parameter name discoverer which caches data internally.
 	 * @since 4.3
@@ -76,13 +113,19 @@ public abstract class CachedExpressionEvaluator {
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
 	 * <p>{@link #parseExpression(String) Parse the expression} if it hasn't been already.
-	 * @param cache the cache to use
+	 * <p>If this evaluator is backed by a {@link SpelExpressionCache}, the expression
+	 * is retrieved from it instead, scoped by the given element.
+	 * @param cache the cache to use (ignored if backed by a {@code SpelExpressionCache})
 	 * @param elementKey the element on which the expression is defined
 	 * @param expression the expression to parse
 	 */
 	protected Expression getExpression(Map<ExpressionKey, Expression> cache,
 			AnnotatedElementKey elementKey, String expression) {
 
+		SpelExpressionCache expressionCache = this.expressionCache;
+		if (expressionCache != null) {
+			return expressionCache.getExpression(elementKey, expression, null);
+		}
 		ExpressionKey expressionKey = createKey(elementKey, expression);
 		Expression expr = cache.get(expressionKey);
 		if (expr == null) {
@@ -92,6 +135,19 @@ public abstract class CachedExpressionEvaluator {
 		return expr;
 	}
 
+	/**
+	 * Return the {@link Expression} for the specified SpEL value from the
+	 * {@link SpelExpressionCache} backing this evaluator.
+	 * @param elementKey the element on which the expression is defined
+	 * @param expression the expression to parse
+	 * @throws IllegalStateException if this evaluator is not backed by a
+	 * {@code SpelExpressionCache}
+	 * @since 6.2
+	 */
+	protected Expression getExpression(AnnotatedElementKey elementKey, String expression) {
+		return obtainExpressionCache().getExpression(elementKey, expression, null);
+	}
+
 	/**
 	 * Parse the specified {@code expression}.
 	 * @param expression the expression to parse
@@ -101,6 +157,20 @@ public abstract class CachedExpressionEvaluator {
 		return getParser().parseExpression(expression);
 	}
 
+	/**
+	 * Create a bounded {@link SpelExpressionCache} for an evaluator, compiling
+	 * frequently used expressions in {@link SpelCompilerMode#MIXED} mode unless
+	 * the {@code spring.expression.compiler.mode} property specifies a mode.
+	 * @since 6.2
+	 * @see #CachedExpressionEvaluator(SpelExpressionCache)
+	 */
+	protected static SpelExpressionCache createExpressionCache() {
+		SpelParserConfiguration configuration = (SpringProperties.getProperty(
+				SpelParserConfiguration.SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME) != null ?
+				new SpelParserConfiguration() : new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+		return new SpelExpressionCache(SpelExpressionCache.DEFAULT_CAPACITY, configuration);
+	}
+
 	private ExpressionKey createKey(AnnotatedElementKey elementKey, String expression) {
 		return new ExpressionKey(elementKey, expression);
 	}
@@ -36,6 +36,11 @@ import org.springframework.util.ObjectUtils;
  * <li>the name of the parameter as discovered by a configurable {@link ParameterNameDiscoverer}</li>
  * </ol>
  *
+ * <p>As of 6.2, a context may be created from a {@link MethodEvaluationContextShape}
+ * that has been computed once for the method, in which case argument variables
+ * are resolved from their pre-computed slots instead of being registered as
+ * variables for each invocation.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @author Sebastien Deleuze
@@ -47,8 +52,12 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 
 	private final Object[] arguments;
 
+	@Nullable
 	private final ParameterNameDiscoverer parameterNameDiscoverer;
 
+	@Nullable
+	private final MethodEvaluationContextShape shape;
+
 	private boolean argumentsLoaded = false;
 
 
@@ -60,6 +69,28 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		this.arguments = (KotlinDetector.isSuspendingFunction(method) ?
 				Arrays.copyOf(arguments, arguments.length - 1) : arguments);
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.shape = null;
+	}
+
+	/**
+	 * Create a new context for an invocation of the method of the given shape,
+	 * applying the delegates captured by the shape (if any).
+	 * <p>This avoids parameter name discovery and the registration of argument
+	 * variables per invocation. Each context still is a full
+	 * {@link StandardEvaluationContext} though, with its own variables map and
+	 * its own copies of the resolver and accessor lists.
+	 * @param rootObject the root object
+	 * @param shape the pre-computed shape for the invoked method
+	 * @param arguments the arguments of the invocation
+	 * @since 6.2
+	 */
+	public MethodBasedEvaluationContext(Object rootObject, MethodEvaluationContextShape shape, Object[] arguments) {
+		super(rootObject);
+		this.method = shape.getMethod();
+		this.arguments = arguments;
+		this.parameterNameDiscoverer = null;
+		this.shape = shape;
+		shape.applyDelegatesTo(this);
 	}
 
 
@@ -70,6 +101,10 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		if (variable != null) {
 			return variable;
 		}
+		if (this.shape != null) {
+			int slot = this.shape.getVariableSlot(name);
+			return (slot >= 0 ? this.shape.getArgument(slot, this.arguments) : null);
+		}
 		if (!this.argumentsLoaded) {
 			lazyLoadArguments();
 			this.argumentsLoaded = true;
@@ -82,13 +117,14 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 	 * Load the param information only when needed.
 	 */
 	protected void lazyLoadArguments() {
-		// Shortcut if no args need to be loaded
-		if (ObjectUtils.isEmpty(this.arguments)) {
+		// Shortcut if no args need to be loaded (or if resolved through the shape on lookup)
+		ParameterNameDiscoverer parameterNameDiscoverer = this.parameterNameDiscoverer;
+		if (ObjectUtils.isEmpty(this.arguments) || parameterNameDiscoverer == null) {
 			return;
 		}
 
 		// Expose indexed variables as well as parameter names (if discoverable)
-		String[] paramNames = this.parameterNameDiscoverer.getParameterNames(this.method);
+		String[] paramNames = parameterNameDiscoverer.getParameterNames(this.method);
 		int paramCount = (paramNames != null ? paramNames.length : this.method.getParameterCount());
 		int argsCount = this.arguments.length;
 
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.KotlinDetector;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Reusable, pre-computed shape of the {@link MethodBasedEvaluationContext}
+ * instances created for invocations of a given method.
+ *
+ * <p>The argument variables ({@code #p0}, {@code #a0} as well as the discovered
+ * parameter names) are resolved once into fixed slots of the argument array,
+ * so that variable lookups do not require exposing every argument as a context
+ * variable for each invocation. The delegates of a given original context
+ * (property accessors, method resolvers, type locator and so on) are captured
+ * once as well. As with {@link StandardEvaluationContext#applyDelegatesTo},
+ * each context created from this shape receives its own modifiable copy of
+ * the resolver and accessor lists.
+ *
+ * <p>Instances are immutable and meant to be cached per method.
+ *
+ * @since 6.2
+ * @see MethodBasedEvaluationContext#MethodBasedEvaluationContext(Object, MethodEvaluationContextShape, Object[])
+ */
+public final class MethodEvaluationContextShape {
+
+	private final Method method;
+
+	private final boolean suspendingFunction;
+
+	private final int parameterCount;
+
+	private final Map<String, Integer> variableSlots;
+
+	@Nullable
+	private final Delegates delegates;
+
+
+	/**
+	 * Create a new shape for the given method.
+	 * @param method the method whose invocations are to be evaluated against
+	 * @param parameterNameDiscoverer the discoverer for parameter names
+	 * @param delegateSource the context to take the delegates from,
+	 * or {@code null} to keep the defaults of each context
+	 */
+	public MethodEvaluationContextShape(Method method, ParameterNameDiscoverer parameterNameDiscoverer,
+			@Nullable StandardEvaluationContext delegateSource) {
+
+		Assert.notNull(method, "Method must not be null");
+		Assert.notNull(parameterNameDiscoverer, "ParameterNameDiscoverer must not be null");
+		this.method = method;
+		this.suspendingFunction = KotlinDetector.isSuspendingFunction(method);
+		String[] paramNames = parameterNameDiscoverer.getParameterNames(method);
+		int paramCount = (paramNames != null ? paramNames.length : method.getParameterCount());
+		this.parameterCount = paramCount;
+		Map<String, Integer> slots = CollectionUtils.newHashMap(paramCount * 3);
+		for (int i = 0; i < paramCount; i++) {
+			slots.put("a" + i, i);
+			slots.put("p" + i, i);
+		}
+		if (paramNames != null) {
+			for (int i = 0; i < paramCount; i++) {
+				if (paramNames[i] != null) {
+					slots.put(paramNames[i], i);
+				}
+			}
+		}
+		this.variableSlots = slots;
+		this.delegates = (delegateSource != null ? new Delegates(delegateSource) : null);
+	}
+
+
+	/**
+	 * Return the method that this shape has been created for.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Return the argument slot for the given variable name.
+	 * @param name the name of the variable
+	 * @return the index of the corresponding parameter, or {@code -1} if
+	 * the name does not refer to a method argument
+	 */
+	public int getVariableSlot(String name) {
+		Integer slot = this.variableSlots.get(name);
+		return (slot != null ? slot : -1);
+	}
+
+	/**
+	 * Return the value of the given argument slot.
+	 * <p>If more arguments than parameters have been passed, the remaining
+	 * arguments are exposed as a vararg array for the last parameter.
+	 * @param slot the index of the parameter
+	 * @param arguments the actual arguments of the invocation
+	 * @return the argument value (potentially {@code null})
+	 * @see #getVariableSlot(String)
+	 */
+	@Nullable
+	public Object getArgument(int slot, Object[] arguments) {
+		int argsCount = (this.suspendingFunction ? arguments.length - 1 : arguments.length);
+		if (argsCount > this.parameterCount && slot == this.parameterCount - 1) {
+			return Arrays.copyOfRange(arguments, slot, argsCount);
+		}
+		return (argsCount > slot ? arguments[slot] : null);
+	}
+
+	/**
+	 * Apply the captured delegates to the given context, if any.
+	 * @param evaluationContext the context to configure
+	 */
+	public void applyDelegatesTo(StandardEvaluationContext evaluationContext) {
+		if (this.delegates != null) {
+			this.delegates.applyTo(evaluationContext);
+		}
+	}
+
+
+	/**
+	 * Snapshot of the delegates of a {@link StandardEvaluationContext}.
+	 * @see StandardEvaluationContext#applyDelegatesTo
+	 */
+	private static final class Delegates {
+
+		private final List<ConstructorResolver> constructorResolvers;
+
+		private final List<MethodResolver> methodResolvers;
+
+		private final List<PropertyAccessor> propertyAccessors;
+
+		private final TypeLocator typeLocator;
+
+		private final TypeConverter typeConverter;
+
+		@Nullable
+		private final BeanResolver beanResolver;
+
+		private final OperatorOverloader operatorOverloader;
+
+		private final TypeComparator typeComparator;
+
+		Delegates(StandardEvaluationContext source) {
+			this.constructorResolvers = new ArrayList<>(source.getConstructorResolvers());
+			this.methodResolvers = new ArrayList<>(source.getMethodResolvers());
+			this.propertyAccessors = new ArrayList<>(source.getPropertyAccessors());
+			this.typeLocator = source.getTypeLocator();
+			this.typeConverter = source.getTypeConverter();
+			this.beanResolver = source.getBeanResolver();
+			this.operatorOverloader = source.getOperatorOverloader();
+			this.typeComparator = source.getTypeComparator();
+		}
+
+		void applyTo(StandardEvaluationContext evaluationContext) {
+			evaluationContext.setConstructorResolvers(new ArrayList<>(this.constructorResolvers));
+			evaluationContext.setMethodResolvers(new ArrayList<>(this.methodResolvers));
+			evaluationContext.setPropertyAccessors(new ArrayList<>(this.propertyAccessors));
+			evaluationContext.setTypeLocator(this.typeLocator);
+			evaluationContext.setTypeConverter(this.typeConverter);
+			if (this.beanResolver != null) {
+				evaluationContext.setBeanResolver(this.beanResolver);
+			}
+			evaluationContext.setOperatorOverloader(this.operatorOverloader);
+			evaluationContext.setTypeComparator(this.typeComparator);
+		}
+	}
+
+}
@@ -30,7 +30,7 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.support.StandardTypeConverter;
 import org.springframework.expression.spel.support.StandardTypeLocator;
@@ -53,6 +53,7 @@ import org.springframework.util.StringUtils;
  * @see BeanExpressionContext#getBeanFactory()
  * @see org.springframework.expression.ExpressionParser
  * @see org.springframework.expression.spel.standard.SpelExpressionParser
+ * @see org.springframework.expression.spel.standard.SpelExpressionCache
  * @see org.springframework.expression.spel.support.StandardEvaluationContext
  */
 public class StandardBeanExpressionResolver implements BeanExpressionResolver {
@@ -71,6 +72,8 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	/** Default expression suffix: "}". */
 	public static final String DEFAULT_EXPRESSION_SUFFIX = "}";
 
+	private static final int EXPRESSION_CACHE_CAPACITY = 256;
+
 
 	private String expressionPrefix = DEFAULT_EXPRESSION_PREFIX;
 
@@ -78,6 +81,9 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 
 	private ExpressionParser expressionParser;
 
+	@Nullable
+	private SpelExpressionCache spelExpressionCache;
+
 	private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>(256);
 
 	private final Map<BeanExpressionContext, StandardEvaluationContext> evaluationCache = new ConcurrentHashMap<>(8);
@@ -117,7 +123,8 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	public StandardBeanExpressionResolver(@Nullable ClassLoader beanClassLoader) {
 		SpelParserConfiguration parserConfig = new SpelParserConfiguration(
 				null, beanClassLoader, false, false, Integer.MAX_VALUE, retrieveMaxExpressionLength());
-		this.expressionParser = new SpelExpressionParser(parserConfig);
+		this.spelExpressionCache = new SpelExpressionCache(EXPRESSION_CACHE_CAPACITY, parserConfig);
+		this.expressionParser = this.spelExpressionCache.getParser();
 	}
 
 
@@ -144,11 +151,14 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	/**
 	 * Specify the EL parser to use for expression parsing.
 	 * <p>Default is a {@link org.springframework.expression.spel.standard.SpelExpressionParser},
-	 * compatible with standard Unified EL style expression syntax.
+	 * compatible with standard Unified EL style expression syntax, with parsed
+	 * expressions held in a bounded
+	 * {@link org.springframework.expression.spel.standard.SpelExpressionCache}.
 	 */
 	public void setExpressionParser(ExpressionParser expressionParser) {
 		Assert.notNull(expressionParser, "ExpressionParser must not be null");
 		this.expressionParser = expressionParser;
+		this.spelExpressionCache = null;
 	}
 
 
@@ -159,11 +169,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 			return value;
 		}
 		try {
-			Expression expr = this.expressionCache.get(value);
-			if (expr == null) {
-				expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
-				this.expressionCache.put(value, expr);
-			}
+			Expression expr = getExpression(value);
 			StandardEvaluationContext sec = this.evaluationCache.get(beanExpressionContext);
 			if (sec == null) {
 				sec = new StandardEvaluationContext(beanExpressionContext);
@@ -187,6 +193,19 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 		}
 	}
 
+	private Expression getExpression(String value) {
+		SpelExpressionCache expressionCache = this.spelExpressionCache;
+		if (expressionCache != null) {
+			return expressionCache.getExpression(value, this.beanExpressionParserContext);
+		}
+		Expression expr = this.expressionCache.get(value);
+		if (expr == null) {
+			expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
+			this.expressionCache.put(value, expr);
+		}
+		return expr;
+	}
+
 	/**
 	 * Template method for customizing the expression evaluation context.
 	 * <p>The default implementation is empty.
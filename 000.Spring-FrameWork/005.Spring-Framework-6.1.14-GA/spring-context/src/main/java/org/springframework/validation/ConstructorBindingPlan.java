@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.validation;
+
+import java.lang.reflect.Constructor;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+
+/**
+ * Pre-resolved metadata for {@link DataBinder#construct constructor binding}
+ * of a specific target class at a specific nested path: the constructor to use,
+ * its parameters along with their names as resolved through the
+ * {@link DataBinder.NameResolver}, and the full paths of the values to bind.
+ *
+ * @since 6.2
+ * @see ConstructorBindingPlanCache
+ */
+final class ConstructorBindingPlan {
+
+	private final Constructor<?> constructor;
+
+	private final String[] paramNames;
+
+	private final Class<?>[] paramTypes;
+
+	private final MethodParameter[] params;
+
+	private final ResolvableType[] nestedTypes;
+
+	private final String[] paramPaths;
+
+	private final String[] nestedPaths;
+
+	private final String[] fieldPaths;
+
+
+	private ConstructorBindingPlan(Constructor<?> constructor, String[] paramNames, Class<?>[] paramTypes,
+			MethodParameter[] params, ResolvableType[] nestedTypes, String[] paramPaths,
+			String[] nestedPaths, String[] fieldPaths) {
+
+		this.constructor = constructor;
+		this.paramNames = paramNames;
+		this.paramTypes = paramTypes;
+		this.params = params;
+		this.nestedTypes = nestedTypes;
+		this.paramPaths = paramPaths;
+		this.nestedPaths = nestedPaths;
+		this.fieldPaths = fieldPaths;
+	}
+
+
+	/**
+	 * Return the constructor to create the target with.
+	 */
+	Constructor<?> getConstructor() {
+		return this.constructor;
+	}
+
+	/**
+	 * Return the number of constructor parameters to bind.
+	 */
+	int getParameterCount() {
+		return this.params.length;
+	}
+
+	/**
+	 * Return the declared name of the constructor parameter at the given index.
+	 */
+	String getParameterName(int index) {
+		return this.paramNames[index];
+	}
+
+	/**
+	 * Return the type of the constructor parameter at the given index.
+	 */
+	Class<?> getParameterType(int index) {
+		return this.paramTypes[index];
+	}
+
+	/**
+	 * Return the constructor parameter at the given index.
+	 */
+	MethodParameter getParameter(int index) {
+		return this.params[index];
+	}
+
+	/**
+	 * Return the type to construct a nested object of for the constructor
+	 * parameter at the given index.
+	 */
+	ResolvableType getNestedType(int index) {
+		return this.nestedTypes[index];
+	}
+
+	/**
+	 * Return the path of the value to bind to the constructor parameter at the
+	 * given index, based on the name resolved through the {@code NameResolver}.
+	 */
+	String getParameterPath(int index) {
+		return this.paramPaths[index];
+	}
+
+	/**
+	 * Return the nested path for the values of a nested object to construct for
+	 * the constructor parameter at the given index, including the trailing dot.
+	 */
+	String getNestedPath(int index) {
+		return this.nestedPaths[index];
+	}
+
+	/**
+	 * Return the path of the field to record a bound value for in case of
+	 * binding errors, based on the declared name of the constructor parameter.
+	 */
+	String getFieldPath(int index) {
+		return this.fieldPaths[index];
+	}
+
+
+	/**
+	 * Resolve the plan for the given target class at the given nested path.
+	 * @param clazz the target class to create an instance of
+	 * @param nestedPath the nested path of the target, or an empty String for the top-level target
+	 * @param nameResolver the resolver for the names of the values to bind, if any
+	 * @return the plan to bind constructor arguments with
+	 */
+	static ConstructorBindingPlan resolve(
+			Class<?> clazz, String nestedPath, @Nullable DataBinder.NameResolver nameResolver) {
+
+		Constructor<?> ctor = BeanUtils.getResolvableConstructor(clazz);
+		if (ctor.getParameterCount() == 0) {
+			String[] none = new String[0];
+			return new ConstructorBindingPlan(ctor, none, new Class<?>[0], new MethodParameter[0],
+					new ResolvableType[0], none, none, none);
+		}
+
+		String[] paramNames = BeanUtils.getParameterNames(ctor);
+		Class<?>[] paramTypes = ctor.getParameterTypes();
+		MethodParameter[] params = new MethodParameter[paramNames.length];
+		ResolvableType[] nestedTypes = new ResolvableType[paramNames.length];
+		String[] paramPaths = new String[paramNames.length];
+		String[] nestedPaths = new String[paramNames.length];
+		String[] fieldPaths = new String[paramNames.length];
+		for (int i = 0; i < paramNames.length; i++) {
+			MethodParameter param = MethodParameter.forFieldAwareConstructor(ctor, i, paramNames[i]);
+			String lookupName = null;
+			if (nameResolver != null) {
+				lookupName = nameResolver.resolveName(param);
+			}
+			if (lookupName == null) {
+				lookupName = paramNames[i];
+			}
+			params[i] = param;
+			nestedTypes[i] = ResolvableType.forMethodParameter(param);
+			paramPaths[i] = nestedPath + lookupName;
+			nestedPaths[i] = paramPaths[i] + ".";
+			fieldPaths[i] = nestedPath + paramNames[i];
+		}
+		return new ConstructorBindingPlan(
+				ctor, paramNames, paramTypes, params, nestedTypes, paramPaths, nestedPaths, fieldPaths);
+	}
+
+}
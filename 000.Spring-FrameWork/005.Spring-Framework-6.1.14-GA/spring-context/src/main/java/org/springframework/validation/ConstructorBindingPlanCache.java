@@ -0,0 +1,80 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.validation;
+
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Cache of pre-resolved constructor binding plans per target class and nested
+ * path, to be shared across {@link DataBinder} instances in order to avoid
+ * resolving the constructor, the parameter names and the nested paths of the
+ * target type for every {@link DataBinder#construct construct} call.
+ *
+ * <p>A plan is specific to the {@link DataBinder.NameResolver} instance of the
+ * binder, so binders sharing a cache should share a stateless name resolver
+ * as well. The cache is backed by soft references, not preventing target
+ * classes from getting garbage-collected.
+ *
+ * @since 6.2
+ * @see DataBinder#setConstructorBindingPlanCache
+ */
+public final class ConstructorBindingPlanCache {
+
+	private final Map<PlanKey, ConstructorBindingPlan> plans = new ConcurrentReferenceHashMap<>(64);
+
+
+	/**
+	 * Obtain the plan for the given target class at the given nested path,
+	 * resolving it on first access.
+	 */
+	ConstructorBindingPlan getPlan(Class<?> clazz, String nestedPath, @Nullable DataBinder.NameResolver nameResolver) {
+		PlanKey key = new PlanKey(clazz, nestedPath, nameResolver);
+		ConstructorBindingPlan plan = this.plans.get(key);
+		if (plan == null) {
+			plan = ConstructorBindingPlan.resolve(clazz, nestedPath, nameResolver);
+			this.plans.put(key, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * Clear all cached plans, e.g. after a class reloading phase.
+	 */
+	public void clear() {
+		this.plans.clear();
+	}
+
+
+	private record PlanKey(Class<?> clazz, String nestedPath, @Nullable DataBinder.NameResolver nameResolver) {
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof PlanKey that && this.clazz == that.clazz &&
+					this.nestedPath.equals(that.nestedPath) && this.nameResolver == that.nameResolver));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.clazz.hashCode() * 31 + this.nestedPath.hashCode()) * 31 +
+					System.identityHashCode(this.nameResolver);
+		}
+	}
+
+}
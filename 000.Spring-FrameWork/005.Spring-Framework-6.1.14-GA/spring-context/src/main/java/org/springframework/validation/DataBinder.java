@@ -177,6 +177,9 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	@Nullable
 	private NameResolver nameResolver;
 
+	@Nullable
+	private ConstructorBindingPlanCache constructorBindingPlanCache;
+
 	@Nullable
 	private ConversionService conversionService;
 
@@ -638,6 +641,30 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		return this.nameResolver;
 	}
 
+	/**
+	 * Configure a cache of pre-resolved constructor binding plans to use in
+	 * {@link #construct}, typically shared across binder instances for the
+	 * same target types.
+	 * <p>If not configured, the constructor, the parameter names, and the
+	 * nested paths of the target type are resolved for every call.
+	 * @param constructorBindingPlanCache the cache to use (may be {@code null})
+	 * @since 6.2
+	 * @see ConstructorBindingPlanCache
+	 */
+	public void setConstructorBindingPlanCache(@Nullable ConstructorBindingPlanCache constructorBindingPlanCache) {
+		this.constructorBindingPlanCache = constructorBindingPlanCache;
+	}
+
+	/**
+	 * Return the {@link #setConstructorBindingPlanCache configured} cache of
+	 * constructor binding plans.
+	 * @since 6.2
+	 */
+	@Nullable
+	public ConstructorBindingPlanCache getConstructorBindingPlanCache() {
+		return this.constructorBindingPlanCache;
+	}
+
 	/**
 	 * Set the strategy to use for resolving errors into message codes.
 	 * Applies the given strategy to the underlying errors holder.
@@ -923,7 +950,10 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		}
 
 		Object result = null;
-		Constructor<?> ctor = BeanUtils.getResolvableConstructor(clazz);
+		ConstructorBindingPlan plan = (this.constructorBindingPlanCache != null ?
+				this.constructorBindingPlanCache.getPlan(clazz, nestedPath, this.nameResolver) :
+				ConstructorBindingPlan.resolve(clazz, nestedPath, this.nameResolver));
+		Constructor<?> ctor = plan.getConstructor();
 
 		if (ctor.getParameterCount() == 0) {
 			// A single default constructor -> clearly a standard JavaBeans arrangement.
@@ -931,28 +961,18 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		}
 		else {
 			// A single data class constructor -> resolve constructor arguments from request parameters.
-			String[] paramNames = BeanUtils.getParameterNames(ctor);
-			Class<?>[] paramTypes = ctor.getParameterTypes();
-			Object[] args = new Object[paramTypes.length];
+			int paramCount = plan.getParameterCount();
+			Object[] args = new Object[paramCount];
 			Set<String> failedParamNames = new HashSet<>(4);
 
-			for (int i = 0; i < paramNames.length; i++) {
-				MethodParameter param = MethodParameter.forFieldAwareConstructor(ctor, i, paramNames[i]);
-				String lookupName = null;
-				if (this.nameResolver != null) {
-					lookupName = this.nameResolver.resolveName(param);
-				}
-				if (lookupName == null) {
-					lookupName = paramNames[i];
-				}
-
-				String paramPath = nestedPath + lookupName;
-				Class<?> paramType = paramTypes[i];
+			for (int i = 0; i < paramCount; i++) {
+				MethodParameter param = plan.getParameter(i);
+				String paramPath = plan.getParameterPath(i);
+				Class<?> paramType = plan.getParameterType(i);
 				Object value = valueResolver.resolveValue(paramPath, paramType);
 
-				if (value == null && shouldConstructArgument(param) && hasValuesFor(paramPath, valueResolver)) {
-					ResolvableType type = ResolvableType.forMethodParameter(param);
-					args[i] = createObject(type, paramPath + ".", valueResolver);
+				if (value == null && shouldConstructArgument(param) && hasValuesFor(plan.getNestedPath(i), valueResolver)) {
+					args[i] = createObject(plan.getNestedType(i), plan.getNestedPath(i), valueResolver);
 				}
 				else {
 					try {
@@ -974,12 +994,12 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 			}
 
 			if (getBindingResult().hasErrors()) {
-				for (int i = 0; i < paramNames.length; i++) {
-					String paramPath = nestedPath + paramNames[i];
+				for (int i = 0; i < paramCount; i++) {
+					String paramPath = plan.getFieldPath(i);
 					if (!failedParamNames.contains(paramPath)) {
 						Object value = args[i];
-						getBindingResult().recordFieldValue(paramPath, paramTypes[i], value);
-						validateConstructorArgument(ctor.getDeclaringClass(), nestedPath, paramNames[i], value);
+						getBindingResult().recordFieldValue(paramPath, plan.getParameterType(i), value);
+						validateConstructorArgument(ctor.getDeclaringClass(), nestedPath, plan.getParameterName(i), value);
 					}
 				}
 				if (!(objectType.getSource() instanceof MethodParameter param && param.isOptional())) {
@@ -1024,9 +1044,9 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 				type.getPackageName().startsWith("java."));
 	}
 
-	private boolean hasValuesFor(String paramPath, ValueResolver resolver) {
+	private boolean hasValuesFor(String nestedParamPath, ValueResolver resolver) {
 		for (String name : resolver.getNames()) {
-			if (name.startsWith(paramPath + ".")) {
+			if (name.startsWith(nestedParamPath)) {
 				return true;
 			}
 		}
@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.function.Consumer;
 
@@ -143,6 +144,23 @@ class AnnotationCacheOperationSourceTests {
 				getOps(AnnotatedClass.class, "invalidKeyAndKeyGeneratorSet"));
 	}
 
+	@Test
+	void refreshAhead() {
+		Collection<CacheOperation> ops = getOps(AnnotatedClass.class, "refreshAhead", 1);
+		assertThat(ops).singleElement().isInstanceOfSatisfying(CacheableOperation.class, cacheOperation -> {
+			assertThat(cacheOperation.getTimeToLive()).isEqualTo(Duration.ofMinutes(10));
+			assertThat(cacheOperation.getRefreshAheadFactor()).isEqualTo(0.8);
+			assertThat(cacheOperation.isStaleIfError()).isTrue();
+			assertThat(cacheOperation.getRefreshAfter()).isEqualTo(Duration.ofMinutes(8));
+		});
+	}
+
+	@Test
+	void refreshAheadRequiresTimeToLive() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				getOps(AnnotatedClass.class, "invalidRefreshAheadWithoutTimeToLive"));
+	}
+
 	@Test
 	void customCacheManager() {
 		Collection<CacheOperation> ops = getOps(AnnotatedClass.class, "customCacheManager", 1);
@@ -326,6 +344,14 @@ class AnnotationCacheOperationSourceTests {
 		public void customCacheManager() {
 		}
 
+		@Cacheable(cacheNames = "test", timeToLive = "PT10M", refreshAheadFactor = 0.8, staleIfError = true)
+		public void refreshAhead() {
+		}
+
+		@Cacheable(cacheNames = "test", refreshAheadFactor = 0.8)
+		public void invalidRefreshAheadWithoutTimeToLive() {
+		}
+
 		@Cacheable(cacheNames = "test", cacheResolver = "custom")
 		public void customCacheResolver() {
 		}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
+import org.springframework.core.serializer.support.SerializationDelegate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ */
+class BoundedConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	private BoundedConcurrentMapCache cache;
+
+	private BoundedConcurrentMapCache cacheNoNull;
+
+
+	@BeforeEach
+	void setup() {
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, 1000);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, 1000, Long.MAX_VALUE, null, null, false);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected ConcurrentMap<Object, Object> getNativeCache() {
+		return this.cache.getNativeCache();
+	}
+
+
+	@Test
+	void evictsLeastRecentlyUsedEntries() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 3);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+		assertThat(cache.get("a")).isNotNull();
+
+		cache.put("d", "4");
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("c")).isNotNull();
+		assertThat(cache.get("d")).isNotNull();
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+		assertThat(cache.getStatistics().getSize()).isEqualTo(3);
+	}
+
+	@Test
+	void evictsByWeight() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, Long.MAX_VALUE, 10,
+				(key, value) -> ((String) value).length(), null, false);
+		cache.put("a", "1234");
+		cache.put("b", "1234");
+		assertThat(cache.getStatistics().getWeightedSize()).isEqualTo(8);
+
+		cache.put("c", "12345");
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b", String.class)).isEqualTo("1234");
+		assertThat(cache.get("c", String.class)).isEqualTo("12345");
+		assertThat(cache.getStatistics().getWeightedSize()).isEqualTo(9);
+
+		cache.put("b", "1");
+		assertThat(cache.getStatistics().getWeightedSize()).isEqualTo(6);
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void evictsEntryExceedingMaximumWeight() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, Long.MAX_VALUE, 3,
+				(key, value) -> ((String) value).length(), null, false);
+		cache.put("a", "12");
+		cache.put("b", "1234");
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.getStatistics().getWeightedSize()).isZero();
+	}
+
+	@Test
+	void weighsSerializedValues() {
+		List<Object> weighedValues = new ArrayList<>();
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, Long.MAX_VALUE, Long.MAX_VALUE,
+				(key, value) -> {
+					weighedValues.add(value);
+					return ((byte[]) value).length;
+				}, null, true, new SerializationDelegate(getClass().getClassLoader()));
+		cache.put("a", "value");
+		assertThat(cache.get("a", String.class)).isEqualTo("value");
+		assertThat(weighedValues).singleElement().isInstanceOf(byte[].class);
+		assertThat(cache.getStatistics().getWeightedSize()).isPositive();
+	}
+
+	@Test
+	void expiresEntriesAfterTimeToLive() throws InterruptedException {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, Long.MAX_VALUE, Long.MAX_VALUE,
+				null, Duration.ofMillis(50), true);
+		cache.put("a", "1");
+		Thread.sleep(100);
+
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.getNativeCache().containsKey("a")).isFalse();
+		assertThat(cache.get("a", () -> "2")).isEqualTo("2");
+		assertThat(cache.getStatistics().getExpirationCount()).isEqualTo(1);
+		assertThat(cache.getStatistics().getSize()).isEqualTo(1);
+	}
+
+	@Test
+	void countsHitsAndMisses() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 10);
+		cache.put("a", "1");
+		cache.get("a");
+		cache.get("a", () -> "x");
+		cache.get("b");
+		cache.get("c", () -> "3");
+
+		BoundedConcurrentMapCache.Statistics statistics = cache.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(2);
+		assertThat(statistics.getMissCount()).isEqualTo(2);
+		assertThat(statistics.getHitRate()).isEqualTo(0.5);
+		assertThat(statistics.getSize()).isEqualTo(2);
+	}
+
+	@Test
+	void getAllCountsHitsAndMisses() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 10);
+		cache.put("a", "1");
+		cache.put("b", "2");
+
+		assertThat(cache.getAll(List.of("a", "b", "c"))).containsOnlyKeys("a", "b");
+		BoundedConcurrentMapCache.Statistics statistics = cache.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(2);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void clearResetsWeightedSize() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 2);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.clear();
+		cache.put("c", "3");
+		cache.put("d", "4");
+
+		assertThat(cache.get("c")).isNotNull();
+		assertThat(cache.get("d")).isNotNull();
+		assertThat(cache.getStatistics().getEvictionCount()).isZero();
+		assertThat(cache.getStatistics().getWeightedSize()).isEqualTo(2);
+	}
+
+}
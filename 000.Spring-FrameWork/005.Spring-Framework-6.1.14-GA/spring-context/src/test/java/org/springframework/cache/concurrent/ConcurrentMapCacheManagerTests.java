@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
@@ -131,4 +133,26 @@ class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	void testBoundedCaches() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1).isNotInstanceOf(BoundedConcurrentMapCache.class);
+
+		cm.setMaximumSize(2);
+		cm.setTimeToLive(Duration.ofMinutes(1));
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x).isInstanceOf(BoundedConcurrentMapCache.class);
+		cache1x.put("key1", "value1");
+		cache1x.put("key2", "value2");
+		cache1x.put("key3", "value3");
+		assertThat(cache1x.get("key1")).isNull();
+		assertThat(cache1x.get("key3").get()).isEqualTo("value3");
+		assertThat(((BoundedConcurrentMapCache) cache1x).getStatistics().getEvictionCount()).isEqualTo(1);
+
+		cm.setMaximumSize(Long.MAX_VALUE);
+		cm.setTimeToLive(null);
+		assertThat(cm.getCache("c1")).isNotInstanceOf(BoundedConcurrentMapCache.class);
+	}
+
 }
@@ -18,13 +18,16 @@ package org.springframework.cache.concurrent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cache.Cache;
 import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
 import org.springframework.core.serializer.support.SerializationDelegate;
 
@@ -115,6 +118,48 @@ class ConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<Concurrent
 			.withMessageContaining("Some garbage");
 	}
 
+	@Test
+	void testGetAllAndPutAll() {
+		Map<Object, Object> entries = new LinkedHashMap<>();
+		entries.put("key1", "value1");
+		entries.put("key2", null);
+		this.cache.putAll(entries);
+		assertThat(this.nativeCache).containsKeys("key1", "key2");
+
+		Map<Object, Cache.ValueWrapper> hits = this.cache.getAll(List.of("key2", "key3", "key1"));
+		assertThat(hits).containsOnlyKeys("key2", "key1");
+		assertThat(hits.get("key1").get()).isEqualTo("value1");
+		assertThat(hits.get("key2").get()).isNull();
+	}
+
+	@Test
+	void testGetAllUsesLookup() {
+		ConcurrentMapCache hidingCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true) {
+			@Override
+			protected Object lookup(Object key) {
+				return ("hidden".equals(key) ? null : super.lookup(key));
+			}
+		};
+		hidingCache.put("hidden", "value1");
+		hidingCache.put("visible", "value2");
+
+		Map<Object, Cache.ValueWrapper> hits = hidingCache.getAll(List.of("hidden", "visible"));
+		assertThat(hits).containsOnlyKeys("visible");
+		assertThat(hits.get("visible").get()).isEqualTo("value2");
+		assertThat(hidingCache.get("hidden")).isNull();
+	}
+
+	@Test
+	void testGetAllAndPutAllWithStoreByValue() {
+		ConcurrentMapCache serializeCache = createCacheWithStoreByValue();
+		List<String> content = new ArrayList<>(Arrays.asList("one", "two"));
+		serializeCache.putAll(Map.of("key", content));
+		content.add("three");
+
+		Map<Object, Cache.ValueWrapper> hits = serializeCache.getAll(List.of("key"));
+		assertThat(hits.get("key").get()).isEqualTo(Arrays.asList("one", "two"));
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for bulk {@link Cacheable} operations on a collection argument.
+ */
+class CacheBulkTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private SimpleService simpleService;
+
+	private SimpleService target;
+
+	private Cache cache;
+
+
+	@BeforeEach
+	void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.simpleService = this.context.getBean(SimpleService.class);
+		this.target = (SimpleService) AopProxyUtils.getSingletonTarget(this.simpleService);
+		this.cache = this.context.getBean(CacheManager.class).getCache("test");
+	}
+
+	@AfterEach
+	void closeContext() {
+		this.context.close();
+	}
+
+
+	@Test
+	void populatesEntryPerElement() {
+		assertThat(this.simpleService.findAll(List.of(1L, 2L))).containsExactly(
+				Map.entry(1L, "value1"), Map.entry(2L, "value2"));
+		assertThat(this.cache.get(1L, String.class)).isEqualTo("value1");
+		assertThat(this.cache.get(2L, String.class)).isEqualTo("value2");
+		assertThat(this.target.requests).containsExactly(List.of(1L, 2L));
+	}
+
+	@Test
+	void invokesMethodForMissingElementsOnly() {
+		this.cache.put(2L, "cached2");
+		this.cache.put(4L, "cached4");
+		assertThat(this.simpleService.findAll(List.of(4L, 1L, 2L, 3L))).containsExactly(
+				Map.entry(4L, "cached4"), Map.entry(1L, "value1"),
+				Map.entry(2L, "cached2"), Map.entry(3L, "value3"));
+		assertThat(this.target.requests).containsExactly(List.of(1L, 3L));
+	}
+
+	@Test
+	void skipsInvocationIfAllElementsAreCached() {
+		this.simpleService.findAll(List.of(1L, 2L));
+		assertThat(this.simpleService.findAll(List.of(2L, 1L))).containsExactly(
+				Map.entry(2L, "value2"), Map.entry(1L, "value1"));
+		assertThat(this.target.requests).hasSize(1);
+	}
+
+	@Test
+	void narrowsSetArgument() {
+		this.cache.put(1L, "cached1");
+		assertThat(this.simpleService.findAllAsSet(Set.of(1L, 2L))).containsOnly(
+				Map.entry(1L, "cached1"), Map.entry(2L, "value2"));
+		assertThat(this.target.requests).containsExactly(List.of(2L));
+	}
+
+	@Test
+	void omitsElementsWithoutResult() {
+		assertThat(this.simpleService.findAll(List.of(1L, 99L))).containsOnlyKeys(1L);
+		assertThat(this.cache.get(99L)).isNull();
+		assertThat(this.simpleService.findAll(List.of(99L))).isEmpty();
+		assertThat(this.target.requests).containsExactly(List.of(1L, 99L), List.of(99L));
+	}
+
+	@Test
+	void invokesMethodIfConditionDoesNotMatch() {
+		this.cache.put(1L, "cached1");
+		assertThat(this.simpleService.findAllConditionally(List.of(1L), false)).containsExactly(
+				Map.entry(1L, "value1"));
+		assertThat(this.simpleService.findAllConditionally(List.of(1L), true)).containsExactly(
+				Map.entry(1L, "cached1"));
+		assertThat(this.target.requests).containsExactly(List.of(1L));
+	}
+
+	@Test
+	void rejectsNonMapReturnType() {
+		assertThatIllegalStateException().isThrownBy(() -> this.simpleService.invalidReturnType(List.of(1L)))
+				.withMessageContaining("java.util.Map return type");
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	@CacheConfig(cacheNames = "test")
+	public static class SimpleService {
+
+		final List<List<Long>> requests = new ArrayList<>();
+
+		@Cacheable(bulk = true)
+		public Map<Long, String> findAll(List<Long> ids) {
+			return load(ids);
+		}
+
+		@Cacheable(bulk = true)
+		public Map<Long, String> findAllAsSet(Set<Long> ids) {
+			return load(ids);
+		}
+
+		@Cacheable(bulk = true, condition = "#useCache")
+		public Map<Long, String> findAllConditionally(Collection<Long> ids, boolean useCache) {
+			return load(ids);
+		}
+
+		@Cacheable(bulk = true)
+		public List<String> invalidReturnType(List<Long> ids) {
+			return List.of();
+		}
+
+		private Map<Long, String> load(Collection<Long> ids) {
+			this.requests.add(List.copyOf(ids));
+			return ids.stream().filter(id -> id < 99)
+					.collect(Collectors.toMap(id -> id, id -> "value" + id));
+		}
+	}
+
+}
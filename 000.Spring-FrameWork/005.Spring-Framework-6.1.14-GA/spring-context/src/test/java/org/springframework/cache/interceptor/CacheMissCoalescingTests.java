@@ -0,0 +1,288 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for coalescing concurrent cache misses through
+ * {@link CacheAspectSupport#setCoalesceCacheMisses}.
+ */
+class CacheMissCoalescingTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private CacheInterceptor cacheInterceptor;
+
+	private SimpleService simpleService;
+
+	private SimpleService target;
+
+	private ExecutorService executor;
+
+
+	@BeforeEach
+	void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cacheInterceptor = this.context.getBean(CacheInterceptor.class);
+		this.cacheInterceptor.setCoalesceCacheMisses(true);
+		this.simpleService = this.context.getBean(SimpleService.class);
+		this.target = (SimpleService) AopProxyUtils.getSingletonTarget(this.simpleService);
+		this.executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+		this.context.close();
+	}
+
+
+	@Test
+	void concurrentMissesShareSingleInvocation() throws Exception {
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			results.add(this.executor.submit(() -> this.simpleService.get(1L)));
+		}
+		awaitCoalescedInvocations(3);
+		this.target.release.countDown();
+
+		Object first = results.get(0).get(5, TimeUnit.SECONDS);
+		for (Future<Object> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+		}
+		assertThat(this.target.invocations).hasValue(1);
+		assertThat(this.simpleService.get(1L)).isSameAs(first);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(3);
+	}
+
+	@Test
+	void concurrentMissesShareException() throws Exception {
+		this.target.failure = new IllegalStateException("Expected");
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			results.add(this.executor.submit(() -> this.simpleService.get(1L)));
+		}
+		awaitCoalescedInvocations(3);
+		this.target.release.countDown();
+
+		for (Future<Object> result : results) {
+			assertThat(result).failsWithin(5, TimeUnit.SECONDS)
+					.withThrowableOfType(ExecutionException.class)
+					.havingCause().isSameAs(this.target.failure);
+		}
+		assertThat(this.target.invocations).hasValue(1);
+
+		// No in-flight invocation left behind
+		this.target.failure = null;
+		assertThat(this.simpleService.get(1L)).isNotNull();
+		assertThat(this.target.invocations).hasValue(2);
+	}
+
+	@Test
+	void missesWithPendingFutureShareSingleInvocation() {
+		CompletableFuture<Object> first = this.simpleService.getFuture(1L);
+		CompletableFuture<Object> second = this.simpleService.getFuture(1L);
+		assertThat(second).isNotSameAs(first).isNotDone();
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(1);
+
+		this.target.pending.complete("value");
+		assertThat(first).isCompletedWithValue("value");
+		assertThat(second).isCompletedWithValue("value");
+		assertThat(this.simpleService.getFuture(1L)).isCompletedWithValue("value");
+		assertThat(this.target.invocations).hasValue(1);
+	}
+
+	@Test
+	void missesWithPendingMonoShareSingleInvocation() {
+		CompletableFuture<Object> first = this.simpleService.getMono(1L).toFuture();
+		CompletableFuture<Object> second = this.simpleService.getMono(1L).toFuture();
+		assertThat(second).isNotDone();
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(1);
+
+		this.target.pending.complete("value");
+		assertThat(first).isCompletedWithValue("value");
+		assertThat(second).isCompletedWithValue("value");
+		assertThat(this.simpleService.getMono(1L).block()).isEqualTo("value");
+		assertThat(this.target.invocations).hasValue(1);
+	}
+
+	@Test
+	void unsubscribedMonoDoesNotLeaveInFlightInvocation() {
+		this.simpleService.getMono(1L);
+		CompletableFuture<Object> second = this.simpleService.getMono(1L).toFuture();
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isZero();
+
+		this.target.pending.complete("value");
+		assertThat(second).isCompletedWithValue("value");
+		assertThat(this.target.invocations).hasValue(2);
+	}
+
+	@Test
+	void coalescedInvocationInvokesMethodAfterTimeout() throws Exception {
+		this.cacheInterceptor.setCoalescingTimeout(Duration.ofMillis(100));
+		Future<Object> first = this.executor.submit(() -> this.simpleService.get(1L));
+		awaitInvocations(1);
+		Future<Object> second = this.executor.submit(() -> this.simpleService.get(1L));
+		awaitCoalescedInvocations(1);
+		awaitInvocations(2);
+		this.target.release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull().isNotSameAs(first.get());
+	}
+
+	@Test
+	void nestedInvocationForSameKeyIsNotCoalesced() throws Exception {
+		this.target.self = this.simpleService;
+		this.target.release.countDown();
+		Future<Object> result = this.executor.submit(() -> this.simpleService.getNested(1L, 1));
+
+		assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(this.target.invocations).hasValue(2);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isZero();
+	}
+
+	@Test
+	void missesWithCachePutAreNotCoalesced() {
+		this.simpleService.getFutureAndPut(1L);
+		this.simpleService.getFutureAndPut(1L);
+		assertThat(this.target.invocations).hasValue(2);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isZero();
+	}
+
+	@Test
+	void missesAreNotCoalescedByDefault() {
+		this.cacheInterceptor.setCoalesceCacheMisses(false);
+		this.simpleService.getFuture(1L);
+		this.simpleService.getFuture(1L);
+		assertThat(this.target.invocations).hasValue(2);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isZero();
+	}
+
+	private void awaitCoalescedInvocations(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.cacheInterceptor.getCoalescedInvocationCount() < count &&
+				System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(count);
+	}
+
+	private void awaitInvocations(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.target.invocations.get() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.target.invocations).hasValue(count);
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	@CacheConfig(cacheNames = "test")
+	public static class SimpleService {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final CompletableFuture<Object> pending = new CompletableFuture<>();
+
+		volatile RuntimeException failure;
+
+		volatile SimpleService self;
+
+		@Cacheable
+		public Object get(long id) throws InterruptedException {
+			this.invocations.incrementAndGet();
+			this.release.await(5, TimeUnit.SECONDS);
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return new Object();
+		}
+
+		@Cacheable(cacheNames = "nested", key = "#id")
+		public Object getNested(long id, int depth) throws InterruptedException {
+			this.invocations.incrementAndGet();
+			return (depth > 0 ? this.self.getNested(id, depth - 1) : new Object());
+		}
+
+		@Cacheable("futures")
+		public CompletableFuture<Object> getFuture(long id) {
+			this.invocations.incrementAndGet();
+			return this.pending.thenApply(value -> value);
+		}
+
+		@Cacheable("monos")
+		public Mono<Object> getMono(long id) {
+			this.invocations.incrementAndGet();
+			return Mono.fromFuture(this.pending.thenApply(value -> value));
+		}
+
+		@Cacheable("futures")
+		@CachePut("others")
+		public CompletableFuture<Object> getFutureAndPut(long id) {
+			this.invocations.incrementAndGet();
+			return this.pending.thenApply(value -> value);
+		}
+	}
+
+}
@@ -34,6 +34,9 @@ import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
@@ -103,6 +106,32 @@ class CacheOperationExpressionEvaluatorTests {
 		assertThat(keyB).isEqualTo(args[1]);
 	}
 
+	@Test
+	void keyExpressionIsCompiledOnceFrequentlyEvaluated() {
+		SpelExpressionCache expressionCache = new SpelExpressionCache(16,
+				new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
+		CacheOperationExpressionEvaluator eval = new CacheOperationExpressionEvaluator(
+				new CacheEvaluationContextFactory(this.originalEvaluationContext), expressionCache);
+		AnnotatedClass target = new AnnotatedClass();
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey key = new AnnotatedElementKey(method, AnnotatedClass.class);
+		Collection<ConcurrentMapCache> caches = Collections.singleton(new ConcurrentMapCache("test"));
+
+		for (int i = 0; i < 2 * expressionCache.getCompileThreshold(); i++) {
+			Object[] args = new Object[] {"a" + i, "b" + i};
+			EvaluationContext evalCtx = eval.createEvaluationContext(caches, method, args,
+					target, target.getClass(), method, CacheOperationExpressionEvaluator.NO_RESULT);
+			assertThat(eval.key("#p0", key, evalCtx)).isEqualTo("a" + i);
+		}
+		assertThat(expressionCache.size()).isEqualTo(1);
+		assertThat(expressionCache.getCompilationFailureCount()).isZero();
+		assertThat(expressionCache.getCompilationCount()).isEqualTo(1);
+
+		eval.clear();
+		assertThat(expressionCache.size()).isZero();
+	}
+
 	@Test
 	void withReturnValue() {
 		EvaluationContext context = createEvaluationContext("theResult");
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for refreshing {@link org.springframework.cache.annotation.Cacheable}
+ * entries ahead of their expiration.
+ */
+class CacheRefreshAheadTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private CacheInterceptor cacheInterceptor;
+
+	private SimpleService simpleService;
+
+	private SimpleService target;
+
+	private final List<Runnable> refreshes = new ArrayList<>();
+
+
+	@BeforeEach
+	void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cacheInterceptor = this.context.getBean(CacheInterceptor.class);
+		this.simpleService = this.context.getBean(SimpleService.class);
+		this.target = (SimpleService) AopProxyUtils.getSingletonTarget(this.simpleService);
+		this.cacheInterceptor.setRefreshExecutor(this.refreshes::add);
+	}
+
+	@AfterEach
+	void closeContext() {
+		this.context.close();
+	}
+
+
+	@Test
+	void freshEntryIsNotRefreshed() {
+		Object value = this.simpleService.get(1L);
+		assertThat(this.simpleService.get(1L)).isEqualTo(value);
+		assertThat(this.refreshes).isEmpty();
+		assertThat(this.target.invocations).hasValue(1);
+	}
+
+	@Test
+	void entryDueForRefreshIsServedWhileRefreshing() throws InterruptedException {
+		assertThat(this.simpleService.get(1L)).isEqualTo(0);
+		Thread.sleep(60);
+
+		assertThat(this.simpleService.get(1L)).isEqualTo(0);
+		assertThat(this.simpleService.get(1L)).isEqualTo(0);
+		assertThat(this.refreshes).hasSize(1);
+		assertThat(this.target.invocations).hasValue(1);
+
+		this.refreshes.get(0).run();
+		assertThat(this.target.invocations).hasValue(2);
+		assertThat(this.simpleService.get(1L)).isEqualTo(1);
+		assertThat(this.refreshes).hasSize(1);
+	}
+
+	@Test
+	void storedEntryIsPlainValue() throws InterruptedException {
+		this.simpleService.get(1L);
+		Cache cache = this.context.getBean(CacheManager.class).getCache("test");
+		assertThat(cache.get(1L).get()).isEqualTo(0);
+
+		Thread.sleep(60);
+		this.simpleService.get(1L);
+		this.refreshes.get(0).run();
+		assertThat(cache.get(1L).get()).isEqualTo(1);
+	}
+
+	@Test
+	void entryOfUnknownAgeIsTrackedFromFirstHit() throws InterruptedException {
+		Cache cache = this.context.getBean(CacheManager.class).getCache("test");
+		cache.put(1L, "external");
+		assertThat(this.simpleService.get(1L)).isEqualTo("external");
+		assertThat(this.refreshes).isEmpty();
+
+		Thread.sleep(60);
+		assertThat(this.simpleService.get(1L)).isEqualTo("external");
+		assertThat(this.refreshes).hasSize(1);
+	}
+
+	@Test
+	void evictedEntryIsNotRefreshedAfterRecreation() throws InterruptedException {
+		this.simpleService.get(1L);
+		Thread.sleep(60);
+		this.simpleService.evict(1L);
+
+		assertThat(this.simpleService.get(1L)).isEqualTo(1);
+		assertThat(this.simpleService.get(1L)).isEqualTo(1);
+		assertThat(this.refreshes).isEmpty();
+	}
+
+	@Test
+	void refreshAheadRequiresRefreshExecutor() {
+		CacheInterceptor interceptor = new CacheInterceptor();
+		assertThat(interceptor.getRefreshExecutor()).isNull();
+
+		this.context.close();
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		SimpleService service = this.context.getBean(SimpleService.class);
+		assertThatIllegalStateException().isThrownBy(() -> service.get(1L))
+				.withMessageContaining("requires a refresh executor");
+	}
+
+	@Test
+	void failedRefreshEvictsEntry() throws InterruptedException {
+		this.cacheInterceptor.setRefreshExecutor(new SyncTaskExecutor());
+		this.simpleService.get(1L);
+		Thread.sleep(60);
+
+		this.target.failure = new IllegalStateException("Expected");
+		assertThat(this.simpleService.get(1L)).isEqualTo(0);
+		assertThat(this.target.invocations).hasValue(2);
+		assertThatIllegalStateException().isThrownBy(() -> this.simpleService.get(1L));
+	}
+
+	@Test
+	void failedRefreshKeepsStaleEntryIfConfigured() throws InterruptedException {
+		this.cacheInterceptor.setRefreshExecutor(new SyncTaskExecutor());
+		this.simpleService.getStaleIfError(1L);
+		Thread.sleep(60);
+
+		this.target.failure = new IllegalStateException("Expected");
+		assertThat(this.simpleService.getStaleIfError(1L)).isEqualTo(0);
+		assertThat(this.simpleService.getStaleIfError(1L)).isEqualTo(0);
+		assertThat(this.target.invocations).hasValue(3);
+
+		this.target.failure = null;
+		assertThat(this.simpleService.getStaleIfError(1L)).isEqualTo(0);
+		assertThat(this.simpleService.getStaleIfError(1L)).isEqualTo(3);
+	}
+
+	@Test
+	void syncOperationWithRefreshAheadIsRejected() {
+		assertThatIllegalStateException().isThrownBy(() -> this.simpleService.getSync(1L))
+				.withMessageContaining("refresh-ahead");
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	@CacheConfig(cacheNames = "test")
+	public static class SimpleService {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		volatile RuntimeException failure;
+
+		@Cacheable(timeToLive = "100", refreshAheadFactor = 0.5)
+		public Object get(long id) {
+			return invoke();
+		}
+
+		@Cacheable(cacheNames = "stale", timeToLive = "PT0.1S", refreshAheadFactor = 0.5, staleIfError = true)
+		public Object getStaleIfError(long id) {
+			return invoke();
+		}
+
+		@Cacheable(timeToLive = "100", refreshAheadFactor = 0.5, sync = true)
+		public Object getSync(long id) {
+			return invoke();
+		}
+
+		@CacheEvict
+		public void evict(long id) {
+		}
+
+		private Object invoke() {
+			int count = this.invocations.getAndIncrement();
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return count;
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NearCacheManager} and {@link NearCache}.
+ */
+class NearCacheManagerTests {
+
+	private final ConcurrentMapCacheManager localCacheManager = new ConcurrentMapCacheManager();
+
+	private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("test");
+
+	private final List<String> invalidations = new ArrayList<>();
+
+	private NearCacheManager cacheManager;
+
+	private NearCache cache;
+
+	private Cache remoteCache;
+
+
+	@BeforeEach
+	void setup() {
+		this.localCacheManager.setMaximumSize(100);
+		this.cacheManager = new NearCacheManager(this.localCacheManager, this.remoteCacheManager);
+		this.cacheManager.setInvalidationListener((cacheName, key) -> this.invalidations.add(cacheName + ":" + key));
+		this.cache = (NearCache) this.cacheManager.getCache("test");
+		this.remoteCache = this.remoteCacheManager.getCache("test");
+	}
+
+
+	@Test
+	void cacheNamesFromRemoteCacheManager() {
+		assertThat(this.cacheManager.getCacheNames()).containsExactly("test");
+		assertThat(this.cacheManager.getCache("unknown")).isNull();
+		assertThat(this.cacheManager.getCache("test")).isSameAs(this.cache);
+	}
+
+	@Test
+	void readsPopulateLocalTier() {
+		this.remoteCache.put("key", "value");
+		assertThat(this.cache.get("key", String.class)).isEqualTo("value");
+		assertThat(this.cache.get("key", String.class)).isEqualTo("value");
+		assertThat(this.cache.get("other")).isNull();
+
+		NearCache.Statistics statistics = this.cache.getStatistics();
+		assertThat(statistics.getLocalHitCount()).isEqualTo(1);
+		assertThat(statistics.getRemoteHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getRemoteHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	void nullValuesNotKeptInLocalTier() {
+		this.remoteCache.put("key", null);
+		assertThat(this.cache.get("key")).isNotNull().extracting(Cache.ValueWrapper::get).isNull();
+		assertThat(this.cache.get("key")).isNotNull().extracting(Cache.ValueWrapper::get).isNull();
+		assertThat(this.cache.getStatistics().getLocalHitCount()).isZero();
+		assertThat(this.cache.getStatistics().getRemoteHitCount()).isEqualTo(2);
+
+		assertThat(this.cache.get("loaded", () -> (String) null)).isNull();
+		this.remoteCache.put("loaded", "value");
+		assertThat(this.cache.get("loaded", String.class)).isEqualTo("value");
+	}
+
+	@Test
+	void concurrentWriteDuringRemoteReadDoesNotLeaveStaleLocalCopy() {
+		NearCache[] nearCache = new NearCache[1];
+		Cache remoteCache = new ConcurrentMapCache("test") {
+			@Override
+			public ValueWrapper get(Object key) {
+				ValueWrapper value = super.get(key);
+				nearCache[0].put(key, "updated");
+				return value;
+			}
+		};
+		remoteCache.put("key", "value");
+		nearCache[0] = new NearCache(this.localCacheManager.getCache("local"), remoteCache);
+
+		assertThat(nearCache[0].get("key", String.class)).isEqualTo("value");
+		assertThat(remoteCache.get("key", String.class)).isEqualTo("updated");
+		assertThat(nearCache[0].getLocalCache().get("key")).isNull();
+	}
+
+	@Test
+	void writesUpdateBothTiersAndNotifyListener() {
+		this.cache.put("key", "value");
+		assertThat(this.remoteCache.get("key", String.class)).isEqualTo("value");
+		assertThat(this.cache.get("key", String.class)).isEqualTo("value");
+		assertThat(this.cache.getStatistics().getLocalHitCount()).isEqualTo(1);
+
+		this.cache.evict("key");
+		assertThat(this.remoteCache.get("key")).isNull();
+		assertThat(this.cache.get("key")).isNull();
+
+		this.cache.clear();
+		assertThat(this.invalidations).containsExactly("test:key", "test:key", "test:null");
+	}
+
+	@Test
+	void valueLoaderPopulatesBothTiers() {
+		assertThat(this.cache.get("key", () -> "loaded")).isEqualTo("loaded");
+		assertThat(this.cache.get("key", () -> "other")).isEqualTo("loaded");
+		assertThat(this.remoteCache.get("key", String.class)).isEqualTo("loaded");
+
+		NearCache.Statistics statistics = this.cache.getStatistics();
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getLocalHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void remoteWritesAreInvisibleUntilInvalidatedLocally() {
+		this.cache.put("key", "value");
+		this.remoteCache.put("key", "updated");
+		assertThat(this.cache.get("key", String.class)).isEqualTo("value");
+
+		this.cacheManager.invalidateLocal("test", "key");
+		assertThat(this.cache.get("key", String.class)).isEqualTo("updated");
+		assertThat(this.invalidations).containsExactly("test:key");
+	}
+
+	@Test
+	void localCopiesExpireAfterLocalTimeToLive() throws InterruptedException {
+		NearCacheManager cacheManager = new NearCacheManager(this.localCacheManager, this.remoteCacheManager);
+		cacheManager.setLocalTimeToLive(Duration.ofMillis(50));
+		Cache cache = cacheManager.getCache("test");
+		cache.put("key", "value");
+		this.remoteCache.put("key", "updated");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+
+		Thread.sleep(100);
+		assertThat(cache.get("key", String.class)).isEqualTo("updated");
+	}
+
+	@Test
+	void retrieveFromLocalTier() {
+		this.remoteCache.put("key", "value");
+		assertThat(this.cache.retrieve("key")).isCompletedWithValueMatching(value ->
+				"value".equals(((Cache.ValueWrapper) value).get()));
+		assertThat(this.cache.retrieve("key")).isCompletedWithValueMatching(value ->
+				"value".equals(((Cache.ValueWrapper) value).get()));
+		assertThat(this.cache.retrieve("other")).isNull();
+
+		NearCache.Statistics statistics = this.cache.getStatistics();
+		assertThat(statistics.getLocalHitCount()).isEqualTo(1);
+		assertThat(statistics.getRemoteHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+	}
+
+}
@@ -369,6 +369,33 @@ class ApplicationContextEventTests extends AbstractApplicationEventListenerTests
 		context.close();
 	}
 
+	@Test
+	void listenersWithPayloadEventsOfDifferentTypes() {
+		SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+		MyStringPayloadListener stringListener = new MyStringPayloadListener();
+		MyIntegerPayloadListener integerListener = new MyIntegerPayloadListener();
+		List<Object> strings = stringListener.seenPayloads;
+		List<Object> integers = integerListener.seenPayloads;
+		multicaster.addApplicationListener(stringListener);
+		multicaster.addApplicationListener(integerListener);
+
+		for (int i = 0; i < 3; i++) {
+			multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "event" + i));
+			multicaster.multicastEvent(new PayloadApplicationEvent<>(this, i));
+		}
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "object", ResolvableType.forClass(Object.class)));
+		assertThat(strings).containsExactly("event0", "event1", "event2");
+		assertThat(integers).containsExactly(0, 1, 2);
+		assertThat(multicaster.retrieverCache).hasSize(3);
+
+		List<Object> all = new ArrayList<>();
+		multicaster.addApplicationListener(ApplicationListener.forPayload(all::add));
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "event3"));
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "event4"));
+		assertThat(strings).containsExactly("event0", "event1", "event2", "event3", "event4");
+		assertThat(all).containsExactly("event3", "event4");
+	}
+
 	@Test
 	void listenersInApplicationContextWithNestedChild() {
 		StaticApplicationContext context = new StaticApplicationContext();
@@ -671,6 +698,28 @@ class ApplicationContextEventTests extends AbstractApplicationEventListenerTests
 	}
 
 
+	public static class MyStringPayloadListener implements ApplicationListener<PayloadApplicationEvent<String>> {
+
+		public final List<Object> seenPayloads = new ArrayList<>();
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<String> event) {
+			this.seenPayloads.add(event.getPayload());
+		}
+	}
+
+
+	public static class MyIntegerPayloadListener implements ApplicationListener<PayloadApplicationEvent<Integer>> {
+
+		public final List<Object> seenPayloads = new ArrayList<>();
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<Integer> event) {
+			this.seenPayloads.add(event.getPayload());
+		}
+	}
+
+
 	public static class MyNonSingletonListener implements ApplicationListener<ApplicationEvent> {
 
 		public static final Set<ApplicationEvent> seenEvents = new HashSet<>();
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.context.support.AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME;
+
+/**
+ * Tests for {@link BatchingApplicationEventMulticaster}.
+ */
+class BatchingApplicationEventMulticasterTests {
+
+	private final BatchingApplicationEventMulticaster multicaster = new BatchingApplicationEventMulticaster();
+
+
+	@AfterEach
+	void destroy() throws Exception {
+		this.multicaster.destroy();
+	}
+
+
+	@Test
+	void deliversEventsInOrderPerListener() throws Exception {
+		this.multicaster.setConcurrency(4);
+		this.multicaster.setBatchSize(16);
+		List<RecordingListener> listeners = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			RecordingListener listener = new RecordingListener();
+			listeners.add(listener);
+			this.multicaster.addApplicationListener(listener);
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, i));
+		}
+		this.multicaster.destroy();
+
+		for (RecordingListener listener : listeners) {
+			assertThat(listener.payloads).hasSize(1000).isSorted();
+			assertThat(listener.threads).noneMatch(name -> name.equals(Thread.currentThread().getName()));
+		}
+		assertThat(this.multicaster.getDeliveryCount()).isEqualTo(8000);
+		assertThat(this.multicaster.getQueueSize()).isZero();
+		assertThat(this.multicaster.getMaxDrainLatency()).isGreaterThanOrEqualTo(this.multicaster.getAverageDrainLatency());
+	}
+
+	@Test
+	void deliversBatchAfterMaxLatency() throws Exception {
+		this.multicaster.setConcurrency(1);
+		this.multicaster.setMaxLatency(Duration.ofMillis(50));
+		RecordingListener listener = new RecordingListener();
+		this.multicaster.addApplicationListener(listener);
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 1));
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 2));
+		long start = System.nanoTime();
+		while (listener.payloads.size() < 2 && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+			Thread.sleep(5);
+		}
+
+		assertThat(listener.payloads).containsExactly(1, 2);
+		assertThat(this.multicaster.getMaxDrainLatency()).isGreaterThanOrEqualTo(Duration.ofMillis(40));
+	}
+
+	@Test
+	void invokesSynchronousListenerInCallerThread() {
+		List<String> threads = new ArrayList<>();
+		this.multicaster.addApplicationListener(new ApplicationListener<>() {
+			@Override
+			public void onApplicationEvent(ApplicationEvent event) {
+				threads.add(Thread.currentThread().getName());
+			}
+			@Override
+			public boolean supportsAsyncExecution() {
+				return false;
+			}
+		});
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "event"));
+
+		assertThat(threads).containsExactly(Thread.currentThread().getName());
+		assertThat(this.multicaster.getDeliveryCount()).isZero();
+	}
+
+	@Test
+	void listenerExceptionDoesNotStopDelivery() throws Exception {
+		this.multicaster.setConcurrency(1);
+		AtomicInteger errors = new AtomicInteger();
+		this.multicaster.setErrorHandler(ex -> errors.incrementAndGet());
+		RecordingListener listener = new RecordingListener();
+		this.multicaster.addApplicationListener(event -> {
+			throw new IllegalStateException("expected");
+		});
+		this.multicaster.addApplicationListener(listener);
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 1));
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 2));
+		this.multicaster.destroy();
+
+		assertThat(listener.payloads).containsExactly(1, 2);
+		assertThat(errors).hasValue(2);
+	}
+
+	@Test
+	void deliversSynchronouslyAfterDestroy() throws Exception {
+		RecordingListener listener = new RecordingListener();
+		this.multicaster.addApplicationListener(listener);
+		this.multicaster.destroy();
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 1));
+
+		assertThat(listener.payloads).containsExactly(1);
+		assertThat(listener.threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	@Test
+	void workerKeepsDeliveringAfterInterrupt() throws Exception {
+		this.multicaster.setConcurrency(1);
+		RecordingListener listener = new RecordingListener();
+		List<Thread> workers = new CopyOnWriteArrayList<>();
+		this.multicaster.addApplicationListener(event -> workers.add(Thread.currentThread()));
+		this.multicaster.addApplicationListener(listener);
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 1));
+		awaitPayloads(listener, 1);
+		workers.get(0).interrupt();
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 2));
+		awaitPayloads(listener, 2);
+
+		assertThat(listener.payloads).containsExactly(1, 2);
+		assertThat(listener.threads).doesNotContain(Thread.currentThread().getName());
+		assertThat(workers).hasSize(2).allMatch(worker -> worker == workers.get(0));
+		assertThat(workers.get(0).isAlive()).isTrue();
+	}
+
+	@Test
+	void deliversEventsPublishedConcurrentlyWithDestroy() throws Exception {
+		this.multicaster.setConcurrency(2);
+		RecordingListener listener = new RecordingListener();
+		this.multicaster.addApplicationListener(listener);
+		AtomicInteger published = new AtomicInteger();
+		List<Thread> publishers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread publisher = new Thread(() -> {
+				for (int j = 0; j < 2000; j++) {
+					this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, j));
+					published.incrementAndGet();
+				}
+			});
+			publishers.add(publisher);
+			publisher.start();
+		}
+
+		Thread.sleep(5);
+		this.multicaster.destroy();
+		for (Thread publisher : publishers) {
+			publisher.join();
+		}
+
+		assertThat(listener.payloads).hasSize(published.get());
+		assertThat(this.multicaster.getQueueSize()).isZero();
+	}
+
+	@Test
+	void deliversEventsPublishedByWorkerToItsOwnListenersInline() throws Exception {
+		this.multicaster.setConcurrency(1);
+		this.multicaster.setQueueCapacity(1);
+		RecordingListener listener = new RecordingListener();
+		List<Boolean> deliveredInline = new CopyOnWriteArrayList<>();
+		this.multicaster.addApplicationListener((PayloadApplicationEvent<?> event) -> {
+			if (Integer.valueOf(1).equals(event.getPayload())) {
+				this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 2));
+				deliveredInline.add(listener.payloads.contains(2));
+			}
+		});
+		this.multicaster.addApplicationListener(listener);
+
+		this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 1));
+		awaitPayloads(listener, 2);
+
+		assertThat(deliveredInline).containsExactly(true);
+		assertThat(listener.payloads).containsExactlyInAnyOrder(1, 2);
+		assertThat(listener.threads).hasSize(2).doesNotContain(Thread.currentThread().getName())
+				.allMatch(name -> name.equals(listener.threads.get(0)));
+	}
+
+	@Test
+	void applicationContextWithBatchingMulticaster() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, BatchingApplicationEventMulticaster.class);
+		RecordingListener listener = new RecordingListener();
+		context.addApplicationListener(listener);
+		context.refresh();
+
+		context.publishEvent("event");
+		context.close();
+
+		assertThat(listener.payloads).containsExactly("event");
+	}
+
+
+	private static void awaitPayloads(RecordingListener listener, int count) throws InterruptedException {
+		long start = System.nanoTime();
+		while (listener.payloads.size() < count && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+			Thread.sleep(5);
+		}
+	}
+
+
+	static class RecordingListener implements ApplicationListener<PayloadApplicationEvent<?>> {
+
+		final List<Object> payloads = new CopyOnWriteArrayList<>();
+
+		final List<String> threads = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<?> event) {
+			this.payloads.add(event.getPayload());
+			this.threads.add(Thread.currentThread().getName());
+		}
+	}
+
+}
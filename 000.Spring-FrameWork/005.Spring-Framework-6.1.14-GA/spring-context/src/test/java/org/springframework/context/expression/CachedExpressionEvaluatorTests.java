@@ -23,6 +23,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -67,6 +70,58 @@ class CachedExpressionEvaluatorTests {
 		assertThat(expressionEvaluator.testCache).as("Cached expression should be based on type").hasSize(2);
 	}
 
+	@Test
+	void expressionCacheHoldsExpressionsPerElement() {
+		SpelExpressionCache expressionCache = new SpelExpressionCache(16, new SpelParserConfiguration());
+		ExpressionCacheEvaluator evaluator = new ExpressionCacheEvaluator(expressionCache);
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+
+		Expression expression = evaluator.getTestExpression("true", method, getClass());
+		assertThat(evaluator.getTestExpression("true", method, getClass())).isSameAs(expression);
+		assertThat(evaluator.getTestExpression("true", method, Object.class)).isNotSameAs(expression);
+		assertThat(evaluator.testCache).as("Cache map should not be used").isEmpty();
+		assertThat(expressionCache.size()).isEqualTo(2);
+		assertThat(expressionCache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void expressionCacheIsBounded() {
+		SpelExpressionCache expressionCache = new SpelExpressionCache(4, new SpelParserConfiguration());
+		ExpressionCacheEvaluator evaluator = new ExpressionCacheEvaluator(expressionCache);
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+
+		for (int i = 0; i < 10; i++) {
+			evaluator.getTestExpression("'" + i + "'", method, getClass());
+		}
+		assertThat(expressionCache.size()).isEqualTo(4);
+		assertThat(evaluator.testCache).isEmpty();
+	}
+
+	@Test
+	void expressionCacheCompilesFrequentlyUsedExpression() {
+		SpelExpressionCache expressionCache = new SpelExpressionCache(16,
+				new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
+		ExpressionCacheEvaluator evaluator = new ExpressionCacheEvaluator(expressionCache);
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+
+		for (int i = 1; i < expressionCache.getCompileThreshold(); i++) {
+			assertThat(evaluator.getTestExpression("1 + 2", method, getClass()).getValue()).isEqualTo(3);
+		}
+		assertThat(expressionCache.getCompilationCount()).isZero();
+		Expression expression = evaluator.getTestExpression("1 + 2", method, getClass());
+		assertThat(expressionCache.getCompilationCount()).isEqualTo(1);
+		assertThat(expression.getValue()).isEqualTo(3);
+	}
+
+	@Test
+	void defaultExpressionCacheCompilesFrequentlyUsedExpression() {
+		SpelExpressionCache expressionCache = CachedExpressionEvaluator.createExpressionCache();
+		for (int i = 0; i < expressionCache.getCompileThreshold(); i++) {
+			assertThat(expressionCache.getExpression("1 + 2").getValue()).isEqualTo(3);
+		}
+		assertThat(expressionCache.getCompilationCount()).isEqualTo(1);
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -89,4 +144,17 @@ class CachedExpressionEvaluatorTests {
 		}
 	}
 
+	private static class ExpressionCacheEvaluator extends CachedExpressionEvaluator {
+
+		private final Map<ExpressionKey, Expression> testCache = new ConcurrentHashMap<>();
+
+		ExpressionCacheEvaluator(SpelExpressionCache expressionCache) {
+			super(expressionCache);
+		}
+
+		Expression getTestExpression(String expression, Method method, Class<?> type) {
+			return getExpression(this.testCache, new AnnotatedElementKey(method, type), expression);
+		}
+	}
+
 }
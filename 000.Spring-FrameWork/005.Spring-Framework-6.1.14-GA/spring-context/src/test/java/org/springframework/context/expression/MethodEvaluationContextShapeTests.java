@@ -0,0 +1,167 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.StandardTypeLocator;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.BOOLEAN;
+
+/**
+ * Tests for {@link MethodEvaluationContextShape} and shape-based
+ * {@link MethodBasedEvaluationContext} instances.
+ */
+class MethodEvaluationContextShapeTests {
+
+	private final ParameterNameDiscoverer paramDiscover = new DefaultParameterNameDiscoverer();
+
+
+	@Test
+	void variableSlots() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodEvaluationContextShape shape = new MethodEvaluationContextShape(method, this.paramDiscover, null);
+
+		assertThat(shape.getMethod()).isSameAs(method);
+		assertThat(shape.getVariableSlot("a0")).isZero();
+		assertThat(shape.getVariableSlot("p0")).isZero();
+		assertThat(shape.getVariableSlot("foo")).isZero();
+		assertThat(shape.getVariableSlot("flag")).isEqualTo(1);
+		assertThat(shape.getVariableSlot("a2")).isEqualTo(-1);
+		assertThat(shape.getVariableSlot("unknown")).isEqualTo(-1);
+	}
+
+	@Test
+	void simpleArguments() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodBasedEvaluationContext context = createEvaluationContext(method, "test", true);
+
+		assertThat(context.lookupVariable("a0")).isEqualTo("test");
+		assertThat(context.lookupVariable("p0")).isEqualTo("test");
+		assertThat(context.lookupVariable("foo")).isEqualTo("test");
+
+		assertThat(context.lookupVariable("a1")).asInstanceOf(BOOLEAN).isTrue();
+		assertThat(context.lookupVariable("p1")).asInstanceOf(BOOLEAN).isTrue();
+		assertThat(context.lookupVariable("flag")).asInstanceOf(BOOLEAN).isTrue();
+
+		assertThat(context.lookupVariable("a2")).isNull();
+		assertThat(context.lookupVariable("p2")).isNull();
+	}
+
+	@Test
+	void nullArgument() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodBasedEvaluationContext context = createEvaluationContext(method, null, null);
+
+		assertThat(context.lookupVariable("a0")).isNull();
+		assertThat(context.lookupVariable("foo")).isNull();
+		assertThat(context.lookupVariable("flag")).isNull();
+	}
+
+	@Test
+	void varArgSingle() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", Boolean.class, String[].class);
+		MethodBasedEvaluationContext context = createEvaluationContext(method, null, "hello");
+
+		assertThat(context.lookupVariable("flag")).isNull();
+		assertThat(context.lookupVariable("a1")).isEqualTo("hello");
+		assertThat(context.lookupVariable("vararg")).isEqualTo("hello");
+	}
+
+	@Test
+	void varArgMultiple() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", Boolean.class, String[].class);
+		MethodBasedEvaluationContext context = createEvaluationContext(method, null, "hello", "hi");
+
+		assertThat(context.lookupVariable("flag")).isNull();
+		assertThat(context.lookupVariable("a1")).isEqualTo(new Object[] {"hello", "hi"});
+		assertThat(context.lookupVariable("vararg")).isEqualTo(new Object[] {"hello", "hi"});
+	}
+
+	@Test
+	void explicitVariableTakesPrecedence() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodBasedEvaluationContext context = createEvaluationContext(method, "test", true);
+		context.setVariable("foo", "explicit");
+
+		assertThat(context.lookupVariable("foo")).isEqualTo("explicit");
+		assertThat(context.lookupVariable("p0")).isEqualTo("test");
+	}
+
+	@Test
+	void appliesDelegatesOfOriginalContext() {
+		StandardEvaluationContext originalContext = new StandardEvaluationContext();
+		originalContext.addPropertyAccessor(new MapAccessor());
+		StandardTypeLocator typeLocator = new StandardTypeLocator();
+		originalContext.setTypeLocator(typeLocator);
+
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodEvaluationContextShape shape = new MethodEvaluationContextShape(method, this.paramDiscover, originalContext);
+		MethodBasedEvaluationContext first = new MethodBasedEvaluationContext(this, shape, new Object[] {"one", true});
+		MethodBasedEvaluationContext second = new MethodBasedEvaluationContext(this, shape, new Object[] {"two", false});
+
+		assertThat(first.getPropertyAccessors()).isEqualTo(originalContext.getPropertyAccessors())
+				.isNotSameAs(second.getPropertyAccessors());
+		assertThat(first.getTypeLocator()).isSameAs(typeLocator);
+		assertThat(new SpelExpressionParser().parseExpression("#foo + #flag").getValue(second)).isEqualTo("twofalse");
+	}
+
+	@Test
+	void delegatesAreModifiablePerContext() {
+		StandardEvaluationContext originalContext = new StandardEvaluationContext();
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodEvaluationContextShape shape = new MethodEvaluationContextShape(method, this.paramDiscover, originalContext);
+		MethodBasedEvaluationContext first = new MethodBasedEvaluationContext(this, shape, new Object[] {"one", true});
+		MethodBasedEvaluationContext second = new MethodBasedEvaluationContext(this, shape, new Object[] {"two", false});
+		int accessorCount = originalContext.getPropertyAccessors().size();
+
+		first.addPropertyAccessor(new MapAccessor());
+		first.getMethodResolvers().clear();
+
+		assertThat(first.getPropertyAccessors()).hasSize(accessorCount + 1);
+		assertThat(first.getMethodResolvers()).isEmpty();
+		assertThat(second.getPropertyAccessors()).hasSize(accessorCount);
+		assertThat(second.getMethodResolvers()).isNotEmpty();
+		assertThat(new MethodBasedEvaluationContext(this, shape, new Object[] {"three", true})
+				.getPropertyAccessors()).hasSize(accessorCount);
+	}
+
+	private MethodBasedEvaluationContext createEvaluationContext(Method method, Object... args) {
+		return new MethodBasedEvaluationContext(this,
+				new MethodEvaluationContextShape(method, this.paramDiscover, null), args);
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class SampleMethods {
+
+		private void hello(String foo, Boolean flag) {
+		}
+
+		private void hello(Boolean flag, String... vararg){
+		}
+	}
+
+}
@@ -101,6 +101,43 @@ class DataBinderConstructTests {
 		assertThat(bindingResult.getFieldValue("param3")).isNull();
 	}
 
+	@Test
+	void dataClassBindingWithConstructorBindingPlanCache() {
+		ConstructorBindingPlanCache planCache = new ConstructorBindingPlanCache();
+		for (int i = 0; i < 2; i++) {
+			MapValueResolver valueResolver = new MapValueResolver(Map.of(
+					"param1", "value" + i, "nestedParam2.param1", "nested" + i, "nestedParam2.param2", "true"));
+			DataBinder binder = initDataBinder(NestedDataClass.class);
+			binder.setConstructorBindingPlanCache(planCache);
+			binder.construct(valueResolver);
+
+			NestedDataClass dataClass = getTarget(binder);
+			assertThat(dataClass.param1()).isEqualTo("value" + i);
+			assertThat(dataClass.nestedParam2()).isNotNull();
+			assertThat(dataClass.nestedParam2().param1()).isEqualTo("nested" + i);
+			assertThat(dataClass.nestedParam2().param2()).isTrue();
+		}
+	}
+
+	@Test
+	void dataClassBindingWithConstructorBindingPlanCacheAndNameResolver() {
+		ConstructorBindingPlanCache planCache = new ConstructorBindingPlanCache();
+		MapValueResolver valueResolver = new MapValueResolver(Map.of("param1", "value1", "param2", "false", "p2", "true"));
+
+		DataBinder binder = initDataBinder(DataClass.class);
+		binder.setConstructorBindingPlanCache(planCache);
+		binder.construct(valueResolver);
+		DataClass dataClass = getTarget(binder);
+		assertThat(dataClass.param2()).isFalse();
+
+		binder = initDataBinder(DataClass.class);
+		binder.setNameResolver(param -> ("param2".equals(param.getParameterName()) ? "p2" : null));
+		binder.setConstructorBindingPlanCache(planCache);
+		binder.construct(valueResolver);
+		dataClass = getTarget(binder);
+		assertThat(dataClass.param2()).isTrue();
+	}
+
 	@SuppressWarnings("SameParameterValue")
 	private static DataBinder initDataBinder(Class<?> targetType) {
 		DataBinder binder = new DataBinder(null);
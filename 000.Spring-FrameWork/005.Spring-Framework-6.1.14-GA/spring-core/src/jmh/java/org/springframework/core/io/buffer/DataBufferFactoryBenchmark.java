@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for encoding into and decoding from buffers allocated by the
+ * various {@link DataBufferFactory} implementations.
+ * <p>Run with the {@code gc} profiler ({@code -prof gc}) in order to compare
+ * the allocation rate of each factory.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DataBufferFactoryBenchmark {
+
+	@Benchmark
+	public void encode(FactoryState state, Blackhole blackhole) {
+		DataBuffer buffer = state.bufferFactory.allocateBuffer(state.payloadBytes.length);
+		buffer.write(state.payload, StandardCharsets.UTF_8);
+		blackhole.consume(buffer.readableByteCount());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Benchmark
+	public void decode(FactoryState state, Blackhole blackhole) {
+		List<DataBuffer> chunks = new ArrayList<>(state.chunkCount);
+		int chunkSize = state.payloadBytes.length / state.chunkCount;
+		for (int i = 0; i < state.chunkCount; i++) {
+			DataBuffer chunk = state.bufferFactory.allocateBuffer(chunkSize);
+			chunk.write(state.payloadBytes, i * chunkSize, chunkSize);
+			chunks.add(chunk);
+		}
+		DataBuffer joined = state.bufferFactory.join(chunks);
+		blackhole.consume(joined.toString(StandardCharsets.UTF_8));
+		DataBufferUtils.release(joined);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class FactoryState {
+
+		@Param({"default", "default-direct", "pooled", "pooled-direct", "netty-pooled"})
+		public String factory;
+
+		@Param({"512", "16384"})
+		public int payloadSize;
+
+		@Param("4")
+		public int chunkCount;
+
+		public DataBufferFactory bufferFactory;
+
+		public String payload;
+
+		public byte[] payloadBytes;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.bufferFactory = switch (this.factory) {
+				case "default" -> new DefaultDataBufferFactory(false);
+				case "default-direct" -> new DefaultDataBufferFactory(true);
+				case "pooled" -> new PooledDataBufferFactory(false);
+				case "pooled-direct" -> new PooledDataBufferFactory(true);
+				case "netty-pooled" -> new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+				default -> throw new IllegalStateException("Unknown factory: " + this.factory);
+			};
+			this.payload = "a".repeat(this.payloadSize);
+			this.payloadBytes = this.payload.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+}
@@ -21,10 +21,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.OpenOption;
@@ -70,6 +72,8 @@ public abstract class DataBufferUtils {
 
 	private static final int DEFAULT_CHUNK_SIZE = 1024;
 
+	private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
 
 	//---------------------------------------------------------------------
 	// Reading
@@ -237,6 +241,48 @@ public abstract class DataBufferUtils {
 		return position == 0 ? result : skipUntilByteCount(result, position);
 	}
 
+	/**
+	 * Map the given region of a file {@code Path} into memory, and expose it as
+	 * a {@code Flux} of {@code DataBuffer}s {@linkplain DataBufferFactory#wrap(ByteBuffer)
+	 * wrapping} consecutive slices of the mapping. The file content is not copied
+	 * into the data buffers, but paged in from the file system cache once the
+	 * data buffers are accessed, typically when written to a socket.
+	 * <p>The region is mapped lazily, in segments of up to 64 MB, and is clipped
+	 * to the size of the file at the time it is opened. Mapped memory is only
+	 * released once the data buffers have been garbage-collected: until then,
+	 * each segment counts against the per-process limit of mappings and, on
+	 * Windows, prevents the file from being deleted. Accessing the data buffers
+	 * after the file has been truncated raises an {@link InternalError}, if not
+	 * crashing the JVM.
+	 * This is therefore only suited for large, immutable files, with
+	 * {@link #read(Path, DataBufferFactory, int, OpenOption...)} remaining
+	 * preferable otherwise.
+	 * @param path the path to read bytes from
+	 * @param position the position within the file from which to start
+	 * @param count the maximum number of bytes to read
+	 * @param bufferFactory the factory to wrap the mapped slices with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @return a Flux of data buffers backed by the mapped file region
+	 * @since 6.2
+	 * @see FileChannel#map(FileChannel.MapMode, long, long)
+	 */
+	public static Flux<DataBuffer> readMapped(
+			Path path, long position, long count, DataBufferFactory bufferFactory, int bufferSize) {
+
+		Assert.notNull(path, "Path must not be null");
+		Assert.notNull(bufferFactory, "DataBufferFactory must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(count >= 0, "'count' must be >= 0");
+		Assert.isTrue(bufferSize > 0, "'bufferSize' must be > 0");
+
+		return Flux.using(() -> FileChannel.open(path, StandardOpenOption.READ),
+				channel -> Flux.generate(new MappedFileChannelGenerator(
+						channel, position, count, bufferFactory, bufferSize)),
+				DataBufferUtils::closeChannel);
+
+		// No doOnDiscard as wrapped buffers do not need to be released
+	}
+
 
 	//---------------------------------------------------------------------
 	// Writing
@@ -1017,6 +1063,66 @@ public abstract class DataBufferUtils {
 	}
 
 
+	private static class MappedFileChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
+
+		private final FileChannel channel;
+
+		private final DataBufferFactory dataBufferFactory;
+
+		private final int bufferSize;
+
+		private long position;
+
+		private final long count;
+
+		private long end = -1;
+
+		@Nullable
+		private MappedByteBuffer region;
+
+		private long regionPosition;
+
+		public MappedFileChannelGenerator(FileChannel channel, long position, long count,
+				DataBufferFactory dataBufferFactory, int bufferSize) {
+
+			this.channel = channel;
+			this.dataBufferFactory = dataBufferFactory;
+			this.bufferSize = bufferSize;
+			this.position = position;
+			this.count = count;
+		}
+
+		@Override
+		public void accept(SynchronousSink<DataBuffer> sink) {
+			try {
+				if (this.end == -1) {
+					// Never map beyond the end of the file, since accessing such pages fails
+					long size = this.channel.size();
+					this.end = (this.count > size - this.position ? size : this.position + this.count);
+				}
+				if (this.position >= this.end) {
+					sink.complete();
+					return;
+				}
+				MappedByteBuffer region = this.region;
+				if (region == null || this.position >= this.regionPosition + region.capacity()) {
+					long regionSize = Math.min(this.end - this.position, MAPPED_REGION_SIZE);
+					region = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, regionSize);
+					this.region = region;
+					this.regionPosition = this.position;
+				}
+				int offset = (int) (this.position - this.regionPosition);
+				int length = Math.min(this.bufferSize, region.capacity() - offset);
+				this.position += length;
+				sink.next(this.dataBufferFactory.wrap(region.slice(offset, length)));
+			}
+			catch (IOException ex) {
+				sink.error(ex);
+			}
+		}
+	}
+
+
 	private static class ReadCompletionHandler implements CompletionHandler<Integer, ReadCompletionHandler.Attachment> {
 
 		private final AsynchronousFileChannel channel;
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Implementation of the {@code PooledDataBuffer} interface, backed by a
+ * {@link ByteBuffer} obtained from a {@link PooledDataBufferFactory}.
+ * Typically constructed with {@link PooledDataBufferFactory}.
+ *
+ * <p>Buffers {@linkplain #split(int) split} from this buffer share its memory,
+ * which is returned to the pool once all of them have been released.
+ *
+ * @since 6.2
+ * @see PooledDataBufferFactory
+ */
+public final class DefaultPooledDataBuffer implements PooledDataBuffer {
+
+	private final PooledDataBufferFactory dataBufferFactory;
+
+	private final DefaultDataBuffer delegate;
+
+	@Nullable
+	private final PooledDataBufferFactory.Chunk chunk;
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+
+	DefaultPooledDataBuffer(PooledDataBufferFactory dataBufferFactory, DefaultDataBuffer delegate,
+			@Nullable PooledDataBufferFactory.Chunk chunk) {
+
+		Assert.notNull(dataBufferFactory, "PooledDataBufferFactory must not be null");
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.dataBufferFactory = dataBufferFactory;
+		this.delegate = delegate;
+		this.chunk = chunk;
+	}
+
+
+	/**
+	 * Directly exposes the native {@code ByteBuffer} that this DataBuffer uses
+	 * as its backing.
+	 * @return the wrapped byte buffer
+	 */
+	public ByteBuffer getNativeBuffer() {
+		return delegate().getNativeBuffer();
+	}
+
+	private DefaultDataBuffer delegate() {
+		if (this.refCount.get() == 0) {
+			throw new IllegalStateException("DataBuffer has already been released");
+		}
+		return this.delegate;
+	}
+
+
+	@Override
+	public PooledDataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		return delegate().indexOf(predicate, fromIndex);
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		return delegate().lastIndexOf(predicate, fromIndex);
+	}
+
+	@Override
+	public int readableByteCount() {
+		return this.delegate.readableByteCount();
+	}
+
+	@Override
+	public int writableByteCount() {
+		return this.delegate.writableByteCount();
+	}
+
+	@Override
+	public int capacity() {
+		return this.delegate.capacity();
+	}
+
+	@Override
+	@Deprecated
+	public DefaultPooledDataBuffer capacity(int capacity) {
+		delegate().capacity(capacity);
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer ensureWritable(int capacity) {
+		delegate().ensureWritable(capacity);
+		return this;
+	}
+
+	@Override
+	public int readPosition() {
+		return this.delegate.readPosition();
+	}
+
+	@Override
+	public DefaultPooledDataBuffer readPosition(int readPosition) {
+		this.delegate.readPosition(readPosition);
+		return this;
+	}
+
+	@Override
+	public int writePosition() {
+		return this.delegate.writePosition();
+	}
+
+	@Override
+	public DefaultPooledDataBuffer writePosition(int writePosition) {
+		this.delegate.writePosition(writePosition);
+		return this;
+	}
+
+	@Override
+	public byte getByte(int index) {
+		return delegate().getByte(index);
+	}
+
+	@Override
+	public byte read() {
+		return delegate().read();
+	}
+
+	@Override
+	public DefaultPooledDataBuffer read(byte[] destination) {
+		delegate().read(destination);
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer read(byte[] destination, int offset, int length) {
+		delegate().read(destination, offset, length);
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer write(byte b) {
+		delegate().write(b);
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer write(byte[] source) {
+		delegate().write(source);
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer write(byte[] source, int offset, int length) {
+		delegate().write(source, offset, length);
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer write(DataBuffer... buffers) {
+		// Copy straight into the writable area, rather than through intermediate buffers
+		DefaultDataBuffer delegate = delegate();
+		for (DataBuffer buffer : buffers) {
+			int length = buffer.readableByteCount();
+			delegate.ensureWritable(length);
+			try (ByteBufferIterator iterator = delegate.writableByteBuffers()) {
+				buffer.toByteBuffer(buffer.readPosition(), iterator.next(), 0, length);
+			}
+			delegate.writePosition(delegate.writePosition() + length);
+		}
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer write(ByteBuffer... buffers) {
+		delegate().write(buffers);
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer write(CharSequence charSequence, Charset charset) {
+		delegate().write(charSequence, charset);
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The returned buffer shares the memory of this buffer without retaining
+	 * it, and must therefore not be used once this buffer has been released.
+	 */
+	@Override
+	@Deprecated
+	public DefaultPooledDataBuffer slice(int index, int length) {
+		return new DefaultPooledDataBuffer(this.dataBufferFactory, delegate().slice(index, length), null);
+	}
+
+	@Override
+	@Deprecated
+	public DefaultPooledDataBuffer retainedSlice(int index, int length) {
+		DefaultDataBuffer slice = delegate().slice(index, length);
+		if (this.chunk != null) {
+			this.chunk.retain();
+		}
+		return new DefaultPooledDataBuffer(this.dataBufferFactory, slice, this.chunk);
+	}
+
+	@Override
+	public DefaultPooledDataBuffer split(int index) {
+		DefaultDataBuffer split = (DefaultDataBuffer) delegate().split(index);
+		if (this.chunk != null) {
+			this.chunk.retain();
+		}
+		return new DefaultPooledDataBuffer(this.dataBufferFactory, split, this.chunk);
+	}
+
+	@Override
+	@Deprecated
+	public ByteBuffer asByteBuffer() {
+		return delegate().asByteBuffer();
+	}
+
+	@Override
+	@Deprecated
+	public ByteBuffer asByteBuffer(int index, int length) {
+		return delegate().asByteBuffer(index, length);
+	}
+
+	@Override
+	@Deprecated
+	public ByteBuffer toByteBuffer(int index, int length) {
+		return delegate().toByteBuffer(index, length);
+	}
+
+	@Override
+	public void toByteBuffer(int srcPos, ByteBuffer dest, int destPos, int length) {
+		delegate().toByteBuffer(srcPos, dest, destPos, length);
+	}
+
+	@Override
+	public ByteBufferIterator readableByteBuffers() {
+		return delegate().readableByteBuffers();
+	}
+
+	@Override
+	public ByteBufferIterator writableByteBuffers() {
+		return delegate().writableByteBuffers();
+	}
+
+	@Override
+	public String toString(int index, int length, Charset charset) {
+		return delegate().toString(index, length, charset);
+	}
+
+	// PooledDataBuffer
+
+	@Override
+	public boolean isAllocated() {
+		return this.refCount.get() > 0;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer retain() {
+		this.refCount.getAndUpdate(c -> {
+			if (c != 0) {
+				return c + 1;
+			}
+			else {
+				throw new IllegalStateException("DataBuffer has already been released");
+			}
+		});
+		if (this.chunk != null) {
+			this.chunk.retain();
+		}
+		return this;
+	}
+
+	@Override
+	public DefaultPooledDataBuffer touch(Object hint) {
+		if (this.chunk != null) {
+			this.chunk.touch(hint);
+		}
+		return this;
+	}
+
+	@Override
+	public boolean release() {
+		int result = this.refCount.updateAndGet(c -> {
+			if (c != 0) {
+				return c - 1;
+			}
+			else {
+				throw new IllegalStateException("DataBuffer has already been released");
+			}
+		});
+		if (this.chunk != null) {
+			return this.chunk.release();
+		}
+		return (result == 0);
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		return (this == other || (other instanceof DefaultPooledDataBuffer that &&
+				this.delegate.equals(that.delegate)));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.delegate.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DefaultPooledDataBuffer (r: %d, w: %d, c: %d)",
+				readPosition(), writePosition(), capacity());
+	}
+
+}
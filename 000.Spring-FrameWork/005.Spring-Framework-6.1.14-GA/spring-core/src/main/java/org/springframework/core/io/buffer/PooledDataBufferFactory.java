@@ -0,0 +1,562 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Implementation of the {@code DataBufferFactory} interface that recycles the
+ * {@link ByteBuffer ByteBuffers} backing its buffers, for runtimes that do not
+ * come with a pooled allocator of their own (unlike Netty).
+ *
+ * <p>Buffers are allocated in power-of-two size classes, from 256 bytes up to
+ * a configurable maximum pooled capacity. Each size class has a bounded, shared
+ * arena of recycled buffers, fronted by a small per-thread cache so that the
+ * common allocate-release cycle on the same thread does not contend on the
+ * arena. Each thread cache is bounded by a number of buffers per size class as
+ * well as by a total size. Larger buffers are allocated as-is and left to the
+ * garbage collector.
+ *
+ * <p>The buffers created by this factory are {@link PooledDataBuffer} instances:
+ * they must be {@linkplain DataBufferUtils#release(DataBuffer) released} once
+ * consumed in order to be returned to the pool, and they must not be used after
+ * that. Buffers that are never released are not returned to the pool, but are
+ * reclaimed by the garbage collector. {@linkplain #setLeakDetection Leak detection}
+ * may be enabled to log such buffers, along with the last hint that has been
+ * associated with them through {@link TouchableDataBuffer#touch(Object)}.
+ *
+ * <p>The capacity of an allocated buffer matches the requested capacity.
+ * Growing a buffer beyond its initial capacity allocates new, unpooled memory.
+ *
+ * @since 6.2
+ * @see DefaultPooledDataBuffer
+ * @see DefaultDataBufferFactory
+ */
+public class PooledDataBufferFactory implements DataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default maximum number of buffers per size class in the shared arena.
+	 */
+	public static final int DEFAULT_ARENA_CAPACITY = 128;
+
+	/**
+	 * The default maximum number of buffers per size class in each thread cache.
+	 */
+	public static final int DEFAULT_THREAD_CACHE_CAPACITY = 8;
+
+	/**
+	 * The default maximum total capacity of the buffers in each thread cache.
+	 */
+	public static final int DEFAULT_THREAD_CACHE_SIZE = 128 * 1024;
+
+	private static final int MIN_POOLED_CAPACITY = 256;
+
+	private static final int MIN_POOLED_CAPACITY_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_CAPACITY);
+
+	private static final Log logger = LogFactory.getLog(PooledDataBufferFactory.class);
+
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	private final DefaultDataBufferFactory unpooledFactory;
+
+	private final Arena[] arenas;
+
+	private int threadCacheCapacity = DEFAULT_THREAD_CACHE_CAPACITY;
+
+	private int threadCacheSize = DEFAULT_THREAD_CACHE_SIZE;
+
+	@Nullable
+	private ThreadLocal<ThreadCache> threadCache;
+
+	/** The caches of all threads, for {@link #trim()}. */
+	private final Map<ThreadCache, Boolean> threadCaches = new WeakHashMap<>();
+
+	private boolean leakDetection;
+
+	private final LongAdder allocations = new LongAdder();
+
+	private final LongAdder reuses = new LongAdder();
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final LongAdder leaks = new LongAdder();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings,
+	 * pooling heap buffers.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_ARENA_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled, as well as the size of the pool.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param maxPooledCapacity the maximum capacity of pooled buffers, as a power
+	 * of two of at least 256 bytes
+	 * @param arenaCapacity the maximum number of buffers per size class in the
+	 * shared arena
+	 */
+	public PooledDataBufferFactory(boolean preferDirect, int maxPooledCapacity, int arenaCapacity) {
+		Assert.isTrue(maxPooledCapacity >= MIN_POOLED_CAPACITY && Integer.bitCount(maxPooledCapacity) == 1,
+				"'maxPooledCapacity' must be a power of two of at least " + MIN_POOLED_CAPACITY);
+		Assert.isTrue(arenaCapacity > 0, "'arenaCapacity' must be larger than 0");
+		this.preferDirect = preferDirect;
+		this.maxPooledCapacity = maxPooledCapacity;
+		this.unpooledFactory = new DefaultDataBufferFactory(preferDirect);
+		this.arenas = new Arena[sizeClassIndex(maxPooledCapacity) + 1];
+		for (int i = 0; i < this.arenas.length; i++) {
+			this.arenas[i] = new Arena(MIN_POOLED_CAPACITY << i, arenaCapacity);
+		}
+		initThreadCache();
+	}
+
+
+	/**
+	 * Set the maximum number of buffers per size class that each thread keeps
+	 * for its own allocations, before returning them to the shared arena.
+	 * <p>Default is {@value #DEFAULT_THREAD_CACHE_CAPACITY}. Set this to 0 in order
+	 * to only use the shared arena, for example when running on virtual threads.
+	 * <p>This is meant to be configured before the factory is used.
+	 * @see #setThreadCacheSize
+	 */
+	public void setThreadCacheCapacity(int threadCacheCapacity) {
+		Assert.isTrue(threadCacheCapacity >= 0, "'threadCacheCapacity' must not be negative");
+		this.threadCacheCapacity = threadCacheCapacity;
+		initThreadCache();
+	}
+
+	/**
+	 * Set the maximum total capacity in bytes of the buffers that each thread
+	 * keeps for its own allocations, across all size classes.
+	 * <p>Default is {@value #DEFAULT_THREAD_CACHE_SIZE}. Set this to 0 in order
+	 * to only use the shared arena.
+	 * <p>This is meant to be configured before the factory is used.
+	 * @see #setThreadCacheCapacity
+	 */
+	public void setThreadCacheSize(int threadCacheSize) {
+		Assert.isTrue(threadCacheSize >= 0, "'threadCacheSize' must not be negative");
+		this.threadCacheSize = threadCacheSize;
+		initThreadCache();
+	}
+
+	private void initThreadCache() {
+		int sizeClassCount = this.arenas.length;
+		int capacity = this.threadCacheCapacity;
+		int size = this.threadCacheSize;
+		this.threadCache = (capacity > 0 && size >= MIN_POOLED_CAPACITY ?
+				ThreadLocal.withInitial(() -> registerThreadCache(new ThreadCache(sizeClassCount, capacity, size))) :
+				null);
+	}
+
+	private ThreadCache registerThreadCache(ThreadCache threadCache) {
+		synchronized (this.threadCaches) {
+			this.threadCaches.put(threadCache, Boolean.TRUE);
+		}
+		return threadCache;
+	}
+
+	/**
+	 * Specify whether pooled buffers that get garbage-collected without having
+	 * been released should be reported, logging a warning with the last hint
+	 * associated with the buffer.
+	 * <p>Default is {@code false}. Leak detection tracks every pooled buffer
+	 * and is therefore recommended for development and testing only.
+	 * <p>This is meant to be configured before the factory is used.
+	 * @see TouchableDataBuffer#touch(Object)
+	 * @see #getLeakCount()
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	/**
+	 * Return whether leak detection is enabled.
+	 */
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+	/**
+	 * Return the maximum capacity of pooled buffers.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+
+	@Override
+	@Deprecated
+	public DefaultPooledDataBuffer allocateBuffer() {
+		return allocateBuffer(DefaultDataBufferFactory.DEFAULT_INITIAL_CAPACITY);
+	}
+
+	@Override
+	public DefaultPooledDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' must not be negative");
+		if (initialCapacity > this.maxPooledCapacity) {
+			this.allocations.increment();
+			return new DefaultPooledDataBuffer(this, this.unpooledFactory.allocateBuffer(initialCapacity), null);
+		}
+		int sizeClass = sizeClassIndex(initialCapacity);
+		ByteBuffer byteBuffer = acquire(sizeClass);
+		byteBuffer.clear().limit(initialCapacity);
+		Chunk chunk = new Chunk(this, byteBuffer, sizeClass);
+		DefaultDataBuffer delegate = DefaultDataBuffer.fromEmptyByteBuffer(this.unpooledFactory, byteBuffer);
+		return new DefaultPooledDataBuffer(this, delegate, chunk);
+	}
+
+	@Override
+	public DefaultPooledDataBuffer wrap(ByteBuffer byteBuffer) {
+		return new DefaultPooledDataBuffer(this, this.unpooledFactory.wrap(byteBuffer), null);
+	}
+
+	@Override
+	public DefaultPooledDataBuffer wrap(byte[] bytes) {
+		return new DefaultPooledDataBuffer(this, this.unpooledFactory.wrap(bytes), null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation creates a single {@link DefaultPooledDataBuffer}
+	 * to contain the data in {@code dataBuffers}.
+	 */
+	@Override
+	public DefaultPooledDataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "DataBuffer List must not be empty");
+		int capacity = 0;
+		for (DataBuffer dataBuffer : dataBuffers) {
+			capacity += dataBuffer.readableByteCount();
+		}
+		DefaultPooledDataBuffer result = allocateBuffer(capacity);
+		for (DataBuffer dataBuffer : dataBuffers) {
+			result.write(dataBuffer);
+			DataBufferUtils.release(dataBuffer);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isDirect() {
+		return this.preferDirect;
+	}
+
+
+	/**
+	 * Return the number of buffers for which new memory has been allocated.
+	 */
+	public long getAllocationCount() {
+		return this.allocations.sum();
+	}
+
+	/**
+	 * Return the number of buffers that have been served from the pool.
+	 */
+	public long getReuseCount() {
+		return this.reuses.sum();
+	}
+
+	/**
+	 * Return the number of pooled buffers that have been allocated but not
+	 * released yet.
+	 */
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	/**
+	 * Return the number of pooled buffers that have been garbage-collected
+	 * without having been released, if {@linkplain #setLeakDetection leak detection}
+	 * is enabled.
+	 */
+	public long getLeakCount() {
+		return this.leaks.sum();
+	}
+
+	/**
+	 * Return the number of buffers currently held in the shared arena.
+	 */
+	public int getArenaSize() {
+		int size = 0;
+		for (Arena arena : this.arenas) {
+			size += arena.buffers.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Release all buffers currently held in the shared arena, as well as in the
+	 * caches of all threads.
+	 */
+	public void trim() {
+		List<ThreadCache> threadCaches;
+		synchronized (this.threadCaches) {
+			threadCaches = new ArrayList<>(this.threadCaches.keySet());
+		}
+		for (ThreadCache threadCache : threadCaches) {
+			threadCache.clear();
+		}
+		for (Arena arena : this.arenas) {
+			arena.buffers.clear();
+		}
+	}
+
+
+	private ByteBuffer acquire(int sizeClass) {
+		ThreadLocal<ThreadCache> threadCache = this.threadCache;
+		ByteBuffer byteBuffer = (threadCache != null ? threadCache.get().poll(sizeClass) : null);
+		if (byteBuffer == null) {
+			byteBuffer = this.arenas[sizeClass].buffers.poll();
+		}
+		if (byteBuffer != null) {
+			this.reuses.increment();
+			return byteBuffer;
+		}
+		this.allocations.increment();
+		int capacity = this.arenas[sizeClass].bufferCapacity;
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private void recycle(ByteBuffer byteBuffer, int sizeClass) {
+		this.activeCount.decrementAndGet();
+		ThreadLocal<ThreadCache> threadCache = this.threadCache;
+		if (threadCache == null || !threadCache.get().offer(byteBuffer, sizeClass)) {
+			this.arenas[sizeClass].buffers.offer(byteBuffer);
+		}
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)) - MIN_POOLED_CAPACITY_SHIFT;
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	/**
+	 * Pooled memory shared by a {@link DefaultPooledDataBuffer} and the buffers
+	 * split from it, returned to the pool once all of them have been released.
+	 */
+	static final class Chunk {
+
+		private final PooledDataBufferFactory factory;
+
+		private final ByteBuffer byteBuffer;
+
+		private final int sizeClass;
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		@Nullable
+		private final LeakTracker leakTracker;
+
+		Chunk(PooledDataBufferFactory factory, ByteBuffer byteBuffer, int sizeClass) {
+			this.factory = factory;
+			this.byteBuffer = byteBuffer;
+			this.sizeClass = sizeClass;
+			factory.activeCount.incrementAndGet();
+			if (factory.leakDetection) {
+				this.leakTracker = new LeakTracker(factory.leaks, byteBuffer.capacity());
+				this.leakTracker.cleanable = LeakTracker.cleaner.register(this, this.leakTracker);
+			}
+			else {
+				this.leakTracker = null;
+			}
+		}
+
+		void retain() {
+			this.refCount.incrementAndGet();
+		}
+
+		boolean release() {
+			if (this.refCount.decrementAndGet() != 0) {
+				return false;
+			}
+			if (this.leakTracker != null) {
+				this.leakTracker.released = true;
+				Cleaner.Cleanable cleanable = this.leakTracker.cleanable;
+				if (cleanable != null) {
+					cleanable.clean();
+				}
+			}
+			this.factory.recycle(this.byteBuffer, this.sizeClass);
+			return true;
+		}
+
+		void touch(Object hint) {
+			if (this.leakTracker != null) {
+				this.leakTracker.hint = hint;
+			}
+		}
+	}
+
+
+	/**
+	 * Bounded arena of recycled buffers of a given size class.
+	 */
+	private static final class Arena {
+
+		final int bufferCapacity;
+
+		final ArrayBlockingQueue<ByteBuffer> buffers;
+
+		Arena(int bufferCapacity, int capacity) {
+			this.bufferCapacity = bufferCapacity;
+			this.buffers = new ArrayBlockingQueue<>(capacity);
+		}
+	}
+
+
+	/**
+	 * Per-thread stacks of recycled buffers, one per size class, bounded by a
+	 * total size. Synchronized for {@link #trim()} from any thread, which keeps
+	 * the monitor uncontended otherwise.
+	 */
+	private static final class ThreadCache {
+
+		private final ByteBuffer[][] buffers;
+
+		private final int[] counts;
+
+		private final int maxSize;
+
+		private int size;
+
+		ThreadCache(int sizeClassCount, int capacity, int maxSize) {
+			this.buffers = new ByteBuffer[sizeClassCount][capacity];
+			this.counts = new int[sizeClassCount];
+			this.maxSize = maxSize;
+		}
+
+		@Nullable
+		synchronized ByteBuffer poll(int sizeClass) {
+			int count = this.counts[sizeClass];
+			if (count == 0) {
+				return null;
+			}
+			ByteBuffer[] stack = this.buffers[sizeClass];
+			ByteBuffer byteBuffer = stack[--count];
+			stack[count] = null;
+			this.counts[sizeClass] = count;
+			this.size -= byteBuffer.capacity();
+			return byteBuffer;
+		}
+
+		synchronized boolean offer(ByteBuffer byteBuffer, int sizeClass) {
+			int count = this.counts[sizeClass];
+			ByteBuffer[] stack = this.buffers[sizeClass];
+			if (count == stack.length || this.size + byteBuffer.capacity() > this.maxSize) {
+				return false;
+			}
+			stack[count] = byteBuffer;
+			this.counts[sizeClass] = count + 1;
+			this.size += byteBuffer.capacity();
+			return true;
+		}
+
+		synchronized void clear() {
+			for (int i = 0; i < this.buffers.length; i++) {
+				Arrays.fill(this.buffers[i], 0, this.counts[i], null);
+				this.counts[i] = 0;
+			}
+			this.size = 0;
+		}
+	}
+
+
+	/**
+	 * Cleaning action for a tracked {@link Chunk}, reporting chunks that have
+	 * become unreachable without having been released.
+	 */
+	private static final class LeakTracker implements Runnable {
+
+		static final Cleaner cleaner = Cleaner.create();
+
+		private final LongAdder leaks;
+
+		private final int capacity;
+
+		volatile boolean released;
+
+		@Nullable
+		volatile Object hint;
+
+		@Nullable
+		volatile Cleaner.Cleanable cleanable;
+
+		LeakTracker(LongAdder leaks, int capacity) {
+			this.leaks = leaks;
+			this.capacity = capacity;
+		}
+
+		@Override
+		public void run() {
+			if (!this.released) {
+				this.leaks.increment();
+				if (logger.isWarnEnabled()) {
+					logger.warn("Pooled DataBuffer of capacity " + this.capacity +
+							" was garbage-collected without having been released" +
+							(this.hint != null ? ", last hint: " + this.hint : ""));
+				}
+			}
+		}
+	}
+
+}
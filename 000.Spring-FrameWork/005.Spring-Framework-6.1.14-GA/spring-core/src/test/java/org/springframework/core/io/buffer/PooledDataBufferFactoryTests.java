@@ -0,0 +1,167 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PooledDataBufferFactory}.
+ */
+class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory factory = new PooledDataBufferFactory(false, 1024, 2);
+
+
+	@Test
+	void reusesReleasedBuffers() {
+		DefaultPooledDataBuffer buffer = this.factory.allocateBuffer(100);
+		assertThat(buffer.capacity()).isEqualTo(100);
+		buffer.write("abc", StandardCharsets.UTF_8);
+		assertThat(buffer.release()).isTrue();
+
+		DefaultPooledDataBuffer reused = this.factory.allocateBuffer(200);
+		assertThat(reused.capacity()).isEqualTo(200);
+		assertThat(reused.readableByteCount()).isZero();
+		assertThat(this.factory.getAllocationCount()).isEqualTo(1);
+		assertThat(this.factory.getReuseCount()).isEqualTo(1);
+		assertThat(this.factory.getActiveCount()).isEqualTo(1);
+
+		reused.release();
+		assertThat(this.factory.getActiveCount()).isZero();
+	}
+
+	@Test
+	void separatesSizeClasses() {
+		this.factory.allocateBuffer(256).release();
+		DefaultPooledDataBuffer buffer = this.factory.allocateBuffer(257);
+		assertThat(this.factory.getAllocationCount()).isEqualTo(2);
+		assertThat(this.factory.getReuseCount()).isZero();
+		buffer.release();
+	}
+
+	@Test
+	void doesNotPoolLargeBuffers() {
+		DefaultPooledDataBuffer buffer = this.factory.allocateBuffer(2048);
+		assertThat(buffer.capacity()).isEqualTo(2048);
+		assertThat(this.factory.getActiveCount()).isZero();
+		assertThat(buffer.release()).isTrue();
+		this.factory.allocateBuffer(2048).release();
+		assertThat(this.factory.getAllocationCount()).isEqualTo(2);
+		assertThat(this.factory.getReuseCount()).isZero();
+	}
+
+	@Test
+	void splitBuffersShareMemoryUntilReleased() {
+		DefaultPooledDataBuffer buffer = this.factory.allocateBuffer(10);
+		buffer.write("abcdef", StandardCharsets.UTF_8);
+		DefaultPooledDataBuffer split = buffer.split(3);
+		assertThat(split.toString(StandardCharsets.UTF_8)).isEqualTo("abc");
+		assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("def");
+
+		assertThat(buffer.release()).isFalse();
+		assertThat(buffer.isAllocated()).isFalse();
+		assertThat(split.isAllocated()).isTrue();
+		assertThat(this.factory.getActiveCount()).isEqualTo(1);
+
+		assertThat(split.release()).isTrue();
+		assertThat(this.factory.getActiveCount()).isZero();
+	}
+
+	@Test
+	void rejectsUseAfterRelease() {
+		DefaultPooledDataBuffer buffer = this.factory.allocateBuffer(10);
+		buffer.release();
+		assertThatIllegalStateException().isThrownBy(() -> buffer.write((byte) 'a'));
+		assertThatIllegalStateException().isThrownBy(buffer::retain);
+		assertThatIllegalStateException().isThrownBy(buffer::release);
+	}
+
+	@Test
+	void boundsSharedArena() {
+		this.factory.setThreadCacheCapacity(0);
+		List<DefaultPooledDataBuffer> buffers = List.of(this.factory.allocateBuffer(10),
+				this.factory.allocateBuffer(10), this.factory.allocateBuffer(10));
+		buffers.forEach(DataBufferUtils::release);
+		assertThat(this.factory.getArenaSize()).isEqualTo(2);
+
+		this.factory.trim();
+		assertThat(this.factory.getArenaSize()).isZero();
+	}
+
+	@Test
+	void boundsThreadCacheSize() {
+		this.factory.setThreadCacheSize(512);
+		List<DefaultPooledDataBuffer> buffers = List.of(this.factory.allocateBuffer(10),
+				this.factory.allocateBuffer(10), this.factory.allocateBuffer(10));
+		buffers.forEach(DataBufferUtils::release);
+		assertThat(this.factory.getArenaSize()).isEqualTo(1);
+	}
+
+	@Test
+	void trimReleasesCachesOfOtherThreads() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> this.factory.allocateBuffer(10).release()).get(5, TimeUnit.SECONDS);
+			assertThat(this.factory.getArenaSize()).isZero();
+
+			this.factory.trim();
+			executor.submit(() -> this.factory.allocateBuffer(10).release()).get(5, TimeUnit.SECONDS);
+			assertThat(this.factory.getAllocationCount()).isEqualTo(2);
+			assertThat(this.factory.getReuseCount()).isZero();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void joinsIntoPooledBuffer() {
+		DataBuffer first = this.factory.wrap("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer second = this.factory.allocateBuffer(3).write("bar", StandardCharsets.UTF_8);
+		DefaultPooledDataBuffer result = this.factory.join(List.of(first, second));
+		assertThat(result.toString(StandardCharsets.UTF_8)).isEqualTo("foobar");
+		assertThat(this.factory.getActiveCount()).isEqualTo(1);
+		result.release();
+		assertThat(this.factory.getActiveCount()).isZero();
+	}
+
+	@Test
+	void touchWithLeakDetection() {
+		this.factory.setLeakDetection(true);
+		DefaultPooledDataBuffer buffer = this.factory.allocateBuffer(10);
+		assertThat(buffer.touch("hint")).isSameAs(buffer);
+		assertThat(buffer.release()).isTrue();
+		assertThat(this.factory.getLeakCount()).isZero();
+	}
+
+	@Test
+	void rejectsInvalidMaxPooledCapacity() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PooledDataBufferFactory(false, 1000, 2));
+		assertThatIllegalArgumentException().isThrownBy(() -> new PooledDataBufferFactory(false, 128, 2));
+	}
+
+}
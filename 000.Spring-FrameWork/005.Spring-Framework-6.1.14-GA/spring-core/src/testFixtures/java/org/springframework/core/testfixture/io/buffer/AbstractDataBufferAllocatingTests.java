@@ -50,6 +50,7 @@ import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.io.buffer.Netty5DataBufferFactory;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -166,6 +167,10 @@ public abstract class AbstractDataBufferAllocatingTests {
 				}
 			}
 		}
+		else if (this.bufferFactory instanceof PooledDataBufferFactory pooledFactory) {
+			int total = pooledFactory.getActiveCount();
+			assertThat(total).as("DataBuffer Leak: " + total + " unreleased allocations").isEqualTo(0);
+		}
 	}
 
 	private static long getAllocations(List<PoolArenaMetric> metrics) {
@@ -226,7 +231,12 @@ public abstract class AbstractDataBufferAllocatingTests {
 			arguments(named("DefaultDataBufferFactory - preferDirect = true",
 					new DefaultDataBufferFactory(true))),
 			arguments(named("DefaultDataBufferFactory - preferDirect = false",
-					new DefaultDataBufferFactory(false)))
+					new DefaultDataBufferFactory(false))),
+			// Pooled
+			arguments(named("PooledDataBufferFactory - preferDirect = true",
+					new PooledDataBufferFactory(true))),
+			arguments(named("PooledDataBufferFactory - preferDirect = false",
+					new PooledDataBufferFactory(false)))
 		);
 	}
 
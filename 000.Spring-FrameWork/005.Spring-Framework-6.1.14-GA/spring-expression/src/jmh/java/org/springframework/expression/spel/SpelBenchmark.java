@@ -22,12 +22,15 @@ import java.util.Map;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
@@ -103,4 +106,43 @@ public class SpelBenchmark {
 		return data.expression.getValue(data.context);
 	}
 
+	@State(Scope.Benchmark)
+	public static class CompilationBenchmarkData {
+
+		@Param({"selection", "projection", "elvis", "safeNavigation", "mapIndexer", "methodReference"})
+		public String construct;
+
+		@Param({"interpreted", "compiled"})
+		public String mode;
+
+		public EvaluationContext context;
+
+		public Expression expression;
+
+		@Setup
+		public void setup() {
+			this.context = TestScenarioCreator.getTestEvaluationContext();
+			this.context.setVariable("key", 5);
+			String expressionString = switch (this.construct) {
+				case "selection" -> "listOfNumbersUpToTen.?[#this > 5]";
+				case "projection" -> "placesLivedList.![city]";
+				case "elvis" -> "placeOfBirth.city ?: 'unknown'";
+				case "safeNavigation" -> "placeOfBirth?.city?.length()";
+				case "mapIndexer" -> "mapOfNumbersUpToTen[#key]";
+				case "methodReference" -> "sayHelloTo(name)";
+				default -> throw new IllegalStateException("Unknown construct: " + this.construct);
+			};
+			this.expression = new SpelExpressionParser().parseExpression(expressionString);
+			this.expression.getValue(this.context);
+			if ("compiled".equals(this.mode) && !((SpelExpression) this.expression).compileExpression()) {
+				throw new IllegalStateException("Expression not compilable: " + expressionString);
+			}
+		}
+	}
+
+	@Benchmark
+	public Object compilableConstruct(CompilationBenchmarkData data) {
+		return data.expression.getValue(data.context);
+	}
+
 }
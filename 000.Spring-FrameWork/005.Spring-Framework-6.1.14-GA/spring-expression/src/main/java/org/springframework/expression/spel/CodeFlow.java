@@ -85,9 +85,18 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The variable holding the target for the code currently being generated:
+	 * initially the target passed to the compiled expression method, or the
+	 * current element while generating code for a collection selection or
+	 * projection.
+	 */
+	private int targetVariableId = 1;
 
 
 	/**
@@ -105,13 +114,39 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context), unless a different
+	 * {@linkplain #setTargetVariableId target variable} is in use)
 	 * @param mv the method visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
+		mv.visitVarInsn(ALOAD, this.targetVariableId);
+	}
+
+	/**
+	 * Push the byte code to load the root object (i.e. what was passed as the first
+	 * argument to CompiledExpression.getValue(target, context)), independent of
+	 * the current {@linkplain #setTargetVariableId target variable}.
+	 * @param mv the method visitor into which the load instruction should be inserted
+	 * @since 6.2
+	 */
+	public void loadRootObject(MethodVisitor mv) {
 		mv.visitVarInsn(ALOAD, 1);
 	}
 
+	/**
+	 * Use the given local variable as the target for subsequently generated code,
+	 * for example for the current element of a collection selection or projection.
+	 * @param variableId the id of the variable, as obtained from {@link #nextFreeVariableId()}
+	 * @return the id of the previous target variable, to be restored afterwards
+	 * @since 6.2
+	 * @see #loadTarget(MethodVisitor)
+	 */
+	public int setTargetVariableId(int variableId) {
+		int previousVariableId = this.targetVariableId;
+		this.targetVariableId = variableId;
+		return previousVariableId;
+	}
+
 	/**
 	 * Push the bytecode to load the EvaluationContext (the second parameter passed to
 	 * the compiled expression method).
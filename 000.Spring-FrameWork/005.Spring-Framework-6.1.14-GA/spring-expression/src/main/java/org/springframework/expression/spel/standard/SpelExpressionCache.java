@@ -0,0 +1,277 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * Bounded cache of parsed SpEL expressions, keeping the least recently used
+ * expressions up to a given capacity and promoting frequently used expressions
+ * to their compiled form.
+ *
+ * <p>Expressions are parsed with the {@link SpelCompilerMode} of the given
+ * parser configuration, by default as specified through the
+ * {@code spring.expression.compiler.mode} property. Unless compilation is
+ * {@link SpelCompilerMode#OFF off}, an expression gets compiled once it has been
+ * retrieved from the cache a given number of times (see {@link #setCompileThreshold}).
+ * With {@link SpelCompilerMode#MIXED}, a compiled expression falls back to
+ * interpretation whenever the compiled form fails for a given evaluation.
+ *
+ * <p>Cache entries may optionally be qualified by a scope, for example the
+ * annotated element on which an expression is declared, in order to not share
+ * the compiled form of the same expression text across differently typed
+ * evaluation contexts. Note that cached expressions and scopes are strongly
+ * referenced until evicted or {@linkplain #clear() cleared}.
+ *
+ * @since 6.2
+ * @see SpelExpression#compileExpression()
+ */
+public class SpelExpressionCache {
+
+	/**
+	 * The default maximum number of cached expressions.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The default number of retrievals after which an expression gets compiled.
+	 */
+	public static final int DEFAULT_COMPILE_THRESHOLD = 20;
+
+
+	private final SpelExpressionParser parser;
+
+	private final ConcurrentLruCache<CacheKey, CachedExpression> cache;
+
+	private final boolean compilationEnabled;
+
+	private volatile int compileThreshold = DEFAULT_COMPILE_THRESHOLD;
+
+	private final LongAdder lookups = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder compilations = new LongAdder();
+
+	private final LongAdder compilationFailures = new LongAdder();
+
+
+	/**
+	 * Create a new {@code SpelExpressionCache} with the default capacity
+	 * and a default parser configuration.
+	 */
+	public SpelExpressionCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code SpelExpressionCache} with the given capacity
+	 * and a default parser configuration.
+	 * @param capacity the maximum number of cached expressions
+	 */
+	public SpelExpressionCache(int capacity) {
+		this(capacity, new SpelParserConfiguration());
+	}
+
+	/**
+	 * Create a new {@code SpelExpressionCache} with the given capacity
+	 * and parser configuration.
+	 * <p>Compilation of frequently used expressions requires a compiler mode
+	 * other than {@link SpelCompilerMode#OFF} in the given configuration.
+	 * @param capacity the maximum number of cached expressions
+	 * @param configuration the parser configuration to use
+	 */
+	public SpelExpressionCache(int capacity, SpelParserConfiguration configuration) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		Assert.notNull(configuration, "SpelParserConfiguration must not be null");
+		this.parser = new SpelExpressionParser(configuration);
+		this.cache = new ConcurrentLruCache<>(capacity, this::parse);
+		this.compilationEnabled = (configuration.getCompilerMode() != SpelCompilerMode.OFF);
+	}
+
+
+	/**
+	 * Specify the number of retrievals of a given expression after which
+	 * it gets compiled.
+	 * <p>Default is {@value #DEFAULT_COMPILE_THRESHOLD}. Only applicable if the
+	 * parser configuration enables compilation. A value of 0 or lower disables
+	 * the promotion of expressions by this cache, leaving compilation to the
+	 * regular {@link SpelCompilerMode} semantics of each expression.
+	 */
+	public void setCompileThreshold(int compileThreshold) {
+		this.compileThreshold = compileThreshold;
+	}
+
+	/**
+	 * Return the number of retrievals after which an expression gets compiled.
+	 */
+	public int getCompileThreshold() {
+		return this.compileThreshold;
+	}
+
+	/**
+	 * Return the {@link SpelExpressionParser} used for parsing cached expressions.
+	 */
+	public SpelExpressionParser getParser() {
+		return this.parser;
+	}
+
+
+	/**
+	 * Return the cached {@link Expression} for the given expression string,
+	 * parsing it if necessary.
+	 * @param expressionString the raw expression string
+	 * @return the parsed (and potentially compiled) expression
+	 * @throws ParseException if parsing of a new expression failed
+	 */
+	public Expression getExpression(String expressionString) throws ParseException {
+		return getExpression(null, expressionString, null);
+	}
+
+	/**
+	 * Return the cached {@link Expression} for the given expression string
+	 * and parser context, parsing it if necessary.
+	 * @param expressionString the raw expression string
+	 * @param context a context for influencing the expression parsing routine
+	 * (or {@code null} for a standard expression)
+	 * @return the parsed (and potentially compiled) expression
+	 * @throws ParseException if parsing of a new expression failed
+	 */
+	public Expression getExpression(String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
+		return getExpression(null, expressionString, context);
+	}
+
+	/**
+	 * Return the cached {@link Expression} for the given scope, expression string
+	 * and parser context, parsing it if necessary.
+	 * @param scope an object qualifying the cache entry, for example the element
+	 * on which the expression is declared (or {@code null} for none)
+	 * @param expressionString the raw expression string
+	 * @param context a context for influencing the expression parsing routine
+	 * (or {@code null} for a standard expression)
+	 * @return the parsed (and potentially compiled) expression
+	 * @throws ParseException if parsing of a new expression failed
+	 */
+	public Expression getExpression(@Nullable Object scope, String expressionString,
+			@Nullable ParserContext context) throws ParseException {
+
+		Assert.notNull(expressionString, "Expression string must not be null");
+		this.lookups.increment();
+		CachedExpression cachedExpression = this.cache.get(context != null && context.isTemplate() ?
+				new CacheKey(scope, expressionString, context.getExpressionPrefix(), context.getExpressionSuffix()) :
+				new CacheKey(scope, expressionString, null, null));
+		int threshold = this.compileThreshold;
+		if (this.compilationEnabled && threshold > 0 &&
+				cachedExpression.expression instanceof SpelExpression spelExpression &&
+				cachedExpression.retrievals.incrementAndGet() == threshold) {
+			if (spelExpression.compileExpression()) {
+				this.compilations.increment();
+			}
+			else {
+				this.compilationFailures.increment();
+			}
+		}
+		return cachedExpression.expression;
+	}
+
+	/**
+	 * Remove all expressions from this cache.
+	 */
+	public void clear() {
+		this.cache.clear();
+	}
+
+	/**
+	 * Return the current number of cached expressions.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the number of retrievals served by an already cached expression.
+	 */
+	public long getHitCount() {
+		return this.lookups.sum() - this.misses.sum();
+	}
+
+	/**
+	 * Return the number of retrievals that required parsing a new expression.
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Return the number of expressions compiled by this cache.
+	 */
+	public long getCompilationCount() {
+		return this.compilations.sum();
+	}
+
+	/**
+	 * Return the number of expressions that this cache attempted to compile
+	 * but that turned out not to be compilable, remaining interpreted.
+	 */
+	public long getCompilationFailureCount() {
+		return this.compilationFailures.sum();
+	}
+
+	private CachedExpression parse(CacheKey key) {
+		this.misses.increment();
+		Expression expression = (key.templatePrefix != null && key.templateSuffix != null ?
+				this.parser.parseExpression(key.expressionString,
+						new TemplateParserContext(key.templatePrefix, key.templateSuffix)) :
+				this.parser.parseExpression(key.expressionString));
+		return new CachedExpression(expression);
+	}
+
+
+	/**
+	 * Key for a cached expression, capturing the effective settings of
+	 * a template parser context rather than the context instance itself.
+	 */
+	private record CacheKey(@Nullable Object scope, String expressionString,
+			@Nullable String templatePrefix, @Nullable String templateSuffix) {
+	}
+
+
+	private static final class CachedExpression {
+
+		final Expression expression;
+
+		final AtomicInteger retrievals = new AtomicInteger();
+
+		CachedExpression(Expression expression) {
+			this.expression = expression;
+		}
+	}
+
+}
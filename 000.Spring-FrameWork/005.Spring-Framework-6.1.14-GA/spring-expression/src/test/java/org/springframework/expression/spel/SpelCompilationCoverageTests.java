@@ -98,6 +98,8 @@ import static org.springframework.expression.spel.standard.SpelExpressionTestUti
  * FunctionReference
  * InlineList
  * OpModulus
+ * Projection
+ * Selection
  *
  * <p>Not yet compiled (some may never need to be):
  *
@@ -109,9 +111,7 @@ import static org.springframework.expression.spel.standard.SpelExpressionTestUti
  * OpMatches
  * OpPower
  * OpInc
- * Projection
  * QualifiedId
- * Selection
  *
  * @author Andy Clement
  * @author Sam Brannen
@@ -763,6 +763,94 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 	}
 
+	@Nested
+	class SelectionAndProjectionTests {
+
+		private final List<Person> people = List.of(new Person(12), new Person(42), new Person(33));
+
+		@Test
+		void selection() {
+			expression = parser.parseExpression("?[age > 18]");
+			List<?> result = expression.getValue(people, List.class);
+			assertThat(result).extracting("age").containsExactly(42, 33);
+			assertCanCompile(expression);
+			result = expression.getValue(people, List.class);
+			assertThat(result).extracting("age").containsExactly(42, 33);
+			assertThat(getAst().getExitDescriptor()).isEqualTo("Ljava/util/List");
+		}
+
+		@Test
+		void selectFirstAndLast() {
+			expression = parser.parseExpression("^[age > 18].age");
+			assertThat(expression.getValue(people)).isEqualTo(42);
+			assertCanCompile(expression);
+			assertThat(expression.getValue(people)).isEqualTo(42);
+
+			expression = parser.parseExpression("$[age > 18].age");
+			assertThat(expression.getValue(people)).isEqualTo(33);
+			assertCanCompile(expression);
+			assertThat(expression.getValue(people)).isEqualTo(33);
+
+			expression = parser.parseExpression("^[age > 50]");
+			assertThat(expression.getValue(people)).isNull();
+			assertCanCompile(expression);
+			assertThat(expression.getValue(people)).isNull();
+		}
+
+		@Test
+		void selectionWithExplicitThis() {
+			expression = parser.parseExpression("?[#this.age < 18 and #root.size() == 3].size()");
+			assertThat(expression.getValue(people)).isEqualTo(1);
+			assertCanCompile(expression);
+			assertThat(expression.getValue(people)).isEqualTo(1);
+		}
+
+		@Test
+		void projection() {
+			expression = parser.parseExpression("![age]");
+			assertThat(expression.getValue(people)).isEqualTo(List.of(12, 42, 33));
+			assertCanCompile(expression);
+			assertThat(expression.getValue(people)).isEqualTo(List.of(12, 42, 33));
+
+			expression = parser.parseExpression("?[age > 18].![#this.age * 2]");
+			assertThat(expression.getValue(people)).isEqualTo(List.of(84, 66));
+			assertCanCompile(expression);
+			assertThat(expression.getValue(people)).isEqualTo(List.of(84, 66));
+		}
+
+		@Test
+		void nestedProjection() {
+			List<List<Person>> groups = List.of(people, List.of(new Person(7)));
+			expression = parser.parseExpression("![![age]]");
+			assertThat(expression.getValue(groups)).isEqualTo(List.of(List.of(12, 42, 33), List.of(7)));
+			assertCanCompile(expression);
+			assertThat(expression.getValue(groups)).isEqualTo(List.of(List.of(12, 42, 33), List.of(7)));
+		}
+
+		@Test
+		void nullSafeSelectionAndProjection() {
+			StandardEvaluationContext context = new StandardEvaluationContext();
+			context.setVariable("people", people);
+			expression = parser.parseExpression("#people?.?[age > 18]?.![age]");
+			assertThat(expression.getValue(context)).isEqualTo(List.of(42, 33));
+			assertCanCompile(expression);
+			assertThat(expression.getValue(context)).isEqualTo(List.of(42, 33));
+			context.setVariable("people", null);
+			assertThat(expression.getValue(context)).isNull();
+		}
+
+		@Test
+		void selectionOnMapOrArrayIsNotCompilable() {
+			expression = parser.parseExpression("?[value > 1]");
+			expression.getValue(Map.of("a", 1, "b", 2));
+			assertCantCompile(expression);
+
+			expression = parser.parseExpression("![#this * 2]");
+			expression.getValue(new int[] {1, 2});
+			assertCantCompile(expression);
+		}
+	}
+
 	@Test
 	void typeReference() {
 		expression = parse("T(String)");
@@ -1735,7 +1823,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertThat(expression.getValue(context, Integer.class).toString()).isEqualTo("-1");
-		// Selection isn't compilable.
+		// Selection on an array isn't compilable.
 		assertThat(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable()).isFalse();
 	}
 
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link SpelExpressionCache}.
+ */
+class SpelExpressionCacheTests {
+
+	private final SpelExpressionCache cache =
+			new SpelExpressionCache(2, new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+
+
+	@Test
+	void cachesParsedExpressions() {
+		Expression expression = this.cache.getExpression("size()");
+		assertThat(this.cache.getExpression("size()")).isSameAs(expression);
+		assertThat(this.cache.getExpression("isEmpty()")).isNotSameAs(expression);
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+		assertThat(this.cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedExpressions() {
+		for (int i = 0; i < 10; i++) {
+			this.cache.getExpression("size() + " + i);
+		}
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.getMissCount()).isEqualTo(10);
+	}
+
+	@Test
+	void separatesScopesAndParserContexts() {
+		Expression expression = this.cache.getExpression("size()");
+		assertThat(this.cache.getExpression("scope", "size()", null)).isNotSameAs(expression);
+		assertThat(this.cache.getExpression("#{size()}", new TemplateParserContext()).getValue(List.of(1), String.class))
+				.isEqualTo("1");
+		assertThat(this.cache.getExpression("${size()}", new TemplateParserContext("${", "}")).getValue(List.of(1), String.class))
+				.isEqualTo("1");
+		assertThat(this.cache.getMissCount()).isEqualTo(4);
+	}
+
+	@Test
+	void compilesExpressionOnThreshold() {
+		this.cache.setCompileThreshold(3);
+		SpelExpression expression = (SpelExpression) this.cache.getExpression("size() > 1");
+		assertThat(expression.getValue(List.of(1, 2))).isEqualTo(true);
+		this.cache.getExpression("size() > 1");
+		assertThat(this.cache.getCompilationCount()).isZero();
+
+		this.cache.getExpression("size() > 1");
+		this.cache.getExpression("size() > 1");
+		assertThat(this.cache.getCompilationCount()).isEqualTo(1);
+		assertThat(expression.getValue(List.of(1))).isEqualTo(false);
+		assertThat(this.cache.getCompilationFailureCount()).isZero();
+	}
+
+	@Test
+	void compiledExpressionFallsBackToInterpretation() {
+		this.cache.setCompileThreshold(2);
+		Expression expression = this.cache.getExpression("#root.length()");
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+		this.cache.getExpression("#root.length()");
+		assertThat(this.cache.getCompilationCount()).isEqualTo(1);
+		assertThat(expression.getValue(new StringBuilder("abcd"))).isEqualTo(4);
+	}
+
+	@Test
+	void countsExpressionsThatCannotBeCompiled() {
+		this.cache.setCompileThreshold(1);
+		this.cache.getExpression("size()");
+		assertThat(this.cache.getCompilationFailureCount()).isEqualTo(1);
+		assertThat(this.cache.getCompilationCount()).isZero();
+	}
+
+	@Test
+	void compileThresholdCanBeDisabled() {
+		this.cache.setCompileThreshold(0);
+		Expression expression = this.cache.getExpression("size()");
+		expression.getValue(List.of());
+		this.cache.getExpression("size()");
+		assertThat(this.cache.getCompilationCount()).isZero();
+		assertThat(this.cache.getCompilationFailureCount()).isZero();
+	}
+
+	@Test
+	void appliesParserConfiguration() {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(
+				SpelCompilerMode.OFF, null, false, false, Integer.MAX_VALUE, 8);
+		SpelExpressionCache cache = new SpelExpressionCache(16, configuration);
+		cache.setCompileThreshold(2);
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() -> cache.getExpression("size() > 1"));
+
+		Expression expression = cache.getExpression("size()");
+		assertThat(expression.getValue(new ArrayList<>(List.of(1)))).isEqualTo(1);
+		cache.getExpression("size()");
+		assertThat(cache.getCompilationCount()).isZero();
+	}
+
+	@Test
+	void parseFailureIsNotCached() {
+		assertThatExceptionOfType(ParseException.class).isThrownBy(() -> this.cache.getExpression("size("));
+		assertThat(this.cache.size()).isZero();
+	}
+
+	@Test
+	void doesNotCompileWithCompilerModeOff() {
+		SpelExpressionCache cache = new SpelExpressionCache(16, new SpelParserConfiguration(SpelCompilerMode.OFF, null));
+		cache.setCompileThreshold(1);
+		cache.getExpression("size()");
+		cache.getExpression("size()");
+		assertThat(cache.getCompilationCount()).isZero();
+		assertThat(cache.getCompilationFailureCount()).isZero();
+	}
+
+}
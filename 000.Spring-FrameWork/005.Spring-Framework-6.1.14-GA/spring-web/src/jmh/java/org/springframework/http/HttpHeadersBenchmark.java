@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Benchmarks for populating, reading and iterating {@link HttpHeaders},
+ * comparing the default {@link LinkedCaseInsensitiveMap} storage with
+ * {@link CompactHeadersMap}.
+ *
+ * @see CompactHeadersMap
+ */
+@BenchmarkMode(Mode.Throughput)
+public class HttpHeadersBenchmark {
+
+	@Benchmark
+	public HttpHeaders put(BenchmarkData data) {
+		return data.populate();
+	}
+
+	@Benchmark
+	public void get(BenchmarkData data, Blackhole bh) {
+		for (String name : data.lookupNames) {
+			bh.consume(data.headers.getFirst(name));
+		}
+	}
+
+	@Benchmark
+	public void iterate(BenchmarkData data, Blackhole bh) {
+		data.headers.forEach((name, values) -> {
+			bh.consume(name);
+			bh.consume(values);
+		});
+	}
+
+	@Benchmark
+	public void putAndGet(BenchmarkData data, Blackhole bh) {
+		HttpHeaders headers = data.populate();
+		bh.consume(headers.getContentType());
+		bh.consume(headers.getContentLength());
+		bh.consume(headers.getAccept());
+		bh.consume(headers.getFirst("x-request-id"));
+	}
+
+
+	/**
+	 * Benchmark data holding the headers of a typical browser request.
+	 * The {@code storage} parameter selects the backing map.
+	 */
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"linked-case-insensitive", "compact"})
+		public String storage;
+
+		public List<String[]> requestHeaders;
+
+		public List<String> lookupNames;
+
+		public HttpHeaders headers;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.requestHeaders = List.of(
+					new String[] {"Host", "localhost:8080"},
+					new String[] {"Connection", "keep-alive"},
+					new String[] {"Content-Length", "42"},
+					new String[] {"Cache-Control", "max-age=0"},
+					new String[] {"sec-ch-ua", "\"Chromium\";v=\"122\", \"Not(A:Brand\";v=\"24\""},
+					new String[] {"sec-ch-ua-mobile", "?0"},
+					new String[] {"sec-ch-ua-platform", "\"Linux\""},
+					new String[] {"Upgrade-Insecure-Requests", "1"},
+					new String[] {"Content-Type", "application/json"},
+					new String[] {"User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36"},
+					new String[] {"Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"},
+					new String[] {"Sec-Fetch-Site", "none"},
+					new String[] {"Sec-Fetch-Mode", "navigate"},
+					new String[] {"Sec-Fetch-User", "?1"},
+					new String[] {"Sec-Fetch-Dest", "document"},
+					new String[] {"Accept-Encoding", "gzip, deflate, br"},
+					new String[] {"Accept-Language", "en-US,en;q=0.9"},
+					new String[] {"Cookie", "SESSION=4f3c2b1a"},
+					new String[] {"Cookie", "theme=dark"},
+					new String[] {"X-Request-Id", "7d0c6a9e-41b4-4a52-9c64-0d4b2ad4b8a1"});
+			this.lookupNames = List.of(HttpHeaders.CONTENT_TYPE, "content-length", HttpHeaders.ACCEPT,
+					HttpHeaders.AUTHORIZATION, "X-REQUEST-ID", HttpHeaders.IF_NONE_MATCH);
+			this.headers = populate();
+		}
+
+		public HttpHeaders populate() {
+			MultiValueMap<String, String> map = (this.storage.equals("compact") ? new CompactHeadersMap() :
+					CollectionUtils.toMultiValueMap(new LinkedCaseInsensitiveMap<>(8, Locale.ROOT)));
+			HttpHeaders headers = new HttpHeaders(map);
+			for (String[] header : this.requestHeaders) {
+				headers.add(header[0], header[1]);
+			}
+			return headers;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.MimeTypeUtils;
 
 /**
@@ -58,6 +59,22 @@ public class MediaTypeBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void negotiate(NegotiationData data, Blackhole bh) {
+		for (String accept : data.acceptHeaders) {
+			List<MediaType> acceptableTypes = data.resolveAcceptableTypes(accept);
+			bh.consume(NegotiationData.selectMediaType(acceptableTypes, data.producibleTypes));
+		}
+	}
+
+	@Benchmark
+	public void negotiateCached(NegotiationData data, Blackhole bh) {
+		for (String accept : data.acceptHeaders) {
+			List<MediaType> acceptableTypes = data.resolveAcceptableTypes(accept);
+			bh.consume(data.negotiationCache.get(acceptableTypes));
+		}
+	}
+
 	/**
 	 * Benchmark data holding typical raw Media Types.
 	 * A {@code customTypesCount} parameter can be used to pad the list with artificial types.
@@ -118,4 +135,60 @@ public class MediaTypeBenchmark {
 
 	}
 
+
+	/**
+	 * Benchmark data for content negotiation between typical browser and API client
+	 * {@code Accept} headers and the media types produced by a JSON/XML endpoint.
+	 * The cached variant keys a bounded cache on the resolved acceptable types,
+	 * as {@code AbstractMessageConverterMethodProcessor} does.
+	 */
+	@State(Scope.Benchmark)
+	public static class NegotiationData {
+
+		public List<String> acceptHeaders;
+
+		public List<MediaType> producibleTypes;
+
+		public ConcurrentLruCache<List<MediaType>, MediaType> negotiationCache;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.acceptHeaders = List.of(
+					"text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8",
+					"application/json, text/plain, */*",
+					"application/json",
+					"*/*");
+			this.producibleTypes = List.of(MediaType.APPLICATION_JSON,
+					new MediaType("application", "*+json"), MediaType.APPLICATION_XML, MediaType.TEXT_XML);
+			this.negotiationCache = new ConcurrentLruCache<>(256,
+					acceptableTypes -> selectMediaType(acceptableTypes, this.producibleTypes));
+		}
+
+		public List<MediaType> resolveAcceptableTypes(String accept) {
+			List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+			MimeTypeUtils.sortBySpecificity(mediaTypes);
+			return mediaTypes;
+		}
+
+		public static MediaType selectMediaType(List<MediaType> acceptableTypes, List<MediaType> producibleTypes) {
+			List<MediaType> compatibleTypes = new ArrayList<>();
+			for (MediaType acceptableType : acceptableTypes) {
+				for (MediaType producibleType : producibleTypes) {
+					if (acceptableType.isCompatibleWith(producibleType)) {
+						MediaType producibleTypeToUse = producibleType.copyQualityValue(acceptableType);
+						compatibleTypes.add(acceptableType.isLessSpecific(producibleTypeToUse) ?
+								producibleTypeToUse : acceptableType);
+					}
+				}
+			}
+			MimeTypeUtils.sortBySpecificity(compatibleTypes);
+			for (MediaType mediaType : compatibleTypes) {
+				if (mediaType.isConcrete()) {
+					return mediaType.removeQualityValue();
+				}
+			}
+			return MediaType.APPLICATION_OCTET_STREAM;
+		}
+	}
+
 }
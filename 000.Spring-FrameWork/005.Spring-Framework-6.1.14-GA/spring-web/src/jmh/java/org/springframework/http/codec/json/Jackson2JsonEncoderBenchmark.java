@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,4 +101,41 @@ public class Jackson2JsonEncoderBenchmark {
 				.then().block();
 	}
 
+	/**
+	 * Benchmark data for encoding a stream of {@link Project} values as
+	 * newline delimited JSON. A {@code flushThreshold} parameter can be used to
+	 * batch values into fewer, larger buffers.
+	 */
+	@State(Scope.Benchmark)
+	public static class EncodeStreamData extends EncodeSingleData {
+
+		@Param({"1000", "100000"})
+		int streamSize;
+
+		@Param({"0", "8192"})
+		int flushThreshold;
+
+		@Setup
+		public void setupFlushThreshold() {
+			this.jsonEncoder.setFlushThreshold(this.flushThreshold);
+		}
+
+	}
+
+	@Benchmark
+	public void encodeStream(Blackhole bh, EncodeStreamData data) {
+		Flux<Project> projects = Flux.generate(sink -> sink.next(data.project)).take(data.streamSize).cast(Project.class);
+		data.jsonEncoder.encode(projects, data.bufferFactory, data.resolvableType, MediaType.APPLICATION_NDJSON, Collections.emptyMap())
+				.doOnNext(bh::consume)
+				.then().block();
+	}
+
+	@Benchmark
+	public void encodeArray(Blackhole bh, EncodeStreamData data) {
+		Flux<Project> projects = Flux.generate(sink -> sink.next(data.project)).take(data.streamSize).cast(Project.class);
+		data.jsonEncoder.encode(projects, data.bufferFactory, data.resolvableType, MediaType.APPLICATION_JSON, Collections.emptyMap())
+				.doOnNext(bh::consume)
+				.then().block();
+	}
+
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.bind.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.BindParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+/**
+ * Benchmark for constructor binding of records from query parameters
+ * through binders created by a {@link DefaultDataBinderFactory}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DataBinderConstructBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"true", "false"})
+		public boolean planCache;
+
+		public DefaultDataBinderFactory binderFactory;
+
+		public ServletWebRequest webRequest;
+
+		public ResolvableType targetType = ResolvableType.forClass(SearchQuery.class);
+
+		@Setup
+		public void setup() {
+			ConfigurableWebBindingInitializer initializer = new ConfigurableWebBindingInitializer();
+			initializer.setConversionService(new DefaultFormattingConversionService());
+			this.binderFactory = new DefaultDataBinderFactory(initializer);
+
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/search");
+			request.addParameter("q", "spring");
+			request.addParameter("page", "3");
+			request.addParameter("size", "50");
+			request.addParameter("sort", "name");
+			request.addParameter("ascending", "true");
+			request.addParameter("range.from", "10");
+			request.addParameter("range.to", "100");
+			this.webRequest = new ServletWebRequest(request);
+		}
+	}
+
+	@Benchmark
+	public Object construct(BenchmarkState state) throws Exception {
+		WebDataBinder binder = state.binderFactory.createBinder(state.webRequest, null, "query", state.targetType);
+		if (!state.planCache) {
+			binder.setConstructorBindingPlanCache(null);
+		}
+		((WebRequestDataBinder) binder).construct(state.webRequest);
+		return binder.getTarget();
+	}
+
+
+	public record SearchQuery(@BindParam("q") String query, int page, int size, String sort,
+			boolean ascending, Range range) {
+	}
+
+
+	public record Range(int from, int to) {
+	}
+
+}
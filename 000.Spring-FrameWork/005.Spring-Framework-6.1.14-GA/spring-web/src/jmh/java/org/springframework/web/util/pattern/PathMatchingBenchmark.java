@@ -74,6 +74,43 @@ public class PathMatchingBenchmark {
 		}
 	}
 
+	@State(Scope.Benchmark)
+	public static class AllRoutesCompiledPatternParser extends PatternParserData {
+
+		@Setup(Level.Trial)
+		public void registerPatterns() {
+			this.compiledMatching = true;
+			parseRoutes(RouteGenerator.allRoutes());
+		}
+	}
+
+	@Benchmark
+	public void matchAllRoutesWithCompiledPathPatternParser(AllRoutesCompiledPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractAllRoutesWithPathPatternParser(AllRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				bh.consume(pattern.matchAndExtract(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractAllRoutesWithCompiledPathPatternParser(AllRoutesCompiledPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				bh.consume(pattern.matchAndExtract(path));
+			}
+		}
+	}
+
 	@State(Scope.Benchmark)
 	public static class StaticRoutesPatternParser extends PatternParserData {
 
@@ -149,8 +186,11 @@ public class PathMatchingBenchmark {
 
 		List<PathContainer> requestPaths = new ArrayList<>();
 
+		boolean compiledMatching;
+
 		void parseRoutes(List<Route> routes) {
 			PathPatternParser parser = new PathPatternParser();
+			parser.setCompiledMatching(this.compiledMatching);
 			routes.forEach(route -> {
 				this.patterns.add(parser.parse(route.pattern));
 				route.matchingPaths.forEach(path -> this.requestPaths.add(PathContainer.parsePath(path)));
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+
+/**
+ * Benchmarks for looking up the patterns matching a request path, comparing
+ * a linear scan over all patterns with a {@link PathPatternIndex} lookup,
+ * depending on the number of registered mappings.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternIndexBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"10", "100", "1000", "2000"})
+		public int mappingCount;
+
+		List<PathPattern> patterns = new ArrayList<>();
+
+		PathPatternIndex<PathPattern> index = new PathPatternIndex<>();
+
+		List<PathContainer> requestPaths = new ArrayList<>();
+
+		@Setup(Level.Trial)
+		public void registerPatterns() {
+			PathPatternParser parser = new PathPatternParser();
+			for (int i = 0; i < this.mappingCount; i++) {
+				String resource = "/api/resources" + i;
+				addPattern(parser.parse(resource));
+				addPattern(parser.parse(resource + "/{id}"));
+				addPattern(parser.parse(resource + "/{id}/items/{itemId:\\d+}"));
+			}
+			addPattern(parser.parse("/static/**"));
+
+			Random random = new Random(42);
+			for (int i = 0; i < 100; i++) {
+				String resource = "/api/resources" + random.nextInt(this.mappingCount);
+				this.requestPaths.add(PathContainer.parsePath(resource + "/" + i));
+				this.requestPaths.add(PathContainer.parsePath(resource + "/" + i + "/items/" + i));
+			}
+		}
+
+		private void addPattern(PathPattern pattern) {
+			this.patterns.add(pattern);
+			this.index.add(pattern, pattern);
+		}
+	}
+
+
+	@Benchmark
+	public void linearScan(BenchmarkData data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			List<PathPattern> matches = new ArrayList<>();
+			for (PathPattern pattern : data.patterns) {
+				if (pattern.matches(path)) {
+					matches.add(pattern);
+				}
+			}
+			bh.consume(matches);
+		}
+	}
+
+	@Benchmark
+	public void indexLookup(BenchmarkData data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			List<PathPattern> matches = new ArrayList<>();
+			for (PathPattern pattern : data.index.getCandidates(path)) {
+				if (pattern.matches(path)) {
+					matches.add(pattern);
+				}
+			}
+			bh.consume(matches);
+		}
+	}
+
+}
@@ -0,0 +1,626 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Compact, case-insensitive {@link MultiValueMap} for HTTP header storage.
+ *
+ * <p>Compared to a {@link org.springframework.util.LinkedCaseInsensitiveMap}
+ * adapted to {@code MultiValueMap}, this map keeps its entries in parallel
+ * arrays indexed through an open-addressed table of precomputed
+ * case-insensitive hashes, and stores a header with a single value without
+ * allocating a {@code List} for it until the values are accessed as a list.
+ * Well-known header names are replaced with shared constants when they match
+ * exactly, so that per-request copies of those names are not retained.
+ *
+ * <p>Like {@code LinkedCaseInsensitiveMap}, this map preserves insertion order
+ * and the original case of header names, and lists returned from
+ * {@link #get(Object)} may be modified to change the values of a header.
+ *
+ * <p>This map is not thread-safe.
+ *
+ * @since 6.2
+ * @see HttpHeaders#HttpHeaders(MultiValueMap)
+ */
+@SuppressWarnings("serial")
+public final class CompactHeadersMap extends AbstractMap<String, List<String>>
+		implements MultiValueMap<String, String>, Serializable {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private static final String[] WELL_KNOWN_NAMES;
+
+	static {
+		String[] names = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_CHARSET, HttpHeaders.ACCEPT_ENCODING,
+				HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.AUTHORIZATION,
+				HttpHeaders.CACHE_CONTROL, HttpHeaders.CONNECTION, HttpHeaders.CONTENT_DISPOSITION,
+				HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CONTENT_LENGTH,
+				HttpHeaders.CONTENT_TYPE, HttpHeaders.COOKIE, HttpHeaders.DATE, HttpHeaders.ETAG,
+				HttpHeaders.EXPECT, HttpHeaders.HOST, HttpHeaders.IF_MATCH, HttpHeaders.IF_MODIFIED_SINCE,
+				HttpHeaders.IF_NONE_MATCH, HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION,
+				HttpHeaders.ORIGIN, HttpHeaders.PRAGMA, HttpHeaders.RANGE, HttpHeaders.REFERER,
+				HttpHeaders.SERVER, HttpHeaders.SET_COOKIE, HttpHeaders.TRANSFER_ENCODING,
+				HttpHeaders.UPGRADE, HttpHeaders.USER_AGENT, HttpHeaders.VARY,
+				"Forwarded", "Keep-Alive", "X-Forwarded-For", "X-Forwarded-Host", "X-Forwarded-Port",
+				"X-Forwarded-Proto", "X-Requested-With"};
+		// Canonical and lower-case forms, as sent by HTTP/1.1 and HTTP/2 clients respectively
+		String[] table = new String[tableSizeFor(names.length * 2)];
+		for (String name : names) {
+			addWellKnownName(table, name);
+			addWellKnownName(table, name.toLowerCase(Locale.ROOT));
+		}
+		WELL_KNOWN_NAMES = table;
+	}
+
+
+	private String[] names;
+
+	private int[] hashes;
+
+	// Each value is either a single String, a List<String>, or null
+	private Object[] values;
+
+	private int size;
+
+	// Index + 1 of the entry for each slot, or 0 for an empty slot
+	private int[] table;
+
+	private transient int modCount;
+
+	@Nullable
+	private transient KeySet keySet;
+
+	@Nullable
+	private transient EntrySet entrySet;
+
+
+	/**
+	 * Create a new {@code CompactHeadersMap} with a default initial capacity.
+	 */
+	public CompactHeadersMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code CompactHeadersMap} with the given initial capacity.
+	 * @param expectedSize the expected number of header names
+	 */
+	public CompactHeadersMap(int expectedSize) {
+		Assert.isTrue(expectedSize >= 0, "'expectedSize' must not be negative");
+		int capacity = Math.max(expectedSize, 4);
+		this.names = new String[capacity];
+		this.hashes = new int[capacity];
+		this.values = new Object[capacity];
+		this.table = new int[tableSizeFor(capacity)];
+	}
+
+
+	// MultiValueMap
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		Object value = this.values[index];
+		if (value instanceof List<?> list) {
+			return (list.isEmpty() ? null : (String) list.get(0));
+		}
+		return (String) value;
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		int hash = hash(key);
+		int index = indexOf(key, hash);
+		if (index < 0) {
+			List<String> values = new ArrayList<>(1);
+			values.add(value);
+			// A single null value still needs a list to be distinguished from a null list
+			addEntry(key, hash, (value != null ? value : values));
+		}
+		else {
+			valuesAt(index).add(value);
+		}
+	}
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		int hash = hash(key);
+		int index = indexOf(key, hash);
+		if (index < 0) {
+			addEntry(key, hash, new ArrayList<>(values));
+		}
+		else {
+			valuesAt(index).addAll(values);
+		}
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		values.forEach(this::addAll);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		if (value != null) {
+			putValue(key, value);
+		}
+		else {
+			List<String> values = new ArrayList<>(1);
+			values.add(null);
+			putValue(key, values);
+		}
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		values.forEach(this::set);
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		Map<String, String> singleValueMap = CollectionUtils.newLinkedHashMap(this.size);
+		for (int i = 0; i < this.size; i++) {
+			Object value = this.values[i];
+			if (value instanceof List<?> list) {
+				if (!list.isEmpty()) {
+					singleValueMap.put(this.names[i], (String) list.get(0));
+				}
+			}
+			else {
+				singleValueMap.put(this.names[i], (String) value);
+			}
+		}
+		return singleValueMap;
+	}
+
+
+	// Map
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String name && indexOf(name) >= 0);
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		if (key instanceof String name) {
+			int index = indexOf(name);
+			if (index >= 0) {
+				return (this.values[index] != null ? valuesAt(index) : null);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	@Nullable
+	public List<String> put(String key, @Nullable List<String> value) {
+		return putValue(key, value);
+	}
+
+	@Override
+	@Nullable
+	public List<String> remove(Object key) {
+		if (key instanceof String name) {
+			int index = indexOf(name);
+			if (index >= 0) {
+				List<String> previous = toList(this.values[index]);
+				removeAt(index);
+				return previous;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.names, 0, this.size, null);
+		Arrays.fill(this.values, 0, this.size, null);
+		Arrays.fill(this.table, 0);
+		this.size = 0;
+		this.modCount++;
+	}
+
+	@Override
+	public Set<String> keySet() {
+		KeySet keySet = this.keySet;
+		if (keySet == null) {
+			keySet = new KeySet();
+			this.keySet = keySet;
+		}
+		return keySet;
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		EntrySet entrySet = this.entrySet;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySet = entrySet;
+		}
+		return entrySet;
+	}
+
+
+	// Internal storage
+
+	private int indexOf(String key) {
+		return indexOf(key, hash(key));
+	}
+
+	private int indexOf(String key, int hash) {
+		int[] table = this.table;
+		int mask = table.length - 1;
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+			int entry = table[slot];
+			if (entry == 0) {
+				return -1;
+			}
+			int index = entry - 1;
+			if (this.hashes[index] == hash && equalsIgnoreCase(this.names[index], key)) {
+				return index;
+			}
+		}
+	}
+
+	@Nullable
+	private List<String> putValue(String key, @Nullable Object value) {
+		int hash = hash(key);
+		int index = indexOf(key, hash);
+		if (index < 0) {
+			addEntry(key, hash, value);
+			return null;
+		}
+		List<String> previous = toList(this.values[index]);
+		this.names[index] = intern(key, hash);
+		this.values[index] = value;
+		return previous;
+	}
+
+	private void addEntry(String key, int hash, @Nullable Object value) {
+		if (this.size == this.names.length) {
+			grow();
+		}
+		int index = this.size++;
+		this.names[index] = intern(key, hash);
+		this.hashes[index] = hash;
+		this.values[index] = value;
+		insertSlot(this.table, hash, index);
+		this.modCount++;
+	}
+
+	private void grow() {
+		int capacity = this.names.length * 2;
+		this.names = Arrays.copyOf(this.names, capacity);
+		this.hashes = Arrays.copyOf(this.hashes, capacity);
+		this.values = Arrays.copyOf(this.values, capacity);
+		this.table = new int[tableSizeFor(capacity)];
+		rehash();
+	}
+
+	private void removeAt(int index) {
+		int moved = this.size - index - 1;
+		if (moved > 0) {
+			System.arraycopy(this.names, index + 1, this.names, index, moved);
+			System.arraycopy(this.hashes, index + 1, this.hashes, index, moved);
+			System.arraycopy(this.values, index + 1, this.values, index, moved);
+		}
+		this.size--;
+		this.names[this.size] = null;
+		this.values[this.size] = null;
+		Arrays.fill(this.table, 0);
+		rehash();
+		this.modCount++;
+	}
+
+	private void rehash() {
+		for (int i = 0; i < this.size; i++) {
+			insertSlot(this.table, this.hashes[i], i);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> valuesAt(int index) {
+		Object value = this.values[index];
+		if (value instanceof List<?> list) {
+			return (List<String>) list;
+		}
+		// Switch from single value to a list, which the caller may modify,
+		// treating a null list (from put(key, null)) as absent
+		List<String> list = new ArrayList<>(2);
+		if (value != null) {
+			list.add((String) value);
+		}
+		this.values[index] = list;
+		return list;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static List<String> toList(@Nullable Object value) {
+		if (value == null || value instanceof List<?>) {
+			return (List<String>) value;
+		}
+		List<String> list = new ArrayList<>(1);
+		list.add((String) value);
+		return list;
+	}
+
+	private static void insertSlot(int[] table, int hash, int index) {
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = index + 1;
+	}
+
+	private static int tableSizeFor(int capacity) {
+		// At most half full, so that probe sequences stay short
+		return Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) * 2;
+	}
+
+	private static String intern(String key, int hash) {
+		String[] table = WELL_KNOWN_NAMES;
+		int mask = table.length - 1;
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+			String name = table[slot];
+			if (name == null) {
+				return key;
+			}
+			if (name.equals(key)) {
+				return name;
+			}
+		}
+	}
+
+	private static void addWellKnownName(String[] table, String name) {
+		int mask = table.length - 1;
+		int slot = hash(name) & mask;
+		while (table[slot] != null) {
+			if (table[slot].equals(name)) {
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = name;
+	}
+
+	private static int hash(String key) {
+		int hash = 0;
+		for (int i = 0; i < key.length(); i++) {
+			hash = 31 * hash + foldCase(key.charAt(i));
+		}
+		// Spread higher bits, since the table index only uses the lower bits
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean equalsIgnoreCase(String name, String key) {
+		if (name == key) {
+			return true;
+		}
+		int length = name.length();
+		if (length != key.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			char c1 = name.charAt(i);
+			char c2 = key.charAt(i);
+			if (c1 != c2 && foldCase(c1) != foldCase(c2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char foldCase(char c) {
+		if (c < 128) {
+			return (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c);
+		}
+		return Character.toLowerCase(c);
+	}
+
+
+	private final class KeySet extends AbstractSet<String> {
+
+		@Override
+		public int size() {
+			return CompactHeadersMap.this.size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsKey(o);
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (o instanceof String name) {
+				int index = indexOf(name);
+				if (index >= 0) {
+					removeAt(index);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			CompactHeadersMap.this.clear();
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			EntryIterator iterator = new EntryIterator();
+			return new Iterator<>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public String next() {
+					return iterator.next().getKey();
+				}
+
+				@Override
+				public void remove() {
+					iterator.remove();
+				}
+			};
+		}
+	}
+
+
+	private final class EntrySet extends AbstractSet<Entry<String, List<String>>> {
+
+		@Override
+		public int size() {
+			return CompactHeadersMap.this.size;
+		}
+
+		@Override
+		public void clear() {
+			CompactHeadersMap.this.clear();
+		}
+
+		@Override
+		public Iterator<Entry<String, List<String>>> iterator() {
+			return new EntryIterator();
+		}
+	}
+
+
+	private final class EntryIterator implements Iterator<Entry<String, List<String>>> {
+
+		private int next;
+
+		private int last = -1;
+
+		private int expectedModCount = CompactHeadersMap.this.modCount;
+
+		@Override
+		public boolean hasNext() {
+			return (this.next < CompactHeadersMap.this.size);
+		}
+
+		@Override
+		public Entry<String, List<String>> next() {
+			checkForComodification();
+			if (this.next >= CompactHeadersMap.this.size) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next++;
+			return new HeaderEntry(CompactHeadersMap.this.names[this.last]);
+		}
+
+		@Override
+		public void remove() {
+			Assert.state(this.last >= 0, "No element to remove");
+			checkForComodification();
+			removeAt(this.last);
+			this.next = this.last;
+			this.last = -1;
+			this.expectedModCount = CompactHeadersMap.this.modCount;
+		}
+
+		private void checkForComodification() {
+			if (CompactHeadersMap.this.modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+
+	private final class HeaderEntry implements Entry<String, List<String>> {
+
+		private final String key;
+
+		HeaderEntry(String key) {
+			this.key = key;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		@Nullable
+		public List<String> getValue() {
+			return get(this.key);
+		}
+
+		@Override
+		@Nullable
+		public List<String> setValue(@Nullable List<String> value) {
+			return put(this.key, value);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof Map.Entry<?, ?> that &&
+					this.key.equals(that.getKey()) && ObjectUtils.nullSafeEquals(getValue(), that.getValue())));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.key.hashCode() ^ ObjectUtils.nullSafeHashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + getValue();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,7 +29,6 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
-import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -130,14 +129,10 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 			return Flux.error(new IllegalStateException("No ObjectMapper for " + elementType));
 		}
 
-		boolean forceUseOfBigDecimal = mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
-		if (BigDecimal.class.equals(elementType.getType())) {
-			forceUseOfBigDecimal = true;
-		}
+		boolean forceUseOfBigDecimal = (mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS) ||
+				BigDecimal.class.equals(elementType.getType()));
 
 		Flux<DataBuffer> processed = processInput(input, elementType, mimeType, hints);
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(processed, mapper.getFactory(), mapper,
-				true, forceUseOfBigDecimal, getMaxInMemorySize());
 
 		return Flux.deferContextual(contextView -> {
 
@@ -146,18 +141,18 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 
 			ObjectReader reader = createObjectReader(mapper, elementType, hintsToUse);
 
-			return tokens.handle((tokenBuffer, sink) -> {
-				try {
-					Object value = reader.readValue(tokenBuffer.asParser(mapper));
-					logValue(value, hints);
-					if (value != null) {
-						sink.next(value);
-					}
-				}
-				catch (IOException ex) {
-					sink.error(processException(ex));
-				}
-			});
+			// Read each value as soon as its tokens are complete
+			return Jackson2Tokenizer.tokenize(processed, mapper.getFactory(), mapper,
+					true, forceUseOfBigDecimal, getMaxInMemorySize(), tokenBuffer -> {
+						try {
+							Object value = reader.readValue(tokenBuffer.asParser(mapper));
+							logValue(value, hints);
+							return value;
+						}
+						catch (IOException ex) {
+							throw processException(ex);
+						}
+					});
 		});
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -47,6 +48,7 @@ import org.springframework.core.codec.EncodingException;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageEncoder;
@@ -86,6 +88,8 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 
 	private final List<MediaType> streamingMediaTypes = new ArrayList<>(1);
 
+	private int flushThreshold;
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -104,6 +108,31 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		this.streamingMediaTypes.addAll(mediaTypes);
 	}
 
+	/**
+	 * Configure the number of bytes to accumulate in a single {@link DataBuffer}
+	 * before emitting it when encoding a {@link Flux} of values, in which case
+	 * small values are batched together rather than emitted one buffer each.
+	 * <p>Note that for {@link #setStreamingMediaTypes streaming} media types this
+	 * delays each value until the threshold is reached or the stream completes,
+	 * so it is best suited to large, finite streams such as exports.
+	 * <p>By default this is set to 0, in which case every value is emitted in
+	 * a {@code DataBuffer} of its own.
+	 * @param flushThreshold the number of bytes to batch, or 0 for no batching
+	 * @since 6.2
+	 */
+	public void setFlushThreshold(int flushThreshold) {
+		Assert.isTrue(flushThreshold >= 0, "'flushThreshold' must not be negative");
+		this.flushThreshold = flushThreshold;
+	}
+
+	/**
+	 * Return the {@link #setFlushThreshold configured} flush threshold.
+	 * @since 6.2
+	 */
+	public int getFlushThreshold() {
+		return this.flushThreshold;
+	}
+
 
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
@@ -166,17 +195,24 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 				}
 
 				ObjectWriter writer = createObjectWriter(mapper, elementType, mimeType, null, hintsToUse);
-				ByteArrayBuilder byteBuilder = new ByteArrayBuilder(writer.getFactory()._getBufferRecycler());
+				DataBufferJsonOutput output = new DataBufferJsonOutput(bufferFactory, this.flushThreshold);
 				JsonEncoding encoding = getJsonEncoding(mimeType);
-				JsonGenerator generator = mapper.getFactory().createGenerator(byteBuilder, encoding);
+				JsonGenerator generator = mapper.getFactory().createGenerator(output, encoding);
 				SequenceWriter sequenceWriter = writer.writeValues(generator);
 
 				byte[] separator = getStreamingMediaTypeSeparator(mimeType);
 				Flux<DataBuffer> dataBufferFlux;
 
 				if (separator != null) {
-					dataBufferFlux = Flux.from(inputStream).map(value -> encodeStreamingValue(
-							value, bufferFactory, hintsToUse, sequenceWriter, byteBuilder, EMPTY_BYTES, separator));
+					dataBufferFlux = Flux.from(inputStream)
+							.<DataBuffer>handle((value, sink) -> {
+								DataBuffer dataBuffer = encodeStreamingValue(
+										value, hintsToUse, sequenceWriter, output, EMPTY_BYTES, separator);
+								if (dataBuffer != null) {
+									sink.next(dataBuffer);
+								}
+							})
+							.concatWith(Mono.fromSupplier(output::takeBuffer));
 				}
 				else {
 					JsonArrayJoinHelper helper = new JsonArrayJoinHelper();
@@ -185,33 +221,24 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 					// Keeps response not committed for error handling
 
 					dataBufferFlux = Flux.from(inputStream)
-							.map(value -> {
+							.<DataBuffer>handle((value, sink) -> {
 								byte[] prefix = helper.getPrefix();
 								byte[] delimiter = helper.getDelimiter();
-
 								DataBuffer dataBuffer = encodeStreamingValue(
-										value, bufferFactory, hintsToUse, sequenceWriter, byteBuilder,
-										delimiter, EMPTY_BYTES);
-
-								return (prefix.length > 0 ?
-										bufferFactory.join(List.of(bufferFactory.wrap(prefix), dataBuffer)) :
-										dataBuffer);
+										value, hintsToUse, sequenceWriter, output,
+										(prefix.length > 0 ? prefix : delimiter), EMPTY_BYTES);
+								if (dataBuffer != null) {
+									sink.next(dataBuffer);
+								}
 							})
 							.switchIfEmpty(Mono.fromCallable(() -> bufferFactory.wrap(helper.getPrefix())))
-							.concatWith(Mono.fromCallable(() -> bufferFactory.wrap(helper.getSuffix())));
+							.concatWith(Mono.fromCallable(() -> output.takeBuffer(helper.getSuffix())));
 				}
 
 				return dataBufferFlux
 						.doOnNext(dataBuffer -> Hints.touchDataBuffer(dataBuffer, hintsToUse, logger))
-						.doAfterTerminate(() -> {
-							try {
-								generator.close();
-								byteBuilder.release();
-							}
-							catch (IOException ex) {
-								logger.error("Could not close Encoder resources", ex);
-							}
-						});
+						.doAfterTerminate(() -> closeStreamingResources(generator, output))
+						.doOnCancel(() -> closeStreamingResources(generator, output));
 			}
 			catch (IOException ex) {
 				return Flux.error(ex);
@@ -274,52 +301,51 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		}
 	}
 
+	@Nullable
 	private DataBuffer encodeStreamingValue(
-			Object value, DataBufferFactory bufferFactory, @Nullable Map<String, Object> hints,
-			SequenceWriter sequenceWriter, ByteArrayBuilder byteArrayBuilder,
-			byte[] prefix, byte[] suffix) {
+			Object value, @Nullable Map<String, Object> hints, SequenceWriter sequenceWriter,
+			DataBufferJsonOutput output, byte[] prefix, byte[] suffix) {
 
 		logValue(hints, value);
 
-		try {
-			sequenceWriter.write(value);
-			sequenceWriter.flush();
-		}
-		catch (InvalidDefinitionException ex) {
-			throw new CodecException("Type definition error: " + ex.getType(), ex);
-		}
-		catch (JsonProcessingException ex) {
-			throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
-		}
-		catch (IOException ex) {
-			throw new IllegalStateException("Unexpected I/O error while writing to byte array builder", ex);
+		// Guard against a concurrent cancellation releasing the output
+		synchronized (output) {
+			if (output.isReleased()) {
+				return null;
+			}
+			output.startValue(prefix);
+			try {
+				sequenceWriter.write(value);
+				sequenceWriter.flush();
+			}
+			catch (InvalidDefinitionException ex) {
+				output.discardValue();
+				throw new CodecException("Type definition error: " + ex.getType(), ex);
+			}
+			catch (JsonProcessingException ex) {
+				output.discardValue();
+				throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
+			}
+			catch (IOException ex) {
+				output.discardValue();
+				throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
+			}
+			return output.endValue(suffix);
 		}
+	}
 
-		byte[] bytes = byteArrayBuilder.toByteArray();
-		byteArrayBuilder.reset();
-
-		int offset;
-		int length;
-		if (bytes.length > 0 && bytes[0] == ' ') {
-			// SequenceWriter writes an unnecessary space in between values
-			offset = 1;
-			length = bytes.length - 1;
-		}
-		else {
-			offset = 0;
-			length = bytes.length;
-		}
-		DataBuffer buffer = bufferFactory.allocateBuffer(length + prefix.length + suffix.length);
-		if (prefix.length != 0) {
-			buffer.write(prefix);
-		}
-		buffer.write(bytes, offset, length);
-		if (suffix.length != 0) {
-			buffer.write(suffix);
+	private void closeStreamingResources(JsonGenerator generator, DataBufferJsonOutput output) {
+		synchronized (output) {
+			try {
+				generator.close();
+			}
+			catch (IOException ex) {
+				logger.error("Could not close Encoder resources", ex);
+			}
+			finally {
+				output.releaseBuffer();
+			}
 		}
-		Hints.touchDataBuffer(buffer, hints, logger);
-
-		return buffer;
 	}
 
 	private void logValue(@Nullable Map<String, Object> hints, Object value) {
@@ -459,4 +485,135 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		}
 	}
 
+
+	/**
+	 * {@link OutputStream} that lets a {@link JsonGenerator} write directly into
+	 * {@link DataBuffer}s, batching values up to the flush threshold.
+	 */
+	private static final class DataBufferJsonOutput extends OutputStream {
+
+		private static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+		private final DataBufferFactory bufferFactory;
+
+		private final int flushThreshold;
+
+		@Nullable
+		private DataBuffer buffer;
+
+		private int lastValueSize = DEFAULT_INITIAL_CAPACITY;
+
+		private int valueStart;
+
+		private boolean skipSeparator;
+
+		private boolean released;
+
+		DataBufferJsonOutput(DataBufferFactory bufferFactory, int flushThreshold) {
+			this.bufferFactory = bufferFactory;
+			this.flushThreshold = flushThreshold;
+		}
+
+		public void startValue(byte[] prefix) {
+			Assert.state(!this.released, "Output already released");
+			DataBuffer buffer = this.buffer;
+			if (buffer == null) {
+				int capacity = this.flushThreshold + this.lastValueSize;
+				buffer = this.bufferFactory.allocateBuffer(capacity);
+				this.buffer = buffer;
+			}
+			this.valueStart = buffer.writePosition();
+			if (prefix.length > 0) {
+				buffer.write(prefix);
+			}
+			// SequenceWriter writes an unnecessary space in between values
+			this.skipSeparator = true;
+		}
+
+		@Nullable
+		public DataBuffer endValue(byte[] suffix) {
+			DataBuffer buffer = this.buffer;
+			Assert.state(buffer != null, "No value started");
+			if (suffix.length > 0) {
+				buffer.write(suffix);
+			}
+			this.skipSeparator = false;
+			this.lastValueSize = buffer.writePosition() - this.valueStart;
+			if (buffer.readableByteCount() < this.flushThreshold) {
+				return null;
+			}
+			this.buffer = null;
+			return buffer;
+		}
+
+		@Nullable
+		public DataBuffer takeBuffer() {
+			DataBuffer buffer = this.buffer;
+			this.buffer = null;
+			return buffer;
+		}
+
+		public DataBuffer takeBuffer(byte[] suffix) {
+			DataBuffer buffer = takeBuffer();
+			if (buffer == null) {
+				return this.bufferFactory.wrap(suffix);
+			}
+			buffer.write(suffix);
+			return buffer;
+		}
+
+		public void discardValue() {
+			DataBuffer buffer = this.buffer;
+			if (buffer != null) {
+				buffer.writePosition(this.valueStart);
+			}
+			this.skipSeparator = false;
+		}
+
+		public void releaseBuffer() {
+			this.released = true;
+			DataBufferUtils.release(takeBuffer());
+		}
+
+		public boolean isReleased() {
+			return this.released;
+		}
+
+		private DataBuffer obtainBuffer() {
+			DataBuffer buffer = this.buffer;
+			if (buffer == null) {
+				throw new IllegalStateException(this.released ? "Output already released" : "No value started");
+			}
+			return buffer;
+		}
+
+		@Override
+		public void write(int b) {
+			DataBuffer buffer = obtainBuffer();
+			if (this.skipSeparator) {
+				this.skipSeparator = false;
+				if (b == ' ') {
+					return;
+				}
+			}
+			buffer.write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) {
+			if (len == 0) {
+				return;
+			}
+			DataBuffer buffer = obtainBuffer();
+			if (this.skipSeparator) {
+				this.skipSeparator = false;
+				if (bytes[off] == ' ') {
+					off++;
+					len--;
+				}
+			}
+			buffer.write(bytes, off, len);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,11 +40,14 @@ import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * {@link Function} to transform a JSON stream of arbitrary size, byte array
  * chunks into a {@code Flux<TokenBuffer>} where each token buffer is a
- * well-formed JSON object.
+ * well-formed JSON object, or alternatively into a {@code Flux} of values
+ * read from each token buffer as soon as it is complete.
  *
  * @author Arjen Poutsma
  * @author Rossen Stoyanchev
@@ -65,6 +68,9 @@ final class Jackson2Tokenizer {
 
 	private final int maxInMemorySize;
 
+	@Nullable
+	private final Function<TokenBuffer, ?> valueReader;
+
 	private int objectDepth;
 
 	private int arrayDepth;
@@ -73,9 +79,15 @@ final class Jackson2Tokenizer {
 
 	private TokenBuffer tokenBuffer;
 
+	private boolean tokenCompleted;
+
+	@Nullable
+	private RuntimeException valueReaderException;
+
 
 	private Jackson2Tokenizer(JsonParser parser, DeserializationContext deserializationContext,
-			boolean tokenizeArrayElements, boolean forceUseOfBigDecimal, int maxInMemorySize) {
+			boolean tokenizeArrayElements, boolean forceUseOfBigDecimal, int maxInMemorySize,
+			@Nullable Function<TokenBuffer, ?> valueReader) {
 
 		this.parser = parser;
 		this.deserializationContext = deserializationContext;
@@ -83,18 +95,19 @@ final class Jackson2Tokenizer {
 		this.tokenizeArrayElements = tokenizeArrayElements;
 		this.forceUseOfBigDecimal = forceUseOfBigDecimal;
 		this.maxInMemorySize = maxInMemorySize;
+		this.valueReader = valueReader;
 		this.tokenBuffer = createToken();
 	}
 
 
-
-	private List<TokenBuffer> tokenize(DataBuffer dataBuffer) {
+	private List<Object> tokenize(DataBuffer dataBuffer) {
 		try {
 			int bufferSize = dataBuffer.readableByteCount();
-			List<TokenBuffer> tokens = new ArrayList<>();
+			List<Object> tokens = new ArrayList<>();
+			this.tokenCompleted = false;
 			if (this.inputFeeder instanceof ByteBufferFeeder byteBufferFeeder) {
 				try (DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers()) {
-					while (iterator.hasNext()) {
+					while (iterator.hasNext() && this.valueReaderException == null) {
 						byteBufferFeeder.feedInput(iterator.next());
 						parseTokens(tokens);
 					}
@@ -106,7 +119,7 @@ final class Jackson2Tokenizer {
 				byteArrayFeeder.feedInput(bytes, 0, bufferSize);
 				parseTokens(tokens);
 			}
-			assertInMemorySize(bufferSize, tokens);
+			assertInMemorySize(bufferSize);
 			return tokens;
 		}
 		catch (JsonProcessingException ex) {
@@ -120,13 +133,27 @@ final class Jackson2Tokenizer {
 		}
 	}
 
-	private Flux<TokenBuffer> endOfInput() {
+	private Flux<Object> tokenizeAndRead(DataBuffer dataBuffer) {
+		List<Object> values = tokenize(dataBuffer);
+		return withValueReaderException(values);
+	}
+
+	private Flux<Object> withValueReaderException(List<Object> values) {
+		RuntimeException ex = this.valueReaderException;
+		if (ex == null) {
+			return Flux.fromIterable(values);
+		}
+		// Emit values read before the failing one, as with separately read token buffers
+		return Flux.fromIterable(values).concatWith(Flux.error(ex));
+	}
+
+	private Flux<Object> endOfInput() {
 		return Flux.defer(() -> {
 			this.inputFeeder.endOfInput();
 			try {
-				List<TokenBuffer> tokens = new ArrayList<>();
+				List<Object> tokens = new ArrayList<>();
 				parseTokens(tokens);
-				return Flux.fromIterable(tokens);
+				return withValueReaderException(tokens);
 			}
 			catch (JsonProcessingException ex) {
 				throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
@@ -137,10 +164,10 @@ final class Jackson2Tokenizer {
 		});
 	}
 
-	private void parseTokens(List<TokenBuffer> tokens) throws IOException {
+	private void parseTokens(List<Object> tokens) throws IOException {
 		// SPR-16151: Smile data format uses null to separate documents
 		boolean previousNull = false;
-		while (!this.parser.isClosed()) {
+		while (!this.parser.isClosed() && this.valueReaderException == null) {
 			JsonToken token = this.parser.nextToken();
 			if (token == JsonToken.NOT_AVAILABLE ||
 					token == null && previousNull) {
@@ -172,24 +199,41 @@ final class Jackson2Tokenizer {
 		}
 	}
 
-	private void processTokenNormal(JsonToken token, List<TokenBuffer> result) throws IOException {
+	private void processTokenNormal(JsonToken token, List<Object> result) throws IOException {
 		this.tokenBuffer.copyCurrentEvent(this.parser);
 
 		if ((token.isStructEnd() || token.isScalarValue()) && this.objectDepth == 0 && this.arrayDepth == 0) {
-			result.add(this.tokenBuffer);
-			this.tokenBuffer = createToken();
+			completeToken(result);
 		}
 	}
 
-	private void processTokenArray(JsonToken token, List<TokenBuffer> result) throws IOException {
+	private void processTokenArray(JsonToken token, List<Object> result) throws IOException {
 		if (!isTopLevelArrayToken(token)) {
 			this.tokenBuffer.copyCurrentEvent(this.parser);
 		}
 
 		if (this.objectDepth == 0 && (this.arrayDepth == 0 || this.arrayDepth == 1) &&
 				(token == JsonToken.END_OBJECT || token.isScalarValue())) {
-			result.add(this.tokenBuffer);
-			this.tokenBuffer = createToken();
+			completeToken(result);
+		}
+	}
+
+	private void completeToken(List<Object> result) {
+		TokenBuffer tokenBuffer = this.tokenBuffer;
+		this.tokenBuffer = createToken();
+		this.tokenCompleted = true;
+		if (this.valueReader == null) {
+			result.add(tokenBuffer);
+			return;
+		}
+		try {
+			Object value = this.valueReader.apply(tokenBuffer);
+			if (value != null) {
+				result.add(value);
+			}
+		}
+		catch (RuntimeException ex) {
+			this.valueReaderException = ex;
 		}
 	}
 
@@ -204,9 +248,9 @@ final class Jackson2Tokenizer {
 				(token == JsonToken.END_ARRAY && this.arrayDepth == 0));
 	}
 
-	private void assertInMemorySize(int currentBufferSize, List<TokenBuffer> result) {
+	private void assertInMemorySize(int currentBufferSize) {
 		if (this.maxInMemorySize >= 0) {
-			if (!result.isEmpty()) {
+			if (this.tokenCompleted) {
 				this.byteCount = 0;
 			}
 			else if (currentBufferSize > Integer.MAX_VALUE - this.byteCount) {
@@ -239,9 +283,47 @@ final class Jackson2Tokenizer {
 	 * @param maxInMemorySize maximum memory size
 	 * @return the resulting token buffers
 	 */
+	@SuppressWarnings("unchecked")
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
 			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize) {
 
+		return (Flux<TokenBuffer>) tokenizeInternal(dataBuffers, jsonFactory, objectMapper,
+				tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize, null);
+	}
+
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} and read each token buffer
+	 * into a value as soon as it is complete, rather than collecting the token
+	 * buffers of each data buffer first. For large JSON arrays, this means at
+	 * most one array element is held in token form at any time.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param objectMapper the current mapper instance
+	 * @param tokenizeArrays if {@code true} and the "top level" JSON object is
+	 * an array, each element is read individually immediately after it is received
+	 * @param forceUseOfBigDecimal if {@code true}, any floating point values encountered
+	 * in source will use {@link java.math.BigDecimal}
+	 * @param maxInMemorySize maximum memory size
+	 * @param valueReader the function to read a value from a complete token
+	 * buffer; a {@code null} value is skipped, and an exception is propagated
+	 * after values read before it
+	 * @return the resulting values
+	 * @since 6.2
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Flux<T> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize,
+			Function<TokenBuffer, T> valueReader) {
+
+		Assert.notNull(valueReader, "'valueReader' must not be null");
+		return (Flux<T>) tokenizeInternal(dataBuffers, jsonFactory, objectMapper,
+				tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize, valueReader);
+	}
+
+	private static Flux<?> tokenizeInternal(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize,
+			@Nullable Function<TokenBuffer, ?> valueReader) {
+
 		try {
 			JsonParser parser;
 			if (jsonFactory.getFormatName().equals(SmileFactory.FORMAT_NAME_SMILE)) {
@@ -256,9 +338,12 @@ final class Jackson2Tokenizer {
 				context = ddc.createInstance(objectMapper.getDeserializationConfig(),
 						parser, objectMapper.getInjectableValues());
 			}
-			Jackson2Tokenizer tokenizer =
-					new Jackson2Tokenizer(parser, context, tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize);
-			return dataBuffers.concatMapIterable(tokenizer::tokenize).concatWith(tokenizer.endOfInput());
+			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, context,
+					tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize, valueReader);
+			if (valueReader == null) {
+				return dataBuffers.concatMapIterable(tokenizer::tokenize).concatWith(tokenizer.endOfInput());
+			}
+			return dataBuffers.concatMap(tokenizer::tokenizeAndRead).concatWith(tokenizer.endOfInput());
 		}
 		catch (IOException ex) {
 			return Flux.error(ex);
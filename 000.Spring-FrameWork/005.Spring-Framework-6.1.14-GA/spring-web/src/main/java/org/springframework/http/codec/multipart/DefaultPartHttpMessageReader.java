@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,8 @@ public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements
 
 	private long maxDiskUsagePerPart = -1;
 
+	private int maxWriteBehindSize = 256 * 1024;
+
 	private int maxParts = -1;
 
 	private Scheduler blockingOperationScheduler = Schedulers.boundedElastic();
@@ -114,6 +116,32 @@ public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements
 		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
 	}
 
+	/**
+	 * Configure the maximum amount of memory used, per file part, for buffers
+	 * that are queued for writing to the temporary file. While the queued byte
+	 * count is below this limit, more data is read from the request while
+	 * earlier data is written to disk, and queued buffers are written together
+	 * in a single gathering write.
+	 * <p>By default this is set to 256K. A value of 0 means that no further
+	 * data is read until the previous write has completed.
+	 * <p>Note that this property is ignored when
+	 * {@link #setMaxInMemorySize(int) maxInMemorySize} is set to -1.
+	 * @param byteCount the maximum number of bytes to queue per file part
+	 * @since 6.2
+	 */
+	public void setMaxWriteBehindSize(int byteCount) {
+		Assert.isTrue(byteCount >= 0, "'byteCount' must not be negative");
+		this.maxWriteBehindSize = byteCount;
+	}
+
+	/**
+	 * Get the {@link #setMaxWriteBehindSize configured} write-behind size.
+	 * @since 6.2
+	 */
+	public int getMaxWriteBehindSize() {
+		return this.maxWriteBehindSize;
+	}
+
 	/**
 	 * Specify the maximum number of parts allowed in a given multipart request.
 	 * <p>By default this is set to -1, meaning that there is no maximum.
@@ -206,7 +234,8 @@ public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements
 						else {
 							return PartGenerator.createPart(partsTokens,
 									this.maxInMemorySize, this.maxDiskUsagePerPart,
-									this.fileStorage.directory(), this.blockingOperationScheduler);
+									this.fileStorage.directory(), this.blockingOperationScheduler,
+									this.maxWriteBehindSize);
 						}
 					});
 		});
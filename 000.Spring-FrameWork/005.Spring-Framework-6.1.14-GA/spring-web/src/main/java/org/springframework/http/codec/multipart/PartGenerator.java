@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,7 +19,7 @@ package org.springframework.http.codec.multipart;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.WritableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,7 +29,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -75,26 +78,30 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 	private final Scheduler blockingOperationScheduler;
 
+	private final int maxWriteBehindSize;
+
 
 	private PartGenerator(MonoSink<Part> sink, int maxInMemorySize, long maxDiskUsagePerPart,
-			Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
+			Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler, int maxWriteBehindSize) {
 
 		this.sink = sink;
 		this.maxInMemorySize = maxInMemorySize;
 		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
 		this.fileStorageDirectory = fileStorageDirectory;
 		this.blockingOperationScheduler = blockingOperationScheduler;
+		this.maxWriteBehindSize = maxWriteBehindSize;
 	}
 
 	/**
 	 * Creates parts from a given stream of tokens.
 	 */
 	public static Mono<Part> createPart(Flux<MultipartParser.Token> tokens, int maxInMemorySize,
-			long maxDiskUsagePerPart, Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
+			long maxDiskUsagePerPart, Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler,
+			int maxWriteBehindSize) {
 
 		return Mono.create(sink -> {
 			PartGenerator generator = new PartGenerator(sink, maxInMemorySize, maxDiskUsagePerPart,
-					fileStorageDirectory, blockingOperationScheduler);
+					fileStorageDirectory, blockingOperationScheduler, maxWriteBehindSize);
 
 			sink.onCancel(generator);
 			sink.onRequest(l -> generator.requestToken());
@@ -213,9 +220,8 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 	 * <li>Otherwise, the creator will initially be in the
 	 * {@link InMemoryState}, but will switch over to {@link CreateFileState}
 	 * when the part byte count exceeds {@link #maxInMemorySize},
-	 * then to {@link WritingFileState} (to write the memory contents),
-	 * and finally {@link IdleFileState}, which switches back to
-	 * {@link WritingFileState} when more body data comes in.</li>
+	 * and finally to {@link WritingFileState}, which writes the memory
+	 * contents and any further body data to the file.</li>
 	 * </ol>
 	 */
 	private interface State {
@@ -475,7 +481,7 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 				if (logger.isTraceEnabled()) {
 					logger.trace("Storing multipart data in file " + tempFile);
 				}
-				WritableByteChannel channel = Files.newByteChannel(tempFile, StandardOpenOption.WRITE);
+				FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
 				return new WritingFileState(this, tempFile, channel);
 			}
 			catch (IOException ex) {
@@ -488,7 +494,7 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 			if (changeState(this, newState)) {
 
-				newState.writeBuffers(this.content);
+				this.content.forEach(newState::write);
 
 				if (this.completed) {
 					newState.onComplete();
@@ -516,201 +522,176 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 	}
 
-	private final class IdleFileState implements State {
+	/**
+	 * The creator state when writing to a temporary file.
+	 * Body buffers are queued and written behind on the
+	 * {@link #blockingOperationScheduler}, with each run writing all queued
+	 * buffers in a single gathering write. Further tokens are requested as
+	 * long as the queued byte count does not exceed {@link #maxWriteBehindSize}.
+	 */
+	private final class WritingFileState implements State {
 
 		private final HttpHeaders headers;
 
 		private final Path file;
 
-		private final WritableByteChannel channel;
+		private final FileChannel channel;
 
 		private final AtomicLong byteCount;
 
-		private volatile boolean closeOnDispose = true;
+		private final Queue<DataBuffer> queue = new ConcurrentLinkedQueue<>();
+
+		private final AtomicLong queuedByteCount = new AtomicLong();
+
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile boolean completed;
 
-		private volatile boolean deleteOnDispose = true;
+		private volatile boolean disposed;
 
 
-		public IdleFileState(WritingFileState state) {
+		public WritingFileState(CreateFileState state, Path file, FileChannel channel) {
 			this.headers = state.headers;
-			this.file = state.file;
-			this.channel = state.channel;
-			this.byteCount = state.byteCount;
+			this.file = file;
+			this.channel = channel;
+			this.byteCount = new AtomicLong(state.byteCount);
 		}
 
 		@Override
 		public void body(DataBuffer dataBuffer) {
 			long count = this.byteCount.addAndGet(dataBuffer.readableByteCount());
 			if (PartGenerator.this.maxDiskUsagePerPart == -1 || count <= PartGenerator.this.maxDiskUsagePerPart) {
-
-				this.closeOnDispose = false;
-				this.deleteOnDispose = false;
-				WritingFileState newState = new WritingFileState(this);
-				if (changeState(this, newState)) {
-					newState.writeBuffer(dataBuffer);
-				}
-				else {
-					MultipartUtils.closeChannel(this.channel);
-					MultipartUtils.deleteFile(this.file);
-					DataBufferUtils.release(dataBuffer);
-				}
+				write(dataBuffer);
+				requestToken();
 			}
 			else {
-				MultipartUtils.closeChannel(this.channel);
-				MultipartUtils.deleteFile(this.file);
 				DataBufferUtils.release(dataBuffer);
+				dispose();
 				emitError(new DataBufferLimitException(
 						"Part exceeded the disk usage limit of " + PartGenerator.this.maxDiskUsagePerPart +
 								" bytes"));
 			}
 		}
 
-		@Override
-		public void onComplete() {
-			MultipartUtils.closeChannel(this.channel);
-			this.deleteOnDispose = false;
-			emitPart(DefaultParts.part(this.headers, this.file, PartGenerator.this.blockingOperationScheduler));
-		}
-
-		@Override
-		public void dispose() {
-			if (this.closeOnDispose) {
-				MultipartUtils.closeChannel(this.channel);
-			}
-			if (this.deleteOnDispose) {
-				MultipartUtils.deleteFile(this.file);
+		/**
+		 * Queue the given buffer for writing, without checking the disk usage limit.
+		 */
+		public void write(DataBuffer dataBuffer) {
+			if (this.disposed) {
+				DataBufferUtils.release(dataBuffer);
+				return;
 			}
+			this.queuedByteCount.addAndGet(dataBuffer.readableByteCount());
+			this.queue.add(dataBuffer);
+			drain();
 		}
 
-
 		@Override
-		public String toString() {
-			return "IDLE-FILE";
-		}
-
-	}
-
-	private final class WritingFileState implements State {
-
-
-		private final HttpHeaders headers;
-
-		private final Path file;
-
-		private final WritableByteChannel channel;
-
-		private final AtomicLong byteCount;
-
-		private volatile boolean completed;
-
-		private volatile boolean disposed;
-
-
-		public WritingFileState(CreateFileState state, Path file, WritableByteChannel channel) {
-			this.headers = state.headers;
-			this.file = file;
-			this.channel = channel;
-			this.byteCount = new AtomicLong(state.byteCount);
-		}
-
-		public WritingFileState(IdleFileState state) {
-			this.headers = state.headers;
-			this.file = state.file;
-			this.channel = state.channel;
-			this.byteCount = state.byteCount;
+		public void onComplete() {
+			this.completed = true;
+			drain();
 		}
 
 		@Override
-		public void body(DataBuffer dataBuffer) {
-			DataBufferUtils.release(dataBuffer);
-			emitError(new IllegalStateException("Body token not expected"));
+		public boolean canRequest() {
+			return (!this.disposed && this.queuedByteCount.get() <= PartGenerator.this.maxWriteBehindSize);
 		}
 
 		@Override
-		public void onComplete() {
-			this.completed = true;
-			State state = PartGenerator.this.state.get();
-			// writeComplete might have changed our state to IdleFileState
-			if (state != this) {
-				state.onComplete();
-			}
-			else {
-				this.completed = true;
-			}
-		}
-
-		public void writeBuffer(DataBuffer dataBuffer) {
-			Mono.just(dataBuffer)
-					.flatMap(this::writeInternal)
-					.subscribeOn(PartGenerator.this.blockingOperationScheduler)
-					.subscribe(null,
-					PartGenerator.this::emitError,
-					this::writeComplete);
+		public void dispose() {
+			this.disposed = true;
+			drain();
 		}
 
-		public void writeBuffers(Iterable<DataBuffer> dataBuffers) {
-			Flux.fromIterable(dataBuffers)
-					.concatMap(this::writeInternal)
-					.then()
-					.subscribeOn(PartGenerator.this.blockingOperationScheduler)
-					.subscribe(null,
-							PartGenerator.this::emitError,
-							this::writeComplete);
+		private void drain() {
+			if (this.wip.getAndIncrement() == 0) {
+				try {
+					PartGenerator.this.blockingOperationScheduler.schedule(this::drainLoop);
+				}
+				catch (RejectedExecutionException ex) {
+					this.disposed = true;
+					cleanup();
+					emitError(ex);
+				}
+			}
 		}
 
-		private void writeComplete() {
-			IdleFileState newState = new IdleFileState(this);
-			if (this.disposed) {
-				newState.dispose();
-			}
-			else if (changeState(this, newState)) {
-				if (this.completed) {
-					newState.onComplete();
+		private void drainLoop() {
+			int missed = 1;
+			while (true) {
+				if (this.disposed) {
+					cleanup();
+					return;
 				}
-				else {
+				if (!this.queue.isEmpty()) {
+					try {
+						writeQueued();
+					}
+					catch (IOException ex) {
+						this.disposed = true;
+						cleanup();
+						emitError(ex);
+						return;
+					}
 					requestToken();
 				}
-			}
-			else {
-				MultipartUtils.closeChannel(this.channel);
-				MultipartUtils.deleteFile(this.file);
+				if (this.completed && this.queue.isEmpty() && !this.disposed) {
+					MultipartUtils.closeChannel(this.channel);
+					emitPart(DefaultParts.part(this.headers, this.file, PartGenerator.this.blockingOperationScheduler));
+					return;
+				}
+				missed = this.wip.addAndGet(-missed);
+				if (missed == 0) {
+					return;
+				}
 			}
 		}
 
 		@SuppressWarnings("BlockingMethodInNonBlockingContext")
-		private Mono<Void> writeInternal(DataBuffer dataBuffer) {
+		private void writeQueued() throws IOException {
+			long start = (logger.isTraceEnabled() ? System.nanoTime() : 0);
+			List<DataBuffer> dataBuffers = new ArrayList<>(this.queue.size());
+			List<DataBuffer.ByteBufferIterator> iterators = new ArrayList<>(this.queue.size());
+			List<ByteBuffer> byteBuffers = new ArrayList<>(this.queue.size());
+			long byteCount = 0;
 			try {
-				try (DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers()) {
+				DataBuffer dataBuffer;
+				while ((dataBuffer = this.queue.poll()) != null) {
+					dataBuffers.add(dataBuffer);
+					byteCount += dataBuffer.readableByteCount();
+					DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers();
+					iterators.add(iterator);
 					while (iterator.hasNext()) {
-						ByteBuffer byteBuffer = iterator.next();
-						while (byteBuffer.hasRemaining()) {
-							this.channel.write(byteBuffer);
-						}
+						byteBuffers.add(iterator.next());
 					}
 				}
-				return Mono.empty();
-			}
-			catch (IOException ex) {
-				MultipartUtils.closeChannel(this.channel);
-				MultipartUtils.deleteFile(this.file);
-				return Mono.error(ex);
+				ByteBuffer[] sources = byteBuffers.toArray(new ByteBuffer[0]);
+				long remaining = byteCount;
+				while (remaining > 0) {
+					remaining -= this.channel.write(sources);
+				}
 			}
 			finally {
-				DataBufferUtils.release(dataBuffer);
+				iterators.forEach(DataBuffer.ByteBufferIterator::close);
+				dataBuffers.forEach(DataBufferUtils::release);
+				long queued = this.queuedByteCount.addAndGet(-byteCount);
+				if (logger.isTraceEnabled()) {
+					logger.trace("Wrote " + byteCount + " bytes from " + dataBuffers.size() + " buffers to " +
+							this.file + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) +
+							" ms, " + queued + " bytes still queued in memory");
+				}
 			}
 		}
 
-		@Override
-		public boolean canRequest() {
-			return false;
-		}
-
-		@Override
-		public void dispose() {
-			this.disposed = true;
+		private void cleanup() {
+			DataBuffer dataBuffer;
+			while ((dataBuffer = this.queue.poll()) != null) {
+				DataBufferUtils.release(dataBuffer);
+			}
+			MultipartUtils.closeChannel(this.channel);
+			MultipartUtils.deleteFile(this.file);
 		}
 
-
 		@Override
 		public String toString() {
 			return "WRITE-FILE";
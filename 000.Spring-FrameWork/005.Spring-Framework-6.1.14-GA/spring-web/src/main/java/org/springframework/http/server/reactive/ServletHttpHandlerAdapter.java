@@ -72,6 +72,8 @@ public class ServletHttpHandlerAdapter implements Servlet {
 
 	private DataBufferFactory dataBufferFactory = DefaultDataBufferFactory.sharedInstance;
 
+	private long fileMappingThreshold = -1;
+
 
 	public ServletHttpHandlerAdapter(HttpHandler httpHandler) {
 		Assert.notNull(httpHandler, "HttpHandler must not be null");
@@ -116,6 +118,33 @@ public class ServletHttpHandlerAdapter implements Servlet {
 		return this.dataBufferFactory;
 	}
 
+	/**
+	 * Set the minimum size of file regions for
+	 * {@linkplain org.springframework.http.ZeroCopyHttpOutputMessage zero-copy}
+	 * writes to be memory-mapped rather than read into buffers.
+	 * <p>By default this is set to -1, never mapping files. Note that mapped
+	 * memory is only released once garbage-collected: every mapping counts
+	 * against the per-process limit of mappings, prevents the file from being
+	 * deleted on Windows, and raises an {@link InternalError}, if not crashing
+	 * the JVM, when the file is truncated while being written. Only enable this
+	 * for large, immutable files.
+	 * @param fileMappingThreshold the threshold in bytes, or -1 for none
+	 * @since 6.2
+	 * @see org.springframework.core.io.buffer.DataBufferUtils#readMapped
+	 */
+	public void setFileMappingThreshold(long fileMappingThreshold) {
+		Assert.isTrue(fileMappingThreshold >= -1, "File mapping threshold must be -1 or greater");
+		this.fileMappingThreshold = fileMappingThreshold;
+	}
+
+	/**
+	 * Return the configured file mapping threshold.
+	 * @since 6.2
+	 */
+	public long getFileMappingThreshold() {
+		return this.fileMappingThreshold;
+	}
+
 
 	// Servlet methods...
 
@@ -184,6 +213,7 @@ public class ServletHttpHandlerAdapter implements Servlet {
 
 		ServletServerHttpResponse wrappedResponse =
 				createResponse((HttpServletResponse) response, asyncContext, httpRequest);
+		wrappedResponse.setFileMappingThreshold(this.fileMappingThreshold);
 		ServerHttpResponse httpResponse = wrappedResponse;
 		AsyncListener responseListener = wrappedResponse.getAsyncListener();
 		if (httpRequest.getMethod() == HttpMethod.HEAD) {
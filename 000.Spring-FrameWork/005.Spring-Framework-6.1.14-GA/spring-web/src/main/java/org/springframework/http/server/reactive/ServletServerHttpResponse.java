@@ -18,7 +18,10 @@ package org.springframework.http.server.reactive;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.AsynchronousFileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.AsyncEvent;
@@ -29,6 +32,8 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -37,6 +42,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -47,7 +53,10 @@ import org.springframework.util.Assert;
  * @author Juergen Hoeller
  * @since 5.0
  */
-class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
+class ServletServerHttpResponse extends AbstractListenerServerHttpResponse implements ZeroCopyHttpOutputMessage {
+
+	private static final int MAPPED_BUFFER_SIZE = 64 * 1024;
+
 
 	private final HttpServletResponse response;
 
@@ -67,6 +76,8 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 
 	private final ResponseAsyncListener asyncListener;
 
+	private long fileMappingThreshold = -1;
+
 
 	public ServletServerHttpResponse(HttpServletResponse response, AsyncContext asyncContext,
 			DataBufferFactory bufferFactory, int bufferSize, ServletServerHttpRequest request) throws IOException {
@@ -115,6 +126,41 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 		return (status != null ? status : this.response.getStatus());
 	}
 
+	/**
+	 * Set the minimum size of file regions to write as a memory-mapped view.
+	 * @param fileMappingThreshold the threshold in bytes, or -1 for none
+	 * @since 6.2
+	 * @see ServletHttpHandlerAdapter#setFileMappingThreshold
+	 */
+	void setFileMappingThreshold(long fileMappingThreshold) {
+		this.fileMappingThreshold = fileMappingThreshold;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The Servlet API does not expose the underlying socket channel, so this
+	 * implementation reads the file region through an asynchronous file channel
+	 * by default. If {@linkplain #setFileMappingThreshold enabled}, larger file
+	 * regions are written as a memory-mapped view through the regular
+	 * non-blocking write path instead, rather than reading the file into
+	 * intermediate buffers first.
+	 * @since 6.2
+	 * @see DataBufferUtils#readMapped
+	 */
+	@Override
+	public Mono<Void> writeWith(Path file, long position, long count) {
+		Flux<DataBuffer> body;
+		if (this.fileMappingThreshold >= 0 && count >= this.fileMappingThreshold) {
+			body = DataBufferUtils.readMapped(file, position, count, bufferFactory(), MAPPED_BUFFER_SIZE);
+		}
+		else {
+			body = DataBufferUtils.takeUntilByteCount(DataBufferUtils.readAsynchronousFileChannel(
+					() -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+					position, bufferFactory(), this.bufferSize), count);
+		}
+		return writeWith(body);
+	}
+
 	@Override
 	protected void applyStatusCode() {
 		HttpStatusCode status = super.getStatusCode();
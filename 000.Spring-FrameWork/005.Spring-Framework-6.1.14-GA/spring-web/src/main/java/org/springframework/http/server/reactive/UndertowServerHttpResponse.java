@@ -321,6 +321,8 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 		public void transfer(StreamSinkChannel destination) {
 			try {
 				while (this.count > 0) {
+					// Some conduits read from the current position of the source
+					this.source.position(this.position);
 					long len = destination.transferFrom(this.source, this.position, this.count);
 					if (len != 0) {
 						this.position += len;
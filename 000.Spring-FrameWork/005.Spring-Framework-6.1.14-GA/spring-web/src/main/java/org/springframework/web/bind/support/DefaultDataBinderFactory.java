@@ -21,6 +21,7 @@ import java.lang.annotation.Annotation;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
 import org.springframework.lang.Nullable;
+import org.springframework.validation.ConstructorBindingPlanCache;
 import org.springframework.validation.DataBinder;
 import org.springframework.validation.SmartValidator;
 import org.springframework.web.bind.WebDataBinder;
@@ -35,6 +36,15 @@ import org.springframework.web.context.request.NativeWebRequest;
  */
 public class DefaultDataBinderFactory implements WebDataBinderFactory {
 
+	private static final BindParamNameResolver nameResolver = new BindParamNameResolver();
+
+	/**
+	 * Constructor binding plans shared across factory instances, since
+	 * factories are typically created for every request.
+	 */
+	private static final ConstructorBindingPlanCache constructorBindingPlanCache = new ConstructorBindingPlanCache();
+
+
 	@Nullable
 	private final WebBindingInitializer initializer;
 
@@ -92,7 +102,8 @@ public class DefaultDataBinderFactory implements WebDataBinderFactory {
 			@Nullable ResolvableType type) throws Exception {
 
 		WebDataBinder dataBinder = createBinderInstance(target, objectName, webRequest);
-		dataBinder.setNameResolver(new BindParamNameResolver());
+		dataBinder.setNameResolver(nameResolver);
+		dataBinder.setConstructorBindingPlanCache(constructorBindingPlanCache);
 
 		if (target == null && type != null) {
 			dataBinder.setTargetType(type);
@@ -124,6 +124,11 @@ class CaptureVariablePathElement extends PathElement {
 		return this.variableName;
 	}
 
+	@Nullable
+	Pattern getConstraintPattern() {
+		return this.constraintPattern;
+	}
+
 	@Override
 	public int getNormalizedLength() {
 		return 1;
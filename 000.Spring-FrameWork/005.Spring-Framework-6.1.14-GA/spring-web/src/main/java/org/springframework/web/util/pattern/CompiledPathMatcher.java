@@ -0,0 +1,248 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.PathContainer.Element;
+import org.springframework.http.server.PathContainer.PathSegment;
+
+/**
+ * Flat representation of the chain of {@link PathElement PathElements} of a
+ * {@link PathPattern}, used to match full paths in a single loop without
+ * allocating a {@link PathPattern.MatchingContext}.
+ *
+ * <p>Each path element of a pattern consumes exactly one element of a matching
+ * path, apart from a trailing "rest of the path" element, so the element at
+ * position {@code i} of the pattern is always matched against the element at
+ * position {@code i} of the path. The literal text, wildcard masks and regular
+ * expressions of all elements are extracted upfront into arrays indexed by
+ * that position. Only regular expressions still allocate a {@code Matcher}.
+ *
+ * <p>The match semantics are the same as {@link PathElement#matches} with
+ * {@link PathPattern.MatchingContext#determineRemainingPath} turned off, and
+ * URI variables are extracted on demand through the element chain.
+ *
+ * @since 6.2
+ * @see PathPatternParser#setCompiledMatching(boolean)
+ */
+final class CompiledPathMatcher {
+
+	private static final byte SEPARATOR = 0;
+
+	private static final byte LITERAL = 1;
+
+	private static final byte SINGLE_CHAR_WILDCARDED = 2;
+
+	private static final byte WILDCARD = 3;
+
+	private static final byte CAPTURE_VARIABLE = 4;
+
+	private static final byte REGEX = 5;
+
+	private static final byte THE_REST = 6;
+
+
+	private final byte[] kinds;
+
+	private final String[] literals;
+
+	private final char[][] masks;
+
+	private final Pattern[] patterns;
+
+	private final boolean[] captures;
+
+	private final boolean caseSensitive;
+
+	private final boolean matchOptionalTrailingSeparator;
+
+
+	CompiledPathMatcher(PathElement head, boolean caseSensitive, boolean matchOptionalTrailingSeparator) {
+		int length = 0;
+		for (PathElement element = head; element != null; element = element.next) {
+			length++;
+		}
+		this.kinds = new byte[length];
+		this.literals = new String[length];
+		this.masks = new char[length][];
+		this.patterns = new Pattern[length];
+		this.captures = new boolean[length];
+		this.caseSensitive = caseSensitive;
+		this.matchOptionalTrailingSeparator = matchOptionalTrailingSeparator;
+
+		int i = 0;
+		for (PathElement element = head; element != null; element = element.next, i++) {
+			if (element instanceof SeparatorPathElement) {
+				this.kinds[i] = SEPARATOR;
+			}
+			else if (element instanceof LiteralPathElement) {
+				this.kinds[i] = LITERAL;
+				this.literals[i] = new String(element.getChars());
+			}
+			else if (element instanceof SingleCharWildcardedPathElement) {
+				this.kinds[i] = SINGLE_CHAR_WILDCARDED;
+				this.masks[i] = element.getChars();
+			}
+			else if (element instanceof WildcardPathElement) {
+				this.kinds[i] = WILDCARD;
+			}
+			else if (element instanceof CaptureVariablePathElement captureElement) {
+				this.kinds[i] = CAPTURE_VARIABLE;
+				this.patterns[i] = captureElement.getConstraintPattern();
+			}
+			else if (element instanceof RegexPathElement regexElement) {
+				this.kinds[i] = REGEX;
+				this.patterns[i] = regexElement.getPattern();
+				this.captures[i] = !regexElement.getVariableNames().isEmpty();
+			}
+			else {
+				this.kinds[i] = THE_REST;
+			}
+		}
+	}
+
+
+	/**
+	 * Whether the given path, with at least one element, matches the pattern.
+	 */
+	boolean matches(PathContainer path) {
+		List<Element> elements = path.elements();
+		int pathLength = elements.size();
+		int last = this.kinds.length - 1;
+		for (int i = 0; i <= last; i++) {
+			Element element = (i < pathLength ? elements.get(i) : null);
+			switch (this.kinds[i]) {
+				case SEPARATOR -> {
+					if (element == null || element instanceof PathSegment) {
+						return false;
+					}
+					if (i == last) {
+						return (i + 1 == pathLength);
+					}
+				}
+				case LITERAL -> {
+					if (!(element instanceof PathSegment segment) || !matchesLiteral(i, segment.valueToMatch())) {
+						return false;
+					}
+					if (i == last) {
+						return isEndOfPath(i + 1, elements);
+					}
+				}
+				case SINGLE_CHAR_WILDCARDED -> {
+					if (!(element instanceof PathSegment segment) || !matchesMask(i, segment.valueToMatch())) {
+						return false;
+					}
+					if (i == last) {
+						return isEndOfPath(i + 1, elements);
+					}
+				}
+				case WILDCARD -> {
+					if (element == null) {
+						// Only a trailing wildcard may match the end of the path
+						return (i == last && i == pathLength);
+					}
+					if (!(element instanceof PathSegment segment)) {
+						return false;
+					}
+					if (i == last) {
+						return (i + 1 == pathLength ||
+								(!segment.valueToMatch().isEmpty() && isEndOfPath(i + 1, elements)));
+					}
+					if (segment.valueToMatch().isEmpty()) {
+						return false;
+					}
+				}
+				case CAPTURE_VARIABLE -> {
+					if (!(element instanceof PathSegment segment)) {
+						return false;
+					}
+					String value = segment.valueToMatch();
+					if (value.isEmpty() || !matchesConstraint(i, value)) {
+						return false;
+					}
+					if (i == last) {
+						return isEndOfPath(i + 1, elements);
+					}
+				}
+				case REGEX -> {
+					String value = (element instanceof PathSegment segment ? segment.valueToMatch() : "");
+					if (!this.patterns[i].matcher(value).matches()) {
+						return false;
+					}
+					if (i == last) {
+						if (this.captures[i] && value.isEmpty()) {
+							return false;
+						}
+						return (i + 1 >= pathLength || isEndOfPath(i + 1, elements));
+					}
+				}
+				default -> {
+					// Rest of the path, if any, must start with a separator
+					return !(element instanceof PathSegment);
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the given index is the end of the path, also accepting a single
+	 * trailing separator if {@code matchOptionalTrailingSeparator} is on.
+	 */
+	private boolean isEndOfPath(int index, List<Element> elements) {
+		int pathLength = elements.size();
+		return (index == pathLength || (this.matchOptionalTrailingSeparator &&
+				index + 1 == pathLength && !(elements.get(index) instanceof PathSegment)));
+	}
+
+	private boolean matchesLiteral(int index, String value) {
+		String literal = this.literals[index];
+		return (this.caseSensitive ? literal.equals(value) : literal.equalsIgnoreCase(value));
+	}
+
+	private boolean matchesMask(int index, String value) {
+		char[] mask = this.masks[index];
+		if (value.length() != mask.length) {
+			return false;
+		}
+		for (int i = 0; i < mask.length; i++) {
+			char ch = mask[i];
+			if (ch != '?' && ch != (this.caseSensitive ? value.charAt(i) : Character.toLowerCase(value.charAt(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean matchesConstraint(int index, String value) {
+		Pattern constraint = this.patterns[index];
+		if (constraint == null) {
+			return true;
+		}
+		Matcher matcher = constraint.matcher(value);
+		if (matcher.groupCount() != 0) {
+			throw new IllegalArgumentException(
+					"No capture groups allowed in the constraint regex: " + constraint.pattern());
+		}
+		return matcher.matches();
+	}
+
+}
@@ -28,6 +28,7 @@ import org.springframework.http.server.PathContainer.Element;
 import org.springframework.http.server.PathContainer.PathSegment;
 import org.springframework.http.server.PathContainer.Separator;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -151,6 +152,10 @@ public class PathPattern implements Comparable<PathPattern> {
 	/** Does the pattern end with {*...}. */
 	private boolean catchAll = false;
 
+	/** Flat representation of the path elements, if compiled matching is enabled. */
+	@Nullable
+	private final CompiledPathMatcher compiledMatcher;
+
 
 	@SuppressWarnings("deprecation")
 	PathPattern(String patternText, PathPatternParser parser, @Nullable PathElement head) {
@@ -175,6 +180,9 @@ public class PathPattern implements Comparable<PathPattern> {
 			}
 			elem = elem.next;
 		}
+
+		this.compiledMatcher = (parser.isCompiledMatching() && head != null ?
+				new CompiledPathMatcher(head, this.caseSensitive, this.matchOptionalTrailingSeparator) : null);
 	}
 
 
@@ -213,6 +221,9 @@ public class PathPattern implements Comparable<PathPattern> {
 				return false;
 			}
 		}
+		if (this.compiledMatcher != null) {
+			return this.compiledMatcher.matches(pathContainer);
+		}
 		MatchingContext matchingContext = new MatchingContext(pathContainer, false);
 		return this.head.matches(0, matchingContext);
 	}
@@ -220,6 +231,8 @@ public class PathPattern implements Comparable<PathPattern> {
 	/**
 	 * Match this pattern to the given URI path and return extracted URI template
 	 * variables as well as path parameters (matrix variables).
+	 * <p>With {@link PathPatternParser#setCompiledMatching compiled matching},
+	 * variables are extracted when first accessed on the returned info object.
 	 * @param pathContainer the candidate path to attempt to match against
 	 * @return info object with the extracted variables, or {@code null} for no match
 	 */
@@ -238,6 +251,13 @@ public class PathPattern implements Comparable<PathPattern> {
 				return null;
 			}
 		}
+		if (this.compiledMatcher != null) {
+			if (!this.compiledMatcher.matches(pathContainer)) {
+				return null;
+			}
+			return (this.capturedVariableCount != 0 ?
+					new DeferredPathMatchInfo(this, pathContainer) : PathMatchInfo.EMPTY);
+		}
 		MatchingContext matchingContext = new MatchingContext(pathContainer, true);
 		return this.head.matches(0, matchingContext) ? matchingContext.getPathMatchResult() : null;
 	}
@@ -472,6 +492,10 @@ public class PathPattern implements Comparable<PathPattern> {
 		return this.pathOptions.separator();
 	}
 
+	boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
 	int getCapturedVariableCount() {
 		return this.capturedVariableCount;
 	}
@@ -587,6 +611,56 @@ public class PathPattern implements Comparable<PathPattern> {
 	}
 
 
+	/**
+	 * {@link PathMatchInfo} for a path already known to match a compiled
+	 * pattern, extracting variables through the chain of path elements
+	 * when first accessed.
+	 */
+	private static final class DeferredPathMatchInfo extends PathMatchInfo {
+
+		private final PathPattern pattern;
+
+		private final PathContainer pathContainer;
+
+		@Nullable
+		private PathMatchInfo matchInfo;
+
+		DeferredPathMatchInfo(PathPattern pattern, PathContainer pathContainer) {
+			super(Collections.emptyMap(), null);
+			this.pattern = pattern;
+			this.pathContainer = pathContainer;
+		}
+
+		@Override
+		public Map<String, String> getUriVariables() {
+			return obtainMatchInfo().getUriVariables();
+		}
+
+		@Override
+		public Map<String, MultiValueMap<String, String>> getMatrixVariables() {
+			return obtainMatchInfo().getMatrixVariables();
+		}
+
+		private PathMatchInfo obtainMatchInfo() {
+			PathMatchInfo matchInfo = this.matchInfo;
+			if (matchInfo == null) {
+				PathElement head = this.pattern.head;
+				Assert.state(head != null, "No path elements to extract variables from");
+				MatchingContext matchingContext = this.pattern.new MatchingContext(this.pathContainer, true);
+				head.matches(0, matchingContext);
+				matchInfo = matchingContext.getPathMatchResult();
+				this.matchInfo = matchInfo;
+			}
+			return matchInfo;
+		}
+
+		@Override
+		public String toString() {
+			return obtainMatchInfo().toString();
+		}
+	}
+
+
 	/**
 	 * Holder for the result of a match on the start of a pattern.
 	 * Provides access to the remaining path not matched to the pattern as well
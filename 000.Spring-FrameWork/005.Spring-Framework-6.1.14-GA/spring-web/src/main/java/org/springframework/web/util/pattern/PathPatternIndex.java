@@ -0,0 +1,292 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.PathContainer.Element;
+import org.springframework.http.server.PathContainer.PathSegment;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Index of values keyed by {@link PathPattern}, organized as a trie over the
+ * parsed path elements of each pattern, that can be used to narrow down the
+ * values whose patterns may match a given {@link PathContainer} without
+ * having to match the path against every registered pattern.
+ *
+ * <p>Literal path elements are indexed by their text, while all other
+ * single-segment elements (wildcards, captured variables and regular
+ * expressions) share a wildcard branch; patterns ending with
+ * <code>{*spring}</code> or {@code **} are collected at the point where
+ * the rest of the path is captured.
+ *
+ * <p>The {@link #getCandidates candidates} returned for a path are a superset
+ * of the values whose patterns match that path; callers are still expected to
+ * use {@link PathPattern#matches(PathContainer)} for the actual match.
+ *
+ * <p>This class is not thread-safe: concurrent registrations and lookups
+ * must be guarded by the caller, for example with a read-write lock.
+ *
+ * @since 6.2
+ * @param <T> the type of values indexed by their patterns
+ */
+public final class PathPatternIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+	private int size;
+
+
+	/**
+	 * Register the given value for the given pattern.
+	 * @param pattern the pattern to index the value with
+	 * @param value the value to register
+	 */
+	public void add(PathPattern pattern, T value) {
+		Assert.notNull(pattern, "PathPattern must not be null");
+		Assert.notNull(value, "Value must not be null");
+		Node<T> node = this.root;
+		PathElement element = pattern.getHeadSection();
+		while (element != null) {
+			if (isTheRest(element)) {
+				node.rest.add(value);
+				this.size++;
+				return;
+			}
+			node = node.getOrCreateChild(element, pattern.isCaseSensitive());
+			element = element.next;
+		}
+		node.terminal.add(value);
+		this.size++;
+	}
+
+	/**
+	 * Remove the registration of the given value for the given pattern.
+	 * @param pattern the pattern the value was registered with
+	 * @param value the value to remove
+	 * @return {@code true} if a registration was removed
+	 */
+	public boolean remove(PathPattern pattern, T value) {
+		boolean removed = remove(this.root, pattern.getHeadSection(), pattern.isCaseSensitive(), value);
+		if (removed) {
+			this.size--;
+		}
+		return removed;
+	}
+
+	private boolean remove(Node<T> node, @Nullable PathElement element, boolean caseSensitive, T value) {
+		if (element == null) {
+			return node.terminal.remove(value);
+		}
+		if (isTheRest(element)) {
+			return node.rest.remove(value);
+		}
+		Node<T> child = node.getChild(element, caseSensitive);
+		if (child == null || !remove(child, element.next, caseSensitive, value)) {
+			return false;
+		}
+		if (child.isEmpty()) {
+			node.removeChild(element, caseSensitive);
+		}
+		return true;
+	}
+
+	/**
+	 * Whether the index contains no registrations.
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Return the number of pattern registrations in the index.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the values registered with patterns that may match the given path,
+	 * in the order of discovery and without duplicates.
+	 * @param path the path to find candidates for
+	 * @return the candidate values, possibly empty
+	 */
+	public Collection<T> getCandidates(PathContainer path) {
+		if (this.size == 0) {
+			return Collections.emptySet();
+		}
+		Set<T> result = new LinkedHashSet<>();
+		collect(this.root, path.elements(), 0, result);
+		return result;
+	}
+
+	private void collect(Node<T> node, List<Element> elements, int index, Set<T> result) {
+		result.addAll(node.rest);
+		int length = elements.size();
+		if (index >= length) {
+			result.addAll(node.terminal);
+			if (node.wildcard != null) {
+				// Wildcards and regular expressions may match nothing at the end of a path
+				collect(node.wildcard, elements, index, result);
+			}
+			return;
+		}
+		Element element = elements.get(index);
+		if (element instanceof PathSegment segment) {
+			String value = segment.valueToMatch();
+			if (node.literals != null) {
+				Node<T> child = node.literals.get(value);
+				if (child != null) {
+					collect(child, elements, index + 1, result);
+				}
+			}
+			if (node.caseInsensitiveLiterals != null) {
+				Node<T> child = node.caseInsensitiveLiterals.get(foldCase(value));
+				if (child != null) {
+					collect(child, elements, index + 1, result);
+				}
+			}
+		}
+		else {
+			if (index == length - 1) {
+				// Optional trailing separator
+				result.addAll(node.terminal);
+			}
+			if (node.separator != null) {
+				collect(node.separator, elements, index + 1, result);
+			}
+		}
+		if (node.wildcard != null) {
+			// Regular expressions may also match the empty value of a separator
+			collect(node.wildcard, elements, index + 1, result);
+		}
+	}
+
+	private static boolean isTheRest(PathElement element) {
+		return (element instanceof CaptureTheRestPathElement || element instanceof WildcardTheRestPathElement);
+	}
+
+	/**
+	 * Fold the case of the given text in line with {@link String#equalsIgnoreCase}.
+	 */
+	private static String foldCase(String text) {
+		char[] chars = text.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+
+	/**
+	 * Trie node for the pattern elements at a given position.
+	 */
+	private static final class Node<T> {
+
+		@Nullable
+		Map<String, Node<T>> literals;
+
+		@Nullable
+		Map<String, Node<T>> caseInsensitiveLiterals;
+
+		@Nullable
+		Node<T> separator;
+
+		@Nullable
+		Node<T> wildcard;
+
+		final List<T> terminal = new ArrayList<>(1);
+
+		final List<T> rest = new ArrayList<>(1);
+
+		Node<T> getOrCreateChild(PathElement element, boolean caseSensitive) {
+			if (element instanceof SeparatorPathElement) {
+				if (this.separator == null) {
+					this.separator = new Node<>();
+				}
+				return this.separator;
+			}
+			else if (element instanceof LiteralPathElement) {
+				if (caseSensitive && this.literals == null) {
+					this.literals = new HashMap<>();
+				}
+				else if (!caseSensitive && this.caseInsensitiveLiterals == null) {
+					this.caseInsensitiveLiterals = new HashMap<>();
+				}
+				Map<String, Node<T>> map = (caseSensitive ? this.literals : this.caseInsensitiveLiterals);
+				return map.computeIfAbsent(literalKey(element, caseSensitive), key -> new Node<>());
+			}
+			else {
+				if (this.wildcard == null) {
+					this.wildcard = new Node<>();
+				}
+				return this.wildcard;
+			}
+		}
+
+		@Nullable
+		Node<T> getChild(PathElement element, boolean caseSensitive) {
+			if (element instanceof SeparatorPathElement) {
+				return this.separator;
+			}
+			else if (element instanceof LiteralPathElement) {
+				Map<String, Node<T>> map = (caseSensitive ? this.literals : this.caseInsensitiveLiterals);
+				return (map != null ? map.get(literalKey(element, caseSensitive)) : null);
+			}
+			else {
+				return this.wildcard;
+			}
+		}
+
+		void removeChild(PathElement element, boolean caseSensitive) {
+			if (element instanceof SeparatorPathElement) {
+				this.separator = null;
+			}
+			else if (element instanceof LiteralPathElement) {
+				Map<String, Node<T>> map = (caseSensitive ? this.literals : this.caseInsensitiveLiterals);
+				if (map != null) {
+					map.remove(literalKey(element, caseSensitive));
+				}
+			}
+			else {
+				this.wildcard = null;
+			}
+		}
+
+		boolean isEmpty() {
+			return (this.terminal.isEmpty() && this.rest.isEmpty() &&
+					this.separator == null && this.wildcard == null &&
+					(this.literals == null || this.literals.isEmpty()) &&
+					(this.caseInsensitiveLiterals == null || this.caseInsensitiveLiterals.isEmpty()));
+		}
+
+		private static String literalKey(PathElement element, boolean caseSensitive) {
+			String text = new String(element.getChars());
+			return (caseSensitive ? text : foldCase(text));
+		}
+	}
+
+}
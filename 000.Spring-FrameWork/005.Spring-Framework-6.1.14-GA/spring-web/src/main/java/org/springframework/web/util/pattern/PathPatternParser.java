@@ -41,6 +41,8 @@ public class PathPatternParser {
 
 	private PathContainer.Options pathOptions = PathContainer.Options.HTTP_PATH;
 
+	private boolean compiledMatching = false;
+
 
 	/**
 	 * Configure whether a {@link PathPattern} produced by this parser should
@@ -104,6 +106,28 @@ public class PathPatternParser {
 	}
 
 
+	/**
+	 * Configure whether a {@link PathPattern} produced by this parser should
+	 * match full paths through a compiled, flat representation of its path
+	 * elements rather than by walking the chain of path elements.
+	 * <p>Compiled matching does not allocate per match, other than for regular
+	 * expressions, and {@link PathPattern#matchAndExtract} defers the extraction
+	 * of URI variables and matrix variables until they are first accessed.
+	 * <p>The default is {@code false}.
+	 * @since 6.2
+	 */
+	public void setCompiledMatching(boolean compiledMatching) {
+		this.compiledMatching = compiledMatching;
+	}
+
+	/**
+	 * Whether compiled matching is enabled.
+	 * @since 6.2
+	 */
+	public boolean isCompiledMatching() {
+		return this.compiledMatching;
+	}
+
 	/**
 	 * Prepare the given pattern for use in matching to full URL paths.
 	 * <p>By default, prepend a leading slash if needed for non-empty patterns.
@@ -137,6 +161,7 @@ public class PathPatternParser {
 	 * <li>{@code matchOptionalTrailingSeparator = false}
 	 * <li>{@code caseSensitive = true}
 	 * <li>{@code pathOptions = PathContainer.Options.HTTP_PATH}
+	 * <li>{@code compiledMatching = false}
 	 * </ul>
 	 */
 	public static final PathPatternParser defaultInstance = new PathPatternParser() {
@@ -157,6 +182,11 @@ public class PathPatternParser {
 			raiseError();
 		}
 
+		@Override
+		public void setCompiledMatching(boolean compiledMatching) {
+			raiseError();
+		}
+
 		private void raiseError() {
 			throw new UnsupportedOperationException(
 					"This is a read-only, shared instance that cannot be modified");
@@ -118,6 +118,10 @@ class RegexPathElement extends PathElement {
 		return this.variableNames;
 	}
 
+	Pattern getPattern() {
+		return this.pattern;
+	}
+
 	private String quote(String s, int start, int end) {
 		if (start == end) {
 			return "";
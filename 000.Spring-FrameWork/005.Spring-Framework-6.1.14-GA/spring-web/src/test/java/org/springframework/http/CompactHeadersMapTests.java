@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.testfixture.io.SerializationTestUtils;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link CompactHeadersMap}.
+ */
+class CompactHeadersMapTests {
+
+	private final CompactHeadersMap map = new CompactHeadersMap();
+
+
+	@Test
+	void caseInsensitiveLookup() {
+		this.map.add("Content-Type", "text/plain");
+		this.map.add("X-Custom", "foo");
+
+		assertThat(this.map.getFirst("content-type")).isEqualTo("text/plain");
+		assertThat(this.map.getFirst("CONTENT-TYPE")).isEqualTo("text/plain");
+		assertThat(this.map.get("x-CUSTOM")).containsExactly("foo");
+		assertThat(this.map.containsKey("X-CUSTOM")).isTrue();
+		assertThat(this.map.containsKey("X-Other")).isFalse();
+		assertThat(this.map.get("X-Other")).isNull();
+		assertThat(this.map.getFirst("X-Other")).isNull();
+	}
+
+	@Test
+	void preservesInsertionOrderAndCase() {
+		this.map.add("b-header", "1");
+		this.map.add("A-Header", "2");
+		this.map.add("c-HEADER", "3");
+		this.map.add("A-HEADER", "4");
+
+		assertThat(this.map.keySet()).containsExactly("b-header", "A-Header", "c-HEADER");
+		assertThat(this.map.get("a-header")).containsExactly("2", "4");
+	}
+
+	@Test
+	void putReplacesValuesIgnoringCase() {
+		this.map.add("Accept", "text/plain");
+		List<String> previous = this.map.put("ACCEPT", List.of("text/html"));
+
+		assertThat(previous).containsExactly("text/plain");
+		assertThat(this.map).hasSize(1);
+		assertThat(this.map.keySet()).containsExactly("ACCEPT");
+		assertThat(this.map.get("accept")).containsExactly("text/html");
+	}
+
+	@Test
+	void singleValueListIsModifiable() {
+		this.map.set("Vary", "Origin");
+		List<String> values = this.map.get("Vary");
+		values.add("Accept");
+
+		assertThat(this.map.get("vary")).containsExactly("Origin", "Accept");
+		assertThat(this.map.getFirst("vary")).isEqualTo("Origin");
+	}
+
+	@Test
+	void nullValues() {
+		this.map.add("X-Null", null);
+		this.map.put("X-Null-List", null);
+
+		assertThat(this.map.get("X-Null")).containsExactly((String) null);
+		assertThat(this.map.getFirst("X-Null")).isNull();
+		assertThat(this.map.containsKey("X-Null-List")).isTrue();
+		assertThat(this.map.get("X-Null-List")).isNull();
+
+		this.map.add("X-Null-List", "value");
+		assertThat(this.map.get("X-Null-List")).containsExactly("value");
+		this.map.put("X-Null-List", null);
+		this.map.addAll("x-null-list", List.of("foo", "bar"));
+		assertThat(this.map.get("X-Null-List")).containsExactly("foo", "bar");
+	}
+
+	@Test
+	void removeKeepsRemainingEntries() {
+		for (int i = 0; i < 10; i++) {
+			this.map.add("Header-" + i, "value-" + i);
+		}
+		assertThat(this.map.remove("HEADER-3")).containsExactly("value-3");
+		assertThat(this.map.remove("HEADER-3")).isNull();
+
+		assertThat(this.map).hasSize(9);
+		for (int i = 0; i < 10; i++) {
+			assertThat(this.map.getFirst("header-" + i)).isEqualTo(i != 3 ? "value-" + i : null);
+		}
+	}
+
+	@Test
+	void removeThroughIterator() {
+		this.map.add("A", "1");
+		this.map.add("B", "2");
+		this.map.add("C", "3");
+
+		Iterator<Map.Entry<String, List<String>>> iterator = this.map.entrySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().getKey().equals("B")) {
+				iterator.remove();
+			}
+		}
+		this.map.keySet().remove("c");
+
+		assertThat(this.map).containsExactly(entry("A", List.of("1")));
+	}
+
+	@Test
+	void growsBeyondInitialCapacity() {
+		CompactHeadersMap map = new CompactHeadersMap(2);
+		for (int i = 0; i < 100; i++) {
+			map.add("X-Header-" + i, String.valueOf(i));
+			map.add("x-header-" + i, String.valueOf(-i));
+		}
+
+		assertThat(map).hasSize(100);
+		for (int i = 0; i < 100; i++) {
+			assertThat(map.get("X-HEADER-" + i)).containsExactly(String.valueOf(i), String.valueOf(-i));
+		}
+	}
+
+	@Test
+	void internsWellKnownNames() {
+		this.map.add(new String("Content-Type"), "text/plain");
+		this.map.add(new String("accept"), "*/*");
+		this.map.add(new String("cOnTeNt-LeNgTh"), "42");
+
+		CompactHeadersMap other = new CompactHeadersMap();
+		other.add(new String("accept"), "*/*");
+
+		List<String> names = new ArrayList<>(this.map.keySet());
+		assertThat(names.get(0)).isSameAs(HttpHeaders.CONTENT_TYPE);
+		assertThat(names.get(1)).isEqualTo("accept").isSameAs(other.keySet().iterator().next());
+		assertThat(names.get(2)).isEqualTo("cOnTeNt-LeNgTh");
+	}
+
+	@Test
+	void equalsOtherHeaderMaps() {
+		MultiValueMap<String, String> other =
+				CollectionUtils.toMultiValueMap(new LinkedCaseInsensitiveMap<>(8, Locale.ROOT));
+		other.add("Accept", "text/plain");
+		other.add("Accept", "text/html");
+		other.add("Host", "localhost");
+
+		this.map.add("Accept", "text/plain");
+		this.map.add("Accept", "text/html");
+		this.map.add("Host", "localhost");
+
+		assertThat(this.map).isEqualTo(other);
+		assertThat(this.map.hashCode()).isEqualTo(other.hashCode());
+		assertThat(this.map.toSingleValueMap()).containsExactly(entry("Accept", "text/plain"), entry("Host", "localhost"));
+	}
+
+	@Test
+	void clear() {
+		this.map.add("A", "1");
+		this.map.clear();
+
+		assertThat(this.map).isEmpty();
+		assertThat(this.map.get("A")).isNull();
+		this.map.add("a", "2");
+		assertThat(this.map.get("A")).containsExactly("2");
+	}
+
+	@Test
+	void serializable() throws Exception {
+		this.map.add("Accept", "text/plain");
+		this.map.add("X-Custom", "foo");
+		this.map.add("x-custom", "bar");
+
+		CompactHeadersMap copy = SerializationTestUtils.serializeAndDeserialize(this.map);
+
+		assertThat(copy).isEqualTo(this.map);
+		assertThat(copy.get("X-CUSTOM")).containsExactly("foo", "bar");
+	}
+
+}
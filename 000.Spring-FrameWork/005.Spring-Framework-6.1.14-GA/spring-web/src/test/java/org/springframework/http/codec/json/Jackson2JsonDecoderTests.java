@@ -180,6 +180,38 @@ class Jackson2JsonDecoderTests extends AbstractDecoderTests<Jackson2JsonDecoder>
 		testDecode(input, Pojo.class, StepVerifier.LastStep::verifyComplete);
 	}
 
+	@Test
+	void decodeArrayInSmallChunks() {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			json.append(i > 0 ? "," : "").append("{\"bar\":\"b").append(i).append("\",\"foo\":\"f").append(i).append("\"}");
+		}
+		String content = json.append(']').toString();
+		Flux<DataBuffer> input = Flux.range(0, (content.length() + 6) / 7)
+				.concatMap(i -> stringBuffer(content.substring(i * 7, Math.min(content.length(), i * 7 + 7))));
+
+		Flux<Object> result = this.decoder.decode(input, ResolvableType.forClass(Pojo.class), null, null);
+
+		StepVerifier.create(result)
+				.expectNext(new Pojo("f0", "b0"))
+				.expectNextCount(98)
+				.expectNext(new Pojo("f99", "b99"))
+				.verifyComplete();
+	}
+
+	@Test
+	void decodeArrayWithInvalidElement() {
+		Flux<DataBuffer> input = Flux.from(stringBuffer(
+				"[{\"bar\":\"b1\",\"foo\":\"f1\"},{\"bar\":\"b2\",\"foo\":\"f2\"},{\"bar\":[],\"foo\":\"f3\"}]"));
+
+		Flux<Object> result = this.decoder.decode(input, ResolvableType.forClass(Pojo.class), null, null);
+
+		StepVerifier.create(result)
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyError(DecodingException.class);
+	}
+
 	@Test
 	void fieldLevelJsonView() {
 		Flux<DataBuffer> input = Flux.from(stringBuffer(
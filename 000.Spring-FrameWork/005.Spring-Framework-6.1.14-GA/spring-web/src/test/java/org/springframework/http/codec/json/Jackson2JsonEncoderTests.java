@@ -32,6 +32,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.testfixture.codec.AbstractEncoderTests;
 import org.springframework.http.MediaType;
@@ -194,6 +195,82 @@ class Jackson2JsonEncoderTests extends AbstractEncoderTests<Jackson2JsonEncoder>
 		);
 	}
 
+	@Test
+	void encodeNonStreamWithFlushThreshold() {
+		this.encoder.setFlushThreshold(50);
+		Flux<Pojo> input = Flux.just(
+				new Pojo("foo", "bar"),
+				new Pojo("foofoo", "barbar"),
+				new Pojo("foofoofoo", "barbarbar")
+		);
+
+		testEncode(input, Pojo.class, step -> step
+				.consumeNextWith(expectString("[{\"foo\":\"foo\",\"bar\":\"bar\"}" +
+						",{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"))
+				.consumeNextWith(expectString(",{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}]"))
+				.verifyComplete());
+	}
+
+	@Test
+	void encodeStreamWithFlushThreshold() {
+		this.encoder.setFlushThreshold(1024);
+		Flux<Pojo> input = Flux.just(
+				new Pojo("foo", "bar"),
+				new Pojo("foofoo", "barbar"),
+				new Pojo("foofoofoo", "barbarbar")
+		);
+
+		testEncode(input, ResolvableType.forClass(Pojo.class), APPLICATION_NDJSON, null, step -> step
+				.consumeNextWith(expectString("{\"foo\":\"foo\",\"bar\":\"bar\"}\n" +
+						"{\"foo\":\"foofoo\",\"bar\":\"barbar\"}\n" +
+						"{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}\n"))
+				.verifyComplete()
+		);
+	}
+
+	@Test
+	void encodeStreamWithFlushThresholdCancelled() {
+		this.encoder.setFlushThreshold(1024);
+		Flux<Pojo> input = Flux.just(new Pojo("foo", "bar"), new Pojo("foofoo", "barbar")).concatWith(Flux.never());
+
+		Flux<DataBuffer> result = this.encoder.encode(input, this.bufferFactory,
+				ResolvableType.forClass(Pojo.class), APPLICATION_NDJSON, Collections.emptyMap());
+
+		StepVerifier.create(result)
+				.thenAwait()
+				.thenCancel()
+				.verify();
+	}
+
+	@Test
+	void encodeStreamWithFlushThresholdAndError() {
+		this.encoder.setFlushThreshold(1024);
+		Flux<Object> input = Flux.just(new Pojo("foo", "bar"), new Object());
+
+		Flux<DataBuffer> result = this.encoder.encode(input, this.bufferFactory,
+				ResolvableType.forClass(Object.class), APPLICATION_NDJSON, Collections.emptyMap());
+
+		StepVerifier.create(result)
+				.expectError(CodecException.class)
+				.verify();
+	}
+
+	@Test
+	void encodeStreamWithIndentOutput() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(mapper);
+		Flux<Pojo> input = Flux.just(new Pojo("foo", "bar"), new Pojo("foofoo", "barbar"));
+
+		Flux<DataBuffer> result = encoder.encode(input, this.bufferFactory,
+				ResolvableType.forClass(Pojo.class), APPLICATION_NDJSON, Collections.emptyMap());
+
+		StepVerifier.create(result)
+				.consumeNextWith(expectString("{\n  \"foo\" : \"foo\",\n  \"bar\" : \"bar\"\n}\n"))
+				.consumeNextWith(expectString("{\n  \"foo\" : \"foofoo\",\n  \"bar\" : \"barbar\"\n}\n"))
+				.verifyComplete();
+	}
+
 	@Test
 	void fieldLevelJsonView() {
 		JacksonViewBean bean = new JacksonViewBean();
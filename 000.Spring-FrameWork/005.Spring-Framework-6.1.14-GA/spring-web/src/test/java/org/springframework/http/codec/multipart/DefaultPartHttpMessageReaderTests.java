@@ -45,6 +45,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.MediaType;
@@ -301,6 +302,22 @@ class DefaultPartHttpMessageReaderTests {
 		latch.await();
 	}
 
+	@Test
+	void exceedDiskUsageLimit() {
+		MockServerHttpRequest request = createRequest(
+				new ClassPathResource("files.multipart", getClass()), "----WebKitFormBoundaryG8fJ50opQOML0oGD");
+
+		DefaultPartHttpMessageReader reader = new DefaultPartHttpMessageReader();
+		reader.setMaxInMemorySize(10);
+		reader.setMaxDiskUsagePerPart(50);
+
+		Flux<Part> result = reader.read(forClass(Part.class), request, emptyMap());
+
+		StepVerifier.create(result)
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
 	@ParameterizedDefaultPartHttpMessageReaderTest
 	void emptyLastPart(DefaultPartHttpMessageReader reader) throws InterruptedException {
 		MockServerHttpRequest request = createRequest(
@@ -442,9 +459,14 @@ class DefaultPartHttpMessageReaderTests {
 		DefaultPartHttpMessageReader onDisk = new DefaultPartHttpMessageReader();
 		onDisk.setMaxInMemorySize(100);
 
+		DefaultPartHttpMessageReader onDiskNoWriteBehind = new DefaultPartHttpMessageReader();
+		onDiskNoWriteBehind.setMaxInMemorySize(100);
+		onDiskNoWriteBehind.setMaxWriteBehindSize(0);
+
 		return Stream.of(
 				arguments(named("in-memory", inMemory)),
-				arguments(named("on-disk", onDisk)));
+				arguments(named("on-disk", onDisk)),
+				arguments(named("on-disk-no-write-behind", onDiskNoWriteBehind)));
 	}
 
 }
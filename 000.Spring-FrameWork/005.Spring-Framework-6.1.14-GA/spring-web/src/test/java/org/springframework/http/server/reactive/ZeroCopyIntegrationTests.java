@@ -18,6 +18,9 @@ package org.springframework.http.server.reactive;
 
 import java.io.File;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 import reactor.core.publisher.Mono;
 
@@ -30,11 +33,8 @@ import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.testfixture.http.server.reactive.bootstrap.AbstractHttpHandlerIntegrationTests;
 import org.springframework.web.testfixture.http.server.reactive.bootstrap.HttpServer;
-import org.springframework.web.testfixture.http.server.reactive.bootstrap.ReactorHttpServer;
-import org.springframework.web.testfixture.http.server.reactive.bootstrap.UndertowHttpServer;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * @author Arjen Poutsma
@@ -54,9 +54,6 @@ class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTests {
 
 	@ParameterizedHttpServerTest
 	void zeroCopy(HttpServer httpServer) throws Exception {
-		assumeTrue(httpServer instanceof ReactorHttpServer || httpServer instanceof UndertowHttpServer,
-			"Zero-copy does not support Servlet");
-
 		startServer(httpServer);
 
 		URI url = URI.create("http://localhost:" + port);
@@ -69,17 +66,51 @@ class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTests {
 		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
 	}
 
+	@ParameterizedHttpServerTest
+	void zeroCopyLargeFileRegion(HttpServer httpServer) throws Exception {
+		byte[] content = new byte[1024 * 1024];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) (i % 251);
+		}
+		Path file = Files.createTempFile("ZeroCopyIntegrationTests", ".bin");
+		try {
+			Files.write(file, content);
+			this.handler.file = file.toFile();
+			this.handler.position = 1000;
+			this.handler.count = 512 * 1024;
+
+			startServer(httpServer);
+
+			URI url = URI.create("http://localhost:" + port);
+			RequestEntity<?> request = RequestEntity.get(url).build();
+			ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
+
+			assertThat(response.getHeaders().getContentLength()).isEqualTo(this.handler.count);
+			assertThat(response.getBody()).isEqualTo(Arrays.copyOfRange(content, 1000, 1000 + 512 * 1024));
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
 
 	private static class ZeroCopyHandler implements HttpHandler {
 
+		File file;
+
+		long position;
+
+		long count = -1;
+
 		@Override
 		public Mono<Void> handle(ServerHttpRequest request, ServerHttpResponse response) {
 			try {
 				ZeroCopyHttpOutputMessage zeroCopyResponse = (ZeroCopyHttpOutputMessage) response;
-				File logoFile = springLogoResource.getFile();
+				File file = (this.file != null ? this.file : springLogoResource.getFile());
+				long count = (this.count != -1 ? this.count : file.length());
 				zeroCopyResponse.getHeaders().setContentType(MediaType.IMAGE_PNG);
-				zeroCopyResponse.getHeaders().setContentLength(logoFile.length());
-				return zeroCopyResponse.writeWith(logoFile, 0, logoFile.length());
+				zeroCopyResponse.getHeaders().setContentLength(count);
+				return zeroCopyResponse.writeWith(file, this.position, count);
 			}
 			catch (Throwable ex) {
 				return Mono.error(ex);
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern.PathMatchInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link CompiledPathMatcher}, checking that compiled matching
+ * gives the same results as matching through the chain of path elements.
+ */
+class CompiledPathMatcherTests {
+
+	private static final List<String> PATTERNS = List.of("", "/", "/foo", "/foo/", "/Foo/Bar", "/foo/bar",
+			"/foo/{id}", "/foo/{id}/", "/foo/{id}/bar", "/foo/{id:\\d+}", "/foo/*", "/foo/*/bar", "/*",
+			"/f?o/bar", "/F?O", "/foo/ba*", "/foo/*.json", "/foo/{a}-{b}", "/foo/{a}.{ext}", "/{a}/{b}/{c}",
+			"/foo/**", "/foo/{*rest}", "/**", "/{*rest}", "foo/{id}", "/foo//bar", "/foo/{id}/{*rest}");
+
+	private static final List<String> PATHS = List.of("", "/", "//", "/foo", "/FOO", "/foo/", "/foo/bar",
+			"/Foo/Bar", "/foo/bar/", "/foo/1", "/foo/1/", "/foo/1/bar", "/fxo/bar", "/fXo", "/foo/baz",
+			"/foo/a-b", "/foo/a.json", "/foo//bar", "/foo/bar/baz", "/x/y/z", "foo/1", "foo", "/foo;a=b/bar;c=d",
+			"/foo/%20bar", "/foo/1/2/3");
+
+
+	@Test
+	void matchesLikeElementChain() {
+		assertMatchesLikeElementChain(new PathPatternParser());
+	}
+
+	@Test
+	void matchesLikeElementChainWhenCaseInsensitive() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCaseSensitive(false);
+		assertMatchesLikeElementChain(parser);
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	void matchesLikeElementChainWithOptionalTrailingSeparator() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setMatchOptionalTrailingSeparator(true);
+		assertMatchesLikeElementChain(parser);
+	}
+
+	@Test
+	void extractsVariablesOnDemand() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCompiledMatching(true);
+		PathPattern pattern = parser.parse("/foo/{id}/{name}.{ext}");
+
+		PathMatchInfo info = pattern.matchAndExtract(PathContainer.parsePath("/foo/1;a=b/bar.json"));
+		assertThat(info).isNotNull();
+		assertThat(info.getUriVariables()).containsOnly(
+				entry("id", "1"), entry("name", "bar"), entry("ext", "json"));
+		assertThat(info.getMatrixVariables().get("id").getFirst("a")).isEqualTo("b");
+		assertThat(pattern.matchAndExtract(PathContainer.parsePath("/foo/1"))).isNull();
+	}
+
+	@Test
+	void noVariablesToExtract() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCompiledMatching(true);
+		PathMatchInfo info = parser.parse("/foo/*").matchAndExtract(PathContainer.parsePath("/foo/bar"));
+		assertThat(info).isNotNull();
+		assertThat(info.getUriVariables()).isEmpty();
+	}
+
+	@Test
+	void captureGroupInConstraint() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCompiledMatching(true);
+		PathPattern pattern = parser.parse("/foo/{id:(\\d+)}");
+		assertThatIllegalArgumentException().isThrownBy(() -> pattern.matches(PathContainer.parsePath("/foo/1")));
+	}
+
+	@Test
+	void defaultInstanceIsReadOnly() {
+		assertThat(PathPatternParser.defaultInstance.isCompiledMatching()).isFalse();
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> PathPatternParser.defaultInstance.setCompiledMatching(true));
+	}
+
+
+	private static void assertMatchesLikeElementChain(PathPatternParser parser) {
+		for (String patternString : PATTERNS) {
+			parser.setCompiledMatching(false);
+			PathPattern pattern = parser.parse(patternString);
+			parser.setCompiledMatching(true);
+			PathPattern compiled = parser.parse(patternString);
+			for (String pathString : PATHS) {
+				PathContainer path = PathContainer.parsePath(pathString);
+				String description = "'" + patternString + "' matching '" + pathString + "'";
+				assertThat(compiled.matches(path)).as(description).isEqualTo(pattern.matches(path));
+				PathMatchInfo expected = pattern.matchAndExtract(path);
+				PathMatchInfo actual = compiled.matchAndExtract(path);
+				if (expected == null) {
+					assertThat(actual).as(description).isNull();
+				}
+				else {
+					assertThat(actual).as(description).isNotNull();
+					assertThat(actual.getUriVariables()).as(description).isEqualTo(expected.getUriVariables());
+					assertThat(actual.getMatrixVariables()).as(description).isEqualTo(expected.getMatrixVariables());
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PathPatternIndex}.
+ */
+class PathPatternIndexTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	private final PathPatternIndex<String> index = new PathPatternIndex<>();
+
+
+	@Test
+	void literalPatterns() {
+		register("/foo", "/foo/bar", "/bar");
+
+		assertThat(candidates("/foo")).containsExactly("/foo");
+		assertThat(candidates("/foo/bar")).containsExactly("/foo/bar");
+		assertThat(candidates("/baz")).isEmpty();
+	}
+
+	@Test
+	void captureAndWildcardPatterns() {
+		register("/projects/{name}", "/projects/{name}/releases/{version}", "/projects/*.json",
+				"/users/{name:[a-z]+}", "/projects/spring");
+
+		assertThat(candidates("/projects/spring"))
+				.containsExactlyInAnyOrder("/projects/spring", "/projects/{name}", "/projects/*.json");
+		assertThat(candidates("/projects/spring/releases/6.2"))
+				.containsExactly("/projects/{name}/releases/{version}");
+		assertThat(candidates("/users/juergen")).containsExactly("/users/{name:[a-z]+}");
+		assertThat(candidates("/teams/spring")).isEmpty();
+	}
+
+	@Test
+	void catchAllPatterns() {
+		register("/static/**", "/resources/{*path}", "/{*rest}", "/foo");
+
+		assertThat(candidates("/static/css/spring.css")).containsExactlyInAnyOrder("/static/**", "/{*rest}");
+		assertThat(candidates("/static")).containsExactlyInAnyOrder("/static/**", "/{*rest}");
+		assertThat(candidates("/resources")).containsExactlyInAnyOrder("/resources/{*path}", "/{*rest}");
+		assertThat(candidates("")).containsExactly("/{*rest}");
+		assertThat(candidates("/foo")).containsExactlyInAnyOrder("/foo", "/{*rest}");
+	}
+
+	@Test
+	void emptyPattern() {
+		register("", "/");
+
+		assertThat(candidates("")).containsExactly("");
+		assertThat(candidates("/")).containsExactlyInAnyOrder("", "/");
+	}
+
+	@Test
+	void wildcardMatchingEndOfPath() {
+		register("/foo/*");
+
+		assertThat(candidates("/foo/")).containsExactly("/foo/*");
+		assertThat(candidates("/foo/bar")).containsExactly("/foo/*");
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	void optionalTrailingSeparator() {
+		this.parser.setMatchOptionalTrailingSeparator(true);
+		register("/foo/{id}");
+
+		assertThat(candidates("/foo/1/")).containsExactly("/foo/{id}");
+	}
+
+	@Test
+	void caseInsensitivePatterns() {
+		this.parser.setCaseSensitive(false);
+		register("/Foo/Bar");
+
+		assertThat(candidates("/foo/bar")).containsExactly("/Foo/Bar");
+		assertThat(candidates("/FOO/BAR")).containsExactly("/Foo/Bar");
+	}
+
+	@Test
+	void pathParametersAndEncodedSegments() {
+		register("/foo/bar", "/foo bar");
+
+		assertThat(candidates("/foo;a=b/bar;c=d")).containsExactly("/foo/bar");
+		assertThat(candidates("/foo%20bar")).containsExactly("/foo bar");
+	}
+
+	@Test
+	void valueRegisteredWithMultiplePatterns() {
+		this.index.add(this.parser.parse("/foo/{id}"), "mapping");
+		this.index.add(this.parser.parse("/foo/**"), "mapping");
+
+		assertThat(this.index.size()).isEqualTo(2);
+		assertThat(candidates("/foo/1")).containsExactly("mapping");
+	}
+
+	@Test
+	void remove() {
+		register("/foo/{id}", "/foo/bar", "/foo/**");
+
+		assertThat(this.index.remove(this.parser.parse("/foo/{id}"), "/foo/{id}")).isTrue();
+		assertThat(this.index.remove(this.parser.parse("/foo/{id}"), "/foo/{id}")).isFalse();
+		assertThat(candidates("/foo/bar")).containsExactlyInAnyOrder("/foo/bar", "/foo/**");
+
+		assertThat(this.index.remove(this.parser.parse("/foo/bar"), "/foo/bar")).isTrue();
+		assertThat(this.index.remove(this.parser.parse("/foo/**"), "/foo/**")).isTrue();
+		assertThat(this.index.isEmpty()).isTrue();
+		assertThat(candidates("/foo/bar")).isEmpty();
+	}
+
+	@Test
+	void candidatesIncludeAllMatchingPatterns() {
+		List<String> patterns = List.of("/", "/foo", "/foo/", "/foo/bar", "/foo/{id}", "/foo/{id}/bar",
+				"/foo/*", "/foo/*/bar", "/f?o/bar", "/foo/ba*", "/foo/{a}-{b}", "/foo/{id:\\d+}",
+				"/foo/**", "/foo/{*rest}", "/**", "/{*rest}", "/*/bar", "/{a}/{b}/{c}");
+		List<String> paths = List.of("", "/", "/foo", "/foo/", "/foo/bar", "/foo/bar/", "/foo/1", "/foo/1/bar",
+				"/fxo/bar", "/foo/baz", "/foo/a-b", "/foo//bar", "/foo/bar/baz", "/other", "/x/y/z");
+		patterns.forEach(this::register);
+
+		for (String path : paths) {
+			PathContainer container = PathContainer.parsePath(path);
+			for (String pattern : patterns) {
+				if (this.parser.parse(pattern).matches(container)) {
+					assertThat(candidates(path)).as("Candidates for '" + path + "'").contains(pattern);
+				}
+			}
+		}
+	}
+
+
+	private void register(String... patterns) {
+		for (String pattern : patterns) {
+			this.index.add(this.parser.parse(pattern), pattern);
+		}
+	}
+
+	private List<String> candidates(String path) {
+		return List.copyOf(this.index.getCandidates(PathContainer.parsePath(path)));
+	}
+
+}
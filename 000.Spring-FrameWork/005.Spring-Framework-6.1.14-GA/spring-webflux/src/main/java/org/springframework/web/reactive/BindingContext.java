@@ -30,6 +30,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.lang.Nullable;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.ConstructorBindingPlanCache;
 import org.springframework.validation.DataBinder;
 import org.springframework.validation.SmartValidator;
 import org.springframework.validation.support.BindingAwareConcurrentModel;
@@ -55,6 +56,11 @@ import org.springframework.web.server.ServerWebExchange;
  */
 public class BindingContext {
 
+	private static final BindParamNameResolver nameResolver = new BindParamNameResolver();
+
+	private static final ConstructorBindingPlanCache constructorBindingPlanCache = new ConstructorBindingPlanCache();
+
+
 	@Nullable
 	private final WebBindingInitializer initializer;
 
@@ -140,7 +146,8 @@ public class BindingContext {
 			ServerWebExchange exchange, @Nullable Object target, String name, @Nullable ResolvableType targetType) {
 
 		WebExchangeDataBinder dataBinder = new ExtendedWebExchangeDataBinder(target, name);
-		dataBinder.setNameResolver(new BindParamNameResolver());
+		dataBinder.setNameResolver(nameResolver);
+		dataBinder.setConstructorBindingPlanCache(constructorBindingPlanCache);
 
 		if (target == null && targetType != null) {
 			dataBinder.setTargetType(targetType);
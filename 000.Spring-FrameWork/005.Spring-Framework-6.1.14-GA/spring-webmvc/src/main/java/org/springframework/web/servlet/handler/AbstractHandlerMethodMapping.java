@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +40,7 @@ import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -49,6 +51,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
 import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
@@ -404,7 +409,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, request);
+			Collection<T> candidateMappings = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+					this.mappingRegistry.getMappingsByPath(
+							ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication()) :
+					this.mappingRegistry.getRegistrations().keySet());
+			addMatchingMappings(candidateMappings, matches, request);
 		}
 		if (!matches.isEmpty()) {
 			Match bestMatch = matches.get(0);
@@ -544,6 +553,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return urls;
 	}
 
+	/**
+	 * Return the parsed path patterns of the given mapping, if any.
+	 * <p>These are used to index mappings by path, so that only mappings with
+	 * a pattern that may match the lookup path are checked through
+	 * {@link #getMatchingMapping} when there is no direct path match. This
+	 * assumes a mapping with patterns never matches a path that none of its
+	 * patterns match. An empty set, as returned by default, means the mapping
+	 * is not indexed and is always checked.
+	 * @since 6.2
+	 */
+	protected Set<PathPattern> getPathPatterns(T mapping) {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -575,6 +598,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> pathLookup = new LinkedMultiValueMap<>();
 
+		private final PathPatternIndex<T> patternLookup = new PathPatternIndex<>();
+
+		private final Set<T> unindexedMappings = new LinkedHashSet<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -598,6 +625,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings with a pattern that may match the given path, along
+		 * with all mappings that are not indexed by path patterns. Not thread-safe.
+		 * @since 6.2
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPath(PathContainer path) {
+			if (this.patternLookup.isEmpty()) {
+				return this.registry.keySet();
+			}
+			Collection<T> mappings = this.patternLookup.getCandidates(path);
+			if (this.unindexedMappings.isEmpty()) {
+				return mappings;
+			}
+			List<T> result = new ArrayList<>(mappings.size() + this.unindexedMappings.size());
+			result.addAll(mappings);
+			result.addAll(this.unindexedMappings);
+			return result;
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -643,6 +690,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.pathLookup.add(path, mapping);
 				}
 
+				Set<PathPattern> pathPatterns = AbstractHandlerMethodMapping.this.getPathPatterns(mapping);
+				for (PathPattern pattern : pathPatterns) {
+					this.patternLookup.add(pattern, mapping);
+				}
+				if (pathPatterns.isEmpty()) {
+					this.unindexedMappings.add(mapping);
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -656,8 +711,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.corsLookup.put(handlerMethod, corsConfig);
 				}
 
-				this.registry.put(mapping,
-						new MappingRegistration<>(mapping, handlerMethod, directPaths, name, corsConfig != null));
+				this.registry.put(mapping, new MappingRegistration<>(
+						mapping, handlerMethod, directPaths, pathPatterns, name, corsConfig != null));
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -711,6 +766,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				for (PathPattern pattern : registration.getPathPatterns()) {
+					this.patternLookup.remove(pattern, registration.getMapping());
+				}
+				this.unindexedMappings.remove(registration.getMapping());
+
 				removeMappingName(registration);
 
 				this.corsLookup.remove(registration.getHandlerMethod());
@@ -753,19 +813,22 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final Set<String> directPaths;
 
+		private final Set<PathPattern> pathPatterns;
+
 		@Nullable
 		private final String mappingName;
 
 		private final boolean corsConfig;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod,
-				@Nullable Set<String> directPaths, @Nullable String mappingName, boolean corsConfig) {
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, @Nullable Set<String> directPaths,
+				@Nullable Set<PathPattern> pathPatterns, @Nullable String mappingName, boolean corsConfig) {
 
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
 			this.mapping = mapping;
 			this.handlerMethod = handlerMethod;
 			this.directPaths = (directPaths != null ? directPaths : Collections.emptySet());
+			this.pathPatterns = (pathPatterns != null ? pathPatterns : Collections.emptySet());
 			this.mappingName = mappingName;
 			this.corsConfig = corsConfig;
 		}
@@ -782,6 +845,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.directPaths;
 		}
 
+		public Set<PathPattern> getPathPatterns() {
+			return this.pathPatterns;
+		}
+
 		@Nullable
 		public String getMappingName() {
 			return this.mappingName;
@@ -55,6 +55,7 @@ import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
@@ -93,6 +94,10 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 	private static final Type RESOURCE_REGION_LIST_TYPE =
 			new ParameterizedTypeReference<List<ResourceRegion>>() {}.getType();
 
+	private static final int NEGOTIATION_CACHE_SIZE = 256;
+
+	private static final Negotiation NO_MATCH = new Negotiation(false, null, null);
+
 
 	private final ContentNegotiationManager contentNegotiationManager;
 
@@ -101,6 +106,9 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 	private final Set<String> safeExtensions = new HashSet<>();
 
+	private final ConcurrentLruCache<NegotiationKey, Negotiation> negotiationCache =
+			new ConcurrentLruCache<>(NEGOTIATION_CACHE_SIZE, this::negotiate);
+
 
 	/**
 	 * Constructor with list of converters only.
@@ -209,13 +217,15 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 
 		MediaType selectedMediaType = null;
+		HttpMessageConverter<?> selectedConverter = null;
 		MediaType contentType = outputMessage.getHeaders().getContentType();
 		boolean isContentTypePreset = contentType != null && contentType.isConcrete();
 		if (isContentTypePreset) {
 			if (logger.isDebugEnabled()) {
 				logger.debug("Found 'Content-Type:" + contentType + "' in response");
 			}
-			selectedMediaType = contentType;
+			selectedMediaType = contentType.removeQualityValue();
+			selectedConverter = findConverter(selectedMediaType, valueType, targetType);
 		}
 		else {
 			HttpServletRequest request = inputMessage.getServletRequest();
@@ -240,15 +250,10 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 						"No converter found for return value of type: " + valueType);
 			}
 
-			List<MediaType> compatibleMediaTypes = new ArrayList<>();
-			determineCompatibleMediaTypes(acceptableTypes, producibleTypes, compatibleMediaTypes);
+			Negotiation negotiation = this.negotiationCache.get(
+					new NegotiationKey(acceptableTypes, producibleTypes, valueType, targetType));
 
-			// For ProblemDetail, fall back on RFC 9457 format
-			if (compatibleMediaTypes.isEmpty() && ProblemDetail.class.isAssignableFrom(valueType)) {
-				determineCompatibleMediaTypes(this.problemMediaTypes, producibleTypes, compatibleMediaTypes);
-			}
-
-			if (compatibleMediaTypes.isEmpty()) {
+			if (!negotiation.compatible()) {
 				if (logger.isDebugEnabled()) {
 					logger.debug("No match for " + acceptableTypes + ", supported: " + producibleTypes);
 				}
@@ -258,18 +263,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				return;
 			}
 
-			MimeTypeUtils.sortBySpecificity(compatibleMediaTypes);
-
-			for (MediaType mediaType : compatibleMediaTypes) {
-				if (mediaType.isConcrete()) {
-					selectedMediaType = mediaType;
-					break;
-				}
-				else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
-					selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
-					break;
-				}
-			}
+			selectedMediaType = negotiation.mediaType();
+			selectedConverter = negotiation.converter();
 
 			if (logger.isDebugEnabled()) {
 				logger.debug("Using '" + selectedMediaType + "', given " +
@@ -277,37 +272,30 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 			}
 		}
 
-		if (selectedMediaType != null) {
-			selectedMediaType = selectedMediaType.removeQualityValue();
-			for (HttpMessageConverter<?> converter : this.messageConverters) {
-				GenericHttpMessageConverter genericConverter =
-						(converter instanceof GenericHttpMessageConverter ghmc ? ghmc : null);
-				if (genericConverter != null ?
-						((GenericHttpMessageConverter) converter).canWrite(targetType, valueType, selectedMediaType) :
-						converter.canWrite(valueType, selectedMediaType)) {
-					body = getAdvice().beforeBodyWrite(body, returnType, selectedMediaType,
-							(Class<? extends HttpMessageConverter<?>>) converter.getClass(),
-							inputMessage, outputMessage);
-					if (body != null) {
-						Object theBody = body;
-						LogFormatUtils.traceDebug(logger, traceOn ->
-								"Writing [" + LogFormatUtils.formatValue(theBody, !traceOn) + "]");
-						addContentDispositionHeader(inputMessage, outputMessage);
-						if (genericConverter != null) {
-							genericConverter.write(body, targetType, selectedMediaType, outputMessage);
-						}
-						else {
-							((HttpMessageConverter) converter).write(body, selectedMediaType, outputMessage);
-						}
-					}
-					else {
-						if (logger.isDebugEnabled()) {
-							logger.debug("Nothing to write: null body");
-						}
-					}
-					return;
+		if (selectedMediaType != null && selectedConverter != null) {
+			GenericHttpMessageConverter genericConverter =
+					(selectedConverter instanceof GenericHttpMessageConverter ghmc ? ghmc : null);
+			body = getAdvice().beforeBodyWrite(body, returnType, selectedMediaType,
+					(Class<? extends HttpMessageConverter<?>>) selectedConverter.getClass(),
+					inputMessage, outputMessage);
+			if (body != null) {
+				Object theBody = body;
+				LogFormatUtils.traceDebug(logger, traceOn ->
+						"Writing [" + LogFormatUtils.formatValue(theBody, !traceOn) + "]");
+				addContentDispositionHeader(inputMessage, outputMessage);
+				if (genericConverter != null) {
+					genericConverter.write(body, targetType, selectedMediaType, outputMessage);
+				}
+				else {
+					((HttpMessageConverter) selectedConverter).write(body, selectedMediaType, outputMessage);
 				}
 			}
+			else {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Nothing to write: null body");
+				}
+			}
+			return;
 		}
 
 		if (body != null) {
@@ -401,6 +389,63 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		return this.contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
 	}
 
+	/**
+	 * Select the media type and converter to use for the given acceptable and
+	 * producible media types. Invoked through the negotiation cache, so the
+	 * outcome is computed once per distinct {@link NegotiationKey}.
+	 */
+	private Negotiation negotiate(NegotiationKey key) {
+		List<MediaType> compatibleMediaTypes = new ArrayList<>();
+		determineCompatibleMediaTypes(key.acceptableTypes(), key.producibleTypes(), compatibleMediaTypes);
+
+		// For ProblemDetail, fall back on RFC 9457 format
+		if (compatibleMediaTypes.isEmpty() && ProblemDetail.class.isAssignableFrom(key.valueType())) {
+			determineCompatibleMediaTypes(this.problemMediaTypes, key.producibleTypes(), compatibleMediaTypes);
+		}
+
+		if (compatibleMediaTypes.isEmpty()) {
+			return NO_MATCH;
+		}
+
+		MimeTypeUtils.sortBySpecificity(compatibleMediaTypes);
+
+		MediaType selectedMediaType = null;
+		for (MediaType mediaType : compatibleMediaTypes) {
+			if (mediaType.isConcrete()) {
+				selectedMediaType = mediaType;
+				break;
+			}
+			else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
+				selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
+				break;
+			}
+		}
+
+		if (selectedMediaType == null) {
+			return new Negotiation(true, null, null);
+		}
+		selectedMediaType = selectedMediaType.removeQualityValue();
+		return new Negotiation(true, selectedMediaType,
+				findConverter(selectedMediaType, key.valueType(), key.targetType()));
+	}
+
+	/**
+	 * Return the first converter that can write the given value type
+	 * with the given media type, or {@code null} if none.
+	 */
+	@Nullable
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private HttpMessageConverter<?> findConverter(MediaType mediaType, Class<?> valueType, Type targetType) {
+		for (HttpMessageConverter<?> converter : this.messageConverters) {
+			if (converter instanceof GenericHttpMessageConverter genericConverter ?
+					genericConverter.canWrite(targetType, valueType, mediaType) :
+					converter.canWrite(valueType, mediaType)) {
+				return converter;
+			}
+		}
+		return null;
+	}
+
 	private void determineCompatibleMediaTypes(
 			List<MediaType> acceptableTypes, List<MediaType> producibleTypes, List<MediaType> mediaTypesToUse) {
 
@@ -517,4 +562,21 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				mediaType.getSubtype().endsWith("+xml"));
 	}
 
+
+	/**
+	 * Inputs that determine the outcome of content negotiation for a return value.
+	 */
+	private record NegotiationKey(List<MediaType> acceptableTypes, List<MediaType> producibleTypes,
+			Class<?> valueType, Type targetType) {
+	}
+
+
+	/**
+	 * Outcome of content negotiation: whether any compatible media type was found,
+	 * and if so the selected media type and converter, each possibly {@code null}.
+	 */
+	private record Negotiation(boolean compatible, @Nullable MediaType mediaType,
+			@Nullable HttpMessageConverter<?> converter) {
+	}
+
 }
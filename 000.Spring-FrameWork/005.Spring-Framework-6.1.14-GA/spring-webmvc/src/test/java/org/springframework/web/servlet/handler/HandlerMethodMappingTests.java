@@ -18,6 +18,7 @@ package org.springframework.web.servlet.handler;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -30,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
@@ -44,7 +46,9 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.mvc.HttpRequestHandlerAdapter;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
@@ -279,6 +283,26 @@ public class HandlerMethodMappingTests {
 		assertThat(this.mapping.getMappingRegistry().getCorsConfiguration(handlerMethod)).isNull();
 	}
 
+	@Test
+	void patternMatchWithPathPatternIndex() throws Exception {
+		MyHandlerMethodMapping mapping = new PathPatternHandlerMethodMapping();
+		mapping.registerMapping("/foo/{id}", this.handler, this.method1);
+		mapping.registerMapping("/bar/{id}", this.handler, this.method2);
+
+		Collection<String> candidates = mapping.getMappingRegistry().getMappingsByPath(PathContainer.parsePath("/foo/1"));
+		assertThat(candidates).containsExactly("/foo/{id}");
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/1");
+		ServletRequestPathUtils.parseAndCache(request);
+		HandlerMethod result = mapping.getHandlerInternal(request);
+		assertThat(result.getMethod()).isEqualTo(this.method1);
+
+		mapping.unregisterMapping("/foo/{id}");
+		assertThat(mapping.getMappingRegistry().getMappingsByPath(PathContainer.parsePath("/foo/1"))).isEmpty();
+		assertThat(mapping.getMappingRegistry().getMappingsByPath(PathContainer.parsePath("/bar/1")))
+				.containsExactly("/bar/{id}");
+	}
+
 	@Test
 	void getCorsConfigWithBeanNameHandler() throws Exception {
 		String key = "foo";
@@ -355,6 +379,14 @@ public class HandlerMethodMappingTests {
 
 	}
 
+	private static class PathPatternHandlerMethodMapping extends MyHandlerMethodMapping {
+
+		@Override
+		protected Set<PathPattern> getPathPatterns(String mapping) {
+			return Collections.singleton(getPatternParser().parse(mapping));
+		}
+	}
+
 	private static class SimpleMappingNamingStrategy implements HandlerMethodMappingNamingStrategy<String> {
 
 		@Override
@@ -35,8 +35,10 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -314,6 +316,73 @@ class RequestResponseBodyMethodProcessorMockTests {
 		verify(stringMessageConverter).write(eq(body), eq(accepted), isA(HttpOutputMessage.class));
 	}
 
+	@Test
+	void handleReturnValueReusesNegotiation() throws Exception {
+		servletRequest.addHeader("Accept", MediaType.TEXT_PLAIN_VALUE);
+
+		given(stringMessageConverter.canWrite(String.class, null)).willReturn(true);
+		given(stringMessageConverter.canWrite(String.class, MediaType.TEXT_PLAIN)).willReturn(true);
+
+		processor.handleReturnValue("Foo", returnTypeString, mavContainer, webRequest);
+		processor.handleReturnValue("Bar", returnTypeString, mavContainer, new ServletWebRequest(
+				servletRequest, new MockHttpServletResponse()));
+
+		verify(stringMessageConverter, times(1)).canWrite(String.class, MediaType.TEXT_PLAIN);
+		verify(stringMessageConverter).write(eq("Foo"), eq(MediaType.TEXT_PLAIN), isA(HttpOutputMessage.class));
+		verify(stringMessageConverter).write(eq("Bar"), eq(MediaType.TEXT_PLAIN), isA(HttpOutputMessage.class));
+
+		MockHttpServletRequest otherRequest = new MockHttpServletRequest();
+		otherRequest.addHeader("Accept", MediaType.APPLICATION_ATOM_XML_VALUE);
+
+		assertThatExceptionOfType(HttpMediaTypeNotAcceptableException.class).isThrownBy(() ->
+				processor.handleReturnValue("Baz", returnTypeString, mavContainer,
+						new ServletWebRequest(otherRequest, new MockHttpServletResponse())));
+	}
+
+	@Test
+	void handleReturnValueWithPresetContentType() throws Exception {
+		servletRequest.addHeader("Accept", MediaType.APPLICATION_ATOM_XML_VALUE);
+		servletResponse.setContentType(MediaType.TEXT_PLAIN_VALUE);
+
+		given(stringMessageConverter.canWrite(String.class, MediaType.TEXT_PLAIN)).willReturn(true);
+
+		processor.handleReturnValue("Foo", returnTypeString, mavContainer, webRequest);
+
+		verify(stringMessageConverter).write(eq("Foo"), eq(MediaType.TEXT_PLAIN), isA(HttpOutputMessage.class));
+	}
+
+	@Test
+	void handleReturnValueWithPresetContentTypeNotWritable() {
+		servletResponse.setContentType(MediaType.TEXT_HTML_VALUE);
+
+		given(stringMessageConverter.canWrite(String.class, MediaType.TEXT_HTML)).willReturn(false);
+
+		assertThatExceptionOfType(HttpMessageNotWritableException.class).isThrownBy(() ->
+				processor.handleReturnValue("Foo", returnTypeString, mavContainer, webRequest));
+	}
+
+	@Test
+	void handleReturnValueProblemDetailFallsBackOnProblemMediaType() throws Exception {
+		HttpMessageConverter<Object> problemDetailMessageConverter = mock();
+		List<MediaType> supported = List.of(MediaType.APPLICATION_PROBLEM_JSON);
+		given(problemDetailMessageConverter.getSupportedMediaTypes()).willReturn(supported);
+		given(problemDetailMessageConverter.getSupportedMediaTypes(any())).willReturn(supported);
+		given(problemDetailMessageConverter.canWrite(ProblemDetail.class, null)).willReturn(true);
+		given(problemDetailMessageConverter.canWrite(ProblemDetail.class, MediaType.APPLICATION_PROBLEM_JSON))
+				.willReturn(true);
+		processor = new RequestResponseBodyMethodProcessor(List.of(stringMessageConverter, problemDetailMessageConverter));
+
+		servletRequest.addHeader("Accept", MediaType.TEXT_HTML_VALUE);
+		ProblemDetail body = ProblemDetail.forStatus(400);
+		MethodParameter returnType = new MethodParameter(getClass().getMethod("handle8"), -1);
+
+		processor.handleReturnValue(body, returnType, mavContainer, webRequest);
+
+		verify(problemDetailMessageConverter).write(
+				eq(body), eq(MediaType.APPLICATION_PROBLEM_JSON), isA(HttpOutputMessage.class));
+		assertThat(servletResponse.getStatus()).isEqualTo(400);
+	}
+
 	@Test
 	void handleReturnValueProduces() throws Exception {
 		String body = "Foo";
@@ -458,6 +527,12 @@ class RequestResponseBodyMethodProcessorMockTests {
 		return null;
 	}
 
+	@SuppressWarnings("unused")
+	@ResponseBody
+	public ProblemDetail handle8() {
+		return null;
+	}
+
 
 	private final class ValidatingBinderFactory implements WebDataBinderFactory {
 